@@ -18,14 +18,23 @@
  ***************************************************************************/
 package org.elbe.relations.data.bom;
 
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.List;
 
 import org.elbe.relations.data.utility.RelationsSerializer;
 import org.elbe.relations.data.utility.UniqueID;
 import org.hip.kernel.bom.AbstractSerializer;
 import org.hip.kernel.bom.BOMException;
 import org.hip.kernel.bom.DomainObject;
+import org.hip.kernel.bom.KeyObject;
+import org.hip.kernel.bom.OrderObject;
+import org.hip.kernel.bom.QueryResult;
+import org.hip.kernel.bom.impl.KeyObjectImpl;
+import org.hip.kernel.bom.impl.OrderObjectImpl;
 import org.hip.kernel.exc.VException;
 
 /** Home of the EventStore item domain models.
@@ -68,6 +77,9 @@ public class EventStoreHome extends AbstractHome implements ICreatableHome {
             + "         <mappingDef tableName='tblEventStore' columnName='DTCREATION'/> " + "       </propertyDef>  "
             + " </propertyDefs> " + "</objectDef>";
 
+    private final static String SQL_INSERT = "INSERT INTO tblEventStore (NTYPE, SUNIQUEID, SEVENT, DTCREATION) "
+            + "VALUES (?, ?, ?, ?)";
+
     @Override
     public String getObjectClassName() {
         return OBJECT_CLASS_NAME;
@@ -112,7 +124,35 @@ public class EventStoreHome extends AbstractHome implements ICreatableHome {
      * @return Long the created entry's id
      * @throws BOMException */
     public Long saveEntry(final UniqueID id) throws BOMException {
-        return saveEntry(id, String.format("Delete(%s)", id.toString()), StoreType.DELETE);
+        return saveEntry(id, getDeleteEvent(id), StoreType.DELETE);
+    }
+
+    /** Stores the events of the specified items with one batch on the specified connection. The caller is
+     * responsible for the transaction, i.e. for committing the entries together with the changes they record.
+     *
+     * @param connection {@link Connection}
+     * @param type {@link StoreType}
+     * @param ids List&lt;UniqueID> the items' ids
+     * @param events List&lt;String> the items' events, in the order of the ids
+     * @throws SQLException
+     * @see #getEvent(DomainObject)
+     * @see #getDeleteEvent(UniqueID) */
+    void saveEntries(final Connection connection, final StoreType type, final List<UniqueID> ids,
+            final List<String> events) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        final Timestamp created = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT)) {
+            for (int i = 0; i < ids.size(); i++) {
+                statement.setInt(1, type.id);
+                statement.setString(2, ids.get(i).toString());
+                statement.setString(3, events.get(i));
+                statement.setTimestamp(4, created);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
     }
 
     private Long saveEntry(final UniqueID id, final String event, final StoreType type) throws BOMException {
@@ -128,10 +168,60 @@ public class EventStoreHome extends AbstractHome implements ICreatableHome {
         }
     }
 
-    private String getEvent(final DomainObject model) {
+    /** @return long the ID of the latest entry, <code>0</code> if the event store is empty
+     * @throws BOMException */
+    public long getLatestID() throws BOMException {
+        try {
+            final BigDecimal max = getMax(KEY_ID);
+            return max == null ? 0 : max.longValue();
+        } catch (final SQLException exc) {
+            throw new BOMException(exc.getMessage());
+        }
+    }
+
+    /** Returns the entries stored after the entry with the specified ID, in the order they have been stored. The
+     * entries are streamed, i.e. the result has to be closed after use.
+     *
+     * @param id long the ID of the last entry that has been processed
+     * @return {@link QueryResult}
+     * @throws BOMException */
+    public QueryResult selectAfter(final long id) throws BOMException {
+        try {
+            final KeyObject key = new KeyObjectImpl();
+            key.setValue(KEY_ID, Long.valueOf(id), ">");
+            final OrderObject order = new OrderObjectImpl();
+            order.setValue(KEY_ID, 0);
+            return select(key, order, true);
+        } catch (final SQLException | VException exc) {
+            throw new BOMException(exc.getMessage());
+        }
+    }
+
+    /** Returns the store type with the specified ID.
+     *
+     * @param id int the type's ID as stored in the event store
+     * @return {@link StoreType}, <code>null</code> if there's no such type */
+    public static StoreType getStoreType(final int id) {
+        for (final StoreType type : StoreType.values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /** @param model {@link DomainObject}
+     * @return String the event recording the creation or update of the specified model */
+    String getEvent(final DomainObject model) {
         final AbstractSerializer visitor = new RelationsSerializer();
         model.accept(visitor);
         return visitor.toString();
     }
 
+    /** @param id {@link UniqueID}
+     * @return String the event recording the deletion of the specified item */
+    static String getDeleteEvent(final UniqueID id) {
+        return "Delete(" + id + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
 }
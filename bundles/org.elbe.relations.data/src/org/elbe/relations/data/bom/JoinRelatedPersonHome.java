@@ -18,6 +18,9 @@
  ***************************************************************************/
 package org.elbe.relations.data.bom;
 
+import java.sql.ResultSet;
+
+import org.hip.kernel.exc.VException;
 import org.hip.kernel.bom.impl.JoinedDomainObjectHomeImpl;
 
 /**
@@ -101,4 +104,18 @@ abstract public class JoinRelatedPersonHome extends JoinedDomainObjectHomeImpl {
 		return OBJECT_CLASS_NAME;
 	}
 
+	/**
+	 * Creates the related person from the actual row of the specified result,
+	 * e.g. of a neighbourhood query.
+	 *
+	 * @param inResult
+	 *            ResultSet positioned on the row of a person
+	 * @return {@link IItem} the related person
+	 * @throws VException
+	 * @see RelationHome#getRelatedItems(IItem)
+	 */
+	public IItem newRelated(final ResultSet inResult) throws VException {
+		return (IItem) newInstance(inResult);
+	}
+
 }
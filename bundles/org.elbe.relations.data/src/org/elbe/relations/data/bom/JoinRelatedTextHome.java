@@ -18,6 +18,9 @@
  ***************************************************************************/
 package org.elbe.relations.data.bom;
 
+import java.sql.ResultSet;
+
+import org.hip.kernel.exc.VException;
 import org.hip.kernel.bom.impl.JoinedDomainObjectHomeImpl;
 
 /**
@@ -125,4 +128,18 @@ abstract public class JoinRelatedTextHome extends JoinedDomainObjectHomeImpl {
 		return OBJECT_CLASS_NAME;
 	}
 
+	/**
+	 * Creates the related text from the actual row of the specified result,
+	 * e.g. of a neighbourhood query.
+	 *
+	 * @param inResult
+	 *            ResultSet positioned on the row of a text
+	 * @return {@link IItem} the related text
+	 * @throws VException
+	 * @see RelationHome#getRelatedItems(IItem)
+	 */
+	public IItem newRelated(final ResultSet inResult) throws VException {
+		return (IItem) newInstance(inResult);
+	}
+
 }
@@ -0,0 +1,155 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.bom;
+
+import org.elbe.relations.data.utility.IItemVisitor;
+import org.hip.kernel.bom.DomainObjectVisitor;
+import org.hip.kernel.exc.VException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** A related item projected to the values needed to display it, i.e. ID, type, title and the relation's ID.<br>
+ * The projection is a light weight item containing only the title. The full item is loaded the first time a value
+ * beyond the projection is needed, e.g. when the item is shown in the inspector or edited.
+ *
+ * @author Luthiger */
+public class RelatedItem implements IItem, IRelated {
+    private static final Logger LOG = LoggerFactory.getLogger(RelatedItem.class);
+
+    private final ILightWeightItem projection;
+    private final long relationID;
+    private IItem item;
+
+    /** RelatedItem constructor.
+     *
+     * @param projection {@link ILightWeightItem} the light weight item containing the title, its
+     *            <code>toString()</code> method has to return the item's title
+     * @param relationID long the ID of the relation connecting the item */
+    public RelatedItem(final ILightWeightItem projection, final long relationID) {
+        this.projection = projection;
+        this.relationID = relationID;
+    }
+
+    @Override
+    public long getID() {
+        return this.projection.getID();
+    }
+
+    @Override
+    public int getItemType() {
+        return this.projection.getItemType();
+    }
+
+    @Override
+    public String getTitle() {
+        return this.projection.toString();
+    }
+
+    @Override
+    public long getRelationID() {
+        return this.relationID;
+    }
+
+    /** @return boolean <code>true</code> if the full item has been loaded */
+    public boolean isLoaded() {
+        return this.item != null;
+    }
+
+    /** Returns the full item, the item is loaded from the database on the first call.
+     *
+     * @return {@link IItem}
+     * @throws BOMException */
+    public synchronized IItem getItem() throws BOMException {
+        if (this.item == null) {
+            this.item = BOMHelper.getItem(this.projection);
+        }
+        return this.item;
+    }
+
+    @Override
+    public String getCreated() throws VException {
+        return getLoaded().getCreated();
+    }
+
+    @Override
+    public void visit(final IItemVisitor visitor) throws VException {
+        getLoaded().visit(visitor);
+    }
+
+    @Override
+    public ILightWeightItem getLightWeight() throws BOMException {
+        return getItem().getLightWeight();
+    }
+
+    @Override
+    public void saveTitleText(final String title, final String text) throws BOMException {
+        getItem().saveTitleText(title, text);
+    }
+
+    @Override
+    public void accept(final DomainObjectVisitor visitor) {
+        try {
+            getItem().accept(visitor);
+        }
+        catch (final BOMException exc) {
+            LOG.error("Could not load the related item!", exc); //$NON-NLS-1$
+        }
+    }
+
+    private IItem getLoaded() throws VException {
+        try {
+            return getItem();
+        }
+        catch (final BOMException exc) {
+            throw new VException(exc.getMessage(), exc);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Item '%s'", getTitle()); //$NON-NLS-1$
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int outHash = 1;
+        outHash = prime * outHash + getItemType();
+        outHash = prime * outHash + (int) (getID() ^ (getID() >>> 32));
+        return outHash;
+    }
+
+    /** @return <code>true</code> if ID and type are equal. */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object instanceof final IItem other) {
+            try {
+                return getItemType() == other.getItemType() && getID() == other.getID();
+            }
+            catch (final VException exc) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+}
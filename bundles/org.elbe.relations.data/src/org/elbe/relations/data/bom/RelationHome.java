@@ -18,14 +18,28 @@
  ***************************************************************************/
 package org.elbe.relations.data.bom;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 import org.elbe.relations.data.bom.EventStoreHome.StoreType;
+import org.elbe.relations.data.graph.RelationGraph;
 import org.elbe.relations.data.internal.bom.Relation;
+import org.elbe.relations.data.utility.LongMap;
+import org.elbe.relations.data.utility.LongSet;
 import org.elbe.relations.data.utility.UniqueID;
+import org.hip.kernel.bom.AlternativeModel;
+import org.hip.kernel.bom.AlternativeModelFactory;
 import org.hip.kernel.bom.DomainObject;
 import org.hip.kernel.bom.KeyObject;
 import org.hip.kernel.bom.QueryResult;
+import org.hip.kernel.bom.impl.AbstractQueryStatement;
 import org.hip.kernel.bom.impl.DomainObjectHomeImpl;
 import org.hip.kernel.bom.impl.KeyObjectImpl;
 import org.hip.kernel.exc.VException;
@@ -83,6 +97,48 @@ ICreatableHome {
             + "			<mappingDef tableName='tblRelation' columnName='NITEM2'/>	"
             + "		</propertyDef>	" + "	</propertyDefs>	" + "</objectDef>";
 
+    // The neighbourhood query: one select per item type and direction of the relation. Each item type fills the
+    // columns of its join home, the other columns are placeholders ignored by the item's home. The columns are
+    // aliased in every select, because a union exposes a column's name only if it is the same in all selects.
+    private final static String COLUMNS_RELATION = "r.NTYPE1 AS NTYPE1, r.NITEM1 AS NITEM1, r.NTYPE2 AS NTYPE2, "
+            + "r.NITEM2 AS NITEM2, ";
+    private final static String COLUMNS_TERM = COLUMNS_RELATION
+            + "t.TERMID AS TERMID, 0 AS TEXTID, 0 AS PERSONID, t.STITLE AS STITLE, "
+            + "t.STEXT AS STEXT, '' AS SAUTHOR, '' AS SCOAUTHORS, '' AS SSUBTITLE, '' AS SYEAR, '' AS SPUBLICATION, "
+            + "'' AS SPAGES, 0 AS NVOLUME, 0 AS NNUMBER, '' AS SPUBLISHER, '' AS SPLACE, 0 AS NTYPE, '' AS SNAME, "
+            + "'' AS SFIRSTNAME, '' AS SFROM, '' AS STO, t.DTCREATION AS DTCREATION, t.DTMUTATION AS DTMUTATION";
+    private final static String COLUMNS_TEXT = COLUMNS_RELATION
+            + "0 AS TERMID, t.TEXTID AS TEXTID, 0 AS PERSONID, t.STITLE AS STITLE, "
+            + "t.STEXT AS STEXT, t.SAUTHOR AS SAUTHOR, t.SCOAUTHORS AS SCOAUTHORS, t.SSUBTITLE AS SSUBTITLE, "
+            + "t.SYEAR AS SYEAR, t.SPUBLICATION AS SPUBLICATION, t.SPAGES AS SPAGES, t.NVOLUME AS NVOLUME, "
+            + "t.NNUMBER AS NNUMBER, t.SPUBLISHER AS SPUBLISHER, t.SPLACE AS SPLACE, t.NTYPE AS NTYPE, '' AS SNAME, "
+            + "'' AS SFIRSTNAME, '' AS SFROM, '' AS STO, t.DTCREATION AS DTCREATION, t.DTMUTATION AS DTMUTATION";
+    private final static String COLUMNS_PERSON = COLUMNS_RELATION
+            + "0 AS TERMID, 0 AS TEXTID, t.PERSONID AS PERSONID, '' AS STITLE, "
+            + "t.STEXT AS STEXT, '' AS SAUTHOR, '' AS SCOAUTHORS, '' AS SSUBTITLE, '' AS SYEAR, '' AS SPUBLICATION, "
+            + "'' AS SPAGES, 0 AS NVOLUME, 0 AS NNUMBER, '' AS SPUBLISHER, '' AS SPLACE, 0 AS NTYPE, "
+            + "t.SNAME AS SNAME, t.SFIRSTNAME AS SFIRSTNAME, t.SFROM AS SFROM, t.STO AS STO, "
+            + "t.DTCREATION AS DTCREATION, t.DTMUTATION AS DTMUTATION";
+    private final static String TITLES_TERM = "t.TERMID AS ITEMID, t.STITLE AS STITLE, '' AS SFIRSTNAME";
+    private final static String TITLES_TEXT = "t.TEXTID AS ITEMID, t.STITLE AS STITLE, '' AS SFIRSTNAME";
+    private final static String TITLES_PERSON = "t.PERSONID AS ITEMID, t.SNAME AS STITLE, t.SFIRSTNAME AS SFIRSTNAME";
+
+    private final static String SELECT_RELATED = "SELECT %1$d AS NITEMTYPE, r.RELATIONID AS RELATIONID, %2$s "
+            + "FROM tblRelation r INNER JOIN %3$s t ON r.NITEM%5$d = t.%4$s "
+            + "WHERE r.NTYPE%5$d = %1$d AND r.NTYPE%6$d = ? AND r.NITEM%6$d = ?";
+    private final static int NEIGHBOURHOOD_SELECTS = 6;
+    private final static String SQL_NEIGHBOURHOOD = createNeighbourhood(COLUMNS_TERM, COLUMNS_TEXT, COLUMNS_PERSON);
+    private final static String SQL_NEIGHBOURHOOD_TITLES = createNeighbourhood(TITLES_TERM, TITLES_TEXT,
+            TITLES_PERSON);
+
+    // the statements to create and delete relations in batches
+    private final static String SQL_INSERT = "INSERT INTO tblRelation (NTYPE1, NITEM1, NTYPE2, NITEM2) "
+            + "VALUES (?, ?, ?, ?)";
+    private final static String SQL_DELETE = "DELETE FROM tblRelation WHERE RELATIONID = ?";
+    private final static String SQL_RELATIONS_OF = "SELECT RELATIONID, NTYPE1, NITEM1, NTYPE2, NITEM2 "
+            + "FROM tblRelation WHERE (NTYPE1 = ? AND NITEM1 = ?) OR (NTYPE2 = ? AND NITEM2 = ?)";
+    private final static int BATCH_SIZE = 500;
+
     /**
      * RelationHome constructor.
      */
@@ -128,6 +184,8 @@ ICreatableHome {
             final long id = getMax(KEY_ID).longValue();
             outRelation.set(KEY_ID, id);
             BOMHelper.getEventStoreHome().saveEntry(new UniqueID(IItem.RELATION, id), outRelation, StoreType.CREATE);
+            RelationGraph.INSTANCE.relationAdded(id, item1.getItemType(), item1.getID(), item2.getItemType(),
+                    item2.getID());
             return (Relation) outRelation;
         }
         catch (VException | SQLException exc) {
@@ -135,6 +193,71 @@ ICreatableHome {
         }
     }
 
+    /** Creates the relations between the specified item and the specified related items.<br>
+     * The relations are inserted with JDBC batches in one transaction, together with the matching entries in the event
+     * store. The relations' IDs are taken from the keys generated by the database.
+     *
+     * @param item {@link IItem} the item the relations start from
+     * @param related long[] the keys of the related items, see {@link UniqueID#getKey()}
+     * @return long[] the IDs of the new relations, in the order of the related items
+     * @throws BOMException */
+    public long[] newRelations(final IItem item, final long[] related) throws BOMException {
+        if (related.length == 0) {
+            return new long[0];
+        }
+        try {
+            final int type = item.getItemType();
+            final long id = item.getID();
+            final long[] outIDs = new RelationBatch().insert(type, id, related);
+            for (int i = 0; i < related.length; i++) {
+                RelationGraph.INSTANCE.relationAdded(outIDs[i], type, id, UniqueID.typeOf(related[i]),
+                        UniqueID.idOf(related[i]));
+            }
+            return outIDs;
+        }
+        catch (VException | SQLException exc) {
+            throw new BOMException(exc);
+        }
+    }
+
+    /** Deletes the relations between the specified item and the specified related items, regardless of the relations'
+     * direction.<br>
+     * The relations are looked up with one query and deleted with JDBC batches in one transaction, together with the
+     * matching entries in the event store.
+     *
+     * @param item {@link IItem} the item the relations start from
+     * @param related long[] the keys of the related items, see {@link UniqueID#getKey()}
+     * @return int the number of deleted relations
+     * @throws BOMException */
+    public int deleteRelations(final IItem item, final long[] related) throws BOMException {
+        try {
+            final long[] associated = filterAssociated(item, related);
+            if (associated.length == 0) {
+                return 0;
+            }
+            final long[] deleted = new RelationBatch().delete(item.getItemType(), item.getID(), associated);
+            for (final long relationID : deleted) {
+                RelationGraph.INSTANCE.relationRemoved(relationID);
+            }
+            return deleted.length;
+        }
+        catch (VException | SQLException exc) {
+            throw new BOMException(exc);
+        }
+    }
+
+    /** Returns the related items that are associated with the specified item according to the relation graph. If
+     * the graph is not loaded, all related items are returned. */
+    private static long[] filterAssociated(final IItem item, final long[] related) throws VException {
+        if (!RelationGraph.INSTANCE.isLoaded()) {
+            return related;
+        }
+        final int type = item.getItemType();
+        final long id = item.getID();
+        return Arrays.stream(related).filter(key -> RelationGraph.INSTANCE.isAssociated(type, id,
+                UniqueID.typeOf(key), UniqueID.idOf(key))).toArray();
+    }
+
     /** Delete the relation with the specified ID.
      *
      * @param relationID
@@ -145,6 +268,7 @@ ICreatableHome {
             key.setValue(KEY_ID, new Long(relationID));
             delete(key, true);
             BOMHelper.getEventStoreHome().saveEntry(new UniqueID(IItem.RELATION, relationID));
+            RelationGraph.INSTANCE.relationRemoved(relationID);
         }
         catch (VException | SQLException exc) {
             throw new BOMException(exc.getMessage());
@@ -161,8 +285,10 @@ ICreatableHome {
     public void deleteRelation(final int type1, final long id1, final int type2, final long id2) throws BOMException {
         try {
             final DomainObject relation = findByKey(createKey(type1, id1, type2, id2));
-            BOMHelper.getEventStoreHome().saveEntry(new UniqueID(IItem.RELATION, (Long) relation.get(KEY_ID)));
+            final Long relationID = (Long) relation.get(KEY_ID);
+            BOMHelper.getEventStoreHome().saveEntry(new UniqueID(IItem.RELATION, relationID));
             relation.delete(true);
+            RelationGraph.INSTANCE.relationRemoved(relationID);
         }
         catch (SQLException | VException exc) {
             throw new BOMException(exc.getMessage());
@@ -208,6 +334,38 @@ ICreatableHome {
         }
     }
 
+    /** Returns all items related to the specified item, i.e. the item's neighbourhood in the graph of relations.<br>
+     * The related terms, texts and persons are retrieved with one statement instead of a join query per item type and
+     * direction of the relation. The items are ordered by their type and implement <code>IRelated</code>.
+     *
+     * @param item {@link IItem}
+     * @return Collection&lt;IItem> the related items
+     * @throws VException
+     * @throws SQLException */
+    public Collection<IItem> getRelatedItems(final IItem item) throws VException, SQLException {
+        if (isUnrelated(item)) {
+            return new ArrayList<>();
+        }
+        return new NeighbourhoodQuery().select(SQL_NEIGHBOURHOOD, item, NeighbourhoodQuery::newRelated);
+    }
+
+    /** Returns all items related to the specified item, projected to the values needed to display them: ID, type,
+     * title and the relation's ID. The full items are loaded lazily, i.e. when they are needed the first time.
+     *
+     * @param item {@link IItem}
+     * @return Collection&lt;IItem> the related items, instances of {@link RelatedItem} ordered by their type
+     * @throws VException
+     * @throws SQLException
+     * @see #getRelatedItems(IItem) */
+    public Collection<IItem> getRelatedTitles(final IItem item) throws VException, SQLException {
+        if (isUnrelated(item)) {
+            return new ArrayList<>();
+        }
+        final AlternativeModelFactory factory = new TitleModelFactory();
+        return new NeighbourhoodQuery().select(SQL_NEIGHBOURHOOD_TITLES, item,
+                result -> new RelatedItem((ILightWeightItem) factory.createModel(result), result.getLong(2)));
+    }
+
     /** Retrieves the Relation with the specified values.
      *
      * @param type1 int
@@ -225,6 +383,24 @@ ICreatableHome {
         }
     }
 
+    /** The relation graph tells whether an item has relations without querying the database. */
+    private static boolean isUnrelated(final IItem item) throws VException {
+        return RelationGraph.INSTANCE.isLoaded()
+                && RelationGraph.INSTANCE.getDegree(item.getItemType(), item.getID()) == 0;
+    }
+
+    private static String createNeighbourhood(final String columnsTerm, final String columnsText,
+            final String columnsPerson) {
+        return String.join(" UNION ALL ",
+                String.format(SELECT_RELATED, IItem.TERM, columnsTerm, "tblTerm", "TERMID", 1, 2),
+                String.format(SELECT_RELATED, IItem.TERM, columnsTerm, "tblTerm", "TERMID", 2, 1),
+                String.format(SELECT_RELATED, IItem.TEXT, columnsText, "tblText", "TEXTID", 1, 2),
+                String.format(SELECT_RELATED, IItem.TEXT, columnsText, "tblText", "TEXTID", 2, 1),
+                String.format(SELECT_RELATED, IItem.PERSON, columnsPerson, "tblPerson", "PERSONID", 1, 2),
+                String.format(SELECT_RELATED, IItem.PERSON, columnsPerson, "tblPerson", "PERSONID", 2, 1))
+                + " ORDER BY 1";
+    }
+
     private KeyObject createKey(final int type1, final long id1, final int type2, final long id2) throws VException {
         final KeyObject outKey = new KeyObjectImpl();
         outKey.setValue(KEY_TYPE1, new Integer(type1));
@@ -264,6 +440,7 @@ ICreatableHome {
             }
             // delete relations
             delete(key1, true);
+            RelationGraph.INSTANCE.relationsRemoved(item.getItemType(), item.getID());
         }
         catch (VException | SQLException exc) {
             throw new BOMException(exc.getMessage());
@@ -297,4 +474,225 @@ ICreatableHome {
         return new String[] { sql };
     }
 
+    // ---
+
+    /** Creates the row of a neighbourhood query. */
+    @FunctionalInterface
+    private interface RowFactory {
+        IItem create(ResultSet result) throws SQLException, VException;
+    }
+
+    /** Helper class to run the neighbourhood query. */
+    private static class NeighbourhoodQuery extends AbstractQueryStatement {
+        private static final long serialVersionUID = 1L;
+
+        protected List<IItem> select(final String sql, final IItem item, final RowFactory factory)
+                throws SQLException, VException {
+            final List<IItem> outItems = new ArrayList<>();
+            try (Connection connection = getConnection();
+                    PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < NEIGHBOURHOOD_SELECTS; i++) {
+                    statement.setInt(2 * i + 1, item.getItemType());
+                    statement.setLong(2 * i + 2, item.getID());
+                }
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        outItems.add(factory.create(result));
+                    }
+                }
+            }
+            return outItems;
+        }
+
+        /** The rows of the full items are created by the join home of the related item's type. */
+        private static IItem newRelated(final ResultSet result) throws SQLException, VException {
+            switch (result.getInt(1)) {
+                case IItem.TERM:
+                    return BOMHelper.getJoinRelatedTerm1Home().newRelated(result);
+                case IItem.TEXT:
+                    return BOMHelper.getJoinRelatedText1Home().newRelated(result);
+                default:
+                    return BOMHelper.getJoinRelatedPerson1Home().newRelated(result);
+            }
+        }
+    }
+
+    /** Helper class to create and delete relations in batches. */
+    private class RelationBatch extends AbstractQueryStatement {
+        private static final long serialVersionUID = 1L;
+
+        private final EventStoreHome eventStore = BOMHelper.getEventStoreHome();
+
+        /** @return long[] the IDs of the inserted relations */
+        long[] insert(final int type, final long id, final long[] related) throws SQLException, VException {
+            final long[] outIDs = new long[related.length];
+            try (Connection connection = getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    boolean generated = true;
+                    try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT,
+                            Statement.RETURN_GENERATED_KEYS)) {
+                        for (int start = 0; start < related.length; start += BATCH_SIZE) {
+                            final int end = Math.min(start + BATCH_SIZE, related.length);
+                            for (int i = start; i < end; i++) {
+                                statement.setInt(1, type);
+                                statement.setLong(2, id);
+                                statement.setInt(3, UniqueID.typeOf(related[i]));
+                                statement.setLong(4, UniqueID.idOf(related[i]));
+                                statement.addBatch();
+                            }
+                            statement.executeBatch();
+                            generated &= readKeys(statement, outIDs, start, end);
+                        }
+                    }
+                    if (!generated) {
+                        findKeys(connection, type, id, related, outIDs);
+                    }
+                    saveCreated(connection, type, id, related, outIDs);
+                    connection.commit();
+                }
+                catch (SQLException | VException exc) {
+                    connection.rollback();
+                    throw exc;
+                }
+            }
+            return outIDs;
+        }
+
+        /** @return long[] the IDs of the deleted relations */
+        long[] delete(final int type, final long id, final long[] related) throws SQLException, VException {
+            final LongSet others = new LongSet(related.length);
+            for (final long key : related) {
+                others.add(key);
+            }
+            final LongMap<UniqueID> relations = new LongMap<>(related.length);
+            try (Connection connection = getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    selectRelations(connection, type, id, (relationID, other) -> {
+                        if (others.contains(other)) {
+                            relations.put(relationID, new UniqueID(IItem.RELATION, relationID));
+                        }
+                    });
+                    final long[] outIDs = relations.keys();
+                    try (PreparedStatement statement = connection.prepareStatement(SQL_DELETE)) {
+                        for (int i = 0; i < outIDs.length; i++) {
+                            statement.setLong(1, outIDs[i]);
+                            statement.addBatch();
+                            if ((i + 1) % BATCH_SIZE == 0 || i + 1 == outIDs.length) {
+                                statement.executeBatch();
+                            }
+                        }
+                    }
+                    final List<UniqueID> ids = new ArrayList<>(outIDs.length);
+                    final List<String> events = new ArrayList<>(outIDs.length);
+                    for (final long relationID : outIDs) {
+                        final UniqueID relation = relations.get(relationID);
+                        ids.add(relation);
+                        events.add(EventStoreHome.getDeleteEvent(relation));
+                    }
+                    this.eventStore.saveEntries(connection, StoreType.DELETE, ids, events);
+                    connection.commit();
+                    return outIDs;
+                }
+                catch (final SQLException exc) {
+                    connection.rollback();
+                    throw exc;
+                }
+            }
+        }
+
+        /** Reads the generated keys of the executed batch.
+         *
+         * @return boolean <code>false</code> if the driver didn't return a key for every row of the batch */
+        private boolean readKeys(final Statement statement, final long[] ids, final int start, final int end)
+                throws SQLException {
+            int index = start;
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                while (keys != null && keys.next() && index < end) {
+                    ids[index++] = keys.getLong(1);
+                }
+            }
+            return index == end;
+        }
+
+        /** Fallback for drivers returning the generated key of a batch's last row only (e.g. Derby): the new relations
+         * are the ones with the highest IDs, because the IDs are generated in ascending order. */
+        private void findKeys(final Connection connection, final int type, final long id, final long[] related,
+                final long[] ids) throws SQLException {
+            final LongMap<long[]> highest = new LongMap<>(related.length);
+            selectRelations(connection, type, id, (relationID, other) -> {
+                final long[] found = highest.get(other);
+                if (found == null) {
+                    highest.put(other, new long[] { relationID });
+                } else if (relationID > found[0]) {
+                    found[0] = relationID;
+                }
+            });
+            for (int i = 0; i < related.length; i++) {
+                ids[i] = highest.get(related[i])[0];
+            }
+        }
+
+        /** Selects the relations of the item, passes the relations' IDs and the keys of the related items. */
+        private void selectRelations(final Connection connection, final int type, final long id,
+                final RelationConsumer consumer) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(SQL_RELATIONS_OF)) {
+                statement.setInt(1, type);
+                statement.setLong(2, id);
+                statement.setInt(3, type);
+                statement.setLong(4, id);
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        final boolean first = result.getInt(2) == type && result.getLong(3) == id;
+                        consumer.accept(result.getLong(1), first ? UniqueID.pack(result.getInt(4), result.getLong(5))
+                                : UniqueID.pack(result.getInt(2), result.getLong(3)));
+                    }
+                }
+            }
+        }
+
+        private void saveCreated(final Connection connection, final int type, final long id, final long[] related,
+                final long[] relationIDs) throws SQLException, VException {
+            final List<UniqueID> ids = new ArrayList<>(related.length);
+            final List<String> events = new ArrayList<>(related.length);
+            for (int i = 0; i < related.length; i++) {
+                final DomainObject relation = create();
+                relation.set(KEY_ID, relationIDs[i]);
+                relation.set(KEY_TYPE1, type);
+                relation.set(KEY_ITEM1, id);
+                relation.set(KEY_TYPE2, UniqueID.typeOf(related[i]));
+                relation.set(KEY_ITEM2, UniqueID.idOf(related[i]));
+                ids.add(new UniqueID(IItem.RELATION, relationIDs[i]));
+                events.add(this.eventStore.getEvent(relation));
+            }
+            this.eventStore.saveEntries(connection, StoreType.CREATE, ids, events);
+        }
+    }
+
+    /** Consumes a relation of an item. */
+    @FunctionalInterface
+    private interface RelationConsumer {
+        void accept(long relationID, long other);
+    }
+
+    /** Creates the light weight items containing only the title. */
+    private static class TitleModelFactory implements AlternativeModelFactory {
+        @Override
+        public AlternativeModel createModel(final ResultSet result) throws SQLException {
+            final long id = result.getLong("ITEMID"); //$NON-NLS-1$
+            final String title = result.getString("STITLE"); //$NON-NLS-1$
+            switch (result.getInt(1)) {
+                case IItem.TERM:
+                    return new LightWeightTerm(id, title, null, null, null);
+                case IItem.TEXT:
+                    return new LightWeightText(id, title, null, null, null, null, null, null, null, 0, 0, null, null,
+                            0, null, null);
+                default:
+                    return new LightWeightPerson(id, title, result.getString("SFIRSTNAME"), null, null, null, null, //$NON-NLS-1$
+                            null);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,183 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.graph;
+
+import java.util.Arrays;
+
+import org.elbe.relations.data.utility.LongKeyTable;
+
+/** The adjacency lists of the relation graph: for every node, i.e. item, the list of its neighbours and the IDs of
+ * the relations connecting them.<br>
+ * A node's list is stored as <code>long</code> array of pairs <code>[neighbour, relationID, ...]</code>. A node without
+ * relations is removed from the table.
+ *
+ * @author Luthiger */
+final class AdjacencyLists extends LongKeyTable {
+    private static final long[] EMPTY = new long[0];
+    private static final int INITIAL_LENGTH = 4;
+
+    private long[][] lists;
+    private int[] degrees;
+    private long[][] allocatedLists;
+    private int[] allocatedDegrees;
+
+    /** @param expected int the number of nodes expected */
+    AdjacencyLists(final int expected) {
+        super(expected);
+        this.lists = new long[capacity()][];
+        this.degrees = new int[capacity()];
+    }
+
+    /** Adds the specified neighbour to the node's list.
+     *
+     * @param node long
+     * @param neighbour long
+     * @param relationID long */
+    void add(final long node, final long neighbour, final long relationID) {
+        final int lSlot = insert(node);
+        final int lDegree = this.degrees[lSlot];
+        long[] lList = this.lists[lSlot];
+        if (lList == null) {
+            lList = new long[INITIAL_LENGTH];
+        } else if (lList.length < 2 * lDegree + 2) {
+            lList = Arrays.copyOf(lList, 2 * lList.length);
+        }
+        lList[2 * lDegree] = neighbour;
+        lList[2 * lDegree + 1] = relationID;
+        this.lists[lSlot] = lList;
+        this.degrees[lSlot] = lDegree + 1;
+    }
+
+    /** Removes the relation with the specified ID from the node's list.
+     *
+     * @param node long
+     * @param relationID long
+     * @return boolean <code>true</code> if the node's list contained the relation */
+    boolean remove(final long node, final long relationID) {
+        final int lSlot = slotOf(node);
+        if (lSlot < 0) {
+            return false;
+        }
+        final long[] lList = this.lists[lSlot];
+        final int lLast = this.degrees[lSlot] - 1;
+        for (int i = 0; i <= lLast; i++) {
+            if (lList[2 * i + 1] == relationID) {
+                // the last pair fills the gap
+                lList[2 * i] = lList[2 * lLast];
+                lList[2 * i + 1] = lList[2 * lLast + 1];
+                if (lLast == 0) {
+                    removeAt(lSlot);
+                } else {
+                    this.degrees[lSlot] = lLast;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Removes the node and returns its list.
+     *
+     * @param node long
+     * @return long[] the node's pairs <code>[neighbour, relationID, ...]</code> */
+    long[] removeNode(final long node) {
+        final int lSlot = slotOf(node);
+        if (lSlot < 0) {
+            return EMPTY;
+        }
+        final long[] outPairs = Arrays.copyOf(this.lists[lSlot], 2 * this.degrees[lSlot]);
+        removeAt(lSlot);
+        return outPairs;
+    }
+
+    /** @param node long
+     * @param neighbour long
+     * @return boolean <code>true</code> if the neighbour is in the node's list */
+    boolean contains(final long node, final long neighbour) {
+        final int lSlot = slotOf(node);
+        if (lSlot < 0) {
+            return false;
+        }
+        final long[] lList = this.lists[lSlot];
+        for (int i = 0; i < this.degrees[lSlot]; i++) {
+            if (lList[2 * i] == neighbour) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @param node long
+     * @return int the number of the node's relations */
+    int degree(final long node) {
+        final int lSlot = slotOf(node);
+        return lSlot < 0 ? 0 : this.degrees[lSlot];
+    }
+
+    /** @return int the maximal number of relations of a node */
+    int maxDegree() {
+        int outMax = 0;
+        for (int i = 0; i < capacity(); i++) {
+            if (isOccupied(i)) {
+                outMax = Math.max(outMax, this.degrees[i]);
+            }
+        }
+        return outMax;
+    }
+
+    @Override
+    protected void removeAt(final int slot) {
+        super.removeAt(slot);
+        this.lists[slot] = null;
+        this.degrees[slot] = 0;
+    }
+
+    @Override
+    public long memoryUsage() {
+        long outBytes = super.memoryUsage() + arraySize(this.lists.length, Long.BYTES)
+                + arraySize(this.degrees.length, Integer.BYTES);
+        for (final long[] lList : this.lists) {
+            if (lList != null) {
+                outBytes += arraySize(lList.length, Long.BYTES);
+            }
+        }
+        return outBytes;
+    }
+
+    @Override
+    protected void allocate(final int capacity) {
+        this.allocatedLists = new long[capacity][];
+        this.allocatedDegrees = new int[capacity];
+    }
+
+    @Override
+    protected void move(final int from, final int to) {
+        this.allocatedLists[to] = this.lists[from];
+        this.allocatedDegrees[to] = this.degrees[from];
+    }
+
+    @Override
+    protected void swap() {
+        this.lists = this.allocatedLists;
+        this.degrees = this.allocatedDegrees;
+        this.allocatedLists = null;
+        this.allocatedDegrees = null;
+    }
+
+}
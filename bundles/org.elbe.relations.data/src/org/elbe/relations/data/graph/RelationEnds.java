@@ -0,0 +1,101 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.graph;
+
+import org.elbe.relations.data.utility.LongKeyTable;
+
+/** The ends of the relations in the relation graph: for every relation ID the (packed) keys of the two items it
+ * connects.
+ *
+ * @author Luthiger */
+final class RelationEnds extends LongKeyTable {
+    private long[] firsts;
+    private long[] seconds;
+    private long[] allocatedFirsts;
+    private long[] allocatedSeconds;
+
+    /** @param expected int the number of relations expected */
+    RelationEnds(final int expected) {
+        super(expected);
+        this.firsts = new long[capacity()];
+        this.seconds = new long[capacity()];
+    }
+
+    /** @param relationID long
+     * @param first long the key of the first item
+     * @param second long the key of the second item */
+    void put(final long relationID, final long first, final long second) {
+        final int lSlot = insert(relationID);
+        this.firsts[lSlot] = first;
+        this.seconds[lSlot] = second;
+    }
+
+    /** @param relationID long
+     * @return int the relation's slot or <code>-1</code> if the table doesn't contain the relation */
+    int find(final long relationID) {
+        return slotOf(relationID);
+    }
+
+    /** @param slot int
+     * @return long the key of the first item of the relation in the specified slot */
+    long first(final int slot) {
+        return this.firsts[slot];
+    }
+
+    /** @param slot int
+     * @return long the key of the second item of the relation in the specified slot */
+    long second(final int slot) {
+        return this.seconds[slot];
+    }
+
+    /** @param relationID long */
+    void remove(final long relationID) {
+        final int lSlot = slotOf(relationID);
+        if (lSlot >= 0) {
+            removeAt(lSlot);
+        }
+    }
+
+    @Override
+    public long memoryUsage() {
+        return super.memoryUsage() + arraySize(this.firsts.length, Long.BYTES)
+                + arraySize(this.seconds.length, Long.BYTES);
+    }
+
+    @Override
+    protected void allocate(final int capacity) {
+        this.allocatedFirsts = new long[capacity];
+        this.allocatedSeconds = new long[capacity];
+    }
+
+    @Override
+    protected void move(final int from, final int to) {
+        this.allocatedFirsts[to] = this.firsts[from];
+        this.allocatedSeconds[to] = this.seconds[from];
+    }
+
+    @Override
+    protected void swap() {
+        this.firsts = this.allocatedFirsts;
+        this.seconds = this.allocatedSeconds;
+        this.allocatedFirsts = null;
+        this.allocatedSeconds = null;
+    }
+
+}
@@ -0,0 +1,333 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.graph;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.elbe.relations.data.utility.UniqueID;
+import org.hip.kernel.bom.impl.AbstractQueryStatement;
+import org.hip.kernel.exc.VException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** In-process index of the graph of relations of the active catalog.<br>
+ * The graph is loaded once when the catalog is opened and is kept current by the <code>RelationHome</code>'s methods
+ * creating and deleting relations. Association checks and degree statistics are answered from memory, i.e. without
+ * database round trip. The changes made while the graph is loaded are replayed on the loaded graph.
+ * <p>
+ * The items are identified by a <code>long</code> key packing item type and ID, see {@link #key(int, long)}. The index
+ * is optional: as long as it is not loaded, the maintenance methods do nothing and the queries return empty results.
+ * </p>
+ *
+ * @author Luthiger */
+public enum RelationGraph {
+    INSTANCE;
+
+    private static final Logger LOG = LoggerFactory.getLogger(RelationGraph.class);
+
+    private static final String SQL_RELATIONS = "SELECT RELATIONID, NTYPE1, NITEM1, NTYPE2, NITEM2 FROM tblRelation"; //$NON-NLS-1$
+    private static final String SQL_COUNT = "SELECT COUNT(*) FROM tblRelation"; //$NON-NLS-1$
+
+    /** Statistics of the relation graph.
+     *
+     * @param items int the number of items having relations
+     * @param relations int the number of relations
+     * @param maxDegree int the maximal number of relations of an item
+     * @param averageDegree double the average number of relations of an item having relations
+     * @param memory long the estimated number of bytes used by the index */
+    public record Statistics(int items, int relations, int maxDegree, double averageDegree, long memory) {
+    }
+
+    /** A change of the graph, applied to the adjacency lists and the relations' ends. */
+    @FunctionalInterface
+    private interface Change {
+        void apply(AdjacencyLists adjacency, RelationEnds relations);
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private AdjacencyLists adjacency;
+    private RelationEnds relations;
+    // the changes made while the graph is loaded, null if no load is running
+    private List<Change> journal;
+
+    /** Packs the specified item type and ID into one key.
+     *
+     * @param type int the item type, see <code>IItem</code>
+     * @param id long the item's ID
+     * @return long
+     * @see UniqueID#pack(int, long) */
+    public static long key(final int type, final long id) {
+        return UniqueID.pack(type, id);
+    }
+
+    /** @param key long a packed key
+     * @return int the item type */
+    public static int typeOf(final long key) {
+        return UniqueID.typeOf(key);
+    }
+
+    /** @param key long a packed key
+     * @return long the item's ID */
+    public static long idOf(final long key) {
+        return UniqueID.idOf(key);
+    }
+
+    /** Loads the relations of the active catalog, replacing the relations loaded before. The relations created or
+     * deleted while the relations are read from the table are applied to the loaded graph.
+     *
+     * @throws SQLException
+     * @throws VException */
+    public synchronized void load() throws SQLException, VException {
+        final long lStart = System.currentTimeMillis();
+        this.lock.writeLock().lock();
+        try {
+            this.journal = new ArrayList<>();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        final RelationsLoader lLoader = new RelationsLoader();
+        try {
+            lLoader.load();
+            this.lock.writeLock().lock();
+            try {
+                for (final Change lChange : this.journal) {
+                    lChange.apply(lLoader.adjacency, lLoader.relations);
+                }
+                this.adjacency = lLoader.adjacency;
+                this.relations = lLoader.relations;
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        } finally {
+            this.lock.writeLock().lock();
+            try {
+                this.journal = null;
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+        LOG.debug("Relation graph loaded in {} ms: {}", System.currentTimeMillis() - lStart, getStatistics()); //$NON-NLS-1$
+    }
+
+    /** Releases the loaded relations, e.g. before the catalog is changed. */
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.adjacency = null;
+            this.relations = null;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /** @return boolean <code>true</code> if the relations are loaded */
+    public boolean isLoaded() {
+        this.lock.readLock().lock();
+        try {
+            return this.relations != null;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /** Adds the specified relation to the graph.
+     *
+     * @param relationID long
+     * @param type1 int
+     * @param id1 long
+     * @param type2 int
+     * @param id2 long */
+    public void relationAdded(final long relationID, final int type1, final long id1, final int type2,
+            final long id2) {
+        final long lNode1 = key(type1, id1);
+        final long lNode2 = key(type2, id2);
+        change((adjacency, relations) -> {
+            // the loader may have read the relation already
+            if (relations.find(relationID) < 0) {
+                add(adjacency, relations, relationID, lNode1, lNode2);
+            }
+        });
+    }
+
+    /** Removes the relation with the specified ID from the graph.
+     *
+     * @param relationID long */
+    public void relationRemoved(final long relationID) {
+        change((adjacency, relations) -> {
+            final int lSlot = relations.find(relationID);
+            if (lSlot >= 0) {
+                adjacency.remove(relations.first(lSlot), relationID);
+                adjacency.remove(relations.second(lSlot), relationID);
+                relations.remove(relationID);
+            }
+        });
+    }
+
+    /** Removes all relations of the specified item from the graph.
+     *
+     * @param type int
+     * @param id long */
+    public void relationsRemoved(final int type, final long id) {
+        final long lNode = key(type, id);
+        change((adjacency, relations) -> {
+            final long[] lPairs = adjacency.removeNode(lNode);
+            for (int i = 0; i < lPairs.length; i += 2) {
+                if (lPairs[i] != lNode) {
+                    adjacency.remove(lPairs[i], lPairs[i + 1]);
+                }
+                relations.remove(lPairs[i + 1]);
+            }
+        });
+    }
+
+    /** Applies the specified change to the loaded graph and records it for the graph being loaded. */
+    private void change(final Change change) {
+        this.lock.writeLock().lock();
+        try {
+            if (this.journal != null) {
+                this.journal.add(change);
+            }
+            if (this.relations != null) {
+                change.apply(this.adjacency, this.relations);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /** Checks whether the specified items are related. The check scans the adjacency list of the item with fewer
+     * relations.
+     *
+     * @param type1 int
+     * @param id1 long
+     * @param type2 int
+     * @param id2 long
+     * @return boolean <code>true</code> if the items are related, <code>false</code> if not or if the graph is not
+     *         loaded */
+    public boolean isAssociated(final int type1, final long id1, final int type2, final long id2) {
+        this.lock.readLock().lock();
+        try {
+            if (this.adjacency == null) {
+                return false;
+            }
+            final long lNode1 = key(type1, id1);
+            final long lNode2 = key(type2, id2);
+            if (this.adjacency.degree(lNode1) <= this.adjacency.degree(lNode2)) {
+                return this.adjacency.contains(lNode1, lNode2);
+            }
+            return this.adjacency.contains(lNode2, lNode1);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /** @param type int
+     * @param id long
+     * @return int the number of relations of the specified item */
+    public int getDegree(final int type, final long id) {
+        this.lock.readLock().lock();
+        try {
+            return this.adjacency == null ? 0 : this.adjacency.degree(key(type, id));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /** @return int the number of relations in the graph */
+    public int getNumberOfRelations() {
+        this.lock.readLock().lock();
+        try {
+            return this.relations == null ? 0 : this.relations.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /** @return long the estimated number of bytes used by the index */
+    public long getMemoryUsage() {
+        this.lock.readLock().lock();
+        try {
+            return this.relations == null ? 0 : this.adjacency.memoryUsage() + this.relations.memoryUsage();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /** @return {@link Statistics} the statistics of the graph */
+    public Statistics getStatistics() {
+        this.lock.readLock().lock();
+        try {
+            if (this.relations == null) {
+                return new Statistics(0, 0, 0, 0, 0);
+            }
+            final int lItems = this.adjacency.size();
+            final int lRelations = this.relations.size();
+            return new Statistics(lItems, lRelations, this.adjacency.maxDegree(),
+                    lItems == 0 ? 0 : 2.0 * lRelations / lItems,
+                    this.adjacency.memoryUsage() + this.relations.memoryUsage());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static void add(final AdjacencyLists adjacency, final RelationEnds relations, final long relationID,
+            final long node1, final long node2) {
+        relations.put(relationID, node1, node2);
+        adjacency.add(node1, node2, relationID);
+        adjacency.add(node2, node1, relationID);
+    }
+
+    // ---
+
+    /** Helper class to stream the relations from the table. */
+    private static class RelationsLoader extends AbstractQueryStatement {
+        private static final long serialVersionUID = 1L;
+
+        private transient AdjacencyLists adjacency;
+        private transient RelationEnds relations;
+
+        protected void load() throws SQLException, VException {
+            try (Connection lConnection = getConnection(); Statement lStatement = lConnection.createStatement()) {
+                int lCount = 0;
+                try (ResultSet lResult = lStatement.executeQuery(SQL_COUNT)) {
+                    if (lResult.next()) {
+                        lCount = lResult.getInt(1);
+                    }
+                }
+                this.adjacency = new AdjacencyLists(lCount);
+                this.relations = new RelationEnds(lCount);
+                try (ResultSet lResult = lStatement.executeQuery(SQL_RELATIONS)) {
+                    while (lResult.next()) {
+                        add(this.adjacency, this.relations, lResult.getLong(1),
+                                key(lResult.getInt(2), lResult.getLong(3)),
+                                key(lResult.getInt(4), lResult.getLong(5)));
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -19,9 +19,11 @@
 package org.elbe.relations.data.search;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.elbe.relations.data.utility.RException;
 
@@ -79,6 +81,25 @@ public interface IIndexer {
     void deleteItemInIndex(String inUniqueID, String inFieldName, Path indexDir, String inLanguage)
             throws IOException;
 
+    /** Replaces the indexed document of the item with the specified unique ID by the specified document in one atomic
+     * operation, i.e. the item doesn't disappear from search results while it's updated. If the item is not indexed
+     * yet, the document is added.<br>
+     * The default implementation deletes the item and adds the document in two steps.
+     *
+     * @param inUniqueID String the item's unique ID
+     * @param inFieldName String the lucene field name identifying the ID field
+     * @param inDocument {@link IndexerDocument} the item's new document
+     * @param indexDir {@link Path} the directory where the search index is stored.
+     * @param inLanguage String ISO Language Code defined in ISO-639.
+     * @throws IOException */
+    default void updateDocument(final String inUniqueID, final String inFieldName, final IndexerDocument inDocument,
+            final Path indexDir, final String inLanguage) throws IOException {
+        deleteItemInIndex(inUniqueID, inFieldName, indexDir, inLanguage);
+        final IndexerHelper lIndexer = new IndexerHelper();
+        lIndexer.addDocument(inDocument);
+        processIndexer(lIndexer, indexDir, inLanguage);
+    }
+
     /** Convenience method: initialize the specified index directory. If already existing, all contained documents are
      * discarded.
      *
@@ -87,6 +108,51 @@ public interface IIndexer {
      * @throws IOException */
     void initializeIndex(Path indexDir, String inLanguage) throws IOException;
 
+    /** Makes the changes done so far on the specified index durable, i.e. commits them to the index directory.<br>
+     * The default implementation does nothing, which is suitable for indexers writing their changes immediately.
+     *
+     * @param indexDir {@link Path} the directory where the search index is stored.
+     * @throws IOException */
+    default void commit(final Path indexDir) throws IOException {
+        // intentionally left empty
+    }
+
+    /** Closes the specified index: the pending changes are committed and the resources held for the index (e.g. an
+     * open index writer) are released. The index is opened again when it is accessed next.<br>
+     * This method has to be called before the index directory is replaced or the catalog is switched. The default
+     * implementation does nothing, which is suitable for indexers not holding the index open.
+     *
+     * @param indexDir {@link Path} the directory where the search index is stored.
+     * @throws IOException */
+    default void closeIndex(final Path indexDir) throws IOException {
+        // intentionally left empty
+    }
+
+    /** Copies the committed state of the specified index to the target directory, e.g. to back up the index while it
+     * is in use. The copy has to be consistent even if the index is written to in the meantime.<br>
+     * The default implementation copies the files of the index directory, which is suitable for indexers not holding
+     * the index open.
+     *
+     * @param indexDir {@link Path} the directory where the search index is stored.
+     * @param target {@link Path} the existing directory to copy the index files to
+     * @throws IOException */
+    default void backupIndex(final Path indexDir, final Path target) throws IOException {
+        try (Stream<Path> lFiles = Files.list(indexDir)) {
+            for (final Path lFile : lFiles.filter(Files::isRegularFile).toList()) {
+                Files.copy(lFile, target.resolve(lFile.getFileName()));
+            }
+        }
+    }
+
+    /** Checks whether the specified index is complete and readable, e.g. after it has been restored from a backup.<br>
+     * The default implementation can't check the index and returns <code>true</code>.
+     *
+     * @param indexDir {@link Path} the directory where the search index is stored.
+     * @return boolean <code>false</code> if the index is corrupt and has to be rebuilt */
+    default boolean checkIndex(final Path indexDir) {
+        return true;
+    }
+
     /** Searches the indexed items using the specified search query.
      *
      * @param inQueryTerm String
@@ -0,0 +1,233 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.hip.kernel.bom.GeneralDomainObject;
+import org.hip.kernel.bom.GeneralDomainObjectHome;
+import org.hip.kernel.bom.QueryResult;
+import org.hip.kernel.exc.VException;
+
+/** Producer/consumer pipeline to (re-) index the items of a catalog using several threads.<br>
+ * For each item type, a reader streams the items from the database into a bounded queue. A pool of workers takes the
+ * items from the queue, creates the items' documents and passes them in chunks to the indexer. All workers write
+ * into the same index, i.e. the indexer has to be thread safe.
+ * <p>
+ * The progress is reported on the calling thread, which also checks the monitor for cancellation. A pipeline stopped
+ * by cancellation or by an interrupt of the calling thread leaves a partial index, see {@link #isComplete()}.
+ * </p>
+ *
+ * @author Luthiger */
+final class IndexPipeline {
+    private static final int CHUNK_SIZE = 200;
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final long POLL_INTERVAL = 100; // milliseconds
+
+    private final IIndexer indexer;
+    private final Path indexDir;
+    private final String language;
+    private final int workers;
+
+    private final BlockingQueue<GeneralDomainObject> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicInteger indexed = new AtomicInteger();
+    private boolean complete;
+
+    /** IndexPipeline constructor.
+     *
+     * @param indexer {@link IIndexer} the indexer writing the documents
+     * @param indexDir {@link Path} the directory where the search index is stored
+     * @param language String ISO Language Code defined in ISO-639
+     * @param workers int the number of threads creating the documents */
+    IndexPipeline(final IIndexer indexer, final Path indexDir, final String language, final int workers) {
+        this.indexer = indexer;
+        this.indexDir = indexDir;
+        this.language = language;
+        this.workers = Math.max(1, workers);
+    }
+
+    /** Indexes all items of the specified homes.
+     *
+     * @param homes Collection&lt;GeneralDomainObjectHome> the homes of the items to index
+     * @param monitor {@link IProgressMonitor}
+     * @return int the number of indexed items
+     * @throws IOException
+     * @throws VException
+     * @throws SQLException */
+    int run(final Collection<GeneralDomainObjectHome> homes, final IProgressMonitor monitor)
+            throws IOException, VException, SQLException {
+        int lTotal = 0;
+        for (final GeneralDomainObjectHome lHome : homes) {
+            lTotal += lHome.getCount();
+        }
+        final SubMonitor lProgress = SubMonitor.convert(monitor, lTotal);
+
+        final CountDownLatch lReading = new CountDownLatch(homes.size());
+        final ExecutorService lExecutor = Executors.newFixedThreadPool(homes.size() + this.workers, runnable -> {
+            final Thread outThread = new Thread(runnable, "Relations reindex"); //$NON-NLS-1$
+            outThread.setDaemon(true);
+            return outThread;
+        });
+        final List<Future<?>> lTasks = new ArrayList<>();
+        try {
+            for (final GeneralDomainObjectHome lHome : homes) {
+                lTasks.add(lExecutor.submit(() -> {
+                    try {
+                        read(lHome);
+                    } finally {
+                        lReading.countDown();
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < this.workers; i++) {
+                lTasks.add(lExecutor.submit(() -> {
+                    index(lReading);
+                    return null;
+                }));
+            }
+            this.complete = await(lTasks, lProgress);
+        } finally {
+            this.stopped.set(true);
+            lExecutor.shutdownNow();
+        }
+        return this.indexed.get();
+    }
+
+    /** @return boolean <code>true</code> if the last run has indexed all items, <code>false</code> if it has been
+     *         stopped before, e.g. by cancellation or by an interrupt */
+    boolean isComplete() {
+        return this.complete;
+    }
+
+    /** Reports the progress until all tasks are done, stops the pipeline on cancellation, interrupt or failure.
+     *
+     * @return boolean <code>true</code> if all tasks have been finished without being stopped */
+    private boolean await(final List<Future<?>> tasks, final SubMonitor progress)
+            throws IOException, VException, SQLException {
+        int lReported = 0;
+        for (final Future<?> lTask : tasks) {
+            while (true) {
+                try {
+                    lTask.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (final TimeoutException exc) {
+                    // report progress and check for cancellation
+                } catch (final InterruptedException exc) {
+                    this.stopped.set(true);
+                    Thread.currentThread().interrupt();
+                    return false;
+                } catch (final ExecutionException exc) {
+                    this.stopped.set(true);
+                    rethrow(exc.getCause());
+                }
+                final int lIndexed = this.indexed.get();
+                progress.worked(lIndexed - lReported);
+                lReported = lIndexed;
+                if (progress.isCanceled()) {
+                    this.stopped.set(true);
+                }
+            }
+        }
+        progress.worked(this.indexed.get() - lReported);
+        return !this.stopped.get();
+    }
+
+    private void rethrow(final Throwable exc) throws IOException, VException, SQLException {
+        if (exc instanceof final IOException lExc) {
+            throw lExc;
+        }
+        if (exc instanceof final VException lExc) {
+            throw lExc;
+        }
+        if (exc instanceof final SQLException lExc) {
+            throw lExc;
+        }
+        if (exc instanceof final RuntimeException lExc) {
+            throw lExc;
+        }
+        throw new IOException(exc);
+    }
+
+    /** Producer: streams the items of the specified home into the queue. */
+    private void read(final GeneralDomainObjectHome home) throws VException, SQLException, InterruptedException {
+        try (QueryResult lResult = home.select(true)) {
+            while (lResult.hasMoreElements() && !this.stopped.get()) {
+                final GeneralDomainObject lItem = lResult.next();
+                while (!this.queue.offer(lItem, POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    if (this.stopped.get()) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Consumer: creates the documents of the queued items and passes them in chunks to the indexer. The released
+     * items are not handed back to their home, because the homes' object caches are not thread safe. */
+    private void index(final CountDownLatch reading) throws VException, IOException, InterruptedException {
+        final IndexerHelper lHelper = new IndexerHelper();
+        int lPending = 0;
+        while (!this.stopped.get()) {
+            final GeneralDomainObject lItem = this.queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            if (lItem == null) {
+                if (reading.getCount() == 0 && this.queue.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            ((IIndexable) lItem).indexContent(lHelper);
+            if (++lPending == CHUNK_SIZE) {
+                flush(lHelper, lPending);
+                lPending = 0;
+            }
+        }
+        if (!this.stopped.get()) {
+            flush(lHelper, lPending);
+        }
+    }
+
+    private void flush(final IndexerHelper helper, final int items) throws IOException {
+        if (items > 0) {
+            this.indexer.processIndexer(helper, this.indexDir, this.language);
+            helper.reset();
+            this.indexed.addAndGet(items);
+        }
+    }
+
+}
@@ -0,0 +1,371 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.search;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.elbe.relations.data.bom.BOMException;
+import org.elbe.relations.data.bom.BOMHelper;
+import org.elbe.relations.data.bom.EventStoreHome;
+import org.elbe.relations.data.bom.EventStoreHome.StoreType;
+import org.elbe.relations.data.bom.IItem;
+import org.elbe.relations.data.bom.IItemFactory;
+import org.elbe.relations.data.utility.UniqueID;
+import org.hip.kernel.bom.GeneralDomainObject;
+import org.hip.kernel.bom.QueryResult;
+import org.hip.kernel.exc.VException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Background maintenance of the search index of the active catalog.<br>
+ * The changes of items are not written to the index on the thread saving the item. Instead, they are queued and
+ * applied in batches by a single writer thread. Repeated changes of the same item are coalesced, i.e. only the latest
+ * state of an item is indexed.
+ * <p>
+ * Every batch also processes the entries of the event store that have been added since the last batch. After the
+ * changes are committed to the index, the ID of the latest event store entry processed is saved with the index
+ * (checkpoint). Therefore, if the application is stopped before the queue is flushed, the pending changes are replayed
+ * from the event store when the queue is started the next time.
+ * </p>
+ *
+ * @author Luthiger */
+public enum IndexQueue {
+    INSTANCE;
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexQueue.class);
+
+    private static final String CHECKPOINT = "eventstore.checkpoint"; //$NON-NLS-1$
+    private static final long BATCH_DELAY = 250; // milliseconds
+
+    private enum Operation {
+        UPDATE, DELETE, RELOAD;
+    }
+
+    private record Entry(Operation operation, Collection<IndexerDocument> documents) {
+    }
+
+    private record Target(RelationsIndexer source, Path indexDir, String language) {
+        IIndexer indexer() {
+            return this.source.getIndexer();
+        }
+    }
+
+    private final Map<String, Entry> pending = new LinkedHashMap<>();
+    private ScheduledExecutorService writer;
+    private Target target;
+    private boolean scheduled;
+    private long checkpoint;
+
+    /** Starts the queue for the search index of the specified indexer, i.e. of the active catalog. A queue started
+     * before is stopped first. The changes not applied to the index yet are replayed from the event store.
+     *
+     * @param indexer {@link RelationsIndexer} */
+    public void start(final RelationsIndexer indexer) {
+        stop();
+        final Target lTarget = new Target(indexer, indexer.getIndexPath(), indexer.getLanguage());
+        final long lCheckpoint = readCheckpoint(lTarget.indexDir());
+        synchronized (this) {
+            this.target = lTarget;
+            this.checkpoint = lCheckpoint;
+            this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread outThread = new Thread(runnable, "Relations index writer"); //$NON-NLS-1$
+                outThread.setDaemon(true);
+                return outThread;
+            });
+            // replay the changes missed in the former session
+            this.scheduled = true;
+            this.writer.execute(this::process);
+        }
+    }
+
+    /** Applies all pending changes to the search index, stops the queue and closes the index. This method has to be
+     * called before the application's catalog is switched, the index is restored or the application is shut down. */
+    public void stop() {
+        final ScheduledExecutorService lWriter;
+        synchronized (this) {
+            lWriter = this.writer;
+            this.writer = null;
+        }
+        if (lWriter == null) {
+            return;
+        }
+        await(lWriter);
+        lWriter.shutdown();
+        final Target lTarget;
+        synchronized (this) {
+            lTarget = this.target;
+            this.target = null;
+            this.pending.clear();
+            this.scheduled = false;
+        }
+        if (lTarget != null) {
+            try {
+                lTarget.indexer().closeIndex(lTarget.indexDir());
+            } catch (final IOException exc) {
+                LOG.error("Unable to close the search index!", exc); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /** Applies all pending changes to the search index and waits until they are committed. */
+    public void flush() {
+        final ScheduledExecutorService lWriter;
+        synchronized (this) {
+            lWriter = this.writer;
+        }
+        if (lWriter != null) {
+            await(lWriter);
+        }
+    }
+
+    private void await(final ScheduledExecutorService writer) {
+        try {
+            writer.submit(this::process).get();
+        } catch (final InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException exc) {
+            LOG.error("Unable to flush the index queue!", exc.getCause()); //$NON-NLS-1$
+        }
+    }
+
+    /** @param indexer {@link RelationsIndexer}
+     * @return boolean <code>true</code> if the queue is started for the specified indexer's search index */
+    public synchronized boolean isServing(final RelationsIndexer indexer) {
+        return this.target != null && this.target.indexDir().equals(indexer.getIndexPath())
+                && this.target.language().equals(indexer.getLanguage());
+    }
+
+    /** Queues the specified documents of an item to replace the item's indexed documents.
+     *
+     * @param indexer {@link RelationsIndexer}
+     * @param uniqueID String the item's unique ID
+     * @param documents Collection&lt;IndexerDocument> the item's documents
+     * @return boolean <code>false</code> if the queue doesn't serve the specified indexer's search index */
+    boolean update(final RelationsIndexer indexer, final String uniqueID, final Collection<IndexerDocument> documents) {
+        return enqueue(indexer, uniqueID, new Entry(Operation.UPDATE, documents));
+    }
+
+    /** Queues the deletion of an item from the search index.
+     *
+     * @param indexer {@link RelationsIndexer}
+     * @param uniqueID String the item's unique ID
+     * @return boolean <code>false</code> if the queue doesn't serve the specified indexer's search index */
+    boolean delete(final RelationsIndexer indexer, final String uniqueID) {
+        return enqueue(indexer, uniqueID, new Entry(Operation.DELETE, null));
+    }
+
+    private synchronized boolean enqueue(final RelationsIndexer indexer, final String uniqueID, final Entry entry) {
+        if (this.writer == null || !isServing(indexer)) {
+            return false;
+        }
+        // the latest change of an item replaces the queued one
+        this.pending.remove(uniqueID);
+        this.pending.put(uniqueID, entry);
+        if (!this.scheduled) {
+            this.scheduled = true;
+            this.writer.schedule(this::process, BATCH_DELAY, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /** Notifies the queue that the search index of the specified indexer has been rebuilt. The changes stored in the
+     * event store up to the specified entry don't need to be replayed anymore.
+     *
+     * @param indexer {@link RelationsIndexer}
+     * @param eventID long the ID of the latest event store entry before the index has been rebuilt */
+    public void reindexed(final RelationsIndexer indexer, final long eventID) {
+        synchronized (this) {
+            if (isServing(indexer)) {
+                if (eventID <= this.checkpoint) {
+                    return;
+                }
+                this.checkpoint = eventID;
+            }
+        }
+        writeCheckpoint(indexer.getIndexPath(), eventID);
+    }
+
+    /** Processes one batch, runs on the writer thread. */
+    private void process() {
+        final Map<String, Entry> lBatch;
+        final Target lTarget;
+        final long lCheckpoint;
+        synchronized (this) {
+            this.scheduled = false;
+            lBatch = new LinkedHashMap<>(this.pending);
+            this.pending.clear();
+            lTarget = this.target;
+            lCheckpoint = this.checkpoint;
+        }
+        if (lTarget == null) {
+            return;
+        }
+        try {
+            final long lLatest = collectStored(lBatch, lCheckpoint);
+            if (lBatch.isEmpty() && lLatest == lCheckpoint) {
+                return;
+            }
+            for (final Map.Entry<String, Entry> lEntry : lBatch.entrySet()) {
+                apply(lTarget, lEntry.getKey(), lEntry.getValue());
+            }
+            lTarget.indexer().commit(lTarget.indexDir());
+            if (lLatest > lCheckpoint) {
+                synchronized (this) {
+                    this.checkpoint = Math.max(this.checkpoint, lLatest);
+                }
+                writeCheckpoint(lTarget.indexDir(), lLatest);
+            }
+        } catch (IOException | VException | SQLException | RuntimeException exc) {
+            LOG.error("Unable to apply the changes to the search index!", exc); //$NON-NLS-1$
+        }
+    }
+
+    /** Adds the items changed according to the event store entries after the specified checkpoint. Items deleted
+     * according to the event store are deleted in any case, changed items are reloaded from the database unless the
+     * batch contains their latest state already.
+     *
+     * @return long the ID of the latest event store entry */
+    private long collectStored(final Map<String, Entry> batch, final long checkpoint)
+            throws VException, SQLException {
+        long outLatest = checkpoint;
+        try (QueryResult lResult = BOMHelper.getEventStoreHome().selectAfter(checkpoint)) {
+            while (lResult.hasMoreElements()) {
+                final GeneralDomainObject lEvent = lResult.next();
+                outLatest = ((Number) lEvent.get(EventStoreHome.KEY_ID)).longValue();
+                final String lUniqueID = (String) lEvent.get(EventStoreHome.KEY_UNIQUE_ID);
+                if (!isItem(lUniqueID)) {
+                    continue;
+                }
+                if (EventStoreHome.getStoreType(
+                        ((Number) lEvent.get(EventStoreHome.KEY_TYPE)).intValue()) == StoreType.DELETE) {
+                    batch.put(lUniqueID, new Entry(Operation.DELETE, null));
+                } else {
+                    batch.putIfAbsent(lUniqueID, new Entry(Operation.RELOAD, null));
+                }
+            }
+        }
+        return outLatest;
+    }
+
+    private boolean isItem(final String uniqueID) {
+        if (uniqueID == null || uniqueID.isEmpty()) {
+            return false;
+        }
+        try {
+            return new UniqueID(uniqueID).itemType != IItem.RELATION;
+        } catch (final RuntimeException exc) {
+            LOG.warn("Invalid entry in the event store: {}", uniqueID); //$NON-NLS-1$
+            return false;
+        }
+    }
+
+    private void apply(final Target target, final String uniqueID, final Entry entry) throws IOException {
+        switch (entry.operation()) {
+            case DELETE:
+                target.indexer().deleteItemInIndex(uniqueID, AbstractSearching.UNIQUE_ID, target.indexDir(),
+                        target.language());
+                break;
+            case UPDATE:
+                write(target, uniqueID, entry.documents());
+                break;
+            case RELOAD:
+                final Collection<IndexerDocument> lDocuments = reload(uniqueID);
+                if (lDocuments != null) {
+                    write(target, uniqueID, lDocuments);
+                }
+                break;
+        }
+    }
+
+    private void write(final Target target, final String uniqueID, final Collection<IndexerDocument> documents)
+            throws IOException {
+        if (documents.size() == 1) {
+            target.indexer().updateDocument(uniqueID, AbstractSearching.UNIQUE_ID, documents.iterator().next(),
+                    target.indexDir(), target.language());
+        } else {
+            target.indexer().deleteItemInIndex(uniqueID, AbstractSearching.UNIQUE_ID, target.indexDir(),
+                    target.language());
+            final IndexerHelper lIndexer = new IndexerHelper();
+            documents.forEach(lIndexer::addDocument);
+            target.indexer().processIndexer(lIndexer, target.indexDir(), target.language());
+        }
+    }
+
+    private Collection<IndexerDocument> reload(final String uniqueID) {
+        final UniqueID lID = new UniqueID(uniqueID);
+        final IItemFactory lFactory = switch (lID.itemType) {
+            case IItem.TERM -> BOMHelper.getTermHome();
+            case IItem.TEXT -> BOMHelper.getTextHome();
+            case IItem.PERSON -> BOMHelper.getPersonHome();
+            default -> null;
+        };
+        if (lFactory == null) {
+            return null;
+        }
+        try {
+            final IndexerHelper outIndexer = new IndexerHelper();
+            ((IIndexable) lFactory.getItem(lID.itemID)).indexContent(outIndexer);
+            return outIndexer.getDocuments();
+        } catch (BOMException | VException exc) {
+            LOG.warn("Unable to reload item {} for indexing: {}", uniqueID, exc.getMessage()); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /** Reads the checkpoint saved with the specified index. If there's no checkpoint yet, the index is assumed to be
+     * up to date with the event store. */
+    long readCheckpoint(final Path indexDir) {
+        final Path lFile = indexDir.resolve(CHECKPOINT);
+        try {
+            if (Files.exists(lFile)) {
+                return Long.parseLong(Files.readString(lFile, StandardCharsets.UTF_8).trim());
+            }
+            final long outLatest = BOMHelper.getEventStoreHome().getLatestID();
+            writeCheckpoint(indexDir, outLatest);
+            return outLatest;
+        } catch (IOException | NumberFormatException | VException exc) {
+            LOG.error("Unable to read the checkpoint of the search index!", exc); //$NON-NLS-1$
+            return 0;
+        }
+    }
+
+    void writeCheckpoint(final Path indexDir, final long eventID) {
+        final Path lFile = indexDir.resolve(CHECKPOINT);
+        final Path lTemp = indexDir.resolve(CHECKPOINT + ".tmp"); //$NON-NLS-1$
+        try {
+            Files.writeString(lTemp, Long.toString(eventID), StandardCharsets.UTF_8);
+            Files.move(lTemp, lFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException exc) {
+            LOG.error("Unable to save the checkpoint of the search index!", exc); //$NON-NLS-1$
+        }
+    }
+
+}
@@ -20,7 +20,10 @@ package org.elbe.relations.data.search;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
@@ -42,6 +45,7 @@ import org.hip.kernel.exc.VException;
  */
 public abstract class RelationsIndexer extends AbstractSearching {
     private final static int CHUNK_SIZE = 50;
+    public final static int DFT_WORKERS = Runtime.getRuntime().availableProcessors();
     private static final String INDEX_INDICATOR = "segments"; //$NON-NLS-1$
 
     /**
@@ -65,7 +69,52 @@ public abstract class RelationsIndexer extends AbstractSearching {
      * @throws SQLException
      */
     public int refreshIndex(final IProgressMonitor inMonitor) throws IOException, VException, SQLException {
-        return doIndex(new IndexerHelper(), inMonitor, getIndexer());
+        // the rebuilt index contains the changes stored in the event store so far
+        final long lLatestEvent = BOMHelper.getEventStoreHome().getLatestID();
+        final int outIndexed = doIndex(new IndexerHelper(), inMonitor, getIndexer());
+        reindexed(inMonitor, lLatestEvent);
+        return outIndexed;
+    }
+
+    /**
+     * Refreshes the search index for the current database using the
+     * specified number of threads: the items are read from the database by
+     * one thread per item type and indexed by the specified number of
+     * workers.
+     *
+     * @param inMonitor
+     *            IProgressMonitor
+     * @param inWorkers
+     *            int the number of threads creating the items' documents,
+     *            e.g. {@link #DFT_WORKERS}
+     * @return int number of indexed items
+     * @throws IOException
+     * @throws VException
+     * @throws SQLException
+     */
+    public int refreshIndex(final IProgressMonitor inMonitor, final int inWorkers)
+            throws IOException, VException, SQLException {
+        final long lLatestEvent = BOMHelper.getEventStoreHome().getLatestID();
+        final IIndexer lIndexer = getIndexer();
+        lIndexer.initializeIndex(getIndexPath(), getLanguage());
+
+        inMonitor.subTask(Messages.getString("RelationsIndexer.task.all")); //$NON-NLS-1$
+        final IndexPipeline lPipeline = new IndexPipeline(lIndexer, getIndexPath(), getLanguage(), inWorkers);
+        final int outIndexed = lPipeline.run(
+                List.of(BOMHelper.getTermHome(), BOMHelper.getTextHome(), BOMHelper.getPersonHome()), inMonitor);
+        // a partial index is not committed, the checkpoint is kept
+        if (lPipeline.isComplete()) {
+            reindexed(inMonitor, lLatestEvent);
+        }
+        return outIndexed;
+    }
+
+    private void reindexed(final IProgressMonitor inMonitor, final long inLatestEvent) throws IOException {
+        if (!inMonitor.isCanceled()) {
+            // the checkpoint must not get ahead of the documents committed to the index
+            getIndexer().commit(getIndexPath());
+            IndexQueue.INSTANCE.reindexed(this, inLatestEvent);
+        }
     }
 
     protected int doIndex(final IndexerHelper inIndexHelper, final IProgressMonitor inMonitor, final IIndexer inIndexer)
@@ -110,21 +159,23 @@ public abstract class RelationsIndexer extends AbstractSearching {
             final IProgressMonitor inMonitor, final IIndexer inIndexer) throws VException, SQLException, IOException {
         final SubMonitor lProgress = SubMonitor.convert(inMonitor, 100);
         int outNumberOfIndexed = 0;
-        final QueryResult lResult = inHome.select();
-        while (lResult.hasMoreElements()) {
-            final IIndexable lIndexable = (IIndexable) lResult.nextAsDomainObject();
-            lIndexable.indexContent(inIndexHelper);
-            ((DomainObject) lIndexable).release();
-
-            outNumberOfIndexed++;
-            if (outNumberOfIndexed % CHUNK_SIZE == 0) {
-                // we let process/index the prepared documents in chunks of
-                // CHUNK_SIZE
-                processIndexer(inIndexer, inIndexHelper);
-            }
-            lProgress.worked(1);
-            if (lProgress.isCanceled()) {
-                return outNumberOfIndexed;
+        // the items are streamed from the database to index large catalogs in constant memory
+        try (QueryResult lResult = inHome.select(true)) {
+            while (lResult.hasMoreElements()) {
+                final IIndexable lIndexable = (IIndexable) lResult.nextAsDomainObject();
+                lIndexable.indexContent(inIndexHelper);
+                ((DomainObject) lIndexable).release();
+
+                outNumberOfIndexed++;
+                if (outNumberOfIndexed % CHUNK_SIZE == 0) {
+                    // we let process/index the prepared documents in chunks of
+                    // CHUNK_SIZE
+                    processIndexer(inIndexer, inIndexHelper);
+                }
+                lProgress.worked(1);
+                if (lProgress.isCanceled()) {
+                    return outNumberOfIndexed;
+                }
             }
         }
         processIndexer(inIndexer, inIndexHelper);
@@ -139,7 +190,8 @@ public abstract class RelationsIndexer extends AbstractSearching {
     /**
      * Adds an <code>Indexable</code> to this search index. This method has to
      * be called when a new instance of an Indexable object is created, i.e.
-     * stored in the database.
+     * stored in the database. If the <code>IndexQueue</code> is started for
+     * this index, the item is indexed in the background.
      *
      * @param inIndexable
      *            {@link IIndexable}
@@ -152,6 +204,10 @@ public abstract class RelationsIndexer extends AbstractSearching {
         final IndexerHelper lIndexer = new IndexerHelper();
         try {
             inIndexable.indexContent(lIndexer);
+            if (inIndexable instanceof final IItem lItem && IndexQueue.INSTANCE.update(this,
+                    UniqueID.getStringOf(lItem.getItemType(), lItem.getID()), lIndexer.getDocuments())) {
+                return;
+            }
             getIndexer().processIndexer(lIndexer, getIndexPath(), getLanguage());
         } catch (final VException exc) {
             throw new BOMException(exc);
@@ -166,6 +222,9 @@ public abstract class RelationsIndexer extends AbstractSearching {
      * @throws IOException
      */
     public void deleteItemInIndex(final String inUniqueID) throws IOException {
+        if (IndexQueue.INSTANCE.delete(this, inUniqueID)) {
+            return;
+        }
         getIndexer().deleteItemInIndex(inUniqueID, AbstractSearching.UNIQUE_ID, getIndexPath(), getLanguage());
     }
 
@@ -180,8 +239,20 @@ public abstract class RelationsIndexer extends AbstractSearching {
      */
     public void refreshItemInIndex(final IItem inItem) throws IOException, BOMException, VException {
         final String lUniqueID = UniqueID.getStringOf(inItem.getItemType(), inItem.getID());
-        deleteItemInIndex(lUniqueID);
-        addToIndex((IIndexable) inItem);
+        final IndexerHelper lIndexer = new IndexerHelper();
+        ((IIndexable) inItem).indexContent(lIndexer);
+        final Collection<IndexerDocument> lDocuments = lIndexer.getDocuments();
+        if (IndexQueue.INSTANCE.update(this, lUniqueID, lDocuments)) {
+            return;
+        }
+        if (lDocuments.size() == 1) {
+            // the item's document is replaced in one step
+            getIndexer().updateDocument(lUniqueID, AbstractSearching.UNIQUE_ID, lDocuments.iterator().next(),
+                    getIndexPath(), getLanguage());
+        } else {
+            deleteItemInIndex(lUniqueID);
+            getIndexer().processIndexer(lIndexer, getIndexPath(), getLanguage());
+        }
     }
 
     /**
@@ -194,6 +265,44 @@ public abstract class RelationsIndexer extends AbstractSearching {
         getIndexer().initializeIndex(getIndexPath(), getLanguage());
     }
 
+    /**
+     * Closes the search index, i.e. commits the pending changes and releases
+     * the index writer. The index is opened again when it is accessed next.
+     *
+     * @throws IOException
+     */
+    public void closeIndex() throws IOException {
+        getIndexer().closeIndex(getIndexPath());
+    }
+
+    /**
+     * Copies the committed state of the search index and its checkpoint to
+     * the specified directory, e.g. to back up the index while it is in use.
+     * The checkpoint is read before the index is copied, thus, the copy's
+     * checkpoint never covers changes missing in the copied index.
+     *
+     * @param target
+     *            {@link Path} the existing directory to copy the index to
+     * @throws IOException
+     */
+    public void backupIndex(final Path target) throws IOException {
+        final long lCheckpoint = IndexQueue.INSTANCE
+                .readCheckpoint(getIndexPath());
+        getIndexer().backupIndex(getIndexPath(), target);
+        IndexQueue.INSTANCE.writeCheckpoint(target, lCheckpoint);
+    }
+
+    /**
+     * Checks whether the search index is complete and readable, e.g. after it
+     * has been restored from a backup.
+     *
+     * @return boolean <code>false</code> if the index is corrupt and has to
+     *         be rebuilt
+     */
+    public boolean checkIndex() {
+        return getIndexer().checkIndex(getIndexPath());
+    }
+
     /**
      * Convenience method: checks whether there's yet an index with the
      * specified indexDir.
@@ -0,0 +1,197 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.utility;
+
+/** Base class of hash tables with primitive <code>long</code> keys, e.g. the packed keys of {@link UniqueID}.<br>
+ * Compared to a <code>HashMap&lt;Long, ...></code>, the table neither boxes the keys nor allocates an entry per key.
+ * The table uses open addressing with linear probing. The slots of removed keys are marked and reused, the table is
+ * rebuilt when the used slots exceed the load factor. The keys <code>0</code> and <code>Long.MIN_VALUE</code> are
+ * reserved.
+ * <p>
+ * Subclasses hold the values in arrays parallel to the keys and have to move them when the table is rebuilt.
+ * </p>
+ *
+ * @author Luthiger */
+public abstract class LongKeyTable {
+    private static final long FREE = 0L;
+    private static final long REMOVED = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+    private int used;
+
+    /** @param expected int the number of keys expected */
+    protected LongKeyTable(final int expected) {
+        this.keys = new long[tableSize(expected)];
+    }
+
+    /** Returns the slot of the specified key.
+     *
+     * @param key long
+     * @return int the slot or <code>-1</code> if the table doesn't contain the key */
+    protected final int slotOf(final long key) {
+        if (key == FREE || key == REMOVED) {
+            return -1;
+        }
+        final int lMask = this.keys.length - 1;
+        int outSlot = hash(key) & lMask;
+        while (true) {
+            final long lKey = this.keys[outSlot];
+            if (lKey == key) {
+                return outSlot;
+            }
+            if (lKey == FREE) {
+                return -1;
+            }
+            outSlot = outSlot + 1 & lMask;
+        }
+    }
+
+    /** Returns the slot of the specified key, the key is added if the table doesn't contain it.
+     *
+     * @param key long the key, neither <code>0</code> nor <code>Long.MIN_VALUE</code>
+     * @return int the slot of the key */
+    protected final int insert(final long key) {
+        if (key == FREE || key == REMOVED) {
+            throw new IllegalArgumentException("Reserved key: " + key); //$NON-NLS-1$
+        }
+        final int lSlot = slotOf(key);
+        if (lSlot >= 0) {
+            return lSlot;
+        }
+        if (this.used + 1 > this.keys.length * LOAD_FACTOR) {
+            rebuild(this.size + 1 > this.keys.length * LOAD_FACTOR / 2 ? this.keys.length * 2 : this.keys.length);
+        }
+        final int lMask = this.keys.length - 1;
+        int outSlot = hash(key) & lMask;
+        while (this.keys[outSlot] != FREE && this.keys[outSlot] != REMOVED) {
+            outSlot = outSlot + 1 & lMask;
+        }
+        if (this.keys[outSlot] == FREE) {
+            this.used++;
+        }
+        this.keys[outSlot] = key;
+        this.size++;
+        return outSlot;
+    }
+
+    /** Removes the key in the specified slot. Subclasses have to release the slot's values.
+     *
+     * @param slot int */
+    protected void removeAt(final int slot) {
+        this.keys[slot] = REMOVED;
+        this.size--;
+    }
+
+    /** @param slot int
+     * @return long the key in the specified slot */
+    protected final long keyAt(final int slot) {
+        return this.keys[slot];
+    }
+
+    /** @param slot int
+     * @return boolean <code>true</code> if the specified slot contains a key */
+    protected final boolean isOccupied(final int slot) {
+        return this.keys[slot] != FREE && this.keys[slot] != REMOVED;
+    }
+
+    /** @return int the number of slots */
+    protected final int capacity() {
+        return this.keys.length;
+    }
+
+    /** @return int the number of keys in the table */
+    public final int size() {
+        return this.size;
+    }
+
+    /** @return boolean <code>true</code> if the table contains no keys */
+    public final boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /** Removes all keys, the table shrinks to its minimal capacity. */
+    public void clear() {
+        this.keys = new long[tableSize(0)];
+        this.size = 0;
+        this.used = 0;
+        allocate(this.keys.length);
+        swap();
+    }
+
+    /** @return long the estimated number of bytes allocated by the table */
+    public long memoryUsage() {
+        return arraySize(this.keys.length, Long.BYTES);
+    }
+
+    /** Allocates the value arrays with the specified capacity, the actual values have to be kept until they are moved.
+     *
+     * @param capacity int */
+    protected abstract void allocate(int capacity);
+
+    /** Moves the values of the specified slot of the actual value arrays to the specified slot of the allocated
+     * arrays.
+     *
+     * @param from int
+     * @param to int */
+    protected abstract void move(int from, int to);
+
+    /** Makes the allocated value arrays the actual ones. */
+    protected abstract void swap();
+
+    private void rebuild(final int capacity) {
+        final long[] lKeys = this.keys;
+        this.keys = new long[capacity];
+        allocate(capacity);
+        final int lMask = capacity - 1;
+        for (int i = 0; i < lKeys.length; i++) {
+            final long lKey = lKeys[i];
+            if (lKey != FREE && lKey != REMOVED) {
+                int lSlot = hash(lKey) & lMask;
+                while (this.keys[lSlot] != FREE) {
+                    lSlot = lSlot + 1 & lMask;
+                }
+                this.keys[lSlot] = lKey;
+                move(i, lSlot);
+            }
+        }
+        swap();
+        this.used = this.size;
+    }
+
+    private static int hash(final long key) {
+        final long lHash = key * 0x9E3779B97F4A7C15L;
+        return (int) (lHash ^ lHash >>> 32);
+    }
+
+    private static int tableSize(final int expected) {
+        final int lMinimal = (int) Math.min(1L << 30, (long) (Math.max(expected, MIN_CAPACITY) / LOAD_FACTOR) + 1);
+        return Integer.highestOneBit(lMinimal - 1) << 1;
+    }
+
+    /** @param length int the array's length
+     * @param bytes int the size of an array element
+     * @return long the estimated number of bytes allocated by an array */
+    protected static long arraySize(final int length, final int bytes) {
+        return 16 + (long) length * bytes;
+    }
+
+}
@@ -0,0 +1,136 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.utility;
+
+import java.util.function.BiConsumer;
+
+/** A map with primitive <code>long</code> keys, e.g. the keys of {@link UniqueID}s.<br>
+ * The keys aren't boxed and the map doesn't allocate an entry per mapping. The keys <code>0</code> and
+ * <code>Long.MIN_VALUE</code> can't be used.
+ *
+ * @param <V> the type of the values
+ * @author Luthiger */
+public class LongMap<V> extends LongKeyTable {
+    private Object[] values;
+    private Object[] allocatedValues;
+
+    /** LongMap constructor. */
+    public LongMap() {
+        this(0);
+    }
+
+    /** LongMap constructor.
+     *
+     * @param expected int the number of mappings expected */
+    public LongMap(final int expected) {
+        super(expected);
+        this.values = new Object[capacity()];
+    }
+
+    /** @param key long
+     * @param value V
+     * @return V the value previously mapped to the key, may be <code>null</code> */
+    public V put(final long key, final V value) {
+        final int lSlot = insert(key);
+        final V outPrevious = valueAt(lSlot);
+        this.values[lSlot] = value;
+        return outPrevious;
+    }
+
+    /** @param key long
+     * @return V the value mapped to the key or <code>null</code> */
+    public V get(final long key) {
+        final int lSlot = slotOf(key);
+        return lSlot < 0 ? null : valueAt(lSlot);
+    }
+
+    /** @param key long
+     * @return boolean <code>true</code> if the map contains the key */
+    public boolean containsKey(final long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /** @param key long
+     * @return V the value that was mapped to the key or <code>null</code> */
+    public V remove(final long key) {
+        final int lSlot = slotOf(key);
+        if (lSlot < 0) {
+            return null;
+        }
+        final V outValue = valueAt(lSlot);
+        removeAt(lSlot);
+        return outValue;
+    }
+
+    /** Passes each mapping to the specified action, in no particular order.
+     *
+     * @param action {@link BiConsumer}&lt;Long, V> */
+    public void forEach(final BiConsumer<Long, V> action) {
+        for (int i = 0; i < capacity(); i++) {
+            if (isOccupied(i)) {
+                action.accept(keyAt(i), valueAt(i));
+            }
+        }
+    }
+
+    /** @return long[] the keys of the map, in no particular order */
+    public long[] keys() {
+        final long[] outKeys = new long[size()];
+        int lIndex = 0;
+        for (int i = 0; i < capacity(); i++) {
+            if (isOccupied(i)) {
+                outKeys[lIndex++] = keyAt(i);
+            }
+        }
+        return outKeys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int slot) {
+        return (V) this.values[slot];
+    }
+
+    @Override
+    protected void removeAt(final int slot) {
+        super.removeAt(slot);
+        this.values[slot] = null;
+    }
+
+    @Override
+    public long memoryUsage() {
+        return super.memoryUsage() + arraySize(this.values.length, Integer.BYTES);
+    }
+
+    @Override
+    protected void allocate(final int capacity) {
+        this.allocatedValues = new Object[capacity];
+    }
+
+    @Override
+    protected void move(final int from, final int to) {
+        this.allocatedValues[to] = this.values[from];
+    }
+
+    @Override
+    protected void swap() {
+        this.values = this.allocatedValues;
+        this.allocatedValues = null;
+    }
+
+}
@@ -0,0 +1,105 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.utility;
+
+import java.util.function.LongConsumer;
+
+/** A set of primitive <code>long</code> values, e.g. of the keys of {@link UniqueID}s.<br>
+ * Neither the values nor the set's entries are boxed, i.e. adding and looking up a value doesn't allocate objects.
+ * The values <code>0</code> and <code>Long.MIN_VALUE</code> can't be stored in the set.
+ *
+ * @author Luthiger */
+public class LongSet extends LongKeyTable {
+
+    /** LongSet constructor. */
+    public LongSet() {
+        this(0);
+    }
+
+    /** LongSet constructor.
+     *
+     * @param expected int the number of values expected */
+    public LongSet(final int expected) {
+        super(expected);
+    }
+
+    /** @param value long
+     * @return boolean <code>true</code> if the set didn't contain the value */
+    public boolean add(final long value) {
+        final int lSize = size();
+        insert(value);
+        return size() > lSize;
+    }
+
+    /** @param value long
+     * @return boolean <code>true</code> if the set contains the value */
+    public boolean contains(final long value) {
+        return slotOf(value) >= 0;
+    }
+
+    /** @param value long
+     * @return boolean <code>true</code> if the set contained the value */
+    public boolean remove(final long value) {
+        final int lSlot = slotOf(value);
+        if (lSlot < 0) {
+            return false;
+        }
+        removeAt(lSlot);
+        return true;
+    }
+
+    /** Passes each value of the set to the specified action, in no particular order.
+     *
+     * @param action {@link LongConsumer} */
+    public void forEach(final LongConsumer action) {
+        for (int i = 0; i < capacity(); i++) {
+            if (isOccupied(i)) {
+                action.accept(keyAt(i));
+            }
+        }
+    }
+
+    /** @return long[] the values of the set, in no particular order */
+    public long[] toArray() {
+        final long[] outValues = new long[size()];
+        int lIndex = 0;
+        for (int i = 0; i < capacity(); i++) {
+            if (isOccupied(i)) {
+                outValues[lIndex++] = keyAt(i);
+            }
+        }
+        return outValues;
+    }
+
+    @Override
+    protected void allocate(final int capacity) {
+        // no values
+    }
+
+    @Override
+    protected void move(final int from, final int to) {
+        // no values
+    }
+
+    @Override
+    protected void swap() {
+        // no values
+    }
+
+}
@@ -23,14 +23,20 @@ import org.hip.kernel.exc.VException;
 
 /**
  * Utility class for an item's unique ID that consists of item type and item ID.
+ * <p>
+ * Type and ID can be packed into one <code>long</code> key, see {@link #pack(int, long)}. The key is used for the hash
+ * code and can be stored in a {@link LongSet} or {@link LongMap} to look up items without allocating objects.
+ * </p>
  *
  * @author Benno Luthiger Created on 09.05.2006
  */
 public class UniqueID {
-    private static final String TEMPLATE = "%s:%s"; //$NON-NLS-1$
+    private static final char SEPARATOR = ':';
+    private static final int TYPE_SHIFT = 56;
+    private static final long ID_MASK = (1L << TYPE_SHIFT) - 1;
 
-    public int itemType;
-    public long itemID;
+    public final int itemType;
+    public final long itemID;
 
     /** UniqueID constructor from itemType/itemID.
      *
@@ -47,9 +53,22 @@ public class UniqueID {
      * @param uniqueID String of form <code>itemType:itemID</code> */
     public UniqueID(final String uniqueID) {
         super();
-        final int index = uniqueID.indexOf(":"); //$NON-NLS-1$
-        this.itemType = Integer.parseInt(uniqueID.substring(0, index));
-        this.itemID = Integer.parseInt(uniqueID.substring(index + 1));
+        final int index = uniqueID.indexOf(SEPARATOR);
+        this.itemType = Integer.parseInt(uniqueID, 0, index, 10);
+        this.itemID = Long.parseLong(uniqueID, index + 1, uniqueID.length(), 10);
+    }
+
+    /** UniqueID constructor from a packed key.
+     *
+     * @param key long the key packing item type and ID
+     * @see #pack(int, long) */
+    public UniqueID(final long key) {
+        this(typeOf(key), idOf(key));
+    }
+
+    /** @return long the key packing item type and ID */
+    public long getKey() {
+        return pack(this.itemType, this.itemID);
     }
 
     @Override
@@ -59,7 +78,8 @@ public class UniqueID {
 
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        final long lHash = getKey() * 0x9E3779B97F4A7C15L;
+        return (int) (lHash ^ lHash >>> 32);
     }
 
     /**
@@ -84,7 +104,29 @@ public class UniqueID {
      * @param id long
      * @return String */
     public static String getStringOf(final int itemType, final long id) {
-        return String.format(TEMPLATE, itemType, id);
+        return Integer.toString(itemType) + SEPARATOR + id;
+    }
+
+    /** Packs the specified item type and ID into one <code>long</code>: the type is stored in the highest byte, the ID
+     * in the remaining 56 bits.
+     *
+     * @param itemType int
+     * @param id long
+     * @return long the key, positive for all items */
+    public static long pack(final int itemType, final long id) {
+        return (long) itemType << TYPE_SHIFT | id & ID_MASK;
+    }
+
+    /** @param key long a packed key
+     * @return int the item type */
+    public static int typeOf(final long key) {
+        return (int) (key >>> TYPE_SHIFT);
+    }
+
+    /** @param key long a packed key
+     * @return long the item's ID */
+    public static long idOf(final long key) {
+        return key & ID_MASK;
     }
 
     /** Factory method: creates a <code>UniqueID</code> from the specified <code>IItem</code>.
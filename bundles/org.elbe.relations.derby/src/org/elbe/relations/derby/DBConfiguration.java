@@ -54,4 +54,11 @@ public class DBConfiguration implements IDBConnectionConfig {
         return false;
     }
 
+    /** Derby copies the database to the backup directory while it remains usable, see
+     * <code>SYSCS_UTIL.SYSCS_BACKUP_DATABASE</code>. */
+    @Override
+    public String getOnlineBackupStatement() {
+        return "CALL SYSCS_UTIL.SYSCS_BACKUP_DATABASE(?)"; //$NON-NLS-1$
+    }
+
 }
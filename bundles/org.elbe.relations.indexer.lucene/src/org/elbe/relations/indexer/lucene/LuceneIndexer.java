@@ -22,7 +22,12 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.ar.ArabicAnalyzer;
@@ -60,11 +65,10 @@ import org.apache.lucene.document.Field;
 import org.apache.lucene.document.Field.Store;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.CheckIndex;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
-import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.index.IndexWriterConfig;
-import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.StoredFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
@@ -75,6 +79,7 @@ import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.IOContext;
 import org.apache.lucene.util.Version;
 import org.elbe.relations.data.search.AbstractSearching;
 import org.elbe.relations.data.search.IIndexer;
@@ -86,13 +91,19 @@ import org.elbe.relations.data.search.IndexerHelper;
 import org.elbe.relations.data.search.RetrievedItem;
 import org.elbe.relations.data.utility.RException;
 import org.elbe.relations.data.utility.UniqueID;
+import org.elbe.relations.lucene.internal.CommitPolicy;
 import org.elbe.relations.lucene.internal.DirectoryFactory;
+import org.elbe.relations.lucene.internal.IndexHandle;
 import org.elbe.relations.search.RetrievedItemWithIcon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The Lucene implementation of the <code>IIndexer</code> interface.
+ * The Lucene implementation of the <code>IIndexer</code> interface.<br>
+ * The index writer of an index directory is held open while the service is
+ * active. Searches use near-real-time searchers on the writer, i.e. they see
+ * the changes before they are committed. When the changes are committed is
+ * defined by the {@link CommitPolicy} configured in the component properties.
  *
  * @author Luthiger
  */
@@ -101,6 +112,15 @@ public class LuceneIndexer implements IIndexer {
     //    public static final Version LUCENE_VERSION = Version.LUCENE_4_10_1;
     public static final Version LUCENE_VERSION = Version.LUCENE_10_2_0;
 
+    // Lucene allows one writer per index directory, therefore, the open indexes are shared by all indexer instances
+    private static final Map<Path, IndexHandle> HANDLES = new HashMap<>();
+    private static CommitPolicy policy = CommitPolicy.DEFAULT;
+    // a larger buffer than Lucene's default pays off when a catalog is reindexed by several threads
+    private static final String KEY_RAM_BUFFER = "writer.ram.buffer"; //$NON-NLS-1$
+    private static final double DFT_RAM_BUFFER = 64;
+    private static double ramBuffer = DFT_RAM_BUFFER;
+    private static ScheduledExecutorService scheduler;
+
     private final DirectoryFactory directoryFactory = new FileSystemDirectoryFactory();
 
     // enum for language analyzers (see lucene-analyzers-common-4.10.1.jar)
@@ -145,26 +165,124 @@ public class LuceneIndexer implements IIndexer {
         }
     }
 
+    /** Activates the indexer service, configures the commit policy and the writers' RAM buffer from the component's
+     * properties.
+     *
+     * @param properties Map&lt;String, Object> the component properties */
+    public void activate(final Map<String, Object> properties) {
+        configure(CommitPolicy.from(properties));
+        final Object buffer = properties == null ? null : properties.get(KEY_RAM_BUFFER);
+        ramBuffer = buffer == null ? DFT_RAM_BUFFER : Double.parseDouble(buffer.toString().trim());
+    }
+
+    /** Deactivates the indexer service: all pending changes are committed and the index writers are closed. */
+    public void deactivate() {
+        synchronized (HANDLES) {
+            stopScheduler();
+            for (final IndexHandle handle : HANDLES.values()) {
+                close(handle);
+            }
+            HANDLES.clear();
+        }
+    }
+
+    private static void configure(final CommitPolicy commitPolicy) {
+        synchronized (HANDLES) {
+            policy = commitPolicy;
+            stopScheduler();
+            if (commitPolicy.mode() == CommitPolicy.Mode.TIME) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "Relations index commit"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                scheduler.scheduleWithFixedDelay(LuceneIndexer::commitPending, commitPolicy.interval(),
+                        commitPolicy.interval(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private static void stopScheduler() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private static void commitPending() {
+        final Collection<IndexHandle> handles;
+        synchronized (HANDLES) {
+            handles = new ArrayList<>(HANDLES.values());
+        }
+        for (final IndexHandle handle : handles) {
+            if (handle.hasPending()) {
+                try {
+                    handle.commit();
+                } catch (final IOException | RuntimeException exc) {
+                    LOG.error("Error encountered while committing the Lucene index!", exc);
+                }
+            }
+        }
+    }
+
+    private static void close(final IndexHandle handle) {
+        try {
+            handle.close();
+        } catch (final IOException exc) {
+            LOG.error("Error encountered while closing the Lucene index!", exc);
+        }
+    }
+
+    /** Returns the open index of the specified directory. The index is opened if needed.
+     *
+     * @param indexDir {@link Path}
+     * @param language String the language of the analyzer
+     * @param forWriting boolean if <code>true</code>, an index opened with a different analyzer is reopened
+     * @return {@link IndexHandle}
+     * @throws IOException */
+    private IndexHandle getHandle(final Path indexDir, final String language, final boolean forWriting)
+            throws IOException {
+        final Path key = indexDir.toAbsolutePath().normalize();
+        synchronized (HANDLES) {
+            final IndexHandle handle = HANDLES.get(key);
+            if (handle != null) {
+                if (!forWriting || handle.getLanguage().equals(language)) {
+                    return handle;
+                }
+                HANDLES.remove(key);
+                close(handle);
+            }
+            final IndexHandle outHandle = new IndexHandle(this.directoryFactory.getDirectory(key), language,
+                    getAnalyzer(language), policy, ramBuffer);
+            HANDLES.put(key, outHandle);
+            return outHandle;
+        }
+    }
+
+    private IndexHandle getOpenHandle(final Path indexDir) {
+        synchronized (HANDLES) {
+            return HANDLES.get(indexDir.toAbsolutePath().normalize());
+        }
+    }
+
     @Override
     public void processIndexer(final IndexerHelper indexer, final Path indexDir, final String language,
             final boolean create) throws IOException {
-        try (IndexWriter writer = new IndexWriter(this.directoryFactory.getDirectory(indexDir),
-                createConfiguration(language, create))) {
+        try {
+            final IndexHandle handle = getHandle(indexDir, language, true);
+            if (create) {
+                handle.deleteAll();
+            }
+            final List<Document> documents = new ArrayList<>(indexer.getDocuments().size());
             for (final IndexerDocument doc : indexer.getDocuments()) {
-                writer.addDocument(transformDoc(doc));
+                documents.add(transformDoc(doc));
             }
-            writer.commit();
+            handle.addDocuments(documents);
         } catch (final IOException exc) {
             LOG.error("Error with Lucene index encountered!", exc);
         }
     }
 
-    private IndexWriterConfig createConfiguration(final String language, final boolean createNew) {
-        final IndexWriterConfig config = new IndexWriterConfig(getAnalyzer(language));
-        config.setOpenMode(createNew ? OpenMode.CREATE : OpenMode.CREATE_OR_APPEND);
-        return config;
-    }
-
     @Override
     public void processIndexer(final IndexerHelper indexer, final Path indexDir, final String language)
             throws IOException {
@@ -220,11 +338,19 @@ public class LuceneIndexer implements IIndexer {
 
     @Override
     public int numberOfIndexed(final Path indexDir) throws IOException {
-        int outNumber = 0;
-        try (IndexReader reader = DirectoryReader.open(this.directoryFactory.getDirectory(indexDir))) {
-            outNumber = reader.numDocs();
+        final IndexHandle handle = getOpenHandle(indexDir);
+        if (handle == null) {
+            try (Directory directory = this.directoryFactory.getDirectory(indexDir);
+                    IndexReader reader = DirectoryReader.open(directory)) {
+                return reader.numDocs();
+            }
+        }
+        final IndexSearcher searcher = handle.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            handle.release(searcher);
         }
-        return outNumber;
     }
 
     @Override
@@ -239,10 +365,19 @@ public class LuceneIndexer implements IIndexer {
     @Override
     public void deleteItemInIndex(final String inUniqueID, final String inFieldName, final Path indexDir,
             final String inLanguage) throws IOException {
-        try (IndexWriter lWriter = new IndexWriter(this.directoryFactory.getDirectory(indexDir),
-                createConfiguration(inLanguage, false))) {
-            lWriter.deleteDocuments(new Term(inFieldName, inUniqueID));
-            lWriter.commit();
+        try {
+            getHandle(indexDir, inLanguage, true).deleteDocuments(new Term(inFieldName, inUniqueID));
+        } catch (final IOException exc) {
+            LOG.error("Error with Lucene index encountered!", exc);
+        }
+    }
+
+    @Override
+    public void updateDocument(final String inUniqueID, final String inFieldName, final IndexerDocument inDocument,
+            final Path indexDir, final String inLanguage) throws IOException {
+        try {
+            getHandle(indexDir, inLanguage, true).updateDocument(new Term(inFieldName, inUniqueID),
+                    transformDoc(inDocument));
         } catch (final IOException exc) {
             LOG.error("Error with Lucene index encountered!", exc);
         }
@@ -250,21 +385,78 @@ public class LuceneIndexer implements IIndexer {
 
     @Override
     public void initializeIndex(final Path indexDir, final String inLanguage) throws IOException {
-        final Directory directory = this.directoryFactory.getDirectory(indexDir);
-        final IndexWriter writer = new IndexWriter(directory, createConfiguration(inLanguage, true));
-        writer.commit();
-        writer.close();
+        getHandle(indexDir, inLanguage, true).deleteAll();
+    }
+
+    @Override
+    public void commit(final Path indexDir) throws IOException {
+        final IndexHandle handle = getOpenHandle(indexDir);
+        if (handle != null) {
+            handle.commit();
+        }
+    }
+
+    @Override
+    public void closeIndex(final Path indexDir) throws IOException {
+        synchronized (HANDLES) {
+            final IndexHandle handle = HANDLES.remove(indexDir.toAbsolutePath().normalize());
+            if (handle != null) {
+                handle.close();
+            }
+        }
+    }
+
+    @Override
+    public void backupIndex(final Path indexDir, final Path target) throws IOException {
+        final IndexHandle handle = getOpenHandle(indexDir);
+        if (handle != null) {
+            handle.backup(target);
+            return;
+        }
+        // no writer changes the files as long as the index isn't opened
+        synchronized (HANDLES) {
+            try (Directory directory = this.directoryFactory.getDirectory(indexDir);
+                    Directory copy = FSDirectory.open(target)) {
+                if (!DirectoryReader.indexExists(directory)) {
+                    return;
+                }
+                for (final String file : SegmentInfos.readLatestCommit(directory).files(true)) {
+                    copy.copyFrom(directory, file, file, IOContext.DEFAULT);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean checkIndex(final Path indexDir) {
+        synchronized (HANDLES) {
+            if (HANDLES.containsKey(indexDir.toAbsolutePath().normalize())) {
+                // the writer has read the index when it was opened
+                return true;
+            }
+            try (Directory directory = this.directoryFactory.getDirectory(indexDir);
+                    CheckIndex checker = new CheckIndex(directory)) {
+                checker.setLevel(CheckIndex.Level.MIN_LEVEL_FOR_CHECKSUM_CHECKS);
+                return checker.checkIndex().clean;
+            } catch (final IOException exc) {
+                LOG.warn("The Lucene index is not readable: {}", exc.getMessage());
+                return false;
+            }
+        }
     }
 
     @Override
     public List<RetrievedItem> search(final String queryTerm, final Path indexDir, final String language,
             final int maxHits) throws IOException, RException {
-        try (IndexReader reader = DirectoryReader.open(this.directoryFactory.getDirectory(indexDir))) {
-            final IndexSearcher searcher = new IndexSearcher(reader);
+        final IndexHandle handle = getHandle(indexDir, language, false);
+        final IndexSearcher searcher = handle.acquire();
+        try {
             final TopDocs docs = searcher.search(parseQuery(queryTerm, language), maxHits);
             return createResults(docs, searcher);
         } catch (final ParseException exc) {
             throw new RException(exc.getMessage());
+        } finally {
+            handle.release(searcher);
         }
     }
 
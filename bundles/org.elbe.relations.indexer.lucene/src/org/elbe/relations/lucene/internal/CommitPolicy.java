@@ -0,0 +1,80 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.lucene.internal;
+
+import java.util.Locale;
+import java.util.Map;
+
+/** Defines when the changes buffered by an index writer are committed to the index directory.<br>
+ * Independent of the policy, the changes are visible to searches immediately (near-real-time search) and all pending
+ * changes are committed when the indexer is shut down.
+ *
+ * @param mode {@link Mode} the commit mode
+ * @param maxPending int the number of changes after which a commit is done (mode <code>COUNT</code>)
+ * @param interval long the interval (in milliseconds) after which pending changes are committed (mode
+ *            <code>TIME</code>)
+ * @author Luthiger */
+public record CommitPolicy(Mode mode, int maxPending, long interval) {
+    public static final String KEY_MODE = "commit.policy"; //$NON-NLS-1$
+    public static final String KEY_COUNT = "commit.count"; //$NON-NLS-1$
+    public static final String KEY_INTERVAL = "commit.interval"; //$NON-NLS-1$
+
+    private static final int DFT_COUNT = 1000;
+    private static final long DFT_INTERVAL = 5_000;
+
+    public static final CommitPolicy DEFAULT = new CommitPolicy(Mode.COUNT, DFT_COUNT, DFT_INTERVAL);
+
+    public enum Mode {
+        /** commit after the configured number of changes */
+        COUNT,
+        /** commit pending changes periodically */
+        TIME,
+        /** commit only when the indexer is shut down */
+        SHUTDOWN;
+    }
+
+    /** Creates the policy from the specified component properties, missing values are taken from the default policy.
+     *
+     * @param properties Map&lt;String, ?>
+     * @return {@link CommitPolicy} */
+    public static CommitPolicy from(final Map<String, ?> properties) {
+        if (properties == null) {
+            return DEFAULT;
+        }
+        final Object mode = properties.get(KEY_MODE);
+        return new CommitPolicy(
+                mode == null ? DEFAULT.mode() : Mode.valueOf(mode.toString().trim().toUpperCase(Locale.ROOT)),
+                toNumber(properties.get(KEY_COUNT), DFT_COUNT).intValue(),
+                toNumber(properties.get(KEY_INTERVAL), DFT_INTERVAL).longValue());
+    }
+
+    private static Number toNumber(final Object value, final Number defaultValue) {
+        if (value instanceof final Number number) {
+            return number;
+        }
+        return value == null ? defaultValue : Long.valueOf(value.toString().trim());
+    }
+
+    /** @param pending int the number of uncommitted changes
+     * @return boolean <code>true</code> if the pending changes have to be committed right away */
+    public boolean isDue(final int pending) {
+        return this.mode == Mode.COUNT && pending >= this.maxPending;
+    }
+
+}
@@ -0,0 +1,204 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.lucene.internal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexCommit;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.KeepOnlyLastCommitDeletionPolicy;
+import org.apache.lucene.index.SnapshotDeletionPolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.IOContext;
+
+/** The open index of one index directory: the <code>IndexWriter</code> held open for the catalog's lifetime and the
+ * <code>SearcherManager</code> providing near-real-time searchers on the writer's changes.<br>
+ * The writer buffers the changes, the {@link CommitPolicy} decides when they are committed. The writer's deletion
+ * policy keeps the files of a snapshotted commit, thus, a backup can copy them while the index is written to.
+ *
+ * @author Luthiger */
+public class IndexHandle implements AutoCloseable {
+    private final Directory directory;
+    private final String language;
+    private final IndexWriter writer;
+    private final SearcherManager searchers;
+    private final SnapshotDeletionPolicy snapshots;
+    private final CommitPolicy policy;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean stale;
+
+    /** IndexHandle constructor, opens the writer on the specified directory.
+     *
+     * @param directory {@link Directory} the handle takes ownership of the directory
+     * @param language String the ISO language code of the analyzer
+     * @param analyzer {@link Analyzer}
+     * @param policy {@link CommitPolicy}
+     * @param ramBuffer double the size (in MB) of the writer's buffer, the buffered documents are flushed to the
+     *            directory when the buffer is full
+     * @throws IOException */
+    public IndexHandle(final Directory directory, final String language, final Analyzer analyzer,
+            final CommitPolicy policy, final double ramBuffer) throws IOException {
+        this.directory = directory;
+        this.language = language;
+        this.policy = policy;
+        final IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(OpenMode.CREATE_OR_APPEND);
+        config.setRAMBufferSizeMB(ramBuffer);
+        this.snapshots = new SnapshotDeletionPolicy(new KeepOnlyLastCommitDeletionPolicy());
+        config.setIndexDeletionPolicy(this.snapshots);
+        this.writer = new IndexWriter(directory, config);
+        this.searchers = new SearcherManager(this.writer, new SearcherFactory());
+    }
+
+    /** @return String the language of the analyzer the writer uses */
+    public String getLanguage() {
+        return this.language;
+    }
+
+    /** Adds the specified documents to the index.
+     *
+     * @param documents Iterable&lt;Document>
+     * @throws IOException */
+    public void addDocuments(final Iterable<Document> documents) throws IOException {
+        int count = 0;
+        for (final Document document : documents) {
+            this.writer.addDocument(document);
+            count++;
+        }
+        changed(count);
+    }
+
+    /** Replaces the documents containing the specified term by the specified document in one atomic operation.
+     *
+     * @param term {@link Term}
+     * @param document {@link Document}
+     * @throws IOException */
+    public void updateDocument(final Term term, final Document document) throws IOException {
+        this.writer.updateDocument(term, document);
+        changed(1);
+    }
+
+    /** Deletes the documents containing the specified term.
+     *
+     * @param term {@link Term}
+     * @throws IOException */
+    public void deleteDocuments(final Term term) throws IOException {
+        this.writer.deleteDocuments(term);
+        changed(1);
+    }
+
+    /** Removes all documents from the index and commits the empty index.
+     *
+     * @throws IOException */
+    public void deleteAll() throws IOException {
+        this.writer.deleteAll();
+        this.stale = true;
+        commit();
+    }
+
+    private void changed(final int count) throws IOException {
+        this.stale = true;
+        if (this.policy.isDue(this.pending.addAndGet(count))) {
+            commit();
+        }
+    }
+
+    /** Commits the pending changes and refreshes the searchers.
+     *
+     * @throws IOException */
+    public synchronized void commit() throws IOException {
+        if (!this.writer.isOpen()) {
+            return;
+        }
+        this.pending.set(0);
+        this.writer.commit();
+        this.searchers.maybeRefresh();
+    }
+
+    /** Commits the pending changes and copies the files of the commit to the specified directory. The commit is
+     * snapshotted while the files are copied, i.e. the writer doesn't delete them even if it merges segments in the
+     * meantime.
+     *
+     * @param target {@link Path} the existing directory to copy the index files to
+     * @throws IOException */
+    public void backup(final Path target) throws IOException {
+        final IndexCommit commit;
+        synchronized (this) {
+            commit();
+            commit = this.snapshots.snapshot();
+        }
+        try (Directory copy = FSDirectory.open(target)) {
+            for (final String file : commit.getFileNames()) {
+                copy.copyFrom(this.directory, file, file, IOContext.DEFAULT);
+            }
+        } finally {
+            this.snapshots.release(commit);
+            this.writer.deleteUnusedFiles();
+        }
+    }
+
+    /** @return boolean <code>true</code> if there are uncommitted changes */
+    public boolean hasPending() {
+        return this.pending.get() > 0;
+    }
+
+    /** Acquires a searcher reflecting all changes made so far, even the uncommitted ones. The searcher has to be
+     * released after use.
+     *
+     * @return {@link IndexSearcher}
+     * @throws IOException
+     * @see #release(IndexSearcher) */
+    public IndexSearcher acquire() throws IOException {
+        if (this.stale) {
+            this.stale = false;
+            this.searchers.maybeRefreshBlocking();
+        }
+        return this.searchers.acquire();
+    }
+
+    /** @param searcher {@link IndexSearcher} the searcher to release
+     * @throws IOException */
+    public void release(final IndexSearcher searcher) throws IOException {
+        this.searchers.release(searcher);
+    }
+
+    /** Commits the pending changes and closes the writer and the directory. */
+    @Override
+    public synchronized void close() throws IOException {
+        try (Directory toClose = this.directory; IndexWriter writerToClose = this.writer) {
+            this.searchers.close();
+            if (this.writer.isOpen() && this.writer.hasUncommittedChanges()) {
+                this.writer.commit();
+            }
+        }
+    }
+
+}
@@ -104,6 +104,8 @@ public final class RelationsConstants {
     public static final String TOPIC_DB_CHANGED_CREATED = "relations/topic/db/changed/created"; //$NON-NLS-1$
     public static final String TOPIC_DB_CHANGED_DELETED = "relations/topic/db/changed/deleted"; //$NON-NLS-1$
     public static final String TOPIC_DB_CHANGED_DB = "relations/topic/db/changed/db"; //$NON-NLS-1$
+    // the change of a single item, sent with a CatalogDelta
+    public static final String TOPIC_DB_CHANGED_DELTA = "relations/topic/db/changed/delta"; //$NON-NLS-1$
 
     // eclipse event topics: sent to browser manager
     public static final String TOPIC_TO_BROWSER_MANAGER_SET_MODEL = "relations/topic/to/browser/manager/set/model"; //$NON-NLS-1$
@@ -0,0 +1,104 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.db;
+
+import java.util.List;
+
+import org.elbe.relations.data.bom.ILightWeightItem;
+import org.hip.kernel.bom.AlternativeModel;
+
+/**
+ * The change of a single item in the sorted collections of the
+ * {@link IDataService}. The delta is posted with the topic
+ * <code>RelationsConstants.TOPIC_DB_CHANGED_DELTA</code>, thus, a view showing a
+ * copy of such a collection can apply the change without reloading the whole
+ * collection.
+ * <p>
+ * The positions are the item's index in the collection of its type and in the
+ * collection of all items, before and after the change; <code>-1</code> if the
+ * item is not contained.
+ * </p>
+ *
+ * @param kind
+ *            {@link Kind}
+ * @param item
+ *            {@link ILightWeightItem} the added, removed or changed item
+ * @param from
+ *            int the item's old position in the collection of its type
+ * @param to
+ *            int the item's new position in the collection of its type
+ * @param fromAll
+ *            int the item's old position in the collection of all items
+ * @param toAll
+ *            int the item's new position in the collection of all items
+ *
+ * @author Luthiger
+ */
+public record CatalogDelta(Kind kind, ILightWeightItem item, int from, int to,
+		int fromAll, int toAll) {
+
+	/**
+	 * The kind of change.
+	 */
+	public enum Kind {
+		ADDED, REMOVED, CHANGED;
+	}
+
+	/**
+	 * @return int the type of the changed item
+	 */
+	public int getItemType() {
+		return this.item.getItemType();
+	}
+
+	/**
+	 * Applies the change to a copy of the collection of the item's type.
+	 *
+	 * @param items
+	 *            List&lt;AlternativeModel>
+	 */
+	public void applyTo(final List<AlternativeModel> items) {
+		apply(items, this.from, this.to);
+	}
+
+	/**
+	 * Applies the change to a copy of the collection of all items.
+	 *
+	 * @param items
+	 *            List&lt;AlternativeModel>
+	 */
+	public void applyToAll(final List<AlternativeModel> items) {
+		apply(items, this.fromAll, this.toAll);
+	}
+
+	private void apply(final List<AlternativeModel> items, final int oldPosition,
+			final int newPosition) {
+		if (oldPosition >= 0 && oldPosition == newPosition) {
+			items.set(newPosition, this.item);
+			return;
+		}
+		if (oldPosition >= 0) {
+			items.remove(oldPosition);
+		}
+		if (newPosition >= 0) {
+			items.add(newPosition, this.item);
+		}
+	}
+
+}
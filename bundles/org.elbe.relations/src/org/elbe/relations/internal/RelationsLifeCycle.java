@@ -53,6 +53,7 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.elbe.relations.RelationsConstants;
 import org.elbe.relations.RelationsMessages;
+import org.elbe.relations.data.search.IndexQueue;
 import org.elbe.relations.data.utility.EventStoreChecker;
 import org.elbe.relations.db.IDataService;
 import org.elbe.relations.handlers.DbEmbeddedCreateHandler;
@@ -60,8 +61,10 @@ import org.elbe.relations.handlers.ShowTextItemForm;
 import org.elbe.relations.internal.controller.RelationsBrowserManager;
 import org.elbe.relations.internal.data.DBSettings;
 import org.elbe.relations.internal.data.DataService;
+import org.elbe.relations.internal.data.TitleIndex;
 import org.elbe.relations.internal.e4.keys.model.DuplicateFixer;
 import org.elbe.relations.internal.preferences.LanguageService;
+import org.elbe.relations.internal.search.RelationsIndexerWithLanguage;
 import org.elbe.relations.internal.services.IDBController;
 import org.elbe.relations.internal.utility.ActionHelper;
 import org.elbe.relations.internal.utility.EmbeddedCatalogHelper;
@@ -126,6 +129,7 @@ public class RelationsLifeCycle {
         // set a suitable implementation of the IDataService to the context
         final DataService dataService = ContextInjectionFactory.make(DataService.class, context);
         context.set(IDataService.class, dataService);
+        context.set(TitleIndex.class, ContextInjectionFactory.make(TitleIndex.class, context));
 
         // set a suitable implementation of the IBrowserManager to the context
         this.browserManager = ContextInjectionFactory.make(RelationsBrowserManager.class, context);
@@ -173,6 +177,9 @@ public class RelationsLifeCycle {
         dataService.loadData(RelationsConstants.TOPIC_DB_CHANGED_RELOAD);
 
         EmbeddedCatalogHelper.reindexChecked(this.dbSettings, context);
+
+        // index the item changes in the background
+        IndexQueue.INSTANCE.start(RelationsIndexerWithLanguage.createRelationsIndexer(context));
     }
 
     private DBAccessConfiguration createDftDBAccessConfiguration() {
@@ -251,6 +258,8 @@ public class RelationsLifeCycle {
         } catch (final BackingStoreException exc) {
             this.log.error(exc, exc.getMessage());
         }
+        // write the queued changes to the search index
+        IndexQueue.INSTANCE.stop();
     }
 
     @Inject
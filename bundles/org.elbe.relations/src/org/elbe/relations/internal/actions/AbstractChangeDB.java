@@ -30,6 +30,8 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.elbe.relations.RelationsConstants;
 import org.elbe.relations.RelationsMessages;
+import org.elbe.relations.data.graph.RelationGraph;
+import org.elbe.relations.data.search.IndexQueue;
 import org.elbe.relations.data.utility.EventStoreChecker;
 import org.elbe.relations.internal.data.DBSettings;
 import org.elbe.relations.internal.data.IDBSettings;
@@ -89,6 +91,10 @@ public abstract class AbstractChangeDB implements IDBChange {
                 return;
             }
 
+            // apply the queued index changes while the former catalog is still active
+            IndexQueue.INSTANCE.stop();
+            RelationGraph.INSTANCE.clear();
+
             // make temporary settings active
             setTempDBSettings();
             doDBChange();
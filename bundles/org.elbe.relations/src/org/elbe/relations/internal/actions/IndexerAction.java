@@ -126,7 +126,7 @@ public class IndexerAction extends Action {
             final RelationsIndexer indexer = RelationsIndexerWithLanguage
                     .createRelationsIndexer(IndexerAction.this.context);
             try {
-                indexer.refreshIndex(new NullProgressMonitor());
+                indexer.refreshIndex(new NullProgressMonitor(), RelationsIndexer.DFT_WORKERS);
             } catch (IOException | VException | SQLException exc) {
                 IndexerAction.this.log.error(exc, exc.getMessage());
             }
@@ -180,7 +180,7 @@ public class IndexerAction extends Action {
             final RelationsIndexer indexer = RelationsIndexerWithLanguage
                     .createRelationsIndexer(this.context);
             try {
-                this.indexed = indexer.refreshIndex(progress);
+                this.indexed = indexer.refreshIndex(progress, RelationsIndexer.DFT_WORKERS);
             } catch (final IOException | VException | SQLException exc) {
                 this.log.error(exc, exc.getMessage());
             } finally {
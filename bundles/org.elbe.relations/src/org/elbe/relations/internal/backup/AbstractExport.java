@@ -0,0 +1,108 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.hip.kernel.exc.VException;
+
+/**
+ * Base class of the exports of the actual database to a file.
+ * <p>
+ * The constructor replaces an existing file by a new, empty one. Subclasses
+ * open their stream to the file in their constructor if the file has been
+ * created and close it in {@link #close()}.
+ * </p>
+ *
+ * @author Luthiger
+ */
+public abstract class AbstractExport implements AutoCloseable {
+	private final File exportFile;
+	private final boolean created;
+
+	/**
+	 * AbstractExport constructor
+	 *
+	 * @param exportFileName
+	 *            String name of the backup file
+	 * @throws IOException
+	 */
+	protected AbstractExport(final String exportFileName) throws IOException {
+		this.exportFile = new File(exportFileName);
+		deleteExisting(this.exportFile);
+		boolean lCreated = false;
+		if (!this.exportFile.exists() && this.exportFile.getParentFile().exists()) {
+			if (this.exportFile.createNewFile()) { // NOPMD
+				if (!this.exportFile.canRead() || !this.exportFile.canWrite()) {
+					throw new IOException(
+							"Could not open file for read/write: " + this.exportFile.getName()); //$NON-NLS-1$
+				}
+				lCreated = true;
+			}
+		}
+		this.created = lCreated;
+	}
+
+	private boolean deleteExisting(final File file) {
+		if (file.exists()) {
+			return file.delete();
+		}
+		return true;
+	}
+
+	/**
+	 * @return {@link File} the export file
+	 */
+	protected final File getExportFile() {
+		return this.exportFile;
+	}
+
+	/**
+	 * @return boolean <code>true</code> if the export file has been created
+	 *         and can be written to
+	 */
+	protected final boolean isCreated() {
+		return this.created;
+	}
+
+	/**
+	 * Perform the export.
+	 *
+	 * @param monitor
+	 *            IProgressMonitor
+	 * @return int number of backuped database entries
+	 * @throws VException
+	 * @throws SQLException
+	 * @throws IOException
+	 */
+	public abstract int export(final IProgressMonitor monitor)
+			throws VException, SQLException, IOException;
+
+	/**
+	 * Close the backup stream.
+	 *
+	 * @throws IOException
+	 */
+	@Override
+	public abstract void close() throws IOException;
+
+}
@@ -0,0 +1,417 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.elbe.relations.data.bom.IItem;
+import org.elbe.relations.data.bom.RelationHome;
+import org.elbe.relations.data.utility.LongMap;
+import org.elbe.relations.data.utility.UniqueID;
+import org.hip.kernel.bom.DomainObject;
+import org.hip.kernel.bom.DomainObjectHome;
+import org.hip.kernel.bom.impl.PreparedBatchInsertStatement;
+import org.hip.kernel.exc.VException;
+import org.xml.sax.SAXException;
+
+/**
+ * Pipeline inserting the entries parsed from an XML export/backup.
+ * <p>
+ * The SAX parser hands the parsed entries over to a pool of mapper threads,
+ * which convert the entries' values into domain objects. The mapped entries are
+ * queued per table and one inserter thread per table inserts them in JDBC
+ * batches. The queues are bounded, i.e. the parser waits if the database can't
+ * keep up.
+ * </p>
+ * <p>
+ * The entries of a table are inserted in the order of the import file. If the
+ * database generates the items' IDs, the relations are inserted after the items
+ * to rebind them to the items' new IDs.
+ * </p>
+ *
+ * @author Luthiger
+ */
+final class ImportPipeline implements AutoCloseable {
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final long POLL_INTERVAL = 100; // milliseconds
+    private static final long TERMINATION_TIMEOUT = 10; // seconds
+    private static final Future<Entry> END = CompletableFuture
+            .completedFuture(null);
+
+    private final IProgressMonitor monitor;
+    private final boolean canSetIdentityField;
+    private final int batchSize;
+    private final ExecutorService mappers;
+    private final ExecutorService inserters;
+
+    // the tables by item type, accessed by the parser thread only
+    private final Map<Integer, Table> tables = new LinkedHashMap<>();
+    // all tables started, a table started again replaces the ended one in the
+    // map, but its entries have to be awaited too
+    private final List<Table> started = new ArrayList<>();
+    private final List<Future<Void>> itemTasks = new ArrayList<>();
+    private boolean relationsStarted = false;
+    // the new IDs of the items, by the keys of the items' IDs in the import
+    private final LongMap<Long> rebound = new LongMap<>();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicInteger inserted = new AtomicInteger();
+
+    /**
+     * A mapped entry ready to insert.
+     *
+     * @param model
+     *            {@link DomainObject} the entry's domain object
+     * @param expectedID
+     *            long the entry's ID in the import file
+     * @param itemType
+     *            int the entry's item type
+     */
+    record Entry(DomainObject model, long expectedID, int itemType) {
+    }
+
+    /**
+     * ImportPipeline constructor.
+     *
+     * @param monitor
+     *            {@link IProgressMonitor} checked for cancellation
+     * @param canSetIdentityField
+     *            boolean <code>true</code> if the database can set the
+     *            identity field (i.e. primary key)
+     * @param batchSize
+     *            int the number of entries inserted and committed at once
+     * @param workers
+     *            int the number of threads mapping the parsed entries
+     */
+    ImportPipeline(final IProgressMonitor monitor,
+            final boolean canSetIdentityField, final int batchSize,
+            final int workers) {
+        this.monitor = monitor;
+        this.canSetIdentityField = canSetIdentityField;
+        this.batchSize = Math.max(1, batchSize);
+        this.mappers = Executors.newFixedThreadPool(Math.max(1, workers),
+                createFactory("Relations import mapper")); //$NON-NLS-1$
+        this.inserters = Executors.newCachedThreadPool(
+                createFactory("Relations import")); //$NON-NLS-1$
+    }
+
+    private static ThreadFactory createFactory(final String name) {
+        return runnable -> {
+            final Thread outThread = new Thread(runnable, name);
+            outThread.setDaemon(true);
+            return outThread;
+        };
+    }
+
+    /**
+     * Starts the inserter of the specified item type's table.
+     *
+     * @param itemType
+     *            int
+     * @throws SAXException
+     *             if the database generates the IDs and items follow the
+     *             relations, i.e. the relations can't be rebound
+     */
+    void start(final int itemType) throws SAXException {
+        final Table lTable = this.tables.get(itemType);
+        if (lTable != null && !lTable.ended) {
+            return;
+        }
+        final List<Future<Void>> lDependencies = new ArrayList<>();
+        if (itemType == IItem.RELATION) {
+            this.relationsStarted = true;
+            if (!this.canSetIdentityField) {
+                lDependencies.addAll(this.itemTasks);
+            }
+        } else if (this.relationsStarted && !this.canSetIdentityField) {
+            throw new SAXException(
+                    "Can't rebind the relations: the items have to precede the relations in the import file!"); //$NON-NLS-1$
+        }
+        final Table outTable = new Table(lDependencies);
+        outTable.task = this.inserters.submit(outTable);
+        if (itemType != IItem.RELATION) {
+            this.itemTasks.add(outTable.task);
+        }
+        this.tables.put(itemType, outTable);
+        this.started.add(outTable);
+    }
+
+    /**
+     * Queues the specified entry for mapping and insertion, waits if the
+     * table's queue is full.
+     *
+     * @param itemType
+     *            int the type of the entry's table
+     * @param mapping
+     *            {@link Callable} converting the parsed values into the entry
+     * @throws SAXException
+     */
+    void put(final int itemType, final Callable<Entry> mapping)
+            throws SAXException {
+        start(itemType);
+        offer(this.tables.get(itemType), this.mappers.submit(mapping));
+    }
+
+    /**
+     * Signals the end of the specified item type's entries. The inserter
+     * inserts and commits the pending entries.
+     *
+     * @param itemType
+     *            int
+     * @throws SAXException
+     */
+    void end(final int itemType) throws SAXException {
+        final Table lTable = this.tables.get(itemType);
+        if (lTable != null && !lTable.ended) {
+            offer(lTable, END);
+            lTable.ended = true;
+        }
+    }
+
+    /**
+     * Ends all tables and waits until their entries are inserted.
+     *
+     * @return int the number of inserted entries
+     * @throws SAXException
+     * @throws InterruptedException
+     *             if the import has been canceled
+     */
+    int finish() throws SAXException, InterruptedException {
+        for (final Integer lItemType : new ArrayList<>(this.tables.keySet())) {
+            end(lItemType);
+        }
+        for (final Table lTable : this.started) {
+            while (!isDone(lTable)) {
+                if (this.monitor.isCanceled()) {
+                    this.stopped.set(true);
+                    throw new InterruptedException();
+                }
+            }
+        }
+        return this.inserted.get();
+    }
+
+    /**
+     * Stops the pipeline, the entries not committed yet are discarded.
+     */
+    @Override
+    public void close() {
+        this.stopped.set(true);
+        this.mappers.shutdownNow();
+        this.inserters.shutdownNow();
+        try {
+            this.inserters.awaitTermination(TERMINATION_TIMEOUT,
+                    TimeUnit.SECONDS);
+        }
+        catch (final InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void offer(final Table table, final Future<Entry> entry)
+            throws SAXException {
+        try {
+            while (!table.queue.offer(entry, POLL_INTERVAL,
+                    TimeUnit.MILLISECONDS)) {
+                if (this.monitor.isCanceled()) {
+                    this.stopped.set(true);
+                    throw new SAXException(XMLImport.OPERATION_CANCELED_ID);
+                }
+                if (table.task.isDone()) {
+                    isDone(table);
+                    throw new SAXException(
+                            "The inserter has stopped unexpectedly!"); //$NON-NLS-1$
+                }
+            }
+        }
+        catch (final InterruptedException exc) {
+            this.stopped.set(true);
+            Thread.currentThread().interrupt();
+            throw new SAXException(XMLImport.OPERATION_CANCELED_ID);
+        }
+    }
+
+    /**
+     * @return boolean <code>true</code> if the table's inserter has
+     *         terminated successfully, <code>false</code> if it's still
+     *         running after the poll interval
+     * @throws SAXException
+     *             if the inserter has failed
+     * @throws InterruptedException
+     */
+    private boolean isDone(final Table table)
+            throws SAXException, InterruptedException {
+        try {
+            table.task.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            return true;
+        }
+        catch (final TimeoutException exc) {
+            return false;
+        }
+        catch (final ExecutionException exc) {
+            this.stopped.set(true);
+            final Throwable lCause = exc.getCause();
+            if (lCause instanceof final SAXException lExc) {
+                throw lExc;
+            }
+            if (lCause instanceof final Exception lExc) {
+                throw new SAXException(lExc);
+            }
+            throw new SAXException(lCause.toString());
+        }
+    }
+
+    // --- private classes ---
+
+    /**
+     * A table's queue and inserter. The inserter inserts the entries in
+     * batches. If the database can't set the identity field, the items are
+     * inserted one by one to get their generated IDs, but they are committed in
+     * batches too. The relations are rebound to the new IDs in memory.
+     */
+    private class Table implements Callable<Void> {
+        private final BlockingQueue<Future<Entry>> queue = new ArrayBlockingQueue<>(
+                QUEUE_CAPACITY);
+        private final List<Future<Void>> dependencies;
+        private Future<Void> task;
+        private boolean ended = false;
+        private PreparedBatchInsertStatement statement;
+        private int uncommitted = 0;
+
+        Table(final List<Future<Void>> dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            // the relations wait for the items' new IDs
+            for (final Future<Void> lDependency : this.dependencies) {
+                lDependency.get();
+            }
+            try {
+                while (!ImportPipeline.this.stopped.get()) {
+                    final Future<Entry> lNext = this.queue.poll(POLL_INTERVAL,
+                            TimeUnit.MILLISECONDS);
+                    if (lNext == END) {
+                        commit();
+                        break;
+                    }
+                    if (lNext != null) {
+                        insert(lNext.get());
+                    }
+                }
+                return null;
+            }
+            finally {
+                if (this.statement != null) {
+                    this.statement.close();
+                }
+            }
+        }
+
+        private void insert(final Entry entry)
+                throws SQLException, VException {
+            if (this.statement == null) {
+                this.statement = new PreparedBatchInsertStatement(
+                        (DomainObjectHome) entry.model().getHome(),
+                        ImportPipeline.this.canSetIdentityField);
+            }
+            if (ImportPipeline.this.canSetIdentityField
+                    || entry.itemType() == IItem.RELATION) {
+                if (entry.itemType() == IItem.RELATION) {
+                    rebind(entry.model());
+                }
+                this.statement.addBatch(entry.model());
+                final int lPending = this.statement.getPending();
+                if (lPending >= ImportPipeline.this.batchSize) {
+                    this.statement.executeBatch();
+                    ImportPipeline.this.inserted.addAndGet(lPending);
+                }
+                return;
+            }
+            final Long lID = this.statement.executeInsert(entry.model());
+            if (lID == null) {
+                throw new SQLException(
+                        "No ID generated for " + entry.model()); //$NON-NLS-1$
+            }
+            if (lID.longValue() != entry.expectedID()) {
+                synchronized (ImportPipeline.this.rebound) {
+                    ImportPipeline.this.rebound.put(UniqueID.pack(
+                            entry.itemType(), entry.expectedID()), lID);
+                }
+            }
+            if (++this.uncommitted >= ImportPipeline.this.batchSize) {
+                this.statement.executeBatch();
+                ImportPipeline.this.inserted.addAndGet(this.uncommitted);
+                this.uncommitted = 0;
+            }
+        }
+
+        private void rebind(final DomainObject relation) throws VException {
+            synchronized (ImportPipeline.this.rebound) {
+                if (ImportPipeline.this.rebound.isEmpty()) {
+                    return;
+                }
+                rebind(relation, RelationHome.KEY_TYPE1,
+                        RelationHome.KEY_ITEM1);
+                rebind(relation, RelationHome.KEY_TYPE2,
+                        RelationHome.KEY_ITEM2);
+            }
+        }
+
+        private void rebind(final DomainObject relation, final String keyType,
+                final String keyItem) throws VException {
+            final Long lNewID = ImportPipeline.this.rebound.get(UniqueID.pack(
+                    ((Number) relation.get(keyType)).intValue(),
+                    ((Number) relation.get(keyItem)).longValue()));
+            if (lNewID != null) {
+                relation.set(keyItem, lNewID);
+            }
+        }
+
+        private void commit() throws SQLException {
+            if (this.statement == null) {
+                return;
+            }
+            final int lPending = this.statement.getPending() + this.uncommitted;
+            this.statement.executeBatch();
+            this.statement.commit();
+            this.statement = null;
+            ImportPipeline.this.inserted.addAndGet(lPending);
+        }
+    }
+
+}
@@ -0,0 +1,276 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.elbe.relations.data.search.RelationsIndexer;
+import org.elbe.relations.internal.utility.ZipRestore;
+import org.hip.kernel.bom.impl.AbstractQueryStatement;
+import org.hip.kernel.exc.VException;
+
+/**
+ * Utility class to backup an embedded database while it is in use.
+ * <p>
+ * The catalog's search index copies its latest commit to a staging directory
+ * first, then the database copies itself to the staging directory by its
+ * online backup procedure. Both copies are consistent even if the catalog is
+ * written to during the backup. The database's copy contains the changes
+ * missing in the index' copy, they are replayed from the event store after a
+ * restore, thus, a restore needs no reindex. The Zip file has the same layout
+ * as the one of the {@link ZipBackup}, the index files are stored with the
+ * prefix {@link ZipRestore#ENTRY_INDEX}.
+ * </p>
+ * <p>
+ * The database and the index are copied in full in any case. Updating an
+ * existing Zip file saves the compression of the unchanged files only: files
+ * with the same size and checksum as the archived ones are kept, the entries
+ * of files not existing anymore are removed.
+ * </p>
+ *
+ * @author Luthiger
+ */
+public class OnlineBackup {
+    private static final String STAGING_PREFIX = "relations_backup_"; //$NON-NLS-1$
+    private static final String INDEX_STAGING = ".index"; //$NON-NLS-1$
+    private static final String ATTRIBUTE_CRC = "zip:crc"; //$NON-NLS-1$
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final File dataDirectory;
+    private final RelationsIndexer indexer;
+    private final Path backupFile;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * OnlineBackup constructor
+     *
+     * @param dataDirectory
+     *            String The path to the directory of the embedded database to
+     *            backup.
+     * @param indexer
+     *            {@link RelationsIndexer} the indexer of the catalog's search
+     *            index, may be <code>null</code>
+     * @param backupFileName
+     *            String The fully qualified name of the backup file (Zip
+     *            file).
+     */
+    public OnlineBackup(final String dataDirectory,
+            final RelationsIndexer indexer, final String backupFileName) {
+        this.dataDirectory = new File(dataDirectory);
+        this.indexer = indexer;
+        this.backupFile = new File(backupFileName).toPath();
+    }
+
+    /**
+     * Executes the backup of the actual embedded database.
+     *
+     * @param backupStatement
+     *            String the statement calling the database's online backup
+     *            procedure, see
+     *            <code>IDBConnectionConfig.getOnlineBackupStatement()</code>
+     * @param update
+     *            boolean <code>true</code> if an existing backup file is
+     *            updated, <code>false</code> if the backup file is created
+     *            anew
+     * @return int the number of files written to the backup file
+     * @throws IOException
+     * @throws SQLException
+     */
+    public int backup(final String backupStatement, final boolean update)
+            throws IOException, SQLException {
+        final Path lStaging = Files.createTempDirectory(STAGING_PREFIX);
+        try {
+            Path lIndex = null;
+            if (this.indexer != null) {
+                lIndex = Files.createDirectory(lStaging.resolve(INDEX_STAGING));
+                this.indexer.backupIndex(lIndex);
+            }
+            new BackupCall().execute(backupStatement, lStaging.toString());
+            final Path lDatabase = lStaging
+                    .resolve(this.dataDirectory.getName());
+            if (!Files.isDirectory(lDatabase)) {
+                throw new IOException(
+                        "The database's backup is missing: " + lDatabase); //$NON-NLS-1$
+            }
+            return pack(lDatabase, lIndex, update);
+        }
+        finally {
+            delete(lStaging);
+        }
+    }
+
+    /**
+     * Packs the database's copy and the search index' copy into the backup
+     * file.
+     *
+     * @param database
+     *            Path the directory containing the database's copy
+     * @param index
+     *            Path the directory containing the index' copy, may be
+     *            <code>null</code>
+     * @param update
+     *            boolean
+     * @return int the number of files written to the backup file
+     * @throws IOException
+     */
+    int pack(final Path database, final Path index, final boolean update)
+            throws IOException {
+        if (!update) {
+            Files.deleteIfExists(this.backupFile);
+        }
+        final Map<String, Path> lSources = new LinkedHashMap<>();
+        collect(database, this.dataDirectory.getName() + "/", lSources); //$NON-NLS-1$
+        if (index != null) {
+            collect(index, ZipRestore.ENTRY_INDEX, lSources);
+        }
+
+        int outWritten = 0;
+        try (FileSystem lArchive = FileSystems.newFileSystem(this.backupFile,
+                Map.of("create", "true"))) { //$NON-NLS-1$ //$NON-NLS-2$
+            for (final Map.Entry<String, Path> lSource : lSources.entrySet()) {
+                final Path lEntry = lArchive.getPath(lSource.getKey());
+                if (update && isUnchanged(lSource.getValue(), lEntry)) {
+                    continue;
+                }
+                Files.createDirectories(lEntry.getParent());
+                transfer(lSource.getValue(), lEntry);
+                outWritten++;
+            }
+            if (update) {
+                removeObsolete(lArchive, lSources.keySet());
+            }
+        }
+        return outWritten;
+    }
+
+    private void collect(final Path directory, final String prefix,
+            final Map<String, Path> sources) throws IOException {
+        try (Stream<Path> lFiles = Files.walk(directory)) {
+            lFiles.filter(Files::isRegularFile)
+            .forEach(file -> sources.put(prefix + directory.relativize(file)
+                    .toString().replace(File.separatorChar, '/'), file));
+        }
+    }
+
+    private boolean isUnchanged(final Path source, final Path entry)
+            throws IOException {
+        if (!Files.exists(entry) || Files.size(entry) != Files.size(source)) {
+            return false;
+        }
+        return ((Long) Files.getAttribute(entry, ATTRIBUTE_CRC))
+                .longValue() == checksum(source);
+    }
+
+    private long checksum(final Path source) throws IOException {
+        final CRC32 outChecksum = new CRC32();
+        try (FileChannel lInput = FileChannel.open(source,
+                StandardOpenOption.READ)) {
+            this.buffer.clear();
+            while (lInput.read(this.buffer) != -1) {
+                this.buffer.flip();
+                outChecksum.update(this.buffer);
+                this.buffer.clear();
+            }
+        }
+        return outChecksum.getValue();
+    }
+
+    private void transfer(final Path source, final Path entry)
+            throws IOException {
+        try (FileChannel lInput = FileChannel.open(source,
+                StandardOpenOption.READ);
+                WritableByteChannel lOutput = Files.newByteChannel(entry,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            this.buffer.clear();
+            while (lInput.read(this.buffer) != -1) {
+                this.buffer.flip();
+                while (this.buffer.hasRemaining()) {
+                    lOutput.write(this.buffer);
+                }
+                this.buffer.clear();
+            }
+        }
+    }
+
+    private void removeObsolete(final FileSystem archive,
+            final Set<String> names) throws IOException {
+        final Path lRoot = archive.getPath("/"); //$NON-NLS-1$
+        final List<Path> lObsolete;
+        try (Stream<Path> lEntries = Files.walk(lRoot)) {
+            lObsolete = lEntries.filter(Files::isRegularFile)
+                    .filter(entry -> !names
+                            .contains(lRoot.relativize(entry).toString()))
+                    .toList();
+        }
+        for (final Path lEntry : lObsolete) {
+            Files.delete(lEntry);
+        }
+    }
+
+    private void delete(final Path directory) throws IOException {
+        try (Stream<Path> lFiles = Files.walk(directory)) {
+            for (final Path lFile : lFiles.sorted(Comparator.reverseOrder())
+                    .toList()) {
+                Files.deleteIfExists(lFile);
+            }
+        }
+    }
+
+    // ---
+
+    /** Helper class to call the database's backup procedure. */
+    private static class BackupCall extends AbstractQueryStatement {
+        private static final long serialVersionUID = 1L;
+
+        protected void execute(final String statement, final String directory)
+                throws SQLException {
+            try (Connection lConnection = getConnection();
+                    CallableStatement lCall = lConnection
+                            .prepareCall(statement)) {
+                lCall.setString(1, directory);
+                lCall.execute();
+            }
+            catch (final VException exc) {
+                throw new SQLException(exc);
+            }
+        }
+    }
+
+}
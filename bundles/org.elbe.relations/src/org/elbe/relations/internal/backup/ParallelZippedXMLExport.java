@@ -0,0 +1,268 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.elbe.relations.RelationsMessages;
+import org.elbe.relations.data.bom.BOMHelper;
+import org.hip.kernel.bom.GeneralDomainObjectHome;
+import org.hip.kernel.exc.VException;
+
+/**
+ * Utility class to backup the actual database to a zip file with one entry per
+ * table.
+ * <p>
+ * The tables are exported concurrently, each on its own thread and database
+ * connection, into temporary files. The files are added to the archive in the
+ * order terms, texts, persons and relations as soon as they are complete, thus,
+ * the relations follow the items they refer to. Each table's entry is a
+ * complete export document with the table's node only. The manifest entry
+ * holds the number of entries exported per table. An archive without manifest
+ * is not written, i.e. the file of a canceled or failed export is deleted.
+ * </p>
+ * <p>
+ * Use <code>ZippedXMLImport</code> to import such an archive. Older versions
+ * import the first entry of the archive only, thus, use the
+ * <code>ZippedXMLExport</code> to exchange data with them.
+ * </p>
+ *
+ * @author Luthiger
+ */
+public class ParallelZippedXMLExport extends XMLExport {
+	public final static String ENTRY_MANIFEST = "manifest.xml"; //$NON-NLS-1$
+	private final static String ENTRY_SUFFIX = ".xml"; //$NON-NLS-1$
+	private final static String NODE_ENTRY = "Entry"; //$NON-NLS-1$
+	private final static String TEMP_PREFIX = "relations_export_"; //$NON-NLS-1$
+	private final static long POLL_INTERVAL = 100; // milliseconds
+
+	private final Locale appLocale;
+	private final int numberOfItems;
+	private ZipOutputStream zipped;
+	private boolean hasEntries;
+	private boolean complete;
+
+	private record Table(String taskName, String nodeName,
+			GeneralDomainObjectHome home) {
+	}
+
+	/**
+	 * ParallelZippedXMLExport
+	 *
+	 * @param exportFileName
+	 *            String must end with <code>.zip</code>.
+	 * @param appLocale
+	 *            {@link Locale} the application's locale
+	 * @param numberOfItems
+	 *            int
+	 * @throws IOException
+	 */
+	public ParallelZippedXMLExport(final String exportFileName,
+			final Locale appLocale, final int numberOfItems)
+					throws IOException {
+		super(exportFileName, appLocale, numberOfItems);
+		this.appLocale = appLocale;
+		this.numberOfItems = numberOfItems;
+	}
+
+	@Override
+	protected OutputStream createStream(final File exportFile)
+			throws IOException {
+		this.zipped = new ZipOutputStream(new FileOutputStream(exportFile));
+		return this.zipped;
+	}
+
+	@Override
+	public int export(final IProgressMonitor monitor)
+			throws VException, SQLException, IOException {
+		final List<Table> lTables = List.of(
+				new Table(RelationsMessages.getString("XMLExport.export.terms"), //$NON-NLS-1$
+						NODE_TERMS, BOMHelper.getTermHome()),
+				new Table(RelationsMessages.getString("XMLExport.export.texts"), //$NON-NLS-1$
+						NODE_TEXTS, BOMHelper.getTextHome()),
+				new Table(RelationsMessages.getString("XMLExport.export.persons"), //$NON-NLS-1$
+						NODE_PERSONS, BOMHelper.getPersonHome()),
+				new Table(RelationsMessages.getString("XMLExport.export.relations"), //$NON-NLS-1$
+						NODE_RELATIONS, BOMHelper.getRelationHome()));
+		final SubMonitor lProgress = SubMonitor.convert(monitor,
+				lTables.size());
+		// the workers' monitor, canceled on the calling thread
+		final IProgressMonitor lWorkers = new NullProgressMonitor();
+
+		final ExecutorService lExecutor = Executors
+				.newFixedThreadPool(lTables.size(), runnable -> {
+					final Thread outThread = new Thread(runnable,
+							"Relations export"); //$NON-NLS-1$
+					outThread.setDaemon(true);
+					return outThread;
+				});
+		final List<Path> lFiles = new ArrayList<>();
+		final StringBuilder lEntries = new StringBuilder();
+		int outExported = 0;
+		try {
+			final List<Future<Integer>> lTasks = new ArrayList<>();
+			for (final Table lTable : lTables) {
+				final Path lFile = Files.createTempFile(TEMP_PREFIX,
+						ENTRY_SUFFIX);
+				lFiles.add(lFile);
+				lTasks.add(lExecutor
+						.submit(() -> exportTable(lTable, lFile, lWorkers)));
+			}
+			for (int i = 0; i < lTables.size(); i++) {
+				final Table lTable = lTables.get(i);
+				lProgress.subTask(lTable.taskName());
+				final int lExported = await(lTasks.get(i), monitor, lWorkers);
+				if (lWorkers.isCanceled() || monitor.isCanceled()) {
+					return outExported;
+				}
+				final String lEntryName = lTable.nodeName() + ENTRY_SUFFIX;
+				putEntry(lEntryName);
+				Files.copy(lFiles.get(i), this.zipped);
+				this.zipped.closeEntry();
+				lEntries.append(String.format(
+						"<%s name=\"%s\" node=\"%s\" count=\"%s\"/>%s", //$NON-NLS-1$
+						NODE_ENTRY, lEntryName, lTable.nodeName(), lExported,
+						NL));
+				outExported += lExported;
+				lProgress.worked(1);
+			}
+		}
+		finally {
+			lWorkers.setCanceled(true);
+			lExecutor.shutdownNow();
+			for (final Path lFile : lFiles) {
+				Files.deleteIfExists(lFile);
+			}
+		}
+
+		final String lManifest = XML_DECLARATION
+				+ createRootStart(this.numberOfItems) + lEntries + "</" //$NON-NLS-1$
+				+ NODE_ROOT + ">" + NL; //$NON-NLS-1$
+		putEntry(ENTRY_MANIFEST);
+		this.zipped.write(lManifest.getBytes(StandardCharsets.UTF_8));
+		this.zipped.closeEntry();
+		this.complete = true;
+		return outExported;
+	}
+
+	private int exportTable(final Table table, final Path file,
+			final IProgressMonitor monitor)
+					throws IOException, VException, SQLException {
+		// the table's document counts the table's entries only
+		try (XMLExport lExport = new XMLExport(file.toString(), this.appLocale,
+				table.home().getCount())) {
+			return lExport.exportTable(table.taskName(), table.nodeName(),
+					table.home(), monitor);
+		}
+	}
+
+	/**
+	 * Waits for the table's export, cancels the workers if the export has been
+	 * canceled or has failed.
+	 */
+	private int await(final Future<Integer> task, final IProgressMonitor monitor,
+			final IProgressMonitor workers)
+					throws IOException, VException, SQLException {
+		while (true) {
+			try {
+				return task.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			}
+			catch (final TimeoutException exc) {
+				if (monitor.isCanceled()) {
+					workers.setCanceled(true);
+					return 0;
+				}
+			}
+			catch (final InterruptedException exc) {
+				workers.setCanceled(true);
+				Thread.currentThread().interrupt();
+				return 0;
+			}
+			catch (final ExecutionException exc) {
+				workers.setCanceled(true);
+				rethrow(exc.getCause());
+			}
+		}
+	}
+
+	private void rethrow(final Throwable exc)
+			throws IOException, VException, SQLException {
+		if (exc instanceof final IOException lExc) {
+			throw lExc;
+		}
+		if (exc instanceof final VException lExc) {
+			throw lExc;
+		}
+		if (exc instanceof final SQLException lExc) {
+			throw lExc;
+		}
+		if (exc instanceof final RuntimeException lExc) {
+			throw lExc;
+		}
+		throw new IOException(exc);
+	}
+
+	private void putEntry(final String name) throws IOException {
+		this.zipped.putNextEntry(new ZipEntry(name));
+		this.hasEntries = true;
+	}
+
+	/**
+	 * Closes the archive, the archive of a canceled or failed export is
+	 * deleted.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (this.zipped != null && !this.hasEntries) {
+				// a zip file needs an entry to be closed
+				putEntry(ENTRY_MANIFEST);
+				this.zipped.closeEntry();
+			}
+			super.close();
+		}
+		finally {
+			if (!this.complete) {
+				Files.deleteIfExists(getExportFile().toPath());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.elbe.relations.data.bom.BOMHelper;
+import org.elbe.relations.data.bom.IItem;
+import org.hip.kernel.bom.DomainObjectHome;
+import org.hip.kernel.bom.model.TypeDef;
+
+/**
+ * Definition of the binary snapshot format written by the
+ * <code>SnapshotExport</code> and read by the <code>SnapshotImport</code>.
+ * <p>
+ * All numbers are big-endian. A snapshot consists of:
+ * </p>
+ * <ul>
+ * <li>header: <code>int</code> magic, <code>short</code> version,
+ * <code>byte</code> flags, <code>long</code> creation time,
+ * <code>int</code> countAll, <code>int</code> number of tables</li>
+ * <li>per table: the table's node name, <code>int</code> number of columns,
+ * per column the property name, the column name and the <code>byte</code> value
+ * type, followed by the table's blocks</li>
+ * <li>per block: <code>int</code> number of rows (<code>0</code> ends the
+ * table), <code>int</code> length of the payload, <code>int</code> length of
+ * the uncompressed payload, the payload</li>
+ * <li>payload: the block's columns one after the other, each column as bitmap
+ * of the rows with a value followed by the values</li>
+ * </ul>
+ * <p>
+ * Names are written as <code>short</code> length and UTF-8 bytes, strings as
+ * <code>int</code> length and UTF-8 bytes, numbers as <code>long</code> or
+ * <code>int</code>, timestamps as <code>long</code>
+ * milliseconds and <code>int</code> nanoseconds. If the compressed flag is
+ * set, each block's payload is deflated on its own.
+ * </p>
+ *
+ * @author Luthiger
+ */
+final class Snapshot {
+	static final int MAGIC = 0x52534E50; // "RSNP"
+	static final short VERSION = 1;
+	static final byte FLAG_COMPRESSED = 0x01;
+	static final int BLOCK_ROWS = 4096;
+
+	static final byte TYPE_LONG = 1;
+	static final byte TYPE_INTEGER = 2;
+	static final byte TYPE_STRING = 3;
+	static final byte TYPE_TIMESTAMP = 4;
+
+	/**
+	 * A table of the snapshot.
+	 *
+	 * @param nodeName
+	 *            String the name identifying the table, the same as in the XML
+	 *            export
+	 * @param itemType
+	 *            int the type of the table's entries
+	 * @param home
+	 *            {@link DomainObjectHome} the table's home
+	 */
+	record Table(String nodeName, int itemType, DomainObjectHome home) {
+	}
+
+	private Snapshot() {
+		// prevent instantiation
+	}
+
+	/**
+	 * @return List&lt;Table> the tables of a snapshot, the relations follow
+	 *         the items they refer to
+	 */
+	static List<Table> tables() {
+		return List.of(
+				new Table(XMLExport.NODE_TERMS, IItem.TERM,
+						BOMHelper.getTermHome()),
+				new Table(XMLExport.NODE_TEXTS, IItem.TEXT,
+						BOMHelper.getTextHome()),
+				new Table(XMLExport.NODE_PERSONS, IItem.PERSON,
+						BOMHelper.getPersonHome()),
+				new Table(XMLExport.NODE_RELATIONS, IItem.RELATION,
+						BOMHelper.getRelationHome()));
+	}
+
+	/**
+	 * @param valueType
+	 *            String the property's value type, e.g. {@link TypeDef#Long}
+	 * @return byte the value type's code in the snapshot
+	 * @throws IOException
+	 *             if the snapshot can't store values of the specified type
+	 */
+	static byte typeOf(final String valueType) throws IOException {
+		if (TypeDef.Long.equals(valueType)
+				|| TypeDef.Number.equals(valueType)) {
+			return TYPE_LONG;
+		}
+		if (TypeDef.Integer.equals(valueType)) {
+			return TYPE_INTEGER;
+		}
+		if (TypeDef.String.equals(valueType)) {
+			return TYPE_STRING;
+		}
+		if (TypeDef.Timestamp.equals(valueType)) {
+			return TYPE_TIMESTAMP;
+		}
+		throw new IOException(
+				"Value type not supported by the snapshot: " + valueType); //$NON-NLS-1$
+	}
+
+}
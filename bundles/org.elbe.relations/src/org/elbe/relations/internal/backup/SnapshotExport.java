@@ -0,0 +1,283 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.hip.kernel.bom.GeneralDomainObject;
+import org.hip.kernel.bom.QueryResult;
+import org.hip.kernel.bom.model.PropertyDef;
+import org.hip.kernel.exc.VException;
+
+/**
+ * Utility class to backup the actual database to a binary snapshot.
+ * <p>
+ * The entries are written column by column in blocks of
+ * {@link Snapshot#BLOCK_ROWS} rows, the values are stored in their binary
+ * form, i.e. they are neither formatted nor escaped. See {@link Snapshot} for
+ * the format's definition.
+ * </p>
+ * <p>
+ * Use <code>SnapshotImport</code> to restore such a snapshot.
+ * </p>
+ *
+ * @author Luthiger
+ */
+public final class SnapshotExport extends AbstractExport {
+	public final static String EXTENSION = ".rsnap"; //$NON-NLS-1$
+	private final static int BUFFER_SIZE = 1 << 16;
+
+	private final int numberOfItems;
+	private final boolean compressed;
+	private final DataOutputStream output;
+	private final BlockBuffer block = new BlockBuffer();
+	private final DataOutputStream blockData = new DataOutputStream(
+			this.block);
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+	private byte[] deflated = new byte[BUFFER_SIZE];
+
+	/**
+	 * SnapshotExport, the blocks are compressed.
+	 *
+	 * @param exportFileName
+	 *            String should end with {@link #EXTENSION}.
+	 * @param numberOfItems
+	 *            int
+	 * @throws IOException
+	 */
+	public SnapshotExport(final String exportFileName, final int numberOfItems)
+			throws IOException {
+		this(exportFileName, numberOfItems, true);
+	}
+
+	/**
+	 * SnapshotExport
+	 *
+	 * @param exportFileName
+	 *            String should end with {@link #EXTENSION}.
+	 * @param numberOfItems
+	 *            int
+	 * @param compressed
+	 *            boolean <code>true</code> if the blocks are deflated
+	 * @throws IOException
+	 */
+	public SnapshotExport(final String exportFileName, final int numberOfItems,
+			final boolean compressed)
+					throws IOException {
+		super(exportFileName);
+		this.numberOfItems = numberOfItems;
+		this.compressed = compressed;
+		this.output = isCreated()
+				? new DataOutputStream(new BufferedOutputStream(
+						new FileOutputStream(getExportFile()), BUFFER_SIZE))
+						: null;
+	}
+
+	@Override
+	public int export(final IProgressMonitor monitor)
+			throws VException, SQLException, IOException {
+		if (this.output == null) {
+			return 0;
+		}
+		final List<Snapshot.Table> lTables = Snapshot.tables();
+		final SubMonitor lProgress = SubMonitor.convert(monitor,
+				lTables.size());
+
+		this.output.writeInt(Snapshot.MAGIC);
+		this.output.writeShort(Snapshot.VERSION);
+		this.output.writeByte(this.compressed ? Snapshot.FLAG_COMPRESSED : 0);
+		this.output.writeLong(System.currentTimeMillis());
+		this.output.writeInt(this.numberOfItems);
+		this.output.writeInt(lTables.size());
+
+		int outExported = 0;
+		for (final Snapshot.Table lTable : lTables) {
+			outExported += exportTable(lTable, lProgress.newChild(1));
+			if (lProgress.isCanceled()) {
+				break;
+			}
+		}
+		this.output.flush();
+		return outExported;
+	}
+
+	private int exportTable(final Snapshot.Table table,
+			final IProgressMonitor monitor)
+					throws VException, SQLException, IOException {
+		final List<PropertyDef> lDefs = table.home().getObjectDef()
+				.getPropertyDefs2();
+		final int lColumns = lDefs.size();
+		final String[] lNames = new String[lColumns];
+		final byte[] lTypes = new byte[lColumns];
+
+		writeName(this.output, table.nodeName());
+		this.output.writeInt(lColumns);
+		for (int i = 0; i < lColumns; i++) {
+			final PropertyDef lDef = lDefs.get(i);
+			lNames[i] = lDef.getName();
+			lTypes[i] = Snapshot.typeOf(lDef.getValueType());
+			writeName(this.output, lNames[i]);
+			writeName(this.output, lDef.getMappingDef().getColumnName());
+			this.output.writeByte(lTypes[i]);
+		}
+
+		final SubMonitor lProgress = SubMonitor.convert(monitor,
+				table.home().getCount());
+		final Object[][] lValues = new Object[lColumns][Snapshot.BLOCK_ROWS];
+		int lRows = 0;
+		int outExported = 0;
+		try (QueryResult lResult = table.home().select(true)) {
+			while (lResult.hasMoreElements()) {
+				final GeneralDomainObject lModel = lResult.nextAsDomainObject();
+				if (lModel != null) {
+					for (int i = 0; i < lColumns; i++) {
+						lValues[i][lRows] = lModel.get(lNames[i]);
+					}
+					lModel.release();
+					if (++lRows == Snapshot.BLOCK_ROWS) {
+						writeBlock(lValues, lTypes, lRows);
+						lRows = 0;
+					}
+					outExported++;
+				}
+				lProgress.worked(1);
+				if (lProgress.isCanceled()) {
+					break;
+				}
+			}
+		}
+		if (lRows > 0) {
+			writeBlock(lValues, lTypes, lRows);
+		}
+		// end of table
+		this.output.writeInt(0);
+		return outExported;
+	}
+
+	private void writeBlock(final Object[][] values, final byte[] types,
+			final int rows) throws IOException {
+		this.block.reset();
+		for (int i = 0; i < types.length; i++) {
+			writeColumn(values[i], types[i], rows);
+			Arrays.fill(values[i], 0, rows, null);
+		}
+		final int lRawLength = this.block.size();
+
+		this.output.writeInt(rows);
+		if (this.compressed) {
+			this.deflater.reset();
+			this.deflater.setInput(this.block.array(), 0, lRawLength);
+			this.deflater.finish();
+			int lLength = 0;
+			while (!this.deflater.finished()) {
+				if (lLength == this.deflated.length) {
+					this.deflated = Arrays.copyOf(this.deflated, lLength * 2);
+				}
+				lLength += this.deflater.deflate(this.deflated, lLength,
+						this.deflated.length - lLength);
+			}
+			this.output.writeInt(lLength);
+			this.output.writeInt(lRawLength);
+			this.output.write(this.deflated, 0, lLength);
+		} else {
+			this.output.writeInt(lRawLength);
+			this.output.writeInt(lRawLength);
+			this.output.write(this.block.array(), 0, lRawLength);
+		}
+	}
+
+	private void writeColumn(final Object[] values, final byte type,
+			final int rows) throws IOException {
+		final byte[] lBitmap = new byte[(rows + 7) >>> 3];
+		for (int i = 0; i < rows; i++) {
+			if (values[i] != null) {
+				lBitmap[i >>> 3] |= (byte) (1 << (i & 7));
+			}
+		}
+		this.blockData.write(lBitmap);
+		for (int i = 0; i < rows; i++) {
+			final Object lValue = values[i];
+			if (lValue == null) {
+				continue;
+			}
+			switch (type) {
+			case Snapshot.TYPE_LONG -> this.blockData
+					.writeLong(((Number) lValue).longValue());
+			case Snapshot.TYPE_INTEGER -> this.blockData
+					.writeInt(((Number) lValue).intValue());
+			case Snapshot.TYPE_STRING -> {
+				final byte[] lBytes = lValue.toString()
+						.getBytes(StandardCharsets.UTF_8);
+				this.blockData.writeInt(lBytes.length);
+				this.blockData.write(lBytes);
+			}
+			case Snapshot.TYPE_TIMESTAMP -> {
+				final Timestamp lTimestamp = (Timestamp) lValue;
+				this.blockData.writeLong(lTimestamp.getTime());
+				this.blockData.writeInt(lTimestamp.getNanos());
+			}
+			default -> throw new IOException(
+					"Unknown value type: " + type); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static void writeName(final DataOutputStream output,
+			final String name) throws IOException {
+		final byte[] lBytes = name.getBytes(StandardCharsets.UTF_8);
+		output.writeShort(lBytes.length);
+		output.write(lBytes);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.deflater.end();
+		if (this.output != null) {
+			this.output.close();
+		}
+	}
+
+	// ---
+
+	/**
+	 * Buffer giving access to the collected bytes without copying them.
+	 */
+	private static final class BlockBuffer extends ByteArrayOutputStream {
+		BlockBuffer() {
+			super(BUFFER_SIZE);
+		}
+
+		byte[] array() {
+			return this.buf;
+		}
+	}
+
+}
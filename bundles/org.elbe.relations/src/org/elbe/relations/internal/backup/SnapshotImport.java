@@ -0,0 +1,318 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.hip.kernel.bom.DomainObject;
+import org.hip.kernel.exc.VException;
+import org.xml.sax.SAXException;
+
+/**
+ * Utility class to restore a binary snapshot written by the
+ * {@link SnapshotExport}.
+ * <p>
+ * The file is read by positional reads into a buffer which is reused for all
+ * blocks, the blocks are decoded in the buffer. The decoded entries are
+ * inserted by the same {@link ImportPipeline} as the entries of an XML import.
+ * </p>
+ *
+ * @author Luthiger
+ */
+public class SnapshotImport extends XMLImport {
+	private final static int BUFFER_SIZE = 1 << 20;
+
+	/**
+	 * SnapshotImport constructor
+	 *
+	 * @param fileName
+	 *            String name of the snapshot file to import from.
+	 */
+	public SnapshotImport(final String fileName) {
+		super(fileName);
+	}
+
+	@Override
+	public int processFile(final IProgressMonitor monitor,
+			final boolean canSetIdentityField) throws SAXException,
+	ParserConfigurationException, IOException, InterruptedException {
+		final Inflater lInflater = new Inflater();
+		try (FileChannel lChannel = FileChannel.open(
+				getImportFile().toPath(), StandardOpenOption.READ);
+				ImportPipeline lPipeline = createPipeline(monitor,
+						canSetIdentityField)) {
+			final ChannelReader lReader = new ChannelReader(lChannel);
+			if (lReader.slice(4).getInt() != Snapshot.MAGIC) {
+				throw new IOException("The file is not a snapshot: " //$NON-NLS-1$
+						+ getImportFile().getName());
+			}
+			final short lVersion = lReader.slice(2).getShort();
+			if (lVersion > Snapshot.VERSION) {
+				throw new IOException(
+						"Snapshot version not supported: " + lVersion); //$NON-NLS-1$
+			}
+			final boolean lCompressed = (lReader.slice(1).get()
+					& Snapshot.FLAG_COMPRESSED) != 0;
+			// creation time
+			lReader.slice(8);
+			final SubMonitor lProgress = SubMonitor.convert(monitor,
+					lReader.slice(4).getInt());
+			final int lTables = lReader.slice(4).getInt();
+			for (int i = 0; i < lTables; i++) {
+				importTable(lReader, lCompressed ? lInflater : null, lPipeline,
+						canSetIdentityField, lProgress);
+			}
+			return lPipeline.finish();
+		}
+		catch (final SAXException exc) {
+			if (OPERATION_CANCELED_ID.equals(exc.getMessage())) {
+				throw new InterruptedException();
+			}
+			throw exc;
+		}
+		finally {
+			lInflater.end();
+		}
+	}
+
+	private void importTable(final ChannelReader reader, final Inflater inflater,
+			final ImportPipeline pipeline, final boolean canSetIdentityField,
+			final SubMonitor progress) throws IOException, SAXException {
+		final Snapshot.Table lTable = getTable(reader.readName());
+		final int lColumns = reader.slice(4).getInt();
+		final String[] lNames = new String[lColumns];
+		final byte[] lTypes = new byte[lColumns];
+		final String lKey = lTable.home().getObjectDef().getPrimaryKeyDef()
+				.getKeyName(0);
+		int lKeyColumn = -1;
+		for (int i = 0; i < lColumns; i++) {
+			lNames[i] = reader.readName();
+			// the column name
+			reader.readName();
+			lTypes[i] = reader.slice(1).get();
+			if (lNames[i].equals(lKey)) {
+				lKeyColumn = i;
+			}
+		}
+
+		final int lItemType = lTable.itemType();
+		pipeline.start(lItemType);
+		int lRows;
+		while ((lRows = reader.slice(4).getInt()) != 0) {
+			final int lLength = reader.slice(4).getInt();
+			final int lRawLength = reader.slice(4).getInt();
+			ByteBuffer lPayload = reader.slice(lLength);
+			if (inflater != null) {
+				lPayload = inflate(inflater, lPayload, lRawLength);
+			}
+			final Object[][] lValues = new Object[lColumns][];
+			for (int i = 0; i < lColumns; i++) {
+				lValues[i] = readColumn(lPayload, lTypes[i], lRows);
+			}
+			for (int i = 0; i < lRows; i++) {
+				final DomainObject lModel = createModel(lTable);
+				final int lRow = i;
+				final int lKeyIndex = lKeyColumn;
+				pipeline.put(lItemType,
+						() -> map(lModel, lNames, lValues, lRow, lKeyIndex,
+								canSetIdentityField, lItemType));
+			}
+			progress.worked(lRows);
+			if (progress.isCanceled()) {
+				throw new SAXException(OPERATION_CANCELED_ID);
+			}
+		}
+		pipeline.end(lItemType);
+	}
+
+	private Snapshot.Table getTable(final String nodeName) throws IOException {
+		for (final Snapshot.Table lTable : Snapshot.tables()) {
+			if (lTable.nodeName().equals(nodeName)) {
+				return lTable;
+			}
+		}
+		throw new IOException("Unknown table in snapshot: " + nodeName); //$NON-NLS-1$
+	}
+
+	/**
+	 * The models are created on the reading thread, the homes are not thread
+	 * safe. The mappers set the values concurrently, thus, the model's home
+	 * and property set are initialized here too.
+	 */
+	private DomainObject createModel(final Snapshot.Table table)
+			throws SAXException {
+		try {
+			final DomainObject outModel = table.home().create();
+			outModel.propertySet();
+			return outModel;
+		}
+		catch (final VException exc) {
+			throw new SAXException(exc.getMessage());
+		}
+	}
+
+	private static ImportPipeline.Entry map(final DomainObject model,
+			final String[] names, final Object[][] values, final int row,
+			final int keyColumn, final boolean canSetIdentityField,
+			final int itemType) throws VException {
+		long lExpectedID = 0;
+		for (int i = 0; i < names.length; i++) {
+			final Object lValue = values[i][row];
+			if (lValue == null) {
+				continue;
+			}
+			if (i == keyColumn && !canSetIdentityField) {
+				lExpectedID = ((Number) lValue).longValue();
+				continue;
+			}
+			model.set(names[i], lValue);
+		}
+		return new ImportPipeline.Entry(model, lExpectedID, itemType);
+	}
+
+	private static ByteBuffer inflate(final Inflater inflater,
+			final ByteBuffer compressed, final int rawLength)
+					throws IOException {
+		final ByteBuffer outRaw = ByteBuffer.allocate(rawLength);
+		inflater.reset();
+		inflater.setInput(compressed);
+		try {
+			while (outRaw.hasRemaining() && !inflater.finished()) {
+				if (inflater.inflate(outRaw) == 0 && inflater.needsInput()) {
+					throw new EOFException("Snapshot block truncated."); //$NON-NLS-1$
+				}
+			}
+		}
+		catch (final DataFormatException exc) {
+			throw new IOException(exc);
+		}
+		return outRaw.flip();
+	}
+
+	private static Object[] readColumn(final ByteBuffer payload,
+			final byte type, final int rows) throws IOException {
+		final byte[] lBitmap = new byte[(rows + 7) >>> 3];
+		payload.get(lBitmap);
+		final Object[] outValues = new Object[rows];
+		for (int i = 0; i < rows; i++) {
+			if ((lBitmap[i >>> 3] & (1 << (i & 7))) == 0) {
+				continue;
+			}
+			outValues[i] = switch (type) {
+			case Snapshot.TYPE_LONG -> Long.valueOf(payload.getLong());
+			case Snapshot.TYPE_INTEGER -> Integer.valueOf(payload.getInt());
+			case Snapshot.TYPE_STRING -> {
+				final byte[] lBytes = new byte[payload.getInt()];
+				payload.get(lBytes);
+				yield new String(lBytes, StandardCharsets.UTF_8);
+			}
+			case Snapshot.TYPE_TIMESTAMP -> {
+				final Timestamp lTimestamp = new Timestamp(payload.getLong());
+				lTimestamp.setNanos(payload.getInt());
+				yield lTimestamp;
+			}
+			default -> throw new IOException(
+					"Unknown value type: " + type); //$NON-NLS-1$
+			};
+		}
+		return outValues;
+	}
+
+	// ---
+
+	/**
+	 * Reads the snapshot by positional reads into a reusable buffer. The
+	 * buffer is refilled when a read exceeds the bytes buffered and is grown
+	 * when a block doesn't fit, thus, a slice is valid until the next read
+	 * only.
+	 */
+	private static final class ChannelReader {
+		private final FileChannel channel;
+		private final long size;
+		private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE)
+				.limit(0);
+		// the position in the file of the next byte to read into the buffer
+		private long next;
+
+		ChannelReader(final FileChannel channel) throws IOException {
+			this.channel = channel;
+			this.size = channel.size();
+		}
+
+		/**
+		 * @param length
+		 *            int the number of bytes to read
+		 * @return {@link ByteBuffer} the next <code>length</code> bytes of the
+		 *         file
+		 * @throws IOException
+		 */
+		ByteBuffer slice(final int length) throws IOException {
+			if (length < 0 || length > this.buffer.remaining() + this.size
+					- this.next) {
+				throw new EOFException("Snapshot truncated."); //$NON-NLS-1$
+			}
+			if (length > this.buffer.remaining()) {
+				fill(length);
+			}
+			final int lOffset = this.buffer.position();
+			this.buffer.position(lOffset + length);
+			return this.buffer.slice(lOffset, length);
+		}
+
+		private void fill(final int length) throws IOException {
+			if (length > this.buffer.capacity()) {
+				final ByteBuffer lBuffer = ByteBuffer.allocateDirect(length);
+				lBuffer.put(this.buffer);
+				this.buffer = lBuffer;
+			}
+			else {
+				this.buffer.compact();
+			}
+			while (this.buffer.hasRemaining() && this.next < this.size) {
+				final int lRead = this.channel.read(this.buffer, this.next);
+				if (lRead < 0) {
+					break;
+				}
+				this.next += lRead;
+			}
+			this.buffer.flip();
+			if (length > this.buffer.remaining()) {
+				throw new EOFException("Snapshot truncated."); //$NON-NLS-1$
+			}
+		}
+
+		String readName() throws IOException {
+			final int lLength = slice(2).getShort() & 0xffff;
+			return StandardCharsets.UTF_8.decode(slice(lLength)).toString();
+		}
+	}
+
+}
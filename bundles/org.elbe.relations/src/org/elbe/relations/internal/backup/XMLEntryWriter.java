@@ -0,0 +1,259 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+
+import org.hip.kernel.bom.AbstractDomainObjectVisitor;
+import org.hip.kernel.bom.DomainObjectIterator;
+import org.hip.kernel.bom.GeneralDomainObject;
+import org.hip.kernel.bom.Property;
+import org.hip.kernel.bom.PropertySet;
+import org.hip.kernel.bom.SortedArray;
+import org.hip.kernel.bom.model.PropertyDef;
+
+/**
+ * Visitor writing the visited domain objects directly to the export's writer.
+ * <p>
+ * The output is the same as the output of the <code>RelationsSerializer</code>,
+ * but the entries are not collected in a buffer and the values are escaped in
+ * one pass.
+ * </p>
+ *
+ * @author Luthiger
+ */
+final class XMLEntryWriter extends AbstractDomainObjectVisitor {
+    private static final int TAB = 4;
+    private static final String TAG_ENTRY = "Entry"; //$NON-NLS-1$
+    private static final String PATTERN_NONE = "none"; //$NON-NLS-1$
+    private static final String PATTERN_BLANK_ZERO = " "; //$NON-NLS-1$
+    private static final String AMP = "&amp;"; //$NON-NLS-1$
+    // the control characters replaced by a backslash
+    private static final char BACKSPACE = 0x08;
+    private static final char SUBSTITUTE = 0x1a;
+    private static final char BACKSLASH = 0x5c;
+
+    private final Writer writer;
+    private final String nl;
+    private final DecimalFormat decimalFormat = new DecimalFormat();
+    private String formatPattern = null;
+    private String indent = "                "; //$NON-NLS-1$
+
+    /**
+     * XMLEntryWriter constructor.
+     *
+     * @param writer
+     *            {@link Writer} the export's writer
+     * @param nl
+     *            String the line separator
+     */
+    XMLEntryWriter(final Writer writer, final String nl) {
+        super();
+        this.writer = writer;
+        this.nl = nl;
+    }
+
+    /**
+     * Writes the specified domain object.
+     *
+     * @param model
+     *            {@link GeneralDomainObject}
+     * @throws IOException
+     */
+    void write(final GeneralDomainObject model) throws IOException {
+        try {
+            model.accept(this);
+        }
+        catch (final UncheckedIOException exc) {
+            throw exc.getCause();
+        }
+    }
+
+    @Override
+    protected void start() {
+        // intentionally left empty
+    }
+
+    @Override
+    protected void startDomainObject(final GeneralDomainObject object) {
+        newLine();
+        write('<');
+        write(object.getObjectName());
+        write(TAG_ENTRY);
+        write('>');
+    }
+
+    @Override
+    protected void endDomainObject(final GeneralDomainObject object) {
+        newLine();
+        write("</"); //$NON-NLS-1$
+        write(object.getObjectName());
+        write(TAG_ENTRY);
+        write('>');
+    }
+
+    @Override
+    protected void startProperty(final Property property) {
+        newLine();
+        final PropertyDef lDef = property.getPropertyDef();
+        write('<');
+        write(property.getName());
+        write(" field=\""); //$NON-NLS-1$
+        write(lDef.getMappingDef().getColumnName());
+        write("\" type=\""); //$NON-NLS-1$
+        write(lDef.getValueType());
+        write("\">"); //$NON-NLS-1$
+
+        final Object lValue = property.getValue();
+        if (lValue == null) {
+            return;
+        }
+        final String lPattern = property.getFormatPattern();
+        if (PATTERN_NONE.equals(lPattern) || lValue instanceof Timestamp
+                || lValue instanceof Date || lValue instanceof Time) {
+            writeText(lValue.toString(), false);
+            return;
+        }
+        if (lValue instanceof final Number lNumber) {
+            if (lPattern == null) {
+                write(lNumber.toString());
+            } else if (!PATTERN_BLANK_ZERO.equals(lPattern)
+                    || lNumber.intValue() != 0) {
+                write(format(lNumber, lPattern));
+            }
+            return;
+        }
+        writeText(lValue.toString(), true);
+    }
+
+    @Override
+    protected void endProperty(final Property property) {
+        newLine();
+        write("</"); //$NON-NLS-1$
+        write(property.getName());
+        write('>');
+    }
+
+    private String format(final Number number, final String pattern) {
+        if (!pattern.equals(this.formatPattern)) {
+            this.decimalFormat.applyPattern(pattern);
+            this.formatPattern = pattern;
+        }
+        return this.decimalFormat.format(number);
+    }
+
+    /**
+     * Writes a line break followed by the indentation of the actual level.
+     */
+    private void newLine() {
+        write(this.nl);
+        final int lLength = getLevel() * TAB;
+        while (this.indent.length() < lLength) {
+            this.indent += this.indent;
+        }
+        try {
+            this.writer.write(this.indent, 0, lLength);
+        }
+        catch (final IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    /**
+     * Writes the text, replaces the control characters not allowed in XML and,
+     * if requested, escapes the ampersands.
+     */
+    private void writeText(final String text, final boolean escape) {
+        try {
+            int lStart = 0;
+            final int lLength = text.length();
+            for (int i = 0; i < lLength; i++) {
+                final char lChar = text.charAt(i);
+                if (lChar == BACKSPACE || lChar == SUBSTITUTE) {
+                    this.writer.write(text, lStart, i - lStart);
+                    this.writer.write(BACKSLASH);
+                    lStart = i + 1;
+                } else if (escape && lChar == '&') {
+                    this.writer.write(text, lStart, i - lStart);
+                    this.writer.write(AMP);
+                    lStart = i + 1;
+                }
+            }
+            this.writer.write(text, lStart, lLength - lStart);
+        }
+        catch (final IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private void write(final String text) {
+        try {
+            this.writer.write(text);
+        }
+        catch (final IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private void write(final char character) {
+        try {
+            this.writer.write(character);
+        }
+        catch (final IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    @Override
+    protected void startIterator(final DomainObjectIterator iterator) {
+        // intentionally left empty
+    }
+
+    @Override
+    protected void endIterator(final DomainObjectIterator iterator) {
+        // intentionally left empty
+    }
+
+    @Override
+    protected void startPropertySet(final PropertySet set) {
+        // intentionally left empty
+    }
+
+    @Override
+    protected void endPropertySet(final PropertySet set) {
+        // intentionally left empty
+    }
+
+    @Override
+    protected void startSortedArray(final SortedArray sortedArray) {
+        // intentionally left empty
+    }
+
+    @Override
+    protected void endSortedArray(final SortedArray sortedArray) {
+        // intentionally left empty
+    }
+
+}
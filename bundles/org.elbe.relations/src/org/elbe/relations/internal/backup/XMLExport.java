@@ -18,11 +18,13 @@
  ***************************************************************************/
 package org.elbe.relations.internal.backup;
 
-import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.text.DateFormat;
@@ -33,8 +35,6 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.data.bom.BOMHelper;
-import org.elbe.relations.data.utility.RelationsSerializer;
-import org.hip.kernel.bom.AbstractSerializer;
 import org.hip.kernel.bom.GeneralDomainObject;
 import org.hip.kernel.bom.GeneralDomainObjectHome;
 import org.hip.kernel.bom.QueryResult;
@@ -42,13 +42,18 @@ import org.hip.kernel.exc.VException;
 
 /**
  * Utility class to backup the actual database to an XML file.
+ * <p>
+ * The entries are streamed from the database and written directly to a
+ * buffered UTF-8 writer, i.e. the memory used doesn't depend on the size of the
+ * catalog.
+ * </p>
  *
  * @author Luthiger Created on 04.10.2008
  */
-public class XMLExport implements AutoCloseable {
-	private final static String NL = System.getProperty("line.separator"); //$NON-NLS-1$
-	private final static String TAG_START = "<%s>" + NL; //$NON-NLS-1$
-	private final static String TAG_END = "</%s>" + NL; //$NON-NLS-1$
+public class XMLExport extends AbstractExport {
+	protected final static String NL = System.getProperty("line.separator"); //$NON-NLS-1$
+	protected final static String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL; //$NON-NLS-1$
+	private final static int BUFFER_SIZE = 64 * 1024;
 
 	protected final static String NODE_ROOT = "RelationsExport"; //$NON-NLS-1$
 	public final static String NODE_TERMS = "TermEntries"; //$NON-NLS-1$
@@ -56,8 +61,8 @@ public class XMLExport implements AutoCloseable {
 	public final static String NODE_PERSONS = "PersonEntries"; //$NON-NLS-1$
 	public final static String NODE_RELATIONS = "RelationEntries"; //$NON-NLS-1$
 
-	private final File exportFile;
-	private OutputStream outputStream = null;
+	private Writer writer = null;
+	private XMLEntryWriter entryWriter = null;
 	private final Locale appLocale;
 	private final int numberOfItems;
 
@@ -75,32 +80,31 @@ public class XMLExport implements AutoCloseable {
 	public XMLExport(final String exportFileName, final Locale appLocale,
 			final int numberOfItems)
 					throws IOException {
+		super(exportFileName);
 		this.numberOfItems = numberOfItems;
-		this.exportFile = new File(exportFileName);
 		this.appLocale = appLocale;
-		deleteExisting(this.exportFile);
-		if (!this.exportFile.exists() && this.exportFile.getParentFile().exists()) {
-			if (this.exportFile.createNewFile()) { // NOPMD
-				if (!this.exportFile.canRead() || !this.exportFile.canWrite()) {
-					throw new IOException(
-							"Could not open file for read/write: " + this.exportFile.getName()); //$NON-NLS-1$
-				}
-				this.outputStream = createStream(this.exportFile);
-			}
+		if (isCreated()) {
+			this.writer = new BufferedWriter(
+					new OutputStreamWriter(createStream(getExportFile()),
+							StandardCharsets.UTF_8),
+					BUFFER_SIZE);
 		}
 	}
 
+	/**
+	 * Creates the stream to write to. This method is called by the
+	 * constructor, thus, a subclass keeping the stream in a field must not
+	 * initialize this field in its declaration.
+	 *
+	 * @param exportFile
+	 *            {@link File}
+	 * @return {@link OutputStream} the stream to write to, the stream is
+	 *         wrapped by a buffered writer
+	 * @throws IOException
+	 */
 	protected OutputStream createStream(final File exportFile)
 			throws IOException {
-		final FileOutputStream lStream = new FileOutputStream(exportFile);
-		return new BufferedOutputStream(lStream);
-	}
-
-	private boolean deleteExisting(final File file) {
-		if (file.exists()) {
-			return file.delete();
-		}
-		return true;
+		return new FileOutputStream(exportFile);
 	}
 
 	/**
@@ -113,18 +117,14 @@ public class XMLExport implements AutoCloseable {
 	 * @throws SQLException
 	 * @throws IOException
 	 */
+	@Override
 	public int export(final IProgressMonitor monitor) throws VException,
 	SQLException, IOException {
 		final SubMonitor progress = SubMonitor.convert(monitor, 100);
 		int outExported = 0;
 
-		appendText("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL); //$NON-NLS-1$
-		final DateFormat format = DateFormat.getDateTimeInstance(
-				DateFormat.MEDIUM, DateFormat.MEDIUM, this.appLocale);
-		appendText(String
-				.format("<%s date=\"%s\" countAll=\"%s\">" + NL, NODE_ROOT, //$NON-NLS-1$
-						format.format(Calendar.getInstance().getTime()),
-						this.numberOfItems));
+		appendText(XML_DECLARATION);
+		appendText(createRootStart(this.numberOfItems));
 
 		outExported += processTable(
 				RelationsMessages.getString("XMLExport.export.terms"), //$NON-NLS-1$
@@ -160,6 +160,47 @@ public class XMLExport implements AutoCloseable {
 		return outExported;
 	}
 
+	/**
+	 * Exports the entries of the specified table as complete document.
+	 *
+	 * @param taskName
+	 *            String
+	 * @param nodeName
+	 *            String the table's node, e.g. {@link #NODE_TERMS}
+	 * @param home
+	 *            {@link GeneralDomainObjectHome} the table's home
+	 * @param monitor
+	 *            {@link IProgressMonitor}
+	 * @return int number of exported entries
+	 * @throws IOException
+	 * @throws VException
+	 * @throws SQLException
+	 */
+	int exportTable(final String taskName, final String nodeName,
+			final GeneralDomainObjectHome home, final IProgressMonitor monitor)
+					throws IOException, VException, SQLException {
+		appendText(XML_DECLARATION);
+		appendText(createRootStart(this.numberOfItems));
+		final int outExported = processTable(taskName, nodeName, home,
+				monitor);
+		appendEnd(NODE_ROOT);
+		return outExported;
+	}
+
+	/**
+	 * @param countAll
+	 *            int
+	 * @return String the root node's start tag with the actual date and the
+	 *         specified number of entries
+	 */
+	protected String createRootStart(final int countAll) {
+		final DateFormat format = DateFormat.getDateTimeInstance(
+				DateFormat.MEDIUM, DateFormat.MEDIUM, this.appLocale);
+		return String.format("<%s date=\"%s\" countAll=\"%s\">" + NL, //$NON-NLS-1$
+				NODE_ROOT, format.format(Calendar.getInstance().getTime()),
+				countAll);
+	}
+
 	protected int processTable(final String taskName, final String nodeName,
 			final GeneralDomainObjectHome home, final IProgressMonitor monitor)
 					throws IOException, VException, SQLException {
@@ -175,11 +216,22 @@ public class XMLExport implements AutoCloseable {
 	}
 
 	private void appendStart(final String text) throws IOException {
-		appendText(String.format(TAG_START, text));
+		appendTag("<", text); //$NON-NLS-1$
 	}
 
 	protected void appendEnd(final String text) throws IOException {
-		appendText(String.format(TAG_END, text));
+		appendTag("</", text); //$NON-NLS-1$
+	}
+
+	private void appendTag(final String start, final String text)
+			throws IOException {
+		if (this.writer == null) {
+			return;
+		}
+		this.writer.write(start);
+		this.writer.write(text);
+		this.writer.write('>');
+		this.writer.write(NL);
 	}
 
 	/**
@@ -189,8 +241,8 @@ public class XMLExport implements AutoCloseable {
 	 */
 	@Override
 	public void close() throws IOException {
-		if (this.outputStream != null) {
-			this.outputStream.close();
+		if (this.writer != null) {
+			this.writer.close();
 		}
 	}
 
@@ -200,28 +252,34 @@ public class XMLExport implements AutoCloseable {
 		final SubMonitor progress = SubMonitor.convert(monitor,
 				home.getCount());
 		int outExported = 0;
-		final QueryResult result = home.select();
-		final AbstractSerializer visitor = new RelationsSerializer();
-		while (result.hasMoreElements()) {
-			final GeneralDomainObject model = result.nextAsDomainObject();
-			if (model != null) {
-				model.accept(visitor);
-				appendText(visitor.toString());
-				model.release();
-				visitor.clear();
-			}
+		if (this.entryWriter == null && this.writer != null) {
+			this.entryWriter = new XMLEntryWriter(this.writer, NL);
+		}
+		try (QueryResult result = home.select(true)) {
+			while (result.hasMoreElements()) {
+				final GeneralDomainObject model = result.nextAsDomainObject();
+				if (model != null) {
+					if (this.entryWriter != null) {
+						this.entryWriter.write(model);
+					}
+					model.release();
+				}
 
-			outExported++;
-			progress.worked(1);
+				outExported++;
+				progress.worked(1);
+				if (progress.isCanceled()) {
+					break;
+				}
+			}
 		}
 		return outExported;
 	}
 
 	protected void appendText(final String text) throws IOException {
-		if (this.outputStream == null) {
+		if (this.writer == null) {
 			return;
 		}
-		this.outputStream.write(text.getBytes(StandardCharsets.UTF_8));
+		this.writer.write(text);
 	}
 
 }
@@ -18,15 +18,14 @@
  ***************************************************************************/
 package org.elbe.relations.internal.backup;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
-import java.sql.SQLException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
@@ -37,7 +36,6 @@ import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.data.bom.BOMHelper;
 import org.elbe.relations.data.bom.IItem;
 import org.elbe.relations.data.utility.RelationsSerializer;
-import org.elbe.relations.data.utility.UniqueID;
 import org.hip.kernel.bom.BOMException;
 import org.hip.kernel.bom.DomainObject;
 import org.hip.kernel.bom.DomainObjectHome;
@@ -50,17 +48,27 @@ import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * Utility class to import the content of an XML export/backup.
+ * <p>
+ * The file is parsed on the calling thread, the parsed entries are mapped and
+ * inserted by an {@link ImportPipeline}. The entries are inserted table by
+ * table in JDBC batches, each batch is committed in one transaction. If the
+ * database generates the items' IDs, the relations are rebound in memory to the
+ * new IDs before they are inserted.
+ * </p>
  *
  * @author Luthiger Created on 16.10.2008
  */
 public class XMLImport {
     // constants
     private final static String ROOT = "RelationsExport"; //$NON-NLS-1$
-    private final static String OPERATION_CANCELED_ID = "operation_canceled"; //$NON-NLS-1$
+    final static String OPERATION_CANCELED_ID = "operation_canceled"; //$NON-NLS-1$
+    public final static int DEFAULT_BATCH_SIZE = 500;
 
     private final File importFile;
     private int numberOfEntries = 0;
-    private final Collection<RelationReplaceHelper> relationsToRebind;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int workers = Math.max(1,
+            Runtime.getRuntime().availableProcessors() / 2);
 
     /**
      * XMLImport constructor
@@ -70,7 +78,24 @@ public class XMLImport {
      */
     public XMLImport(final String inXMLFileName) {
         this.importFile = new File(inXMLFileName);
-        this.relationsToRebind = new ArrayList<>();
+    }
+
+    /**
+     * @param batchSize
+     *            int the number of entries inserted and committed at once,
+     *            defaults to {@link #DEFAULT_BATCH_SIZE}
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * @param workers
+     *            int the number of threads mapping the parsed entries to
+     *            domain objects, defaults to half the available processors
+     */
+    public void setWorkers(final int workers) {
+        this.workers = Math.max(1, workers);
     }
 
     /**
@@ -91,13 +116,14 @@ public class XMLImport {
     public int processFile(final IProgressMonitor monitor,
             final boolean canSetIdentityField) throws SAXException,
     ParserConfigurationException, IOException, InterruptedException {
-        try (Reader reader = getReader()) {
-            final InputSource source = new InputSource(reader);
+        try (ImportPipeline pipeline = createPipeline(monitor,
+                canSetIdentityField)) {
             final XMLReader parser = SAXParserFactory.newInstance()
                     .newSAXParser().getXMLReader();
             parser.setContentHandler(
-                    new XMLHandler(monitor, canSetIdentityField));
-            parser.parse(source);
+                    new XMLHandler(monitor, canSetIdentityField, pipeline));
+            parse(parser);
+            this.numberOfEntries = pipeline.finish();
             return this.numberOfEntries;
         }
         catch (final SAXException exc) {
@@ -107,29 +133,52 @@ public class XMLImport {
                 throw exc;
             }
         }
-        finally {
-            close();
-        }
     }
 
-    protected Reader getReader() throws IOException {
-        return new BufferedReader(new FileReader(this.importFile));
+    /**
+     * @param monitor
+     *            IProgressMonitor
+     * @param canSetIdentityField
+     *            boolean
+     * @return {@link ImportPipeline} a pipeline configured with the import's
+     *         batch size and number of workers
+     */
+    ImportPipeline createPipeline(final IProgressMonitor monitor,
+            final boolean canSetIdentityField) {
+        return new ImportPipeline(monitor, canSetIdentityField,
+                this.batchSize, this.workers);
     }
 
     /**
-     * @return Collection<RelationReplaceHelper> the set of relations that have
-     *         to be rebind.
+     * Parses the import file. Subclasses may parse several documents with the
+     * same parser, the entries of all documents are imported.
+     *
+     * @param parser
+     *            {@link XMLReader} the parser with the import's handler
+     * @throws IOException
+     * @throws SAXException
      */
-    public Collection<RelationReplaceHelper> getRelationsToRebind() {
-        return this.relationsToRebind;
+    protected void parse(final XMLReader parser)
+            throws IOException, SAXException {
+        try (InputStream input = getInputStream()) {
+            parser.parse(new InputSource(input));
+        }
     }
 
-    protected File getImportFile() {
-        return this.importFile;
+    /**
+     * The stream is passed to the parser as is, thus, the parser reads the
+     * encoding from the XML declaration.
+     *
+     * @return {@link InputStream} the stream to parse, closed by the caller
+     * @throws IOException
+     */
+    protected InputStream getInputStream() throws IOException {
+        return new BufferedInputStream(
+                Files.newInputStream(this.importFile.toPath()));
     }
 
-    protected void close() throws IOException {
-        // noting to do
+    protected File getImportFile() {
+        return this.importFile;
     }
 
     // --- private classes ---
@@ -143,17 +192,17 @@ public class XMLImport {
         private IEntryInserter inserter = null;
         private IProgressMonitor monitor;
         private boolean canSetIdentityField = false;
-        private final IInsertBehaviour insertBehaviour;
+        private final ImportPipeline pipeline;
         private final IProgressMonitor mainMonitor;
 
         public XMLHandler(final IProgressMonitor inMonitor,
-                final boolean inCanSetIdentityField) {
+                final boolean inCanSetIdentityField,
+                final ImportPipeline inPipeline) {
             this.mainMonitor = inMonitor;
             // monitor = SubMonitor.convert(inMonitor,
             // IProgressMonitor.UNKNOWN);
             this.canSetIdentityField = inCanSetIdentityField;
-            this.insertBehaviour = this.canSetIdentityField ? new StraightInsertBehaviour()
-                    : new CautiousInsertBehaviour();
+            this.pipeline = inPipeline;
         }
 
         @Override
@@ -179,7 +228,7 @@ public class XMLImport {
                 if (this.inserterFactory != null) {
                     // e.g. "Term"
                     this.inserter = this.inserterFactory.createInserter(inName,
-                            this.insertBehaviour);
+                            this.pipeline);
                     return;
                 }
                 if (XMLExport.NODE_TERMS.equals(inName)) {
@@ -199,6 +248,9 @@ public class XMLImport {
                     this.inserterFactory = new RelationInserterFactory();
                     notifyMonitor("Relations"); //$NON-NLS-1$
                 }
+                if (this.inserterFactory != null) {
+                    this.pipeline.start(this.inserterFactory.getItemType());
+                }
             }
         }
 
@@ -244,6 +296,10 @@ public class XMLImport {
                         || XMLExport.NODE_TEXTS.equals(inName)
                         || XMLExport.NODE_PERSONS.equals(inName)
                         || XMLExport.NODE_RELATIONS.equals(inName)) {
+                    if (this.inserterFactory != null) {
+                        this.pipeline
+                        .end(this.inserterFactory.getItemType());
+                    }
                     this.inserterFactory = null;
                 }
             }
@@ -268,9 +324,11 @@ public class XMLImport {
      */
     private interface IInserterFactory {
         IEntryInserter createInserter(String inEntryName,
-                IInsertBehaviour inBehaviour) throws SAXException;
+                ImportPipeline inPipeline) throws SAXException;
 
         String getElementNode();
+
+        int getItemType();
     }
 
     private class TermInserterFactory implements IInserterFactory {
@@ -279,10 +337,10 @@ public class XMLImport {
 
         @Override
         public IEntryInserter createInserter(final String inEntryName,
-                final IInsertBehaviour inBehaviour) throws SAXException {
+                final ImportPipeline inPipeline) throws SAXException {
             if (ELEMENT_NODE.equals(inEntryName)) {
                 try {
-                    return new TermInserter(this.home.create(), inBehaviour);
+                    return new TermInserter(this.home.create(), inPipeline);
                 }
                 catch (final BOMException exc) {
                     throw new SAXException(exc);
@@ -295,6 +353,11 @@ public class XMLImport {
         public String getElementNode() {
             return ELEMENT_NODE;
         }
+
+        @Override
+        public int getItemType() {
+            return IItem.TERM;
+        }
     }
 
     private class TextInserterFactory implements IInserterFactory {
@@ -303,10 +366,10 @@ public class XMLImport {
 
         @Override
         public IEntryInserter createInserter(final String inEntryName,
-                final IInsertBehaviour inBehaviour) throws SAXException {
+                final ImportPipeline inPipeline) throws SAXException {
             if (ELEMENT_NODE.equals(inEntryName)) {
                 try {
-                    return new TextInserter(this.home.create(), inBehaviour);
+                    return new TextInserter(this.home.create(), inPipeline);
                 }
                 catch (final BOMException exc) {
                     throw new SAXException(exc);
@@ -319,6 +382,11 @@ public class XMLImport {
         public String getElementNode() {
             return ELEMENT_NODE;
         }
+
+        @Override
+        public int getItemType() {
+            return IItem.TEXT;
+        }
     }
 
     private class PersonInserterFactory implements IInserterFactory {
@@ -327,10 +395,10 @@ public class XMLImport {
 
         @Override
         public IEntryInserter createInserter(final String inEntryName,
-                final IInsertBehaviour inBehaviour) throws SAXException {
+                final ImportPipeline inPipeline) throws SAXException {
             if (ELEMENT_NODE.equals(inEntryName)) {
                 try {
-                    return new PersonInserter(this.home.create(), inBehaviour);
+                    return new PersonInserter(this.home.create(), inPipeline);
                 }
                 catch (final BOMException exc) {
                     throw new SAXException(exc);
@@ -343,6 +411,11 @@ public class XMLImport {
         public String getElementNode() {
             return ELEMENT_NODE;
         }
+
+        @Override
+        public int getItemType() {
+            return IItem.PERSON;
+        }
     }
 
     private class RelationInserterFactory implements IInserterFactory {
@@ -351,10 +424,10 @@ public class XMLImport {
 
         @Override
         public IEntryInserter createInserter(final String inEntryName,
-                final IInsertBehaviour inBehaviour) throws SAXException {
+                final ImportPipeline inPipeline) throws SAXException {
             if (ELEMENT_NODE.equals(inEntryName)) {
                 try {
-                    return new RelationInserter(this.home.create(), inBehaviour);
+                    return new RelationInserter(this.home.create(), inPipeline);
                 }
                 catch (final BOMException exc) {
                     throw new SAXException(exc);
@@ -367,6 +440,11 @@ public class XMLImport {
         public String getElementNode() {
             return ELEMENT_NODE;
         }
+
+        @Override
+        public int getItemType() {
+            return IItem.RELATION;
+        }
     }
 
     /**
@@ -397,20 +475,36 @@ public class XMLImport {
         private final DomainObject model;
         private IInsertField field = null;
         private StringBuilder value = new StringBuilder();
-        private final IInsertBehaviour insertBehaviour;
+        private final List<FieldValue> values = new ArrayList<>();
+        private final ImportPipeline pipeline;
         private final int itemType;
-        private Long expectedID;
 
-        public Inserter(final DomainObject inModel, final IInsertBehaviour inBehaviour, final int inItemType) {
+        public Inserter(final DomainObject inModel, final ImportPipeline inPipeline, final int inItemType) {
+            // the mappers set the values concurrently, thus, the model's home
+            // and property set are initialized on the parser thread
+            inModel.propertySet();
             this.model = inModel;
-            this.insertBehaviour = inBehaviour;
+            this.pipeline = inPipeline;
             this.itemType = inItemType;
-            this.expectedID = Long.valueOf(0);
         }
 
+        /**
+         * Hands the entry over to the pipeline, the parsed values are set to
+         * the model on a mapper thread.
+         */
         public void insert() throws SAXException {
-            this.insertBehaviour.insert(this.model, this.expectedID, this.itemType);
-            XMLImport.this.numberOfEntries++;
+            this.pipeline.put(this.itemType, this::map);
+        }
+
+        private ImportPipeline.Entry map() throws VException {
+            long lExpectedID = 0;
+            for (final FieldValue lValue : this.values) {
+                if (lValue.field().setValueTo(this.model, lValue.value())) {
+                    lExpectedID = Long.parseLong(lValue.value());
+                }
+            }
+            return new ImportPipeline.Entry(this.model, lExpectedID,
+                    this.itemType);
         }
 
         public void initializeField(final String inName,
@@ -448,18 +542,11 @@ public class XMLImport {
             }
 
             // e.g. "</ID>"
-            try {
-                final String lValue = this.value.toString().trim();
-                if (this.field.setValueTo(this.model, lValue)) {
-                    this.expectedID = Long.valueOf(lValue);
-                }
-                this.value = new StringBuilder();
-                this.field = null;
-                return true;
-            }
-            catch (final VException exc) {
-                throw new SAXException(exc);
-            }
+            this.values.add(
+                    new FieldValue(this.field, this.value.toString().trim()));
+            this.value = new StringBuilder();
+            this.field = null;
+            return true;
         }
 
         public void append(final char[] inChars) {
@@ -497,22 +584,22 @@ public class XMLImport {
 
     private class TermInserter extends Inserter implements IEntryInserter {
         public TermInserter(final DomainObject inModel,
-                final IInsertBehaviour inBehaviour) {
-            super(inModel, inBehaviour, IItem.TERM);
+                final ImportPipeline inPipeline) {
+            super(inModel, inPipeline, IItem.TERM);
         }
     }
 
     private class TextInserter extends Inserter implements IEntryInserter {
         public TextInserter(final DomainObject inModel,
-                final IInsertBehaviour inBehaviour) {
-            super(inModel, inBehaviour, IItem.TEXT);
+                final ImportPipeline inPipeline) {
+            super(inModel, inPipeline, IItem.TEXT);
         }
     }
 
     private class PersonInserter extends Inserter implements IEntryInserter {
         public PersonInserter(final DomainObject inModel,
-                final IInsertBehaviour inBehaviour) {
-            super(inModel, inBehaviour, IItem.PERSON);
+                final ImportPipeline inPipeline) {
+            super(inModel, inPipeline, IItem.PERSON);
         }
     }
 
@@ -522,8 +609,8 @@ public class XMLImport {
         private static final String FIELD_NAME2 = "NTYPE2"; //$NON-NLS-1$
 
         public RelationInserter(final DomainObject inModel,
-                final IInsertBehaviour inBehaviour) {
-            super(inModel, inBehaviour, 0);
+                final ImportPipeline inPipeline) {
+            super(inModel, inPipeline, IItem.RELATION);
         }
 
         @Override
@@ -556,6 +643,12 @@ public class XMLImport {
                 throws VException;
     }
 
+    /**
+     * A field's parsed value, set to the model by the mapper.
+     */
+    private record FieldValue(IInsertField field, String value) {
+    }
+
     abstract class AbstractField implements IInsertField {
         protected String fieldName;
 
@@ -656,83 +749,4 @@ public class XMLImport {
         }
     }
 
-    /**
-     * Interface to encapsulate inserter behaviour added to
-     * <code>Inserter</code> objects.
-     *
-     * @author Luthiger Created on 23.10.2008
-     */
-    private interface IInsertBehaviour {
-        /**
-         * Calls the insert method on the specified model.
-         *
-         * @param inModel
-         *            DomainObject
-         * @param inExpectedID
-         *            Long
-         * @param inItemType
-         *            int
-         * @throws SAXException
-         */
-        void insert(DomainObject inModel, Long inExpectedID, int inItemType)
-                throws SAXException;
-    }
-
-    private class StraightInsertBehaviour implements IInsertBehaviour {
-        @Override
-        public void insert(final DomainObject inModel, final Long inExpectedID,
-                final int inItemType) throws SAXException {
-            try {
-                inModel.insert(true);
-            }
-            catch (VException | SQLException exc) {
-                throw new SAXException(exc);
-            }
-        }
-    }
-
-    private class CautiousInsertBehaviour implements IInsertBehaviour {
-        @Override
-        public void insert(final DomainObject inModel, final Long inExpectedID,
-                final int inItemType) throws SAXException {
-            try {
-                final Long lID = inModel.insert(true);
-                if (inItemType == 0) {
-                    return;
-                }
-                if (!lID.equals(inExpectedID)) {
-                    final RelationReplaceHelper lAdjusted = new RelationReplaceHelper(
-                            new UniqueID(inItemType, inExpectedID.longValue()),
-                            new UniqueID(inItemType, lID.longValue()));
-                    XMLImport.this.relationsToRebind.add(lAdjusted);
-                }
-            }
-            catch (VException | SQLException exc) {
-                throw new SAXException(exc);
-            }
-        }
-    }
-
-    /**
-     * Parameter object helping to replace an old id with a new one. Used for
-     * the rebinding of relations.
-     *
-     * @author Luthiger Created on 23.10.2008
-     */
-    public class RelationReplaceHelper {
-        public UniqueID oldID;
-        public UniqueID newID;
-
-        public RelationReplaceHelper(final UniqueID inOld, final UniqueID inNew) {
-            this.oldID = inOld;
-            this.newID = inNew;
-        }
-
-        @Override
-        public String toString() {
-            return String
-                    .format("%s -> %s", this.oldID.toString(), this.newID.toString()); //$NON-NLS-1$
-        }
-    }
-
 }
@@ -18,12 +18,12 @@
  ***************************************************************************/
 package org.elbe.relations.internal.backup;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Locale;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -33,6 +33,7 @@ import java.util.zip.ZipOutputStream;
  * @author Luthiger
  */
 public class ZippedXMLExport extends XMLExport {
+	private ZipOutputStream zipped;
 
 	/**
 	 * ZippedXMLExport
@@ -48,18 +49,53 @@ public class ZippedXMLExport extends XMLExport {
 	public ZippedXMLExport(final String exportFileName, final Locale appLocale,
 			final int numberOfItems)
 					throws IOException {
+		this(exportFileName, appLocale, numberOfItems,
+				Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * ZippedXMLExport
+	 *
+	 * @param exportFileName
+	 *            String must end with <code>.zip</code>.
+	 * @param appLocale
+	 *            {@link Locale} the application's locale
+	 * @param numberOfItems
+	 *            int
+	 * @param compressionLevel
+	 *            int the compression level (0-9), e.g.
+	 *            {@link Deflater#BEST_SPEED}
+	 * @throws IOException
+	 */
+	public ZippedXMLExport(final String exportFileName, final Locale appLocale,
+			final int numberOfItems, final int compressionLevel)
+					throws IOException {
 		super(exportFileName, appLocale, numberOfItems);
+		setCompressionLevel(compressionLevel);
+	}
+
+	/**
+	 * Sets the compression level of the entries written from now on.
+	 *
+	 * @param compressionLevel
+	 *            int the compression level (0-9) or
+	 *            {@link Deflater#DEFAULT_COMPRESSION}
+	 */
+	public final void setCompressionLevel(final int compressionLevel) {
+		if (this.zipped != null) {
+			this.zipped.setLevel(compressionLevel);
+		}
 	}
 
 	@Override
 	protected OutputStream createStream(final File exportFile)
 			throws IOException {
 		final FileOutputStream stream = new FileOutputStream(exportFile);
-		final ZipOutputStream zipped = new ZipOutputStream(stream);
+		this.zipped = new ZipOutputStream(stream);
 		final ZipEntry entry = new ZipEntry(exportFile.getName().replaceAll(
 				".zip", ".xml")); //$NON-NLS-1$ //$NON-NLS-2$
-		zipped.putNextEntry(entry);
-		return new BufferedOutputStream(zipped);
+		this.zipped.putNextEntry(entry);
+		return this.zipped;
 	}
 
 }
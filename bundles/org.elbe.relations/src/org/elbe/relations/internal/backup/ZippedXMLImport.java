@@ -18,22 +18,33 @@
  ***************************************************************************/
 package org.elbe.relations.internal.backup;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.file.Files;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
 /**
  * Utility class to import the content of an zipped XML export/backup.
+ * <p>
+ * The archive may contain the export as one document or, as written by the
+ * <code>ParallelZippedXMLExport</code>, one document per table. The documents
+ * are imported in the order of the archive, the manifest is skipped.
+ * </p>
+ * <p>
+ * The zip entries are decompressed while they are parsed, i.e. the XML is
+ * neither extracted to a temporary file nor held in memory.
+ * </p>
  *
  * @author Luthiger Created on 27.10.2008
  */
 public class ZippedXMLImport extends XMLImport {
 
-	private ZipFile zipFile;
-
 	/**
 	 * ZippedXMLImport
 	 *
@@ -45,19 +56,31 @@ public class ZippedXMLImport extends XMLImport {
 	}
 
 	@Override
-	protected Reader getReader() throws IOException {
-		this.zipFile = new ZipFile(getImportFile());
-		final ZipEntry entry = this.zipFile.entries().nextElement();
-
-		final InputStreamReader reader = new InputStreamReader(
-				this.zipFile.getInputStream(entry));
-		return new BufferedReader(reader);
-	}
-
-	@Override
-	protected void close() throws IOException {
-		if (this.zipFile != null) {
-			this.zipFile.close();
+	protected void parse(final XMLReader parser)
+			throws IOException, SAXException {
+		try (ZipInputStream zipped = new ZipInputStream(new BufferedInputStream(
+				Files.newInputStream(getImportFile().toPath())))) {
+			boolean parsed = false;
+			ZipEntry entry;
+			while ((entry = zipped.getNextEntry()) != null) {
+				if (entry.isDirectory() || ParallelZippedXMLExport.ENTRY_MANIFEST
+						.equals(entry.getName())) {
+					continue;
+				}
+				// the parser closes its input at the end of the document
+				parser.parse(new InputSource(new FilterInputStream(zipped) {
+					@Override
+					public void close() {
+						// keep the archive open for the next entry
+					}
+				}));
+				parsed = true;
+			}
+			if (!parsed) {
+				throw new IOException(String.format(
+						"The file '%s' contains no entry to import!", //$NON-NLS-1$
+						getImportFile().getName()));
+			}
 		}
 	}
 
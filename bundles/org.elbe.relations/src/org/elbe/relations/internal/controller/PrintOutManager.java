@@ -37,6 +37,7 @@ import org.eclipse.swt.widgets.Display;
 import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.data.bom.BOMException;
 import org.elbe.relations.data.bom.IItem;
+import org.elbe.relations.data.utility.LongSet;
 import org.elbe.relations.data.utility.UniqueID;
 import org.elbe.relations.db.IDataService;
 import org.elbe.relations.internal.bom.XMLSerializerSpecial;
@@ -71,7 +72,7 @@ public class PrintOutManager {
     private IItemCollector contentSet;
 
     private IPrintOut printer;
-    private Collection<UniqueID> uniqueIDs;
+    private LongSet uniqueIDs;
     private int contentScope = PrintOutWizardPage.SELECTED_RELATED;
     private boolean printOutReferences = true;
 
@@ -92,7 +93,7 @@ public class PrintOutManager {
      */
     public PrintOutManager() {
         super();
-        this.uniqueIDs = new ArrayList<UniqueID>();
+        this.uniqueIDs = new LongSet();
     }
 
     /**
@@ -112,7 +113,7 @@ public class PrintOutManager {
             return false;
         }
 
-        this.uniqueIDs = new ArrayList<>();
+        this.uniqueIDs = new LongSet();
         try {
             this.printer.setDocTitle(DOC_TITLE);
             this.printer.setDocSubTitle(getSubTitle());
@@ -214,12 +215,7 @@ public class PrintOutManager {
      * @throws VException
      */
     private boolean isNotPrinted(final IItem inItem) throws VException {
-        final UniqueID lID = new UniqueID(inItem.getItemType(), inItem.getID());
-        if (this.uniqueIDs.contains(lID)) {
-            return false;
-        }
-        this.uniqueIDs.add(lID);
-        return true;
+        return this.uniqueIDs.add(UniqueID.pack(inItem.getItemType(), inItem.getID()));
     }
 
     /**
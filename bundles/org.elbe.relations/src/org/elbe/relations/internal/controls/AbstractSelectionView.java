@@ -18,8 +18,11 @@
  ***************************************************************************/
 package org.elbe.relations.internal.controls;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.core.commands.ParameterizedCommand;
-import org.eclipse.core.databinding.observable.list.WritableList;
 import org.eclipse.e4.core.commands.ECommandService;
 import org.eclipse.e4.core.commands.EHandlerService;
 import org.eclipse.e4.core.di.annotations.Optional;
@@ -28,10 +31,10 @@ import org.eclipse.e4.ui.di.Focus;
 import org.eclipse.e4.ui.di.UIEventTopic;
 import org.eclipse.e4.ui.services.EMenuService;
 import org.eclipse.e4.ui.workbench.modeling.ESelectionService;
-import org.eclipse.jface.databinding.viewers.ObservableListContentProvider;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.TableViewer;
-import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.DragSourceAdapter;
@@ -43,22 +46,25 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Table;
 import org.elbe.relations.ICommandIds;
 import org.elbe.relations.RelationsConstants;
-import org.elbe.relations.data.bom.BOMException;
 import org.elbe.relations.data.bom.ILightWeightItem;
 import org.elbe.relations.data.utility.UniqueID;
+import org.elbe.relations.db.CatalogDelta;
 import org.elbe.relations.dnd.ItemTransfer;
-import org.elbe.relations.internal.preferences.LanguageService;
-import org.elbe.relations.models.ItemAdapter;
 import org.hip.kernel.bom.AlternativeModel;
-import org.hip.kernel.exc.VException;
 
 import jakarta.inject.Inject;
 
 /** Base class for all selection lists providing general functionality to select items.
+ * <p>
+ * The items are displayed in the order of the data service's collections. The table is virtual, i.e. the rows are
+ * created and filled only when they become visible. Changes of single items are applied to the displayed list by the
+ * positions of the {@link CatalogDelta}, thus, only the affected row is updated.
+ * </p>
  *
  * @author Luthiger */
 public abstract class AbstractSelectionView implements IPartWithSelection {
     private final TableViewer viewer;
+    private List<AlternativeModel> input;
 
     @Inject // NOSONAR
     private Logger log;
@@ -70,15 +76,13 @@ public abstract class AbstractSelectionView implements IPartWithSelection {
     private final ECommandService commandService;
 
     @Inject
-    protected AbstractSelectionView(final Composite parent, final LanguageService languageService,
-            final ESelectionService selectionService, final EHandlerService handlerService,
-            final ECommandService commandService) {
-        this.viewer = new TableViewer(parent, SWT.H_SCROLL | SWT.V_SCROLL | SWT.BORDER);
+    protected AbstractSelectionView(final Composite parent, final ESelectionService selectionService,
+            final EHandlerService handlerService, final ECommandService commandService) {
+        this.viewer = new TableViewer(parent, SWT.H_SCROLL | SWT.V_SCROLL | SWT.BORDER | SWT.VIRTUAL);
         this.handlerService = handlerService;
         this.commandService = commandService;
 
-        this.viewer.setContentProvider(new ObservableListContentProvider<Object>());
-        this.viewer.setComparator(new ViewerComparator(languageService.getComparator()));
+        this.viewer.setContentProvider(new LazyContentProvider());
         this.viewer.addSelectionChangedListener(
                 event -> selectionService.setSelection(((IStructuredSelection) event
                         .getSelection()).getFirstElement()));
@@ -90,11 +94,21 @@ public abstract class AbstractSelectionView implements IPartWithSelection {
     @Inject
     public void init(final EMenuService service) {
         service.registerContextMenu(this.viewer.getControl(), getPopupID());
-        this.viewer.setInput(getDBInput());
+        setInput(getDBInput());
+    }
+
+    private void setInput(final Collection<AlternativeModel> items) {
+        // a copy the deltas are applied to, the data service's collection may be changed before the delta arrives
+        this.input = new ArrayList<>(items);
+        this.viewer.setInput(this.input);
+        this.viewer.setItemCount(this.input.size());
     }
 
-    /** @return {@link WritableList} the data to be selected */
-    protected abstract WritableList<AlternativeModel> getDBInput();
+    /** @return Collection&lt;AlternativeModel> the data to be selected, sorted by the data service */
+    protected abstract Collection<AlternativeModel> getDBInput();
+
+    /** @return int the type of the items to be selected */
+    protected abstract int getItemType();
 
     /** @return String the id of the popup menu to display */
     protected abstract String getPopupID();
@@ -113,9 +127,9 @@ public abstract class AbstractSelectionView implements IPartWithSelection {
     void updateView(
             @UIEventTopic(RelationsConstants.TOPIC_DB_CHANGED_RELOAD) final String event) {
         if (this.viewer != null) {
-            final WritableList<AlternativeModel> input = getDBInput();
+            final Collection<AlternativeModel> input = getDBInput();
             if (!input.isEmpty()) {
-                this.viewer.setInput(input);
+                setInput(input);
             }
         }
     }
@@ -124,8 +138,7 @@ public abstract class AbstractSelectionView implements IPartWithSelection {
     @Optional
     void adjustView(@UIEventTopic(RelationsConstants.TOPIC_DB_CHANGED_DB) final String event) {
         if (this.viewer != null) {
-            final WritableList<AlternativeModel> input = getDBInput();
-            this.viewer.setInput(input);
+            setInput(getDBInput());
         }
     }
 
@@ -134,28 +147,31 @@ public abstract class AbstractSelectionView implements IPartWithSelection {
     void initialize(
             @UIEventTopic(RelationsConstants.TOPIC_DB_CHANGED_INITIALZED) final String event) {
         if (this.viewer != null) {
-            final WritableList<AlternativeModel> input = getDBInput();
+            final Collection<AlternativeModel> input = getDBInput();
             if (!input.isEmpty()) {
-                this.viewer.setInput(input);
+                setInput(input);
             }
         }
     }
 
     @Inject
     @Optional
-    void titleChanged(
-            @UIEventTopic(RelationsConstants.TOPIC_FROM_BROWSER_MANAGER_SYNC_CONTENT) final ItemAdapter item) {
-        if (this.viewer == null || item == null) {
+    void applyDelta(@UIEventTopic(RelationsConstants.TOPIC_DB_CHANGED_DELTA) final CatalogDelta delta) {
+        if (this.input == null || delta == null || delta.getItemType() != getItemType()) {
             return;
         }
-
-        try {
-            this.viewer.update(item.getLightWeight(),
-                    new String[] { item.getTitle() });
-        } catch (BOMException | VException exc) {
-            this.log.error(exc, exc.getMessage());
+        delta.applyTo(this.input);
+        if (delta.from() >= 0 && delta.from() == delta.to()) {
+            this.viewer.replace(delta.item(), delta.to());
+            return;
+        }
+        if (delta.from() >= 0) {
+            // removes the row without materializing the table's items, as TableViewer.remove() would
+            this.viewer.getTable().remove(delta.from());
+        }
+        if (delta.to() >= 0) {
+            this.viewer.insert(delta.item(), delta.to());
         }
-
     }
 
     private void hookDragnDrop(final TableViewer viewer) {
@@ -206,4 +222,23 @@ public abstract class AbstractSelectionView implements IPartWithSelection {
         return !this.viewer.getSelection().isEmpty();
     }
 
+    // ---
+
+    /** Content provider filling the rows of the virtual table on demand. */
+    private class LazyContentProvider implements ILazyContentProvider {
+
+        @Override
+        public void updateElement(final int index) {
+            final List<AlternativeModel> items = AbstractSelectionView.this.input;
+            if (items != null && index < items.size()) {
+                AbstractSelectionView.this.viewer.replace(items.get(index), index);
+            }
+        }
+
+        @Override
+        public void inputChanged(final Viewer viewer, final Object oldInput, final Object newInput) {
+            // nothing to do
+        }
+    }
+
 }
@@ -18,14 +18,14 @@
  ***************************************************************************/
 package org.elbe.relations.internal.controls;
 
-import org.eclipse.core.databinding.observable.list.WritableList;
+import java.util.Collection;
+
 import org.eclipse.e4.core.commands.ECommandService;
 import org.eclipse.e4.core.commands.EHandlerService;
 import org.eclipse.e4.ui.workbench.modeling.ESelectionService;
 import org.eclipse.swt.widgets.Composite;
-import org.elbe.relations.data.bom.ILightWeightItem;
+import org.elbe.relations.data.bom.IItem;
 import org.elbe.relations.db.IDataService;
-import org.elbe.relations.internal.preferences.LanguageService;
 import org.hip.kernel.bom.AlternativeModel;
 
 import jakarta.inject.Inject;
@@ -40,16 +40,20 @@ public class PersonView extends AbstractSelectionView {
     private final IDataService data;
 
     @Inject
-    public PersonView(final Composite parent, final LanguageService languageService,
-            final ESelectionService selectionService, final EHandlerService handlerService,
-            final ECommandService commandService, final IDataService data) {
-        super(parent, languageService, selectionService, handlerService, commandService);
+    public PersonView(final Composite parent, final ESelectionService selectionService,
+            final EHandlerService handlerService, final ECommandService commandService, final IDataService data) {
+        super(parent, selectionService, handlerService, commandService);
         this.data = data;
     }
 
     @Override
-    protected WritableList<AlternativeModel> getDBInput() {
-        return new WritableList<>(this.data.getPersons(), ILightWeightItem.class);
+    protected Collection<AlternativeModel> getDBInput() {
+        return this.data.getPersons();
+    }
+
+    @Override
+    protected int getItemType() {
+        return IItem.PERSON;
     }
 
     @Override
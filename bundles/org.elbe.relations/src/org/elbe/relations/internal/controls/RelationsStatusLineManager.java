@@ -30,6 +30,7 @@ import org.eclipse.swt.widgets.Display;
 import org.elbe.relations.RelationsConstants;
 import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.data.Constants;
+import org.elbe.relations.db.CatalogDelta;
 import org.elbe.relations.db.IDataService;
 import org.elbe.relations.internal.utility.WizardHelper;
 
@@ -126,6 +127,22 @@ public class RelationsStatusLineManager {
         setData();
     }
 
+    /**
+     * Updates the status line information after a single item has been added
+     * or removed.
+     *
+     * @param inDelta
+     *            {@link CatalogDelta}
+     */
+    @Inject
+    @Optional
+    void updateItemCounter(
+            @UIEventTopic(RelationsConstants.TOPIC_DB_CHANGED_DELTA) final CatalogDelta inDelta) {
+        if (inDelta != null && inDelta.kind() != CatalogDelta.Kind.CHANGED) {
+            setData();
+        }
+    }
+
     @Inject
     @Optional
     void updateDB(
@@ -21,16 +21,31 @@ package org.elbe.relations.internal.data;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.inject.Inject;
 
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.di.annotations.Optional;
 import org.eclipse.e4.core.di.extensions.EventTopic;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.core.services.log.Logger;
+import org.eclipse.e4.ui.di.UIEventTopic;
 import org.eclipse.e4.ui.di.UISynchronize;
 import org.elbe.relations.RelationsConstants;
+import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.data.bom.AbstractPerson;
 import org.elbe.relations.data.bom.AbstractTerm;
 import org.elbe.relations.data.bom.AbstractText;
@@ -42,7 +57,10 @@ import org.elbe.relations.data.bom.ILightWeightItem;
 import org.elbe.relations.data.bom.LightWeightPerson;
 import org.elbe.relations.data.bom.LightWeightTerm;
 import org.elbe.relations.data.bom.LightWeightText;
+import org.elbe.relations.data.graph.RelationGraph;
+import org.elbe.relations.data.search.IndexQueue;
 import org.elbe.relations.data.utility.UniqueID;
+import org.elbe.relations.db.CatalogDelta;
 import org.elbe.relations.db.IDataService;
 import org.elbe.relations.internal.bom.LightWeightPersonWithIcon;
 import org.elbe.relations.internal.bom.LightWeightTermWithIcon;
@@ -50,7 +68,10 @@ import org.elbe.relations.internal.bom.LightWeightTextWithIcon;
 import org.elbe.relations.internal.bom.PersonWithIcon;
 import org.elbe.relations.internal.bom.TermWithIcon;
 import org.elbe.relations.internal.bom.TextWithIcon;
+import org.elbe.relations.internal.preferences.LanguageService;
+import org.elbe.relations.internal.search.RelationsIndexerWithLanguage;
 import org.elbe.relations.models.IItemModel;
+import org.elbe.relations.models.ItemAdapter;
 import org.elbe.relations.models.ILightWeightModel;
 import org.hip.kernel.bom.AlternativeModel;
 import org.hip.kernel.bom.AlternativeModelFactory;
@@ -73,46 +94,62 @@ import org.hip.kernel.exc.VException;
 @SuppressWarnings("restriction")
 public class DataService implements IDataService {
     private static final String RELOAD = "reload";
+    private static final int ITEM_TABLES = 3;
 
-    private static Collection<AlternativeModel> terms = new ArrayList<>();
-    private static Collection<AlternativeModel> texts = new ArrayList<>();
-    private static Collection<AlternativeModel> persons = new ArrayList<>();
-    private static Collection<AlternativeModel> combined;
+    /** The items of one type, loaded and sorted on a worker thread. */
+    private record Loaded(int itemType, List<AlternativeModel> items) {
+    }
+
+    // a load replaces the catalog as a whole, the catalog is changed on the UI thread only
+    private static volatile ItemCatalog catalog = new ItemCatalog(Comparator.naturalOrder());
 
+    // the number of the latest load, the results of a superseded load are discarded
+    private final AtomicInteger loads = new AtomicInteger();
+    // the number of the latest completed load, changed on the UI thread only
+    private int completed;
+    // the items created while a load is running, they may be missing in the loaded items, thus, they are added to the
+    // load's catalog too; changed on the UI thread only
+    private final Map<Long, ILightWeightItem> created = new LinkedHashMap<>();
     private final IEventBroker eventBroker;
     private final Logger log;
     private final UISynchronize jobManager;
     private final IEclipseContext context;
     private final DBSettings dbSettings;
+    private final LanguageService languageService;
 
     @Inject
     public DataService(final IEventBroker eventBroker, final Logger log, final UISynchronize jobManager,
-            final IEclipseContext context, final DBSettings dbSettings) {
+            final IEclipseContext context, final DBSettings dbSettings, final LanguageService languageService) {
         this.eventBroker = eventBroker;
         this.log = log;
         this.jobManager = jobManager;
         this.context = context;
         this.dbSettings = dbSettings;
+        this.languageService = languageService;
     }
 
+    /** @return Collection&lt;AlternativeModel> all term items, sorted by title and unmodifiable */
     @Override
     public Collection<AlternativeModel> getTerms() {
-        return terms;
+        return catalog.getItems(IItem.TERM);
     }
 
+    /** @return Collection&lt;AlternativeModel> all text items, sorted by title and unmodifiable */
     @Override
     public Collection<AlternativeModel> getTexts() {
-        return texts;
+        return catalog.getItems(IItem.TEXT);
     }
 
+    /** @return Collection&lt;AlternativeModel> all person items, sorted by title and unmodifiable */
     @Override
     public Collection<AlternativeModel> getPersons() {
-        return persons;
+        return catalog.getItems(IItem.PERSON);
     }
 
+    /** @return Collection&lt;AlternativeModel> all items, sorted by title and unmodifiable */
     @Override
     public Collection<AlternativeModel> getAll() {
-        return combined;
+        return catalog.getAll();
     }
 
     /** Adds the newly created term item to the relevant collections and sends a notification.
@@ -122,9 +159,7 @@ public class DataService implements IDataService {
     public void loadNew(final LightWeightTerm term) {
         final ILightWeightModel ligthTerm = term instanceof final ILightWeightModel termModel ? termModel
                 : new LightWeightTermWithIcon(term);
-        terms.add(ligthTerm);
-        combined.add(ligthTerm);
-        this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_RELOAD, RELOAD);
+        this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_DELTA, add(ligthTerm));
         this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_CREATED, new UniqueID(IItem.TERM, ligthTerm.getID()));
     }
 
@@ -135,9 +170,7 @@ public class DataService implements IDataService {
     public void loadNew(final LightWeightText text) {
         final ILightWeightModel lightText = text instanceof final ILightWeightModel textModel ? textModel
                 : new LightWeightTextWithIcon(text);
-        texts.add(lightText);
-        combined.add(lightText);
-        this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_RELOAD, RELOAD);
+        this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_DELTA, add(lightText));
         this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_CREATED,
                 new UniqueID(IItem.TEXT, lightText.getID()));
     }
@@ -149,13 +182,18 @@ public class DataService implements IDataService {
     public void loadNew(final LightWeightPerson person) {
         final ILightWeightModel lightPerson = person instanceof final ILightWeightModel personModel ? personModel
                 : new LightWeightPersonWithIcon(person);
-        persons.add(lightPerson);
-        combined.add(lightPerson);
-        this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_RELOAD, RELOAD);
+        this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_DELTA, add(lightPerson));
         this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_CREATED,
                 new UniqueID(IItem.PERSON, lightPerson.getID()));
     }
 
+    private CatalogDelta add(final ILightWeightItem item) {
+        if (this.completed != this.loads.get()) {
+            this.created.put(UniqueID.pack(item.getItemType(), item.getID()), item);
+        }
+        return catalog.add(item);
+    }
+
     @Override
     public IItemModel retrieveItem(final UniqueID inID) throws BOMException {
         try {
@@ -180,41 +218,110 @@ public class DataService implements IDataService {
     }
 
     /** Loads the data from the configured data store.
+     * <p>
+     * The item tables are selected concurrently by a background job. The items of each type are handed over to the UI
+     * thread as soon as they are loaded, followed by a <code>TOPIC_DB_CHANGED_RELOAD</code> event, thus, the views
+     * can display them while the other types are still loading. If a table fails to load, the other tables are still
+     * handed over, but the load is incomplete: the job ends with an error status and the event topic is not posted.
+     * </p>
      *
      * @param eventTopic String the event topic to post after data loading has been done */
     @Override
     public void loadData(final String eventTopic) {
-        this.jobManager.asyncExec(() -> {
+        final int load = this.loads.incrementAndGet();
+        final Job job = Job.create(RelationsMessages.getString("DataService.job.load"), monitor -> { //$NON-NLS-1$
+            final SubMonitor progress = SubMonitor.convert(monitor, ITEM_TABLES + 1);
+            final ExecutorService executor = Executors.newFixedThreadPool(ITEM_TABLES, runnable -> {
+                final Thread thread = new Thread(runnable, "Relations data loader"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            });
+            final CompletionService<Loaded> completion = new ExecutorCompletionService<>(executor);
             try {
-                terms = retrieveData(BOMHelper.getCollectableTermHome(),
-                        new AlternativeFactory.TermModelFactory());
-                texts = retrieveData(BOMHelper.getCollectableTextHome(),
-                        new AlternativeFactory.TextModelFactory());
-                persons = retrieveData(
-                        BOMHelper.getCollectablePersonHome(),
-                        new AlternativeFactory.PersonModelFactory());
-                combined = new ArrayList<>();
-                combined.addAll(terms);
-                combined.addAll(texts);
-                combined.addAll(persons);
-            } catch (final BOMException exc) {
-                terms = new ArrayList<>();
-                texts = new ArrayList<>();
-                persons = new ArrayList<>();
-                combined = new ArrayList<>();
-                DataService.this.log.error(exc, exc.getMessage());
+                final Comparator<String> comparator = this.languageService.getComparator();
+                completion.submit(() -> retrieveData(IItem.TERM, BOMHelper.getCollectableTermHome(),
+                        new AlternativeFactory.TermModelFactory()));
+                completion.submit(() -> retrieveData(IItem.TEXT, BOMHelper.getCollectableTextHome(),
+                        new AlternativeFactory.TextModelFactory()));
+                completion.submit(() -> retrieveData(IItem.PERSON, BOMHelper.getCollectablePersonHome(),
+                        new AlternativeFactory.PersonModelFactory()));
+                loadRelations();
+                progress.worked(1);
+                Throwable failure = null;
+                boolean first = true;
+                for (int i = 0; i < ITEM_TABLES; i++) {
+                    try {
+                        publish(load, completion.take().get(), first ? comparator : null);
+                        first = false;
+                    } catch (final ExecutionException exc) {
+                        // the remaining tables are handed over anyway
+                        failure = exc.getCause();
+                        this.log.error(failure, failure.getMessage());
+                    }
+                    progress.worked(1);
+                }
+                if (failure != null) {
+                    return Status.error(RelationsMessages.getString("DataService.error.load"), failure); //$NON-NLS-1$
+                }
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return Status.CANCEL_STATUS;
+            } finally {
+                executor.shutdownNow();
+            }
+            this.jobManager.asyncExec(() -> {
+                if (load == this.loads.get()) {
+                    this.completed = load;
+                    this.created.clear();
+                    this.eventBroker.post(eventTopic, "initialized"); //$NON-NLS-1$
+                }
+            });
+            return Status.OK_STATUS;
+        });
+        job.setPriority(Job.SHORT);
+        job.schedule();
+    }
+
+    /** Hands the loaded items over to the UI thread, unless a later load has been started meanwhile. The first items of
+     * a load replace the catalog of the previous load, i.e. are handed over with the comparator of the new catalog. The
+     * items created while the load is running are added to the loaded items of their type. */
+    private void publish(final int load, final Loaded loaded, final Comparator<String> comparator) {
+        this.jobManager.asyncExec(() -> {
+            if (load == this.loads.get()) {
+                if (comparator != null) {
+                    catalog = new ItemCatalog(comparator);
+                }
+                catalog.load(loaded.itemType(), loaded.items());
+                for (final ILightWeightItem item : this.created.values()) {
+                    if (item.getItemType() == loaded.itemType()) {
+                        catalog.add(item);
+                    }
+                }
+                this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_RELOAD, RELOAD);
             }
-            DataService.this.eventBroker.post(eventTopic, "initialized"); //$NON-NLS-1$
         });
     }
 
+    /** Loads the graph of relations, i.e. the in-memory index of the item's relations. */
+    private void loadRelations() {
+        try {
+            RelationGraph.INSTANCE.load();
+        } catch (SQLException | VException exc) {
+            RelationGraph.INSTANCE.clear();
+            this.log.error(exc, exc.getMessage());
+        }
+    }
+
     @Override
     public int getNumberOfItems() {
-        return combined == null ? 0 : combined.size();
+        return catalog.size();
     }
 
     @Override
     public int getNumberOfRelations() {
+        if (RelationGraph.INSTANCE.isLoaded()) {
+            return RelationGraph.INSTANCE.getNumberOfRelations();
+        }
         try {
             return BOMHelper.getRelationHome().getCount();
         }
@@ -240,6 +347,19 @@ public class DataService implements IDataService {
         return this.dbSettings.getDBName();
     }
 
+    /** Selects and sorts the items of the specified table, a failing table is logged and loaded empty. Each table is
+     * sorted with its own collator, a <code>Collator</code> is not thread safe. */
+    private Loaded retrieveData(final int itemType, final DomainObjectHome home,
+            final AlternativeModelFactory factory) {
+        try {
+            return new Loaded(itemType,
+                    ItemCatalog.sort(retrieveData(home, factory), this.languageService.getContentLanguage()));
+        } catch (final BOMException exc) {
+            this.log.error(exc, exc.getMessage());
+            return new Loaded(itemType, new ArrayList<>());
+        }
+    }
+
     private Collection<AlternativeModel> retrieveData(final DomainObjectHome home,
             final AlternativeModelFactory factory) throws BOMException {
         if (home instanceof final ICollectableHome collectableHome) {
@@ -260,27 +380,60 @@ public class DataService implements IDataService {
 
     @Override
     public void removeDeleted(final ILightWeightItem item) {
-        combined.remove(item);
-        switch (item.getItemType()) {
-            case IItem.TERM:
-                terms.remove(item);
-                break;
-            case IItem.TEXT:
-                texts.remove(item);
-                break;
-            case IItem.PERSON:
-                persons.remove(item);
-                break;
+        this.created.remove(UniqueID.pack(item.getItemType(), item.getID()));
+        final CatalogDelta delta = catalog.remove(item);
+        if (delta != null) {
+            this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_DELTA, delta);
         }
-        this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_RELOAD, RELOAD);
         this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_DELETED,
                 new UniqueID(item.getItemType(), item.getID()));
     }
 
+    /** Moves the edited item to the position of its new title.
+     *
+     * @param item {@link ItemAdapter} the edited item */
+    @Inject
+    @Optional
+    void itemChanged(@UIEventTopic(RelationsConstants.TOPIC_FROM_BROWSER_MANAGER_SYNC_CONTENT) final ItemAdapter item) {
+        if (item == null) {
+            return;
+        }
+        try {
+            final ILightWeightItem lightWeight = item.getLightWeight();
+            if (lightWeight != null) {
+                final ILightWeightItem model = toModel(lightWeight);
+                this.created.computeIfPresent(UniqueID.pack(model.getItemType(), model.getID()), (key, old) -> model);
+                final CatalogDelta delta = catalog.change(model);
+                if (delta != null) {
+                    this.eventBroker.post(RelationsConstants.TOPIC_DB_CHANGED_DELTA, delta);
+                }
+            }
+        } catch (final BOMException exc) {
+            this.log.error(exc, exc.getMessage());
+        }
+    }
+
+    private ILightWeightItem toModel(final ILightWeightItem item) {
+        if (item instanceof ILightWeightModel) {
+            return item;
+        }
+        if (item instanceof final LightWeightTerm term) {
+            return new LightWeightTermWithIcon(term);
+        }
+        if (item instanceof final LightWeightText text) {
+            return new LightWeightTextWithIcon(text);
+        }
+        if (item instanceof final LightWeightPerson person) {
+            return new LightWeightPersonWithIcon(person);
+        }
+        return item;
+    }
+
     @Inject
     @Optional
     void changeDB(
             @EventTopic(RelationsConstants.TOPIC_DB_CHANGED_DB) final String event) {
+        IndexQueue.INSTANCE.start(RelationsIndexerWithLanguage.createRelationsIndexer(this.context));
         loadData(RelationsConstants.TOPIC_DB_CHANGED_INITIALZED);
     }
 
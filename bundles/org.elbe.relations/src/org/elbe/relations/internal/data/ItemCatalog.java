@@ -0,0 +1,221 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.data;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.elbe.relations.data.bom.IItem;
+import org.elbe.relations.data.bom.ILightWeightItem;
+import org.elbe.relations.data.utility.ItemCollator;
+import org.elbe.relations.data.utility.UniqueID;
+import org.elbe.relations.db.CatalogDelta;
+import org.hip.kernel.bom.AlternativeModel;
+
+/** The in-memory catalog of the items, i.e. the items of each type and the items of all types, sorted by their titles.
+ * <p>
+ * The items are indexed by their packed <code>UniqueID</code>, thus, an item is looked up without scanning the
+ * collections. A change keeps the collections sorted by moving the item to its position found by binary search and
+ * returns the positions as {@link CatalogDelta}.
+ * </p>
+ * <p>
+ * The catalog is not thread safe, it is changed on the UI thread only.
+ * </p>
+ *
+ * @author Luthiger */
+class ItemCatalog {
+    private final Comparator<AlternativeModel> order;
+    private final Map<Long, ILightWeightItem> index = new HashMap<>();
+    private final List<AlternativeModel> terms = new ArrayList<>();
+    private final List<AlternativeModel> texts = new ArrayList<>();
+    private final List<AlternativeModel> persons = new ArrayList<>();
+    private final List<AlternativeModel> all = new ArrayList<>();
+
+    /** ItemCatalog constructor.
+     *
+     * @param comparator {@link Comparator} the comparator of the items' titles */
+    ItemCatalog(final Comparator<String> comparator) {
+        this.order = createOrder(comparator);
+    }
+
+    /** The order of the items: by title, items with equal titles by their unique ID. */
+    private static Comparator<AlternativeModel> createOrder(final Comparator<String> comparator) {
+        return Comparator.comparing(ItemCatalog::getTitle, comparator).thenComparingLong(ItemCatalog::getKey);
+    }
+
+    /** Sorts the specified items in the catalog's order. This method is thread safe, thus, the items can be sorted while
+     * they are loaded.
+     *
+     * @param items Collection&lt;AlternativeModel>
+     * @param comparator {@link Comparator} the comparator of the items' titles, must be equivalent to the catalog's
+     *            comparator
+     * @return List&lt;AlternativeModel> the sorted items */
+    static List<AlternativeModel> sort(final Collection<AlternativeModel> items,
+            final Comparator<String> comparator) {
+        final List<AlternativeModel> outSorted = new ArrayList<>(items);
+        outSorted.sort(createOrder(comparator));
+        return outSorted;
+    }
+
+    /** Sorts the specified items in the catalog's order, collating each item's title once. This method is thread safe
+     * as long as the collator is not shared.
+     *
+     * @param items Collection&lt;AlternativeModel>
+     * @param collator {@link Collator} the collator of the items' titles, must be equivalent to the catalog's comparator
+     * @return List&lt;AlternativeModel> the sorted items */
+    static List<AlternativeModel> sort(final Collection<AlternativeModel> items, final Collator collator) {
+        final List<AlternativeModel> outSorted = new ArrayList<>(items);
+        // the key sort is stable, thus, items with equal titles keep the order of their unique IDs
+        outSorted.sort(Comparator.comparingLong(ItemCatalog::getKey));
+        ItemCollator.sortByKeys(outSorted, item -> collator.getCollationKey(getTitle(item)));
+        return outSorted;
+    }
+
+    /** Replaces the items of the specified type.
+     *
+     * @param itemType int
+     * @param sorted List&lt;AlternativeModel> the items, sorted by {@link #sort(Collection, Comparator)} or
+     *            {@link #sort(Collection, Collator)} */
+    void load(final int itemType, final List<AlternativeModel> sorted) {
+        final List<AlternativeModel> items = getItemsOf(itemType);
+        for (final AlternativeModel item : items) {
+            this.index.remove(getKey(item));
+        }
+        items.clear();
+        items.addAll(sorted);
+        for (final AlternativeModel item : sorted) {
+            this.index.put(getKey(item), (ILightWeightItem) item);
+        }
+        // the collection consists of three sorted runs, thus, sorting is a linear merge
+        this.all.clear();
+        this.all.addAll(this.terms);
+        this.all.addAll(this.texts);
+        this.all.addAll(this.persons);
+        this.all.sort(this.order);
+    }
+
+    /** Adds the specified item to the catalog. An item already contained is replaced.
+     *
+     * @param item {@link ILightWeightItem}
+     * @return {@link CatalogDelta} the positions of the added item */
+    CatalogDelta add(final ILightWeightItem item) {
+        if (this.index.containsKey(getKey(item))) {
+            return change(item);
+        }
+        this.index.put(getKey(item), item);
+        return new CatalogDelta(CatalogDelta.Kind.ADDED, item, -1, insert(getItemsOf(item.getItemType()), item), -1,
+                insert(this.all, item));
+    }
+
+    /** Removes the specified item from the catalog.
+     *
+     * @param item {@link ILightWeightItem}
+     * @return {@link CatalogDelta} the positions of the removed item, <code>null</code> if the item is not contained */
+    CatalogDelta remove(final ILightWeightItem item) {
+        final ILightWeightItem old = this.index.remove(getKey(item));
+        if (old == null) {
+            return null;
+        }
+        return new CatalogDelta(CatalogDelta.Kind.REMOVED, old, remove(getItemsOf(old.getItemType()), old), -1,
+                remove(this.all, old), -1);
+    }
+
+    /** Replaces the item having the same unique ID as the specified one, e.g. after the item's title has been changed.
+     *
+     * @param item {@link ILightWeightItem}
+     * @return {@link CatalogDelta} the item's old and new positions, <code>null</code> if the item is not contained */
+    CatalogDelta change(final ILightWeightItem item) {
+        final ILightWeightItem old = this.index.put(getKey(item), item);
+        if (old == null) {
+            this.index.remove(getKey(item));
+            return null;
+        }
+        final List<AlternativeModel> items = getItemsOf(item.getItemType());
+        final int from = remove(items, old);
+        final int to = insert(items, item);
+        final int fromAll = remove(this.all, old);
+        return new CatalogDelta(CatalogDelta.Kind.CHANGED, item, from, to, fromAll, insert(this.all, item));
+    }
+
+    /** @param id {@link UniqueID}
+     * @return {@link ILightWeightItem} the item with the specified ID, <code>null</code> if not contained */
+    ILightWeightItem get(final UniqueID id) {
+        return this.index.get(id.getKey());
+    }
+
+    /** @param itemType int
+     * @return List&lt;AlternativeModel> the sorted items of the specified type, unmodifiable */
+    List<AlternativeModel> getItems(final int itemType) {
+        return Collections.unmodifiableList(getItemsOf(itemType));
+    }
+
+    /** @return List&lt;AlternativeModel> all items sorted, unmodifiable */
+    List<AlternativeModel> getAll() {
+        return Collections.unmodifiableList(this.all);
+    }
+
+    /** @return int the number of items */
+    int size() {
+        return this.all.size();
+    }
+
+    private List<AlternativeModel> getItemsOf(final int itemType) {
+        return switch (itemType) {
+            case IItem.TEXT -> this.texts;
+            case IItem.PERSON -> this.persons;
+            default -> this.terms;
+        };
+    }
+
+    private int insert(final List<AlternativeModel> items, final AlternativeModel item) {
+        final int position = Collections.binarySearch(items, item, this.order);
+        final int outPosition = position < 0 ? -position - 1 : position;
+        items.add(outPosition, item);
+        return outPosition;
+    }
+
+    private int remove(final List<AlternativeModel> items, final AlternativeModel item) {
+        int outPosition = Collections.binarySearch(items, item, this.order);
+        if (outPosition < 0 || items.get(outPosition) != item) {
+            // the item's title has been changed in place, thus, it is not at its sorted position anymore
+            outPosition = items.indexOf(item);
+        }
+        if (outPosition >= 0) {
+            items.remove(outPosition);
+        }
+        return outPosition;
+    }
+
+    private static String getTitle(final AlternativeModel item) {
+        final String outTitle = item.toString();
+        return outTitle == null ? "" : outTitle; //$NON-NLS-1$
+    }
+
+    private static long getKey(final AlternativeModel item) {
+        final ILightWeightItem lightWeight = (ILightWeightItem) item;
+        return UniqueID.pack(lightWeight.getItemType(), lightWeight.getID());
+    }
+
+}
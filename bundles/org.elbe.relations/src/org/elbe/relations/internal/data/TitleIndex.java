@@ -0,0 +1,249 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.data;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import org.eclipse.e4.core.di.annotations.Optional;
+import org.eclipse.e4.ui.di.UIEventTopic;
+import org.elbe.relations.RelationsConstants;
+import org.elbe.relations.data.bom.ILightWeightItem;
+import org.elbe.relations.data.utility.UniqueID;
+import org.elbe.relations.db.CatalogDelta;
+import org.elbe.relations.db.IDataService;
+import org.hip.kernel.bom.AlternativeModel;
+
+/** In-memory index of the items' titles to filter the items while the user is typing.
+ * <p>
+ * A query is matched case insensitive anywhere in the titles. The index keeps the postings of the titles' unigrams,
+ * bigrams and trigrams. A query of up to {@link #GRAM} characters is a gram itself, its postings are the matching
+ * titles. A longer query is resolved by the postings of its trigrams: the titles in the shortest posting list are the
+ * only candidates to check.
+ * </p>
+ * <p>
+ * The index is built from the data service's items on the first query and is updated by the catalog's deltas
+ * afterwards. Removed titles are left in the index, marked as removed, until they make up half of the index. The index
+ * is not thread safe, it is used on the UI thread only.
+ * </p>
+ *
+ * @author Luthiger */
+public class TitleIndex {
+    private static final int GRAM = 3;
+
+    private final IDataService dataService;
+
+    private boolean loaded;
+    // the slots: the lower case titles and the packed unique IDs of the items, the slots are mapped by the IDs
+    private String[] titles = new String[0];
+    private long[] keys = new long[0];
+    private int size;
+    private final BitSet removed = new BitSet();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /** TitleIndex constructor.
+     *
+     * @param dataService {@link IDataService} */
+    @Inject
+    public TitleIndex(final IDataService dataService) {
+        this.dataService = dataService;
+    }
+
+    /** Returns the items matching the specified query.
+     *
+     * @param query String
+     * @return {@link Matches} the matching items, <code>null</code> if the query is empty, i.e. all items match */
+    public Matches find(final String query) {
+        final String lower = query == null ? "" : query.strip().toLowerCase(Locale.ROOT); //$NON-NLS-1$
+        if (lower.isEmpty()) {
+            return null;
+        }
+        if (!this.loaded) {
+            load(this.dataService.getAll());
+        }
+        return new Matches(findGrams(lower), this.keys);
+    }
+
+    private BitSet findGrams(final String query) {
+        // a short query is a single gram, its candidates are the matches
+        final int length = Math.min(GRAM, query.length());
+        Postings candidates = null;
+        for (int i = 0; i + length <= query.length(); i++) {
+            final Postings gramPostings = this.postings.get(gramOf(query, i, length));
+            if (gramPostings == null) {
+                return new BitSet();
+            }
+            if (candidates == null || gramPostings.size < candidates.size) {
+                candidates = gramPostings;
+            }
+        }
+        final BitSet outFound = new BitSet(this.size);
+        for (int i = 0; i < candidates.size; i++) {
+            final int slot = candidates.slots[i];
+            if (!this.removed.get(slot) && (length == query.length() || this.titles[slot].contains(query))) {
+                outFound.set(slot);
+            }
+        }
+        return outFound;
+    }
+
+    /** Builds the index of the specified items.
+     *
+     * @param items Collection&lt;? extends AlternativeModel> */
+    void load(final Collection<? extends AlternativeModel> items) {
+        // new arrays, the matches of former queries keep the IDs of their slots
+        this.titles = new String[Math.max(16, items.size())];
+        this.keys = new long[this.titles.length];
+        this.size = 0;
+        this.removed.clear();
+        this.slots.clear();
+        this.postings.clear();
+        for (final AlternativeModel item : items) {
+            addGrams(addSlot((ILightWeightItem) item));
+        }
+        this.loaded = true;
+    }
+
+    /** Applies the change of a single item to the index.
+     *
+     * @param delta {@link CatalogDelta} */
+    @Inject
+    @Optional
+    void apply(@UIEventTopic(RelationsConstants.TOPIC_DB_CHANGED_DELTA) final CatalogDelta delta) {
+        if (!this.loaded || delta == null) {
+            return;
+        }
+        remove(delta.item());
+        if (delta.kind() != CatalogDelta.Kind.REMOVED) {
+            add(delta.item());
+        }
+        if (this.removed.cardinality() > this.size / 2) {
+            // compacts the index
+            this.loaded = false;
+        }
+    }
+
+    /** Invalidates the index after the items have been reloaded, the index is rebuilt on the next query. */
+    @Inject
+    @Optional
+    void invalidate(@UIEventTopic(RelationsConstants.TOPIC_DB_CHANGED_RELOAD) final String event) {
+        this.loaded = false;
+    }
+
+    private void add(final ILightWeightItem item) {
+        addGrams(addSlot(item));
+    }
+
+    private void remove(final ILightWeightItem item) {
+        final Integer slot = this.slots.remove(getKey(item));
+        if (slot != null) {
+            // the title and the postings of the slot are skipped from now on
+            this.removed.set(slot);
+        }
+    }
+
+    private int addSlot(final ILightWeightItem item) {
+        if (this.size == this.titles.length) {
+            this.titles = Arrays.copyOf(this.titles, this.size * 2);
+            this.keys = Arrays.copyOf(this.keys, this.size * 2);
+        }
+        final int outSlot = this.size++;
+        final String title = item.toString();
+        this.titles[outSlot] = title == null ? "" : title.toLowerCase(Locale.ROOT); //$NON-NLS-1$
+        this.keys[outSlot] = getKey(item);
+        this.slots.put(this.keys[outSlot], outSlot);
+        return outSlot;
+    }
+
+    private void addGrams(final int slot) {
+        final String title = this.titles[slot];
+        for (int length = 1; length <= GRAM; length++) {
+            for (int i = 0; i + length <= title.length(); i++) {
+                // the postings are in ascending order of the slots, a title containing a gram twice is added once
+                final Postings gramPostings = this.postings.computeIfAbsent(gramOf(title, i, length),
+                        gram -> new Postings());
+                if (gramPostings.size == 0 || gramPostings.slots[gramPostings.size - 1] != slot) {
+                    gramPostings.add(slot);
+                }
+            }
+        }
+    }
+
+    private static long gramOf(final String text, final int start, final int length) {
+        // the gram's length in the upper bits keeps the unigrams, bigrams and trigrams apart
+        long outGram = length;
+        for (int i = start; i < start + length; i++) {
+            outGram = outGram << 16 | text.charAt(i);
+        }
+        return outGram;
+    }
+
+    private static long getKey(final ILightWeightItem item) {
+        return UniqueID.pack(item.getItemType(), item.getID());
+    }
+
+    // ---
+
+    /** The slots of the titles containing a gram, in ascending order. */
+    private static class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(final int slot) {
+            if (this.size == this.slots.length) {
+                this.slots = Arrays.copyOf(this.slots, this.size * 2);
+            }
+            this.slots[this.size++] = slot;
+        }
+    }
+
+    /** The items matching a query. The IDs of the matching items are copied when the query is resolved, thus, the
+     * matches don't change when the index is changed afterwards, e.g. when a matching item is moved to a new slot. */
+    public static class Matches {
+        private final long[] matching;
+
+        private Matches(final BitSet found, final long[] keys) {
+            this.matching = new long[found.cardinality()];
+            int i = 0;
+            for (int slot = found.nextSetBit(0); slot >= 0; slot = found.nextSetBit(slot + 1)) {
+                this.matching[i++] = keys[slot];
+            }
+            Arrays.sort(this.matching);
+        }
+
+        /** @param item {@link ILightWeightItem}
+         * @return boolean <code>true</code> if the item matches the query */
+        public boolean contains(final ILightWeightItem item) {
+            return Arrays.binarySearch(this.matching, getKey(item)) >= 0;
+        }
+
+        /** @return int the number of matching items */
+        public int size() {
+            return this.matching.length;
+        }
+    }
+
+}
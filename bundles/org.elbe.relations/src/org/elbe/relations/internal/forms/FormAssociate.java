@@ -56,6 +56,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.IWorkbenchActionConstants;
 import org.elbe.relations.ICommandIds;
 import org.elbe.relations.RelationsMessages;
@@ -64,6 +65,7 @@ import org.elbe.relations.data.bom.ILightWeightItem;
 import org.elbe.relations.data.utility.UniqueID;
 import org.elbe.relations.db.IDataService;
 import org.elbe.relations.dnd.ItemTransfer;
+import org.elbe.relations.internal.data.TitleIndex;
 import org.elbe.relations.internal.preferences.LanguageService;
 import org.elbe.relations.internal.utility.ActionHelper;
 import org.elbe.relations.models.IAssociationsModel;
@@ -102,6 +104,12 @@ public final class FormAssociate extends AbstractEditForm {
     @Inject
     private IDataService dataService;
 
+    @Inject
+    private TitleIndex titleIndex;
+
+    // the items matching the filter text, null if all items match
+    private TitleIndex.Matches titleMatches;
+
     /**
      * Factory method to create instances of <code>FormAssociate</code>.
      *
@@ -164,11 +172,23 @@ public final class FormAssociate extends AbstractEditForm {
         this.selectionViewer.getTable().setLayoutData(createListLayoutData());
         this.selectionViewer.setContentProvider(createContentProvider());
         this.selectionViewer.setLabelProvider(createLabelProvider());
-        this.selectionViewer.setComparator(new ViewerComparator(this.languageService.getContentLanguage()));
+        // the items are sorted by the data service already
+        this.selectionViewer.addFilter(new TitleFilter());
+        createFilterText(lSelectionFill);
 
         createMenusAndToolbars();
     }
 
+    private void createFilterText(final Composite inParent) {
+        final Text lFilter = new Text(inParent, SWT.SEARCH | SWT.ICON_CANCEL | SWT.BORDER);
+        lFilter.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        lFilter.setMessage(RelationsMessages.getString("FormAssociate.filter.hint")); //$NON-NLS-1$
+        lFilter.addModifyListener(inEvent -> {
+            this.titleMatches = this.titleIndex.find(lFilter.getText());
+            this.selectionViewer.refresh(false);
+        });
+    }
+
     public void loadModel(final IAssociationsModel inModel) {
         this.model = inModel;
 
@@ -571,6 +591,20 @@ public final class FormAssociate extends AbstractEditForm {
 
     }
 
+    /**
+     * Filters the items whose titles don't match the filter text.
+     */
+    private class TitleFilter extends ViewerFilter {
+
+        @Override
+        public boolean select(final Viewer inViewer,
+                final Object inParentElement, final Object inElement) {
+            return FormAssociate.this.titleMatches == null
+                    || FormAssociate.this.titleMatches.contains((ILightWeightItem) inElement);
+        }
+
+    }
+
     private interface IAction1 {
         void run(UniqueID[] inItems);
     }
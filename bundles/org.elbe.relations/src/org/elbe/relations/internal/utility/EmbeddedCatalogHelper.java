@@ -331,6 +331,20 @@ public class EmbeddedCatalogHelper {
         return outStore;
     }
 
+    /**
+     * Convenience method to retrieve the path to the search index of the
+     * specified catalog.
+     *
+     * @param catalog
+     *            String the catalog's name
+     * @return File the directory containing the catalog's search index, the
+     *         directory may not exist.
+     */
+    public static File getIndexPath(final String catalog) {
+        return new File(new File(getDBStorePath().getParentFile(),
+                RelationsConstants.LUCENE_STORE), catalog);
+    }
+
     /**
      * @return String the absolute path of the embedded's default DB.
      */
@@ -4,7 +4,6 @@ import java.sql.SQLException;
 import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 
 import org.elbe.relations.RelationsImages;
@@ -85,7 +84,8 @@ public class RelatedItemHelper {
     }
 
     /**
-     * Retrieves all related items of any type.
+     * Retrieves all related items of any type with one query. In contrast to
+     * {@link #getNeighbourhood(IItem)}, the items are fully loaded.
      *
      * @param inItem
      *            The item whose related will be retrieved.
@@ -95,29 +95,36 @@ public class RelatedItemHelper {
      */
     public static Collection<ItemWithIcon> getRelatedItems(final IItem inItem)
             throws VException, SQLException {
-        // term
-        final List<ItemWithIcon> outRelated = getItems(BOMHelper
-                .getJoinRelatedTerm1Home().select(getKey1(inItem, IItem.TERM)),
-                new TermWrapper());
-        outRelated.addAll(getItems(
-                BOMHelper.getJoinRelatedTerm2Home().select(
-                        getKey2(inItem, IItem.TERM)), new TermWrapper()));
-        // text
-        outRelated.addAll(getItems(
-                BOMHelper.getJoinRelatedText1Home().select(
-                        getKey1(inItem, IItem.TEXT)), new TextWrapper()));
-        outRelated.addAll(getItems(
-                BOMHelper.getJoinRelatedText2Home().select(
-                        getKey2(inItem, IItem.TEXT)), new TextWrapper()));
-        // person
-        outRelated.addAll(getItems(BOMHelper.getJoinRelatedPerson1Home()
-                .select(getKey1(inItem, IItem.PERSON)), new PersonWrapper()));
-        outRelated.addAll(getItems(BOMHelper.getJoinRelatedPerson2Home()
-                .select(getKey2(inItem, IItem.PERSON)), new PersonWrapper()));
-        // sort
-        final Collator lCollator = new ItemCollator();
+        final List<ItemWithIcon> outRelated = new ArrayList<>();
+        for (final IItem lItem : BOMHelper.getRelationHome()
+                .getRelatedItems(inItem)) {
+            outRelated.add(getWrapper(lItem.getItemType()).wrap(lItem));
+        }
+        // sort, collating each title once
+        final ItemCollator lCollator = new ItemCollator();
         lCollator.setStrength(Collator.SECONDARY);
-        Collections.sort(outRelated, lCollator);
+        lCollator.sort(outRelated);
+        return outRelated;
+    }
+
+    /**
+     * Retrieves all related items of any type with one query, ordered by
+     * their type (terms, texts, persons). The items are projected to their
+     * titles, the full items are loaded when needed, e.g. for the inspector.
+     *
+     * @param inItem
+     *            The item whose related will be retrieved.
+     * @return List<ItemWithIcon>
+     * @throws VException
+     * @throws SQLException
+     */
+    public static List<ItemWithIcon> getNeighbourhood(final IItem inItem)
+            throws VException, SQLException {
+        final List<ItemWithIcon> outRelated = new ArrayList<>();
+        for (final IItem lItem : BOMHelper.getRelationHome()
+                .getRelatedTitles(inItem)) {
+            outRelated.add(getWrapper(lItem.getItemType()).wrap(lItem));
+        }
         return outRelated;
     }
 
@@ -146,6 +153,17 @@ public class RelatedItemHelper {
         return outItems;
     }
 
+    private static IWrapper getWrapper(final int inType) {
+        switch (inType) {
+        case IItem.TERM:
+            return new TermWrapper();
+        case IItem.TEXT:
+            return new TextWrapper();
+        default:
+            return new PersonWrapper();
+        }
+    }
+
     private interface IWrapper {
         ItemWithIcon wrap(IItem inModel);
     }
@@ -50,8 +50,12 @@ public class ZipImport extends ZipRestore {
 
 	@Override
 	protected String getName(final String inEntryName) {
-		return dbName
-				+ inEntryName.substring(inEntryName.indexOf(File.separator));
+		// online backups separate the entry names' parts with slashes
+		int lIndex = inEntryName.indexOf('/');
+		if (lIndex < 0) {
+			lIndex = inEntryName.indexOf(File.separator);
+		}
+		return dbName + inEntryName.substring(lIndex);
 	}
 
 }
@@ -37,11 +37,14 @@ import org.eclipse.e4.core.services.log.Logger;
  */
 @SuppressWarnings("restriction")
 public class ZipRestore {
+    /** Prefix of the entries containing the files of the search index. */
+    public static final String ENTRY_INDEX = ".index/"; //$NON-NLS-1$
     private static final int LEN = 2048;
 
     private final File dataStore;
     private final File archive;
     private final Logger log;
+    private File indexDirectory;
 
     /** ZipRestore constructor.
      *
@@ -54,6 +57,17 @@ public class ZipRestore {
         this.log = log;
     }
 
+    /**
+     * Sets the directory the entries of the search index are restored to.
+     * Without this directory, the index contained in the archive is ignored.
+     *
+     * @param indexDirectory
+     *            File the catalog's index directory
+     */
+    public void setIndexDirectory(final File indexDirectory) {
+        this.indexDirectory = indexDirectory;
+    }
+
     /**
      * Starts the data restore.
      *
@@ -61,17 +75,35 @@ public class ZipRestore {
      */
     public void restore() throws IOException {
         try (ZipFile zip = new ZipFile(this.archive)) {
+            if (this.indexDirectory != null && containsIndex(zip)) {
+                // the segments of the actual index must not be mixed with the
+                // restored ones
+                clear(this.indexDirectory);
+            }
             final Enumeration<?> entries = zip.entries();
             while (entries.hasMoreElements()) {
-                process((ZipEntry) entries.nextElement(), zip, this.dataStore);
+                final ZipEntry entry = (ZipEntry) entries.nextElement();
+                if (entry.getName().startsWith(ENTRY_INDEX)) {
+                    if (this.indexDirectory != null) {
+                        process(entry, zip, this.indexDirectory, entry.getName()
+                                .substring(ENTRY_INDEX.length()));
+                    }
+                } else {
+                    process(entry, zip, this.dataStore,
+                            getName(entry.getName()));
+                }
             }
         }
     }
 
     private void process(final ZipEntry inEntry, final ZipFile inZip,
-            final File inParent) throws IOException {
+            final File inParent, final String inName) throws IOException {
 
-        final File newFile = new File(inParent, getName(inEntry.getName()));
+        final File newFile = new File(inParent, inName);
+        if (inEntry.isDirectory()) {
+            newFile.mkdirs();
+            return;
+        }
         if (!newFile.exists()) {
             createFile(newFile);
         }
@@ -94,6 +126,18 @@ public class ZipRestore {
         return inEntryName;
     }
 
+    private void clear(final File directory) {
+        final File[] children = directory.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                if (child.isDirectory()) {
+                    clear(child);
+                }
+                child.delete();
+            }
+        }
+    }
+
     private boolean createFile(final File file) throws IOException {
         final File parent = file.getParentFile();
         if (!parent.exists()) {
@@ -111,20 +155,36 @@ public class ZipRestore {
      *         the specified catalog.
      */
     public boolean checkArchive(final String inCatalog) {
-        boolean out = false;
-        try {
-            final ZipFile lZip = new ZipFile(this.archive);
-            final String lName = lZip.entries().nextElement()
-                    .getName();
-            if (lName.startsWith(inCatalog + File.separator)) {
-                out = true;
-            }
-            lZip.close();
+        try (ZipFile lZip = new ZipFile(this.archive)) {
+            return lZip.stream().map(ZipEntry::getName)
+                    .filter(name -> !name.startsWith(ENTRY_INDEX)).findFirst()
+                    .map(name -> name.startsWith(inCatalog + File.separator)
+                            || name.startsWith(inCatalog + "/")) //$NON-NLS-1$
+                    .orElse(false);
         }
         catch (final Exception exc) {
             this.log.error(exc, exc.getMessage());
         }
-        return out;
+        return false;
+    }
+
+    /**
+     * @return boolean <code>true</code> if the archive contains the catalog's
+     *         search index, i.e. the catalog needs no reindex after the
+     *         restore
+     */
+    public boolean containsIndex() {
+        try (ZipFile lZip = new ZipFile(this.archive)) {
+            return containsIndex(lZip);
+        }
+        catch (final IOException exc) {
+            return false;
+        }
+    }
+
+    private static boolean containsIndex(final ZipFile zip) {
+        return zip.stream()
+                .anyMatch(entry -> entry.getName().startsWith(ENTRY_INDEX));
     }
 
 }
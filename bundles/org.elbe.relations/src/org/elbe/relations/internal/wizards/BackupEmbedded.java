@@ -20,17 +20,22 @@ package org.elbe.relations.internal.wizards;
 
 import java.io.File;
 import java.io.IOException;
+import java.sql.SQLException;
 import java.text.MessageFormat;
 
 import jakarta.inject.Inject;
 
+import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.log.Logger;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.wizard.Wizard;
 import org.elbe.relations.RelationsMessages;
+import org.elbe.relations.data.search.IndexQueue;
+import org.elbe.relations.internal.backup.OnlineBackup;
 import org.elbe.relations.internal.backup.ZipBackup;
 import org.elbe.relations.internal.controls.RelationsStatusLineManager;
 import org.elbe.relations.internal.data.DBSettings;
+import org.elbe.relations.internal.search.RelationsIndexerWithLanguage;
 import org.elbe.relations.internal.utility.EmbeddedCatalogHelper;
 import org.elbe.relations.internal.wizards.interfaces.IExportWizard;
 
@@ -59,6 +64,9 @@ public class BackupEmbedded extends Wizard implements IExportWizard {
     @Inject
     private RelationsStatusLineManager statusLine;
 
+    @Inject
+    private IEclipseContext context;
+
     private BackupEmbeddedPage page;
 
     @PostConstruct
@@ -86,13 +94,25 @@ public class BackupEmbedded extends Wizard implements IExportWizard {
         try {
             final String lDataDirectory = EmbeddedCatalogHelper.getDBStorePath()
                     .getCanonicalPath() + File.separator + lCatalog;
-            final ZipBackup lBackup = new ZipBackup(lDataDirectory,
-                    this.page.getFileName());
-            lBackup.backup();
+            final String lStatement = this.dbSettings.getDBConnectionConfig()
+                    .getOnlineBackupStatement();
+            if (lStatement == null) {
+                final ZipBackup lBackup = new ZipBackup(lDataDirectory,
+                        this.page.getFileName());
+                lBackup.backup();
+            } else {
+                // the index is copied with the queued changes applied, the writer stays open
+                IndexQueue.INSTANCE.flush();
+                final OnlineBackup lBackup = new OnlineBackup(lDataDirectory,
+                        RelationsIndexerWithLanguage
+                                .createRelationsIndexer(this.context),
+                        this.page.getFileName());
+                lBackup.backup(lStatement, this.page.isUpdate());
+            }
             this.statusLine.showStatusLineMessage(
                     SUCCESS_MSG.format(new String[] { lCatalog }));
         }
-        catch (final IOException exc) {
+        catch (final IOException | SQLException exc) {
             MessageDialog.openError(getShell(),
                     RelationsMessages.getString("BackupEmbedded.error"), //$NON-NLS-1$
                     PROBLEMS_MSG.format(new String[] { lCatalog }));
@@ -18,14 +18,18 @@
  ***************************************************************************/
 package org.elbe.relations.internal.wizards;
 
+import static org.eclipse.swt.events.SelectionListener.widgetSelectedAdapter;
+
 import java.io.File;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
 import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.internal.utility.WizardHelper;
@@ -38,6 +42,7 @@ import org.elbe.relations.internal.utility.WizardHelper;
 public class BackupEmbeddedPage extends ExportWizardPage {
 
 	private Text backupFileName;
+	private Button updateCheck;
 
 	protected BackupEmbeddedPage(final String inName) {
 		super(inName);
@@ -59,11 +64,30 @@ public class BackupEmbeddedPage extends ExportWizardPage {
 		backupFileName = createLabelText(lComposite, getLabelText()); // $NON-NLS-1$
 		createButtonFileDialog(lComposite,
 		        RelationsMessages.getString("PrintOutWizardPage.lbl.browse")); //$NON-NLS-1$
+		if (offersUpdate()) {
+			new Label(lComposite, SWT.NONE);
+			updateCheck = new Button(lComposite, SWT.CHECK);
+			updateCheck.setText(RelationsMessages
+			        .getString("BackupEmbeddedPage.lbl.update")); //$NON-NLS-1$
+			updateCheck.addSelectionListener(widgetSelectedAdapter(e -> {
+				modifiedCheck(backupFileName.getText());
+				updateStatus(fileNameStatus);
+			}));
+			new Label(lComposite, SWT.NONE);
+		}
 
 		setControl(lComposite);
 		initializeValues();
 	}
 
+	/**
+	 * @return boolean <code>true</code> if the page offers to update an
+	 *         existing backup file
+	 */
+	protected boolean offersUpdate() {
+		return true;
+	}
+
 	protected String getLabelText() {
 		return RelationsMessages.getString("BackupEmbeddedPage.lbl.input"); //$NON-NLS-1$
 	}
@@ -101,7 +125,8 @@ public class BackupEmbeddedPage extends ExportWizardPage {
 			return;
 		}
 
-		super.checkFileExists(inFileName, inStatusIfExists);
+		super.checkFileExists(inFileName,
+		        isUpdate() ? Status.OK_STATUS : inStatusIfExists);
 		if (!fileNameStatus.isOK()) {
 			return;
 		}
@@ -148,6 +173,15 @@ public class BackupEmbeddedPage extends ExportWizardPage {
 		return backupFileName.getText();
 	}
 
+	/**
+	 * @return boolean <code>true</code> if an existing backup file is to be
+	 *         updated, i.e. only the files changed since this backup are
+	 *         compressed anew
+	 */
+	public boolean isUpdate() {
+		return updateCheck != null && updateCheck.getSelection();
+	}
+
 	@Override
 	protected boolean getPageComplete() {
 		final String lFileName = backupFileName.getText();
@@ -156,7 +190,7 @@ public class BackupEmbeddedPage extends ExportWizardPage {
 		}
 
 		final File lFileToCheck = new File(lFileName);
-		if (lFileToCheck.isFile() && lFileToCheck.exists()) {
+		if (lFileToCheck.isFile() && lFileToCheck.exists() && !isUpdate()) {
 			return false;
 		}
 		if (!checkFileEndingCondition(lFileName)) {
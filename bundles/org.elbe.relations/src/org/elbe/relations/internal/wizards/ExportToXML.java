@@ -21,6 +21,7 @@ package org.elbe.relations.internal.wizards;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
+import java.util.Locale;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -34,6 +35,9 @@ import org.eclipse.jface.wizard.Wizard;
 import org.eclipse.swt.widgets.Shell;
 import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.db.IDataService;
+import org.elbe.relations.internal.backup.AbstractExport;
+import org.elbe.relations.internal.backup.ParallelZippedXMLExport;
+import org.elbe.relations.internal.backup.SnapshotExport;
 import org.elbe.relations.internal.backup.XMLExport;
 import org.elbe.relations.internal.backup.ZippedXMLExport;
 import org.elbe.relations.internal.controls.RelationsStatusLineManager;
@@ -96,7 +100,8 @@ public class ExportToXML extends Wizard implements IExportWizard {
         final ProgressMonitorDialog lDialog = new ProgressMonitorDialog(this.shell);
         lDialog.open();
 
-        final ExporterJob lJob = new ExporterJob(this.page.getFileName());
+        final ExporterJob lJob = new ExporterJob(this.page.getFileName(),
+                this.page.isPerTable());
         try {
             lDialog.run(true, true, lJob);
         }
@@ -124,9 +129,11 @@ public class ExportToXML extends Wizard implements IExportWizard {
 
     private class ExporterJob implements IRunnableWithProgress {
         private final String fileName;
+        private final boolean perTable;
 
-        public ExporterJob(final String inFileName) {
+        public ExporterJob(final String inFileName, final boolean inPerTable) {
             this.fileName = inFileName;
+            this.perTable = inPerTable;
         }
 
         @Override
@@ -135,7 +142,8 @@ public class ExportToXML extends Wizard implements IExportWizard {
                     RelationsMessages.getString("ExportToXML.msg.job.start"), //$NON-NLS-1$
                     ExportToXML.this.dataService.getNumberOfItems());
 
-            try (XMLExport exporter = createExporter(this.fileName)) {
+            try (AbstractExport exporter = createExporter(this.fileName,
+                    this.perTable)) {
                 exporter.export(inMonitor);
             }
             catch (IOException | VException | SQLException exc) {
@@ -147,14 +155,21 @@ public class ExportToXML extends Wizard implements IExportWizard {
         }
     }
 
-    private XMLExport createExporter(final String fileName) throws IOException {
+    private AbstractExport createExporter(final String fileName,
+            final boolean perTable) throws IOException {
         final int count = this.dataService.getNumberOfItems()
                 + this.dataService.getNumberOfRelations();
-        return fileName.endsWith(".zip") //$NON-NLS-1$
-                ? new ZippedXMLExport(fileName,
-                        ExportToXML.this.languageService.getAppLocale(), count)
-                        : new XMLExport(fileName,
-                                ExportToXML.this.languageService.getAppLocale(), count);
+        if (fileName.endsWith(SnapshotExport.EXTENSION)) {
+            return new SnapshotExport(fileName, count);
+        }
+        final Locale locale = ExportToXML.this.languageService.getAppLocale();
+        if (fileName.endsWith(".zip")) { //$NON-NLS-1$
+            // older versions import the first entry of an archive only
+            return perTable
+                    ? new ParallelZippedXMLExport(fileName, locale, count)
+                            : new ZippedXMLExport(fileName, locale, count);
+        }
+        return new XMLExport(fileName, locale, count);
     }
 
 }
@@ -22,9 +22,14 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Label;
 import org.elbe.relations.RelationsImages;
 import org.elbe.relations.RelationsMessages;
+import org.elbe.relations.internal.backup.SnapshotExport;
 
 /**
  * Page displaying the input field to enter the file name for the data backup.
@@ -32,25 +37,54 @@ import org.elbe.relations.RelationsMessages;
  * @author Luthiger
  */
 public class ExportToXMLPage extends BackupEmbeddedPage {
+	private Button perTableCheck;
 
 	protected ExportToXMLPage(final String inName) {
 		super(inName);
 		setImageDescriptor(RelationsImages.WIZARD_EXPORT_XML.getDescriptor());
 	}
 
+	@Override
+	public void createControl(final Composite inParent) {
+		super.createControl(inParent);
+		final Composite lComposite = (Composite) getControl();
+		new Label(lComposite, SWT.NONE);
+		perTableCheck = new Button(lComposite, SWT.CHECK);
+		perTableCheck.setText(RelationsMessages
+		        .getString("ExportToXMLPage.lbl.perTable")); //$NON-NLS-1$
+		new Label(lComposite, SWT.NONE);
+	}
+
+	/**
+	 * @return boolean <code>true</code> if a zip file is to be exported with
+	 *         one entry per table
+	 */
+	public boolean isPerTable() {
+		return perTableCheck != null && perTableCheck.getSelection();
+	}
+
 	@Override
 	protected String getLabelText() {
 		return RelationsMessages.getString("ExportToXMLPage.lbl.text"); //$NON-NLS-1$
 	}
 
+	@Override
+	protected boolean offersUpdate() {
+		return false;
+	}
+
 	@Override
 	protected void setFilterForDialog(final FileDialog inDialog) {
-		inDialog.setFilterExtensions(new String[] { "*.xml", "*.zip" }); //$NON-NLS-1$ //$NON-NLS-2$
+		inDialog.setFilterExtensions(
+		        new String[] { "*.xml", "*.zip", "*" + SnapshotExport.EXTENSION }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		inDialog.setFilterNames(
 		        new String[] {
 		                RelationsMessages.getString(
 		                        "ExportToXMLPage.filter.plain"), //$NON-NLS-1$
-		        RelationsMessages.getString("ExportToXMLPage.filter.zipped") }); //$NON-NLS-1$
+		                RelationsMessages.getString(
+		                        "ExportToXMLPage.filter.zipped"), //$NON-NLS-1$
+		                RelationsMessages.getString(
+		                        "ExportToXMLPage.filter.snapshot") }); //$NON-NLS-1$
 		final DateFormat lFormat = new SimpleDateFormat(
 		        "'Relations_full_export_'yyyy-MM-dd"); //$NON-NLS-1$
 		inDialog.setFileName(lFormat.format(Calendar.getInstance().getTime()));
@@ -59,12 +93,14 @@ public class ExportToXMLPage extends BackupEmbeddedPage {
 	@Override
 	protected boolean checkFileEndingCondition(final String inFileName) {
 		final String lFileName = inFileName.toLowerCase();
-		return lFileName.endsWith(".zip") || lFileName.endsWith(".xml"); //$NON-NLS-1$ //$NON-NLS-2$
+		return lFileName.endsWith(".zip") || lFileName.endsWith(".xml") //$NON-NLS-1$ //$NON-NLS-2$
+		        || lFileName.endsWith(SnapshotExport.EXTENSION);
 	}
 
 	@Override
 	protected String postProcessFileName(final String inFileName) {
-		if (inFileName.endsWith(".zip") || inFileName.endsWith(".xml")) { //$NON-NLS-1$ //$NON-NLS-2$
+		if (inFileName.endsWith(".zip") || inFileName.endsWith(".xml") //$NON-NLS-1$ //$NON-NLS-2$
+		        || inFileName.endsWith(SnapshotExport.EXTENSION)) {
 			return inFileName; // $NON-NLS-1$ //$NON-NLS-2$
 		}
 		return inFileName + ".xml"; //$NON-NLS-1$
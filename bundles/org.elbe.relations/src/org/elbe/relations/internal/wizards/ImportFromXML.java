@@ -19,8 +19,6 @@
 package org.elbe.relations.internal.wizards;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Collection;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
@@ -36,24 +34,19 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.elbe.relations.RelationsConstants;
 import org.elbe.relations.RelationsMessages;
-import org.elbe.relations.data.bom.BOMHelper;
-import org.elbe.relations.data.bom.RelationHome;
 import org.elbe.relations.db.IDataService;
 import org.elbe.relations.internal.actions.DBDeleteAction;
 import org.elbe.relations.internal.actions.IDBChange;
 import org.elbe.relations.internal.actions.IndexerAction;
+import org.elbe.relations.internal.backup.SnapshotExport;
+import org.elbe.relations.internal.backup.SnapshotImport;
 import org.elbe.relations.internal.backup.XMLImport;
-import org.elbe.relations.internal.backup.XMLImport.RelationReplaceHelper;
 import org.elbe.relations.internal.backup.ZippedXMLImport;
 import org.elbe.relations.internal.controls.RelationsStatusLineManager;
 import org.elbe.relations.internal.data.DBSettings;
 import org.elbe.relations.internal.utility.AbstractRunnableWithProgress;
 import org.elbe.relations.internal.utility.DBPreconditionException;
 import org.elbe.relations.internal.wizards.interfaces.IImportWizard;
-import org.hip.kernel.bom.KeyObject;
-import org.hip.kernel.bom.impl.KeyObjectImpl;
-import org.hip.kernel.bom.impl.UpdateStatement;
-import org.hip.kernel.exc.VException;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
@@ -139,11 +132,18 @@ public class ImportFromXML extends Wizard implements IImportWizard {
         return true;
     }
 
-    private boolean createAndFill(final IDBChange inCreateDB,
-            final String inImportFile) {
-        final XMLImport lImport = inImportFile.endsWith(".zip") //$NON-NLS-1$
+    private XMLImport createImport(final String inImportFile) {
+        if (inImportFile.endsWith(SnapshotExport.EXTENSION)) {
+            return new SnapshotImport(inImportFile);
+        }
+        return inImportFile.endsWith(".zip") //$NON-NLS-1$
                 ? new ZippedXMLImport(inImportFile)
                         : new XMLImport(inImportFile);
+    }
+
+    private boolean createAndFill(final IDBChange inCreateDB,
+            final String inImportFile) {
+        final XMLImport lImport = createImport(inImportFile);
         final int lWorkItemsCount = 6;
 
         // run catalog creation and data import with progress monitor
@@ -206,15 +206,10 @@ public class ImportFromXML extends Wizard implements IImportWizard {
                 return new Runnable() {
                     @Override
                     public void run() {
-                        if (ImportFromXML.this.dbSettings.getDBConnectionConfig()
-                                .canSetIdentityField()) {
-                            MessageDialog.openInformation(ImportFromXML.this.shell,
-                                    RelationsMessages.getString(
-                                            "ImportFromXML.job.import.success"), //$NON-NLS-1$
-                                    lFeedback);
-                        } else {
-                            ImportFromXML.this.statusLine.showStatusLineMessage(lFeedback);
-                        }
+                        MessageDialog.openInformation(ImportFromXML.this.shell,
+                                RelationsMessages.getString(
+                                        "ImportFromXML.job.import.success"), //$NON-NLS-1$
+                                lFeedback);
                     }
                 };
             }
@@ -240,67 +235,6 @@ public class ImportFromXML extends Wizard implements IImportWizard {
             lImportDialog.close();
         }
 
-        if (!this.dbSettings.getDBConnectionConfig().canSetIdentityField()) {
-            // run relation rebind with progress monitor
-            final Collection<RelationReplaceHelper> lRelationsToRebind = lImport
-                    .getRelationsToRebind();
-
-            lJob = new AbstractRunnableWithProgress() {
-                @Override
-                protected Runnable getRunnableInitialize(
-                        final IProgressMonitor inMonitor) {
-                    return new Runnable() {
-                        @Override
-                        public void run() {
-                            inMonitor.beginTask(
-                                    RelationsMessages.getString(
-                                            "ImportFromXML.job.rebind.start"), //$NON-NLS-1$
-                                    lRelationsToRebind.size());
-                        }
-                    };
-                }
-
-                @Override
-                protected int process(final IProgressMonitor inMonitor)
-                        throws InvocationTargetException, InterruptedException {
-                    return processRebind(lRelationsToRebind, inMonitor);
-                }
-
-                @Override
-                protected Runnable getRunnableFeedback(
-                        final int inNumberOfProcessed) {
-                    final String lFeedback = String.format(
-                            RelationsMessages.getString(
-                                    "ImportFromXML.job.rebind.feedback"), //$NON-NLS-1$
-                            inNumberOfProcessed);
-                    return new Runnable() {
-                        @Override
-                        public void run() {
-                            MessageDialog.openInformation(ImportFromXML.this.shell,
-                                    RelationsMessages.getString(
-                                            "ImportFromXML.job.rebind.success"), //$NON-NLS-1$
-                                    lFeedback);
-                        }
-                    };
-                }
-            };
-            final ProgressMonitorDialog lRebindDialog = new ProgressMonitorDialog(
-                    this.shell);
-            lRebindDialog.open();
-            try {
-                lRebindDialog.run(true, true, lJob);
-            }
-            catch (final InvocationTargetException exc) {
-                this.log.error(exc, exc.getMessage());
-                return false;
-            }
-            catch (final InterruptedException exc) {
-                return false;
-            }
-            finally {
-                lRebindDialog.close();
-            }
-        }
         return true;
     }
 
@@ -310,49 +244,6 @@ public class ImportFromXML extends Wizard implements IImportWizard {
         }
     }
 
-    private int processRebind(
-            final Collection<RelationReplaceHelper> relationsToRebind, final IProgressMonitor monitor)
-                    throws InvocationTargetException, InterruptedException {
-        int outNumberOfEntries = 0;
-        final int CHUNK_LEN = 20;
-        final RelationHome home = BOMHelper.getRelationHome();
-        UpdateStatement statement;
-
-        try {
-            final Collection<String> updates = new ArrayList<>(CHUNK_LEN);
-            for (final RelationReplaceHelper lRelationToRebind : relationsToRebind) {
-                createUpdates(home, lRelationToRebind, updates);
-
-                // update in chunks to improve performance
-                if (updates.size() >= CHUNK_LEN) {
-                    statement = new UpdateStatement();
-                    statement.setUpdates(updates);
-                    statement.executeUpdate();
-                    updates.clear();
-                }
-                monitor.worked(1);
-                outNumberOfEntries++;
-                if (monitor.isCanceled()) {
-                    throw new InterruptedException();
-                }
-            }
-            // update the last chunk
-            if (!updates.isEmpty()) {
-                statement = new UpdateStatement();
-                statement.setUpdates(updates);
-                statement.executeUpdate();
-            }
-        }
-        catch (final InterruptedException exc) {
-            throw exc;
-        }
-        catch (final Exception exc) {
-            throw new InvocationTargetException(exc);
-        }
-
-        return outNumberOfEntries;
-    }
-
     private void restorePrevious(final IDBChange inChangeDB) {
         if (this.dbSettings.getDBConnectionConfig().isEmbedded()) {
             DBDeleteAction.deleteEmbedded(this.dbSettings, this.log);
@@ -361,25 +252,6 @@ public class ImportFromXML extends Wizard implements IImportWizard {
         this.dataService.loadData(RelationsConstants.TOPIC_DB_CHANGED_RELOAD);
     }
 
-    private void createUpdates(final RelationHome inHome,
-            final RelationReplaceHelper inRelationToRebind,
-            final Collection<String> inUpdates) throws VException {
-        // item1
-        KeyObject lChange = new KeyObjectImpl();
-        lChange.setValue(RelationHome.KEY_ITEM1, Long.valueOf(inRelationToRebind.newID.itemID));
-        KeyObject lWhere = new KeyObjectImpl();
-        lWhere.setValue(RelationHome.KEY_TYPE1, Integer.valueOf(inRelationToRebind.oldID.itemType));
-        lWhere.setValue(RelationHome.KEY_ITEM1, Long.valueOf(inRelationToRebind.oldID.itemID));
-        inUpdates.add(inHome.createUpdateString(lChange, lWhere));
-        // item2
-        lChange = new KeyObjectImpl();
-        lChange.setValue(RelationHome.KEY_ITEM2, Long.valueOf(inRelationToRebind.newID.itemID));
-        lWhere = new KeyObjectImpl();
-        lWhere.setValue(RelationHome.KEY_TYPE2, Integer.valueOf(inRelationToRebind.oldID.itemType));
-        lWhere.setValue(RelationHome.KEY_ITEM2, Long.valueOf(inRelationToRebind.oldID.itemID));
-        inUpdates.add(inHome.createUpdateString(lChange, lWhere));
-    }
-
     @Override
     public void dispose() {
         if (this.page != null) {
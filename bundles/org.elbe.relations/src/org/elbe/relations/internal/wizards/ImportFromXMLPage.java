@@ -41,6 +41,7 @@ import org.elbe.relations.Activator;
 import org.elbe.relations.RelationsImages;
 import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.internal.actions.IDBChange;
+import org.elbe.relations.internal.backup.SnapshotExport;
 import org.elbe.relations.internal.forms.FieldStatusManager;
 import org.elbe.relations.internal.forms.FormDBNew;
 import org.elbe.relations.internal.utility.FormUtility;
@@ -59,7 +60,8 @@ import org.osgi.service.prefs.BackingStoreException;
 @SuppressWarnings("restriction")
 public class ImportFromXMLPage extends ExportWizardPage
         implements IUpdateListener {
-	private static final String[] FILTER_EXTENSIONS = { "*.xml", "*.zip" }; //$NON-NLS-1$ //$NON-NLS-2$
+	private static final String[] FILTER_EXTENSIONS = { "*.xml", "*.zip", //$NON-NLS-1$ //$NON-NLS-2$
+	        "*" + SnapshotExport.EXTENSION }; //$NON-NLS-1$
 	private static final String DIALOG_SECTION = "RelationsXMLImport"; //$NON-NLS-1$
 	private static final String DIALOG_TERM = "RecentRelationsXMLImport"; //$NON-NLS-1$
 	private static final String BUNDLE_ID = Activator.getSymbolicName();
@@ -173,7 +175,8 @@ public class ImportFromXMLPage extends ExportWizardPage
 			statusManager.set(importFileName, importInexistent);
 			return false;
 		}
-		if (!inFileName.endsWith(".zip") && !inFileName.endsWith(".xml")) { //$NON-NLS-1$ //$NON-NLS-2$
+		if (!inFileName.endsWith(".zip") && !inFileName.endsWith(".xml") //$NON-NLS-1$ //$NON-NLS-2$
+		        && !inFileName.endsWith(SnapshotExport.EXTENSION)) {
 			return false; // $NON-NLS-1$ //$NON-NLS-2$
 		}
 		if (inFileName.endsWith(".zip")) { //$NON-NLS-1$
@@ -208,7 +211,9 @@ public class ImportFromXMLPage extends ExportWizardPage
 		        RelationsMessages
 		                .getString("ImportFromXMLPage.dialog.filter.plain"), //$NON-NLS-1$
 		        RelationsMessages
-		                .getString("ImportFromXMLPage.dialog.filter.zipped") }); //$NON-NLS-1$
+		                .getString("ImportFromXMLPage.dialog.filter.zipped"), //$NON-NLS-1$
+		        RelationsMessages
+		                .getString("ImportFromXMLPage.dialog.filter.snapshot") }); //$NON-NLS-1$
 		final String lFileName = lDialog.open();
 		if (lFileName == null) {
 			fileNameStatus = nameEmpty;
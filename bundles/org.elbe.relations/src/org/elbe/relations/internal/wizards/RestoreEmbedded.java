@@ -24,6 +24,7 @@ import java.text.MessageFormat;
 
 import jakarta.inject.Inject;
 
+import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.log.Logger;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
@@ -32,8 +33,11 @@ import org.eclipse.jface.wizard.Wizard;
 import org.eclipse.swt.widgets.Shell;
 import org.elbe.relations.RelationsConstants;
 import org.elbe.relations.RelationsMessages;
+import org.elbe.relations.data.search.IndexQueue;
+import org.elbe.relations.data.search.RelationsIndexer;
 import org.elbe.relations.internal.controls.RelationsStatusLineManager;
 import org.elbe.relations.internal.data.DBSettings;
+import org.elbe.relations.internal.search.RelationsIndexerWithLanguage;
 import org.elbe.relations.internal.utility.EmbeddedCatalogHelper;
 import org.elbe.relations.internal.utility.ZipRestore;
 import org.elbe.relations.internal.wizards.interfaces.IImportWizard;
@@ -69,6 +73,9 @@ public class RestoreEmbedded extends Wizard implements IImportWizard {
     @Inject
     private IApplicationContext appContext;
 
+    @Inject
+    private IEclipseContext context;
+
     private RestoreEmbeddedPage page;
 
     @PostConstruct
@@ -98,6 +105,8 @@ public class RestoreEmbedded extends Wizard implements IImportWizard {
         final ZipRestore lRestore = new ZipRestore(
                 EmbeddedCatalogHelper.getDBStorePath(), this.page.getFileName(),
                 this.log);
+        lRestore.setIndexDirectory(
+                EmbeddedCatalogHelper.getIndexPath(lCatalog));
 
         if (!lRestore.checkArchive(lCatalog)) {
             MessageDialog.openWarning(lShell,
@@ -109,11 +118,21 @@ public class RestoreEmbedded extends Wizard implements IImportWizard {
 
         this.page.saveToHistory();
 
+        // the index writer has to be closed before the index directory is replaced
+        final RelationsIndexer lIndexer = RelationsIndexerWithLanguage
+                .createRelationsIndexer(this.context);
+        IndexQueue.INSTANCE.stop();
         try {
+            lIndexer.closeIndex();
             lRestore.restore();
 
             if (this.page.getReindex()) {
                 markToReindex(lCatalog);
+            } else if (!lIndexer.checkIndex()) {
+                // the archived index is incomplete or damaged
+                this.log.warn("The restored search index of catalog " //$NON-NLS-1$
+                        + lCatalog + " is not readable and will be rebuilt."); //$NON-NLS-1$
+                markToReindex(lCatalog);
             }
 
             this.statusLineManager.showStatusLineMessage(
@@ -145,6 +164,9 @@ public class RestoreEmbedded extends Wizard implements IImportWizard {
                     PROBLEMS_MSG.format(new String[] { lCatalog }));
             this.log.error(exc, exc.getMessage());
         }
+        finally {
+            IndexQueue.INSTANCE.start(lIndexer);
+        }
 
         return true;
     }
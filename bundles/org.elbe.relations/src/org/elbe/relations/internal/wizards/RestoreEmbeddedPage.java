@@ -38,6 +38,7 @@ import org.elbe.relations.internal.utility.FormUtility;
 import org.elbe.relations.internal.utility.ImportDropHelper;
 import org.elbe.relations.internal.utility.ImportDropHelper.IModifyListener;
 import org.elbe.relations.internal.utility.WizardHelper;
+import org.elbe.relations.internal.utility.ZipRestore;
 import org.elbe.relations.utility.DialogSettingHandler;
 import org.osgi.service.prefs.BackingStoreException;
 
@@ -155,6 +156,9 @@ public class RestoreEmbeddedPage extends ExportWizardPage {
 			if (lFileToCheck.size() == 0) {
 				fileNameStatus = nameFileEmptyArchive;
 			}
+			// an archive containing the search index needs no reindex
+			reindexCheck.setSelection(lFileToCheck.stream().noneMatch(
+			        entry -> entry.getName().startsWith(ZipRestore.ENTRY_INDEX)));
 			lFileToCheck.close();
 		}
 		catch (final IOException exc) {
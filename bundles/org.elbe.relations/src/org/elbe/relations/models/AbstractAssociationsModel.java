@@ -21,23 +21,20 @@ package org.elbe.relations.models;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.log.Logger;
-import org.elbe.relations.RelationsMessages;
 import org.elbe.relations.data.bom.BOMException;
 import org.elbe.relations.data.bom.BOMHelper;
 import org.elbe.relations.data.bom.IItem;
 import org.elbe.relations.data.bom.ILightWeightItem;
 import org.elbe.relations.data.bom.RelationHome;
-import org.elbe.relations.data.utility.IItemVisitor;
+import org.elbe.relations.data.utility.LongSet;
 import org.elbe.relations.data.utility.UniqueID;
 import org.elbe.relations.db.IDataService;
 import org.elbe.relations.internal.models.ItemWithIcon;
 import org.elbe.relations.internal.utility.RelatedItemHelper;
-import org.hip.kernel.bom.DomainObjectVisitor;
 import org.hip.kernel.exc.VException;
 
 import jakarta.inject.Inject;
@@ -51,9 +48,10 @@ public abstract class AbstractAssociationsModel implements IAssociationsModel {
     private ItemAdapter focusItem;
 
     protected List<ItemAdapter> related;
-    protected Collection<UniqueID> uniqueIDs;
-    protected Collection<UniqueID> added;
-    protected Collection<UniqueID> removed;
+    /** The keys of the associated items, see {@link UniqueID#getKey()}. */
+    protected LongSet uniqueIDs;
+    protected LongSet added;
+    protected LongSet removed;
 
     @Inject
     private IDataService data;
@@ -83,16 +81,14 @@ public abstract class AbstractAssociationsModel implements IAssociationsModel {
     protected void initialize(final ItemAdapter inItem) throws VException,
     SQLException {
         this.related = new ArrayList<ItemAdapter>();
-        this.uniqueIDs = new ArrayList<UniqueID>();
+        this.uniqueIDs = new LongSet();
 
         // Add the item's ID for that the item is filtered.
-        this.uniqueIDs.add(inItem.getUniqueID());
-        this.added = new HashSet<UniqueID>();
-        this.removed = new HashSet<UniqueID>();
+        this.uniqueIDs.add(inItem.getUniqueID().getKey());
+        this.added = new LongSet();
+        this.removed = new LongSet();
 
-        processResult(inItem, RelatedItemHelper.getRelatedTerms(inItem));
-        processResult(inItem, RelatedItemHelper.getRelatedTexts(inItem));
-        processResult(inItem, RelatedItemHelper.getRelatedPersons(inItem));
+        processResult(inItem, RelatedItemHelper.getNeighbourhood(inItem));
     }
 
     private void processResult(final ItemAdapter inSource,
@@ -110,7 +106,7 @@ public abstract class AbstractAssociationsModel implements IAssociationsModel {
             lAdapted.addTarget(lRelation);
 
             this.related.add(lAdapted);
-            this.uniqueIDs.add(new UniqueID(lItem.getItemType(), lItem.getID()));
+            this.uniqueIDs.add(UniqueID.pack(lItem.getItemType(), lItem.getID()));
         }
     }
 
@@ -142,8 +138,7 @@ public abstract class AbstractAssociationsModel implements IAssociationsModel {
      * @return <code>true</code> if element is included in the filtered set, and <code>false</code> if excluded */
     @Override
     public boolean select(final ILightWeightItem inItem) {
-        if (this.uniqueIDs.contains(new UniqueID(inItem.getItemType(), inItem
-                .getID()))) {
+        if (this.uniqueIDs.contains(UniqueID.pack(inItem.getItemType(), inItem.getID()))) {
             return false;
         }
         return true;
@@ -189,11 +184,10 @@ public abstract class AbstractAssociationsModel implements IAssociationsModel {
      *
      * @param inID UniqueID */
     private void handleUniqueAdd(final UniqueID inID) {
-        this.uniqueIDs.add(inID);
-        if (this.removed.contains(inID)) {
-            this.removed.remove(inID);
-        } else {
-            this.added.add(inID);
+        final long lKey = inID.getKey();
+        this.uniqueIDs.add(lKey);
+        if (!this.removed.remove(lKey)) {
+            this.added.add(lKey);
         }
     }
 
@@ -244,11 +238,10 @@ public abstract class AbstractAssociationsModel implements IAssociationsModel {
      *
      * @param inID UniqueID */
     private void handleUniqueRemove(final UniqueID inID) {
-        this.uniqueIDs.remove(inID);
-        if (this.added.contains(inID)) {
-            this.added.remove(inID);
-        } else {
-            this.removed.add(inID);
+        final long lKey = inID.getKey();
+        this.uniqueIDs.remove(lKey);
+        if (!this.added.remove(lKey)) {
+            this.removed.add(lKey);
         }
     }
 
@@ -259,17 +252,11 @@ public abstract class AbstractAssociationsModel implements IAssociationsModel {
     public void saveChanges() throws BOMException {
         final RelationHome home = BOMHelper.getRelationHome();
         // first add: process added
-        for (final UniqueID id : this.added) {
-            home.newRelation(this.focusItem, new UniqueIDWrapper(id));
-        }
+        home.newRelations(this.focusItem, this.added.toArray());
 
         // then remove: process removed
-        final int type = this.focusItem.getItemType();
+        home.deleteRelations(this.focusItem, this.removed.toArray());
         try {
-            final long itemID = this.focusItem.getID();
-            for (final UniqueID id : this.removed) {
-                home.deleteRelation(type, itemID, id.itemType, id.itemID);
-            }
             afterSave();
         } catch (VException | SQLException exc) {
             throw new BOMException(exc.getMessage());
@@ -309,60 +296,7 @@ public abstract class AbstractAssociationsModel implements IAssociationsModel {
      * @return boolean <code>true</code> if the specified ID is an association. */
     @Override
     public boolean isAssociated(final UniqueID id) {
-        return this.uniqueIDs.contains(id);
-    }
-
-    // --- private classes ---
-
-    class UniqueIDWrapper implements IItem {
-        private final UniqueID id;
-
-        public UniqueIDWrapper(final UniqueID inID) {
-            this.id = inID;
-        }
-
-        @Override
-        public long getID() throws VException {
-            return this.id.itemID;
-        }
-
-        @Override
-        public int getItemType() {
-            return this.id.itemType;
-        }
-
-        @Override
-        public String getTitle() throws VException {
-            return ""; //$NON-NLS-1$
-        }
-
-        @Override
-        public void visit(final IItemVisitor inVisitor) throws VException {
-            // intentionally left empty
-        }
-
-        @Override
-        public ILightWeightItem getLightWeight() throws BOMException {
-            return null;
-        }
-
-        @Override
-        public void saveTitleText(final String inTitle, final String inText)
-                throws BOMException {
-            throw new BOMException(
-                    RelationsMessages
-                    .getString("AbstractAssociationsModel.error.msg")); //$NON-NLS-1$
-        }
-
-        @Override
-        public String getCreated() throws VException {
-            return null;
-        }
-
-        @Override
-        public void accept(final DomainObjectVisitor inVisitor) {
-            // intentionally left empty
-        }
+        return this.uniqueIDs.contains(id.getKey());
     }
 
     @Override
@@ -18,6 +18,7 @@
  ***************************************************************************/
 package org.elbe.relations.models;
 
+import java.text.CollationKey;
 import java.text.Collator;
 import java.util.ArrayList;
 import java.util.List;
@@ -32,6 +33,7 @@ import org.elbe.relations.data.bom.BOMHelper;
 import org.elbe.relations.data.bom.IItem;
 import org.elbe.relations.data.bom.IItemFactory;
 import org.elbe.relations.data.bom.ILightWeightItem;
+import org.elbe.relations.data.bom.RelatedItem;
 import org.elbe.relations.data.utility.IItemVisitor;
 import org.elbe.relations.data.utility.UniqueID;
 import org.elbe.relations.db.IAction;
@@ -57,6 +59,8 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
     private LanguageService languageService;
     private Logger log;
     private final boolean hasDelegate;
+    // the sort key of the title, computed on the first comparison
+    private CollationKey collationKey;
 
     /** ItemAdapter constructor, adapting an <code>IItem</code>.
      *
@@ -87,14 +91,31 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
     }
 
     /**
-     * Returns the original (i.e. unadapted) item.
+     * Returns the original (i.e. unadapted) item. A related item projected to
+     * its title is loaded completely.
      *
      * @return {@link IItem} the adaptee
      */
     public IItem getItem() {
+        return resolve(getAdaptee(), this.log);
+    }
+
+    private IItem getAdaptee() {
         return this.hasDelegate ? ((ItemAdapterDelegate) this.item).getItem() : this.item;
     }
 
+    private static IItem resolve(final IItem item, final Logger log) {
+        if (item instanceof final RelatedItem related) {
+            try {
+                return related.getItem();
+            }
+            catch (final BOMException exc) {
+                log.error(exc, exc.getMessage());
+            }
+        }
+        return item;
+    }
+
     /**
      * Refreshes the item for that it can be reused, i.e. re-initializes the
      * sources and targets.
@@ -102,6 +123,7 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
     public void refresh() {
         this.sources = new ArrayList<>();
         this.targets = new ArrayList<>();
+        this.collationKey = null;
     }
 
     /**
@@ -109,7 +131,7 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
      */
     @Override
     public long getID() throws VException {
-        return getItem().getID();
+        return getAdaptee().getID();
     }
 
     /**
@@ -117,12 +139,12 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
      */
     @Override
     public int getItemType() {
-        return getItem().getItemType();
+        return getAdaptee().getItemType();
     }
 
     @Override
     public String getTitle() throws VException {
-        return getItem().getTitle();
+        return getAdaptee().getTitle();
     }
 
     @Override
@@ -152,7 +174,7 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
      * @see IItem#TERM as example.
      */
     public int getIconType() {
-        return getItem().getItemType() - 1;
+        return getAdaptee().getItemType() - 1;
     }
 
     /**
@@ -160,14 +182,31 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
      */
     @Override
     public int compareTo(final Object other) {
-        final Collator collator = this.languageService.getContentLanguage();
-        collator.setStrength(Collator.SECONDARY);
+        return getCollationKey().compareTo(((ItemAdapter) other).getCollationKey());
+    }
+
+    /** Returns the key to sort the items by their titles. The key is computed once and recomputed only if the item's
+     * title has been changed.
+     *
+     * @return {@link CollationKey} the title's collation key in the content language */
+    public CollationKey getCollationKey() {
+        final String title = getSortTitle();
+        if (this.collationKey == null || !this.collationKey.getSourceString().equals(title)) {
+            final Collator collator = this.languageService.getContentLanguage();
+            collator.setStrength(Collator.SECONDARY);
+            this.collationKey = collator.getCollationKey(title);
+        }
+        return this.collationKey;
+    }
+
+    private String getSortTitle() {
         try {
-            return collator.compare(getTitle(), ((ItemAdapter) other).getTitle());
+            final String outTitle = getTitle();
+            return outTitle == null ? "" : outTitle; //$NON-NLS-1$
         }
         catch (final VException exc) {
             this.log.error(exc, exc.getMessage());
-            return 0;
+            return ""; //$NON-NLS-1$
         }
     }
 
@@ -235,7 +274,7 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
      */
     public UniqueID getUniqueID() {
         try {
-            return new UniqueID(getItem().getItemType(), getItem().getID());
+            return new UniqueID(getAdaptee().getItemType(), getAdaptee().getID());
         }
         catch (final VException exc) {
             this.log.error(exc, exc.getMessage());
@@ -271,7 +310,7 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
         final int lPrime = 31;
         int outHash = 1;
         outHash = lPrime * outHash
-                + (getItem() == null ? 0 : getItem().hashCode());
+                + (getAdaptee() == null ? 0 : getAdaptee().hashCode());
         return outHash;
     }
 
@@ -290,11 +329,11 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
             return false;
         }
         final ItemAdapter lOther = (ItemAdapter) other;
-        if (getItem() == null) {
-            if (lOther.getItem() != null) {
+        if (getAdaptee() == null) {
+            if (lOther.getAdaptee() != null) {
                 return false;
             }
-        } else if (!getItem().equals(lOther.getItem())) {
+        } else if (!getAdaptee().equals(lOther.getAdaptee())) {
             return false;
         }
         return true;
@@ -343,12 +382,13 @@ public class ItemAdapter implements IItemModel, Comparable<Object> {
 
         @Override
         public void visit(final IItemVisitor inVisitor) throws VException {
+            final IItem lResolved = resolve(this.item, this.context.get(Logger.class));
             if (getItemType() == IItem.TEXT) {
-                final TextHelper lItem = new TextHelper((AbstractText) this.item,
+                final TextHelper lItem = new TextHelper((AbstractText) lResolved,
                         this.context);
                 lItem.visit(inVisitor);
             } else {
-                this.item.visit(inVisitor);
+                lResolved.visit(inVisitor);
             }
         }
 
@@ -85,7 +85,7 @@ implements IAssociationsModel {
         final CentralAssociationsModel center = this.browserManager.getCenterModel();
 
         // Check if we deleted the association with the central model
-        if (this.removed.contains(center.getCenter().getUniqueID())) {
+        if (this.removed.contains(center.getCenter().getUniqueID().getKey())) {
             // If yes, refresh the central model
             try {
                 center.refresh();
@@ -77,4 +77,15 @@ public interface IDBConnectionConfig {
 	 */
 	boolean canSetIdentityField();
 
+	/**
+	 * @return String the SQL statement calling the database's online backup
+	 *         procedure, the statement's only parameter is the directory the
+	 *         backup is written to. <code>null</code> (the default) if the
+	 *         database doesn't provide a consistent backup while the
+	 *         database is in use.
+	 */
+	default String getOnlineBackupStatement() {
+		return null;
+	}
+
 }
@@ -77,6 +77,22 @@ public interface DBAdapterSimple { // NOPMD
      * @param inSemanticObject org.hip.kernel.bom.DomainObject */
     String createPreparedUpdateString(String inTableName, DomainObject inDomainObject);
 
+    /** Returns the SQL string to prepare the insert of the specified entry. Like
+     * <code>createInsertString(String, DomainObject)</code>, the statement contains the columns with non empty values
+     * only.
+     *
+     * @param inTableName java.lang.String
+     * @param inDomainObject org.hip.kernel.bom.DomainObject
+     * @return String INSERT INTO table( field1, field2 ) VALUES ( ?, ? ) */
+    String createPreparedInsertString(String inTableName, DomainObject inDomainObject);
+
+    /** Returns the SQL string to prepare the deletion of the specified entry.
+     *
+     * @param inTableName java.lang.String
+     * @param inDomainObject org.hip.kernel.bom.DomainObject
+     * @return String DELETE FROM table WHERE field = ? */
+    String createPreparedDeleteString(String inTableName, DomainObject inDomainObject);
+
     /** Returns a Vector of prepared SQL strings to update entries.
      *
      * @param java.util.Vector<String>
@@ -106,6 +106,18 @@ public interface DomainObjectHome extends GeneralDomainObjectHome { // NOPMD
      * @param inSemanticObject org.hip.kernel.bom.DomainObject */
     String createPreparedUpdateString(String inTableName, DomainObject inDomainObject);
 
+    /** Returns the SQL string to prepare the insert of an entry.
+     *
+     * @param inTableName java.lang.String
+     * @param inDomainObject org.hip.kernel.bom.DomainObject */
+    String createPreparedInsertString(String inTableName, DomainObject inDomainObject);
+
+    /** Returns the SQL string to prepare the deletion of an entry.
+     *
+     * @param inTableName java.lang.String
+     * @param inDomainObject org.hip.kernel.bom.DomainObject */
+    String createPreparedDeleteString(String inTableName, DomainObject inDomainObject);
+
     /** Returns a Vector of prepared SQL strings to insert a new entry.
      *
      * @param java.util.Vector<Object>
@@ -146,6 +146,18 @@ public interface GeneralDomainObjectHome extends Home { // NOPMD
      * @throws BOMException */
     QueryResult select(AlternativeModelFactory factory) throws SQLException, BOMException;
 
+    /** This method selects all entries in the table. If <code>inStreaming</code> is <code>true</code>, the rows are
+     * fetched from the database while iterating over the result, i.e. the result is not loaded into memory at once.
+     * Such a result keeps the database connection until it is exhausted and must be closed otherwise.
+     *
+     * @param inStreaming boolean <code>true</code> for a forward-only result reading the rows in chunks of the
+     *            configured fetch size
+     * @return {@link QueryResult}
+     * @throws SQLException
+     * @throws BOMException
+     * @see org.hip.kernel.dbaccess.DataSourceRegistry#setFetchSize(int) */
+    QueryResult select(boolean inStreaming) throws SQLException, BOMException;
+
     /** This method allows to invoke a query. It's a normal version of a select. It takes as argument a SQL-string.
      *
      * @return org.hip.kernel.bom.QueryResult
@@ -172,6 +184,19 @@ public interface GeneralDomainObjectHome extends Home { // NOPMD
      * @throws org.hip.kernel.bom.BOMException */
     QueryResult select(KeyObject inKey, OrderObject inOrder) throws SQLException, BOMException;
 
+    /** This method selects all domain objects of the corresponding table matching the specified key, ordered according
+     * the specified order object. If <code>inStreaming</code> is <code>true</code>, the result is a forward-only
+     * result reading the rows while iterating. Such a result keeps the database connection until it is exhausted and
+     * must be closed otherwise.
+     *
+     * @param inKey {@link KeyObject}
+     * @param inOrder {@link OrderObject}
+     * @param inStreaming boolean
+     * @return {@link QueryResult}
+     * @throws SQLException
+     * @throws BOMException */
+    QueryResult select(KeyObject inKey, OrderObject inOrder, boolean inStreaming) throws SQLException, BOMException;
+
     /** This method selects all domain objects of the corresponding table matching the specified key meeting the
      * specified HAVING clause. The returned domain objects are ordered according the specified order object.
      * <b>Note:</b> You can provide empty key and order objects.
@@ -107,6 +107,11 @@ public interface KeyCriterion extends SortableItem {
      * @param inGetValueStrategy IGetValueStrategy */
     void setGetValueStrategy(IGetValueStrategy inGetValueStrategy);
 
+    /** Returns the strategy defining how the criterium value is retrieved.
+     *
+     * @return IGetValueStrategy */
+    IGetValueStrategy getGetValueStrategy();
+
     /** Sets the formatter object for special treatment when the recursion returns the rendered <code>KeyObject</code>.
      *
      * @param inFormatter LevelReturnFormatter */
@@ -21,10 +21,12 @@ package org.hip.kernel.bom;
 import java.sql.SQLException;
 import java.util.Locale;
 
-/** The QueryResult is a kind of iterator. It is the return object of the DomainHome.query method.
+/** The QueryResult is a kind of iterator. It is the return object of the DomainHome.query method.<br>
+ * Streaming results (see {@link GeneralDomainObjectHome#select(KeyObject, OrderObject, boolean)}) hold the database
+ * connection until the result is exhausted. Such results have to be closed if they are not read to the end.
  *
  * @author Benno Luthiger */
-public interface QueryResult { // NOPMD
+public interface QueryResult extends AutoCloseable { // NOPMD
 
     // Class variables
     int DEFAULT_PAGE_LENGTH = 20;
@@ -155,4 +157,13 @@ public interface QueryResult { // NOPMD
     /** @param org.hip.kernel.bom.Page */
     void setCurrentPage(Page inPage);
 
+    /** Releases the resources held by this result. Results loaded completely at creation time hold no resources,
+     * therefore, the default implementation does nothing.
+     *
+     * @throws SQLException */
+    @Override
+    default void close() throws SQLException {
+        // nothing to release
+    }
+
 }
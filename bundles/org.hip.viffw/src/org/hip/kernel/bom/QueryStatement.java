@@ -19,7 +19,9 @@
 package org.hip.kernel.bom;
 
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.Collection;
+import java.util.List;
 
 /** The QueryStatement interface is a kind of wrapper around the JDBC statement. The intention of this interface is the
  * integration with the domain object framework.
@@ -38,6 +40,27 @@ public interface QueryStatement {
      * @exception java.sql.SQLException */
     QueryResult executeQuery(String inSQL) throws SQLException;
 
+    /** Executes the query with a forward-only result reading the rows while iterating, i.e. the result holds the
+     * connection until it is exhausted or closed. Statements not supporting streaming return a normal result.
+     *
+     * @param inFetchSize int the number of rows to fetch from the database at once
+     * @return {@link QueryResult}
+     * @throws SQLException */
+    default QueryResult executeStreamingQuery(final int inFetchSize) throws SQLException {
+        return executeQuery();
+    }
+
+    /** Executes a prepared SQL statement string, i.e. a statement containing <code>?</code> placeholders, with the
+     * specified values bound to the placeholders.
+     *
+     * @param inSQL String the prepared SQL statement
+     * @param inValues List&lt;Object> the values, in the order of the placeholders
+     * @return {@link QueryResult}
+     * @throws SQLException */
+    default QueryResult executeQuery(final String inSQL, final List<Object> inValues) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Prepared queries are not supported by " + getClass().getName());
+    }
+
     /** Executes an SQL INSERT, UPDATE or DELETE statement.
      *
      * @param inCommit If true, the statement is commited.
@@ -392,6 +392,12 @@ public abstract class LDAPObjectHome implements DomainObjectHome, Serializable {
         return select(lStatement);
     }
 
+    /** LDAP results are loaded completely, i.e. streaming is not supported. */
+    @Override
+    public QueryResult select(final boolean inStreaming) throws SQLException, BOMException { // NOPMD by lbenno
+        return select();
+    }
+
     @Override
     public QueryResult select(final String inFilter) throws SQLException { // NOPMD by lbenno
         if (VSys.assertNotNull(this, "select(String)", inFilter) == Assert.FAILURE) {
@@ -419,6 +425,13 @@ public abstract class LDAPObjectHome implements DomainObjectHome, Serializable {
         return select(lStatement);
     }
 
+    /** LDAP results are loaded completely, i.e. streaming is not supported. */
+    @Override
+    public QueryResult select(final KeyObject inKey, final OrderObject inOrder, final boolean inStreaming) // NOPMD
+            throws SQLException, BOMException {
+        return select(inKey, inOrder);
+    }
+
     @Override
     public QueryResult select(final KeyObject inKey, final OrderObject inOrder, final HavingObject inHaving) // NOPMD by
     // lbenno
@@ -560,6 +573,24 @@ public abstract class LDAPObjectHome implements DomainObjectHome, Serializable {
         return null;
     }
 
+    /** No implementation provided.
+     *
+     * @see org.hip.kernel.bom.DomainObjectHome#createPreparedInsertString(java.lang.String,
+     *      org.hip.kernel.bom.DomainObject) */
+    @Override
+    public String createPreparedInsertString(final String inTableName, final DomainObject inDomainObject) { // NOPMD
+        return null;
+    }
+
+    /** No implementation provided.
+     *
+     * @see org.hip.kernel.bom.DomainObjectHome#createPreparedDeleteString(java.lang.String,
+     *      org.hip.kernel.bom.DomainObject) */
+    @Override
+    public String createPreparedDeleteString(final String inTableName, final DomainObject inDomainObject) { // NOPMD
+        return null;
+    }
+
     /** No implementation provided.
      *
      * @see org.hip.kernel.bom.DomainObjectHome#createPreparedUpdates() */
@@ -20,6 +20,7 @@
 package org.hip.kernel.bom.impl; // NOPMD
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -29,6 +30,7 @@ import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hip.kernel.bom.AlternativeModelFactory;
 import org.hip.kernel.bom.BOMException;
@@ -52,8 +54,6 @@ import org.hip.kernel.bom.SingleValueQueryStatement;
 import org.hip.kernel.bom.model.MappingDef;
 import org.hip.kernel.bom.model.MappingDefDef;
 import org.hip.kernel.bom.model.PropertyDef;
-import org.hip.kernel.bom.model.PropertyDefDef;
-import org.hip.kernel.bom.model.TypeDef;
 import org.hip.kernel.dbaccess.DataSourceRegistry;
 import org.hip.kernel.exc.DefaultExceptionWriter;
 import org.hip.kernel.sys.Assert;
@@ -77,6 +77,18 @@ abstract public class AbstractDomainObjectHome extends VObject implements Genera
     /** flag for using read cached domain object */
     private boolean useCache;
 
+    /** the compiled row mappers, keyed by the shape of the result set */
+    private transient volatile Map<String, RowMapper> rowMappers;
+    /** the mapper of the result set processed lastly */
+    private transient volatile MappedResult lastMapped;
+
+    /** the layout of the domain objects' properties */
+    private transient volatile PropertySchema propertySchema;
+    private transient volatile boolean schemaCreated;
+
+    private record MappedResult(WeakReference<ResultSet> result, boolean byLabel, RowMapper mapper) {
+    }
+
     /** DomainObjectHomeImpl: default constructor */
     protected AbstractDomainObjectHome() {
         super();
@@ -444,6 +456,16 @@ abstract public class AbstractDomainObjectHome extends VObject implements Genera
         return this.select(statement);
     }
 
+    @Override
+    public QueryResult select(final boolean inStreaming) throws SQLException, BOMException {
+        if (!inStreaming) {
+            return this.select();
+        }
+        final QueryStatement statement = this.createQueryStatement();
+        statement.setSQLString(this.createSelectAllString());
+        return statement.executeStreamingQuery(DataSourceRegistry.INSTANCE.getFetchSize());
+    }
+
     /** This method allows to invoke a query. It's a normal version of a select. It takes as argument a SQL-string.
      *
      * @return org.hip.kernel.bom.QueryResult
@@ -489,6 +511,27 @@ abstract public class AbstractDomainObjectHome extends VObject implements Genera
         return this.select(lStatement);
     }
 
+    /** This method selects all domain objects of the corresponding table matching the specified key. The returned
+     * domain objects are ordered according the specified order object. A streaming result reads the rows while
+     * iterating and must be closed if not read to the end.
+     *
+     * @param inKey org.hip.kernel.bom.KeyObject
+     * @param inOrder org.hip.kernel.bom.OrderObject
+     * @param inStreaming boolean
+     * @return org.hip.kernel.bom.QueryResult
+     * @throws java.sql.SQLException
+     * @throws org.hip.kernel.bom.BOMException */
+    @Override
+    public QueryResult select(final KeyObject inKey, final OrderObject inOrder, final boolean inStreaming)
+            throws SQLException, BOMException {
+        if (!inStreaming) {
+            return this.select(inKey, inOrder);
+        }
+        final QueryStatement lStatement = this.createQueryStatement();
+        lStatement.setSQLString(this.createSelectString(inKey, inOrder));
+        return lStatement.executeStreamingQuery(DataSourceRegistry.INSTANCE.getFetchSize());
+    }
+
     /** This method selects all domain objects of the corresponding table matching the specified key meeting the
      * specified HAVING clause. The returned domain objects are ordered according the specified order object.
      * <b>Note:</b> You can provide empty key and order objects.
@@ -567,39 +610,57 @@ abstract public class AbstractDomainObjectHome extends VObject implements Genera
      * @param inResult java.sql.ResultSet */
     protected void setFromResultSet(final GeneralDomainObject inObject, final ResultSet inResult) throws SQLException, // NOPMD
     SettingException {
+        getRowMapper(inResult, null, false).load(inObject, inResult);
+    }
 
+    /** Returns the layout of the properties of this home's domain objects, shared by the property sets of all domain
+     * objects.
+     *
+     * @return {@link PropertySchema} the schema or <code>null</code> if the properties can't be stored in a
+     *         <code>CompactPropertySet</code> */
+    PropertySchema getPropertySchema() {
+        if (!this.schemaCreated) {
+            synchronized (this) {
+                if (!this.schemaCreated) {
+                    this.propertySchema = PropertySchema.create(getObjectDef());
+                    this.schemaCreated = true;
+                }
+            }
+        }
+        return this.propertySchema;
+    }
+
+    /** Returns the mapper of the specified result set's columns to the properties of this home's domain objects. The
+     * mapper is compiled the first time a result set of this shape is processed. Subsequent rows of the same result set
+     * are mapped without accessing the result set's meta data.
+     *
+     * @param inResult {@link ResultSet}
+     * @param inPrototype {@link AbstractSemanticObject} an instance of the domain object to fill, may be
+     *            <code>null</code>
+     * @param inByLabel boolean <code>true</code> if the columns are identified by their label, <code>false</code> if by
+     *            their name
+     * @return {@link RowMapper}
+     * @throws SQLException */
+    RowMapper getRowMapper(final ResultSet inResult, final AbstractSemanticObject inPrototype, final boolean inByLabel)
+            throws SQLException {
+        final MappedResult lLast = this.lastMapped;
+        if (lLast != null && lLast.result().get() == inResult && lLast.byLabel() == inByLabel) {
+            return lLast.mapper();
+        }
+        Map<String, RowMapper> lMappers = this.rowMappers;
+        if (lMappers == null) {
+            lMappers = new ConcurrentHashMap<String, RowMapper>();
+            this.rowMappers = lMappers;
+        }
         final ResultSetMetaData lMetaData = inResult.getMetaData();
-
-        for (int i = 1; i <= lMetaData.getColumnCount(); i++) {
-            final String lColumnName = lMetaData.getColumnName(i);
-            final PropertyDef lProperty = this.getPropertyDefFor(lColumnName);
-            if (lProperty != null) {
-                try {
-                    final String lName = (String) lProperty.get(PropertyDefDef.propertyName);
-                    final String lType = ((String) lProperty.get(PropertyDefDef.valueType)).intern();
-
-                    if (lType == TypeDef.String) {
-                        inObject.set(lName, inResult.getString(i));
-                    } else if (lType == TypeDef.LongVarchar) {
-                        inObject.set(lName, inResult.getAsciiStream(i));
-                    } else if (lType == TypeDef.Date) {
-                        inObject.set(lName, inResult.getDate(i));
-                    } else if (lType == TypeDef.Timestamp) {
-                        inObject.set(lName, inResult.getTimestamp(i));
-                    } else if (lType == TypeDef.Integer) {
-                        inObject.set(lName, Integer.valueOf(inResult.getInt(i)));
-                    } else if (lType == TypeDef.BigInteger) {
-                        inObject.set(lName, new java.math.BigInteger(inResult.getString(i)));
-                    } else if (lType == TypeDef.BigDecimal) {
-                        inObject.set(lName, new java.math.BigDecimal(inResult.getString(i)));
-                    } else if (lType == TypeDef.Number) {
-                        inObject.set(lName, new java.math.BigDecimal(inResult.getString(i)));
-                    }
-                } catch (final GettingException exc) {
-                    DefaultExceptionWriter.printOut(this, exc, true);
-                } // catch
-            } // if
-        } // for
+        final String lShape = RowMapper.shapeOf(lMetaData, inByLabel);
+        RowMapper outMapper = lMappers.get(lShape);
+        if (outMapper == null) {
+            outMapper = RowMapper.compile(this, lMetaData, inPrototype, inByLabel);
+            lMappers.put(lShape, outMapper);
+        }
+        this.lastMapped = new MappedResult(new WeakReference<ResultSet>(inResult), inByLabel, outMapper);
+        return outMapper;
     }
 
     /** If set true, the domain object home will cache domain objects fetched from the database with the findeByKey.
@@ -23,11 +23,13 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.hip.kernel.bom.AlternativeModelFactory;
 import org.hip.kernel.bom.GeneralDomainObjectHome;
@@ -115,6 +117,41 @@ public abstract class AbstractQueryStatement extends VObject implements QuerySta
         }
     }
 
+    /** Executes the query with a forward-only result. The connection is held by the returned result until the result
+     * is exhausted or closed. Statements with a model factory return a normal result.
+     *
+     * @param fetchSize int the number of rows to fetch from the database at once (ignored for MySQL, which streams the
+     *            rows one by one)
+     * @return org.hip.kernel.bom.QueryResult
+     * @exception java.sql.SQLException */
+    @Override
+    public QueryResult executeStreamingQuery(final int fetchSize) throws SQLException {
+        if (getSQLString() == null || this.factory != null) {
+            return executeQuery();
+        }
+        Connection connection = null;
+        Statement statement = null;
+        try {
+            connection = getConnection();
+            statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(isMySQL(connection) ? Integer.MIN_VALUE : fetchSize);
+            return new StreamingQueryResult(this.home, connection, statement, statement.executeQuery(getSQLString()));
+        } catch (SQLException | VException exc) {
+            try {
+                StreamingQueryResult.closeAll(null, statement, connection);
+            } catch (final SQLException exc2) {
+                exc.addSuppressed(exc2);
+            }
+            throw exc instanceof final SQLException sqlExc ? sqlExc : new SQLException(exc.getMessage(), exc);
+        }
+    }
+
+    /** The MySQL driver ignores a positive fetch size and reads the whole result into memory. It streams the rows of a
+     * forward-only, read-only statement only if the fetch size is <code>Integer.MIN_VALUE</code>. */
+    private static boolean isMySQL(final Connection connection) throws SQLException {
+        return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
     /** Executes the given SQL statement, which may return multiple results.
      *
      * @param sql String any SQL statement
@@ -196,6 +233,26 @@ public abstract class AbstractQueryStatement extends VObject implements QuerySta
 
     }
 
+    /** Executes the prepared SQL statement with the specified values. The statement is looked up in the connection's
+     * statement cache.
+     *
+     * @param sql String the prepared SQL statement
+     * @param values List&lt;Object> the values bound to the placeholders
+     * @return org.hip.kernel.bom.QueryResult
+     * @exception java.sql.SQLException */
+    @Override
+    public QueryResult executeQuery(final String sql, final List<Object> values) throws SQLException {
+        setSQLString(sql);
+        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            PreparedParameters.bind(statement, values);
+            try (ResultSet result = statement.executeQuery()) {
+                return createQueryResult(this.home, result, this);
+            }
+        } catch (final VException exc) {
+            throw new SQLException(exc.getMessage(), exc);
+        }
+    }
+
     /** @return java.lang.String */
     @Override
     public String getSQLString() {
@@ -23,12 +23,11 @@ import java.util.Collection;
 import java.util.Iterator;
 
 import org.hip.kernel.bom.GettingException;
-import org.hip.kernel.bom.Property;
 import org.hip.kernel.bom.PropertySet;
 import org.hip.kernel.bom.SemanticObject;
 import org.hip.kernel.bom.SettingException;
 import org.hip.kernel.sys.VObject;
-import org.hip.kernel.util.AbstractNameValueList;
+import org.hip.kernel.util.CloneHelper;
 import org.hip.kernel.util.Debug;
 import org.hip.kernel.util.VInvalidNameException;
 import org.hip.kernel.util.VInvalidValueException;
@@ -130,6 +129,13 @@ abstract public class AbstractSemanticObject extends VObject implements Semantic
     /** @return boolean */
     protected abstract boolean isDynamicAddAllowed();
 
+    /** Creates the property set of this object. Subclasses may override to provide an other implementation.
+     *
+     * @return org.hip.kernel.bom.PropertySet */
+    protected PropertySet createPropertySet() {
+        return new PropertySetImpl(this);
+    }
+
     /** Accessor to the property set.
      *
      * @return org.hip.kernel.bom.PropertySet */
@@ -137,7 +143,7 @@ abstract public class AbstractSemanticObject extends VObject implements Semantic
     public PropertySet propertySet() {
         synchronized (this) {
             if (properties == null) {
-                properties = new PropertySetImpl(this);
+                properties = createPropertySet();
                 initializePropertySet(properties);
             }
         }
@@ -151,19 +157,19 @@ abstract public class AbstractSemanticObject extends VObject implements Semantic
      * @exceptions org.hip.kernel.bom.SettingException */
     @Override
     public void set(final String inName, final Object inValue) throws SettingException {
-        final Property lProperty = (Property) propertySet().get(inName);
-        if (lProperty == null) {
+        final PropertySet lSet = propertySet();
+        if (lSet.hasValue(inName)) {
+            try {
+                lSet.setValue(inName, inValue);
+            } catch (final VInvalidValueException | VInvalidNameException exc) {
+                throw new SettingException(exc.getMessage(), exc);
+            } // catch
+        } else {
             if (isDynamicAddAllowed()) {
-                propertySet().add(new PropertyImpl(propertySet(), inName, inValue));
+                lSet.add(new PropertyImpl(lSet, inName, inValue));
             } else {
                 throw new SettingException("Invalid name: " + inName);
             }
-        } else {
-            try {
-                lProperty.setValue(inValue);
-            } catch (final VInvalidValueException exc) {
-                throw new SettingException(exc.getMessage(), exc);
-            } // catch
         } // if-else
     }
 
@@ -191,7 +197,7 @@ abstract public class AbstractSemanticObject extends VObject implements Semantic
     @Override
     public Object clone() throws CloneNotSupportedException { // NOPMD
         final AbstractSemanticObject outObj = (AbstractSemanticObject) super.clone();
-        outObj.properties = (PropertySet) ((AbstractNameValueList) properties).clone();
+        outObj.properties = (PropertySet) CloneHelper.getCloned(properties);
         return outObj;
     }
 }
\ No newline at end of file
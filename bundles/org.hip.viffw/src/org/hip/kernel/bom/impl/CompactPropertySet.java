@@ -0,0 +1,550 @@
+/**
+ This package is part of the servlet framework used for the application VIF.
+ Copyright (C) 2001-2025, Benno Luthiger
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+package org.hip.kernel.bom.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.hip.kernel.bom.DomainObjectVisitor;
+import org.hip.kernel.bom.GeneralDomainObject;
+import org.hip.kernel.bom.GettingException;
+import org.hip.kernel.bom.Property;
+import org.hip.kernel.bom.PropertySet;
+import org.hip.kernel.bom.SemanticObject;
+import org.hip.kernel.bom.model.PropertyDef;
+import org.hip.kernel.util.CloneHelper;
+import org.hip.kernel.util.NameValue;
+import org.hip.kernel.util.NameValueList;
+import org.hip.kernel.util.NameValueListVisitor;
+import org.hip.kernel.util.VInvalidNameException;
+import org.hip.kernel.util.VInvalidValueException;
+
+/** A PropertySet storing the values of the properties in a flat array instead of a map of <code>Property</code>
+ * objects.<br>
+ * The slots of the array are defined by a {@link PropertySchema} shared by all sets of the same object definition. The
+ * state of the properties (initialized, changed, notification on initialization) is kept in bitmaps. A
+ * <code>Property</code> is created only when a caller asks for it, e.g. with <code>get(String)</code>, and is a view
+ * on the set's slot.
+ * <p>
+ * Properties not defined by the schema can still be added, they are held in the same way as in
+ * {@link PropertySetImpl}.
+ * </p>
+ *
+ * @author Benno Luthiger
+ * @see PropertySetImpl */
+@SuppressWarnings("serial")
+public class CompactPropertySet implements PropertySet, Cloneable {
+    private static final int INITIALIZED = 0;
+    private static final int CHANGED = 1;
+    private static final int NOTIFY = 2;
+
+    // Instance variables
+    private final SemanticObject parent;
+    private final PropertySchema schema;
+    private final int words;
+    private Object[] current;
+    private Object[] initial;
+    private long[] flags;
+    private Map<String, NameValue> additional;
+
+    /** CompactPropertySet constructor.
+     *
+     * @param inParent org.hip.kernel.bom.SemanticObject
+     * @param inSchema {@link PropertySchema} the layout of the properties */
+    CompactPropertySet(final SemanticObject inParent, final PropertySchema inSchema) {
+        this.parent = inParent;
+        this.schema = inSchema;
+        this.words = inSchema.size() + 63 >>> 6;
+        this.current = new Object[inSchema.size()];
+        this.flags = new long[3 * this.words];
+    }
+
+    /** @return {@link PropertySchema} the layout of this set's properties */
+    PropertySchema schema() {
+        return this.schema;
+    }
+
+    /** @param inVisitor org.hip.kernel.bom.DomainObjectVisitor */
+    @Override
+    public void accept(final DomainObjectVisitor inVisitor) {
+        inVisitor.visitPropertySet(this);
+    }
+
+    /** @param inVisitor org.hip.kernel.util.NameValueListVisitor */
+    @Override
+    public void accept(final NameValueListVisitor inVisitor) {
+        inVisitor.visitNameValueList(this);
+    }
+
+    /** Adds the specified item to the set. If the schema defines a property with the item's name, the slot is reset
+     * and initialized with the item's value.
+     *
+     * @param inNameValue org.hip.kernel.util.NameValue */
+    @Override
+    public void add(final NameValue inNameValue) {
+        if (inNameValue == null) {
+            return;
+        }
+        final int lSlot = this.schema.slotOf(inNameValue.getName());
+        if (lSlot < 0) {
+            inNameValue.setOwingList(this);
+            additional().put(inNameValue.getName(), inNameValue);
+        } else {
+            reset(lSlot);
+            value(lSlot, inNameValue.getValue());
+        }
+    }
+
+    /** Returns the item with the specified name. For properties defined by the schema, the item is a view on the
+     * property's slot.
+     *
+     * @param inName java.lang.String
+     * @return org.hip.kernel.util.NameValue */
+    @Override
+    public NameValue get(final String inName) {
+        if (inName == null) {
+            return null;
+        }
+        final int lSlot = this.schema.slotOf(inName);
+        if (lSlot < 0) {
+            return this.additional == null ? null : this.additional.get(inName);
+        }
+        return new SlotProperty(this, lSlot);
+    }
+
+    @Override
+    public Collection<String> getNames2() {
+        final Collection<String> outNames = new ArrayList<String>(size());
+        for (int i = 0; i < this.current.length; i++) {
+            outNames.add(this.schema.nameOf(i));
+        }
+        if (this.additional != null) {
+            outNames.addAll(this.additional.keySet());
+        }
+        return outNames;
+    }
+
+    @Override
+    public Collection<NameValue> getNameValues2() {
+        final Collection<NameValue> outValues = new ArrayList<NameValue>(size());
+        for (int i = 0; i < this.current.length; i++) {
+            outValues.add(new SlotProperty(this, i));
+        }
+        if (this.additional != null) {
+            outValues.addAll(this.additional.values());
+        }
+        return outValues;
+    }
+
+    @Override
+    public Object getValue(final String inName) throws VInvalidNameException {
+        final int lSlot = this.schema.slotOf(inName);
+        if (lSlot >= 0) {
+            return this.current[lSlot];
+        }
+        if (this.additional == null || !this.additional.containsKey(inName)) {
+            throw new VInvalidNameException(inName);
+        }
+        return this.additional.get(inName).getValue();
+    }
+
+    /** Returns the value of the specified slot.
+     *
+     * @param inSlot int
+     * @return Object */
+    Object getValue(final int inSlot) {
+        return this.current[inSlot];
+    }
+
+    @Override
+    public void setValue(final String inName, final Object inValue) throws VInvalidNameException,
+    VInvalidValueException {
+        final int lSlot = this.schema.slotOf(inName);
+        if (lSlot >= 0) {
+            setValue(lSlot, inValue);
+        } else if (this.additional != null && this.additional.containsKey(inName)) {
+            this.additional.get(inName).setValue(inValue);
+        } else {
+            final NameValue lNameValue = new PropertyImpl(this, inName);
+            lNameValue.setValue(inValue);
+            additional().put(inName, lNameValue);
+        }
+    }
+
+    /** Sets the value of the specified slot.
+     *
+     * @param inSlot int
+     * @param inValue Object
+     * @throws VInvalidValueException if the value doesn't match the property's type */
+    void setValue(final int inSlot, final Object inValue) throws VInvalidValueException {
+        final Class<?> lType = this.schema.typeOf(inSlot);
+        if (lType != null && inValue != null && !lType.isInstance(inValue)) {
+            throw new VInvalidValueException("Invalid Type " + inValue.getClass().getName());
+        }
+        value(inSlot, inValue);
+    }
+
+    @Override
+    public int size() {
+        return this.current.length + (this.additional == null ? 0 : this.additional.size());
+    }
+
+    @Override
+    public boolean hasValue(final String inName) {
+        return this.schema.slotOf(inName) >= 0 || this.additional != null && this.additional.containsKey(inName);
+    }
+
+    /** Sets the notification status of the Properties in this PropertySet. Notification set to true means that the
+     * Properties in this set are marked as changed when they are initialized. Default: false.
+     *
+     * @param inNotification boolean */
+    @Override
+    public void notifyInit(final boolean inNotification) {
+        Arrays.fill(this.flags, NOTIFY * this.words, (NOTIFY + 1) * this.words, inNotification ? -1L : 0L);
+        if (this.additional != null) {
+            for (final NameValue lNameValue : this.additional.values()) {
+                ((Property) lNameValue).notifyInit(inNotification);
+            }
+        }
+    }
+
+    /** @deprecated Use {@link #getChangedProperties2()} instead. */
+    @Deprecated
+    @Override
+    public Iterator<Property> getChangedProperties() { // NOPMD by lbenno
+        return getChangedProperties2().iterator();
+    }
+
+    @Override
+    public Collection<Property> getChangedProperties2() { // NOPMD by lbenno
+        final Collection<Property> outChanged = new ArrayList<Property>();
+        for (int i = 0; i < this.current.length; i++) {
+            if (isSet(CHANGED, i)) {
+                outChanged.add(new SlotProperty(this, i));
+            }
+        }
+        if (this.additional != null) {
+            for (final NameValue lNameValue : this.additional.values()) {
+                if (((Property) lNameValue).isChanged()) {
+                    outChanged.add((Property) lNameValue);
+                }
+            }
+        }
+        return outChanged;
+    }
+
+    /** @return org.hip.kernel.bom.SemanticObject */
+    @Override
+    public SemanticObject getParent() {
+        return this.parent;
+    }
+
+    /** Used to set an existing instance to an initial state for that it can be reused. */
+    @Override
+    public void setVirgin() {
+        Arrays.fill(this.current, null);
+        Arrays.fill(this.flags, 0L);
+        this.initial = null; // NOPMD
+        if (this.additional != null) {
+            for (final NameValue lNameValue : this.additional.values()) {
+                ((Property) lNameValue).setVirgin();
+            }
+        }
+    }
+
+    // --- handling of the slots' state, see PropertyImpl.value(Object) ---
+
+    private void value(final int inSlot, final Object inValue) {
+        if (isSet(INITIALIZED, inSlot)) {
+            if (inValue == null) {
+                if (this.current[inSlot] != null) {
+                    modify(inSlot, null);
+                }
+            } else {
+                final Object lInitial = this.initial == null ? this.current[inSlot] : this.initial[inSlot];
+                if (inValue.equals(lInitial)) {
+                    this.current[inSlot] = lInitial;
+                    clear(CHANGED, inSlot);
+                } else if (!inValue.equals(this.current[inSlot])) {
+                    modify(inSlot, inValue);
+                }
+            }
+        } else if (inValue != null) {
+            // we only initialize when value not null
+            this.current[inSlot] = inValue;
+            if (this.initial != null) {
+                this.initial[inSlot] = inValue;
+            }
+            set(INITIALIZED, inSlot);
+            if (isSet(NOTIFY, inSlot)) {
+                set(CHANGED, inSlot);
+            }
+        }
+    }
+
+    /** The initial values are kept separately only after the first modification of an initialized slot. Before, the
+     * initial values are equal to the current ones. */
+    private void modify(final int inSlot, final Object inValue) {
+        if (this.initial == null) {
+            this.initial = this.current.clone();
+        }
+        this.current[inSlot] = inValue;
+        set(CHANGED, inSlot);
+    }
+
+    private void reset(final int inSlot) {
+        this.current[inSlot] = null;
+        if (this.initial != null) {
+            this.initial[inSlot] = null;
+        }
+        clear(INITIALIZED, inSlot);
+        clear(CHANGED, inSlot);
+        clear(NOTIFY, inSlot);
+    }
+
+    private boolean isSet(final int inKind, final int inSlot) {
+        return (this.flags[inKind * this.words + (inSlot >>> 6)] & 1L << inSlot) != 0;
+    }
+
+    private void set(final int inKind, final int inSlot) {
+        this.flags[inKind * this.words + (inSlot >>> 6)] |= 1L << inSlot;
+    }
+
+    private void clear(final int inKind, final int inSlot) {
+        this.flags[inKind * this.words + (inSlot >>> 6)] &= ~(1L << inSlot);
+    }
+
+    private Map<String, NameValue> additional() {
+        if (this.additional == null) {
+            this.additional = new HashMap<String, NameValue>(7);
+        }
+        return this.additional;
+    }
+
+    /** @return boolean
+     * @param inObject java.lang.Object */
+    @Override
+    public boolean equals(final Object inObject) {
+        if (!(inObject instanceof NameValueList)) {
+            return false;
+        }
+        final NameValueList lOther = (NameValueList) inObject;
+        if (size() != lOther.size()) {
+            return false;
+        }
+        for (final String lName : getNames2()) {
+            if (!lOther.hasValue(lName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns the HashCode calculated from the names.
+     *
+     * @return int */
+    @Override
+    public int hashCode() {
+        int outHashCode = 1;
+        for (final String lName : getNames2()) {
+            outHashCode ^= lName.hashCode();
+        }
+        return outHashCode;
+    }
+
+    /** Returns a deep copy of this set. As with the properties of a <code>PropertySetImpl</code>, the values of the
+     * copy are initial, i.e. not changed. */
+    @Override
+    public Object clone() throws CloneNotSupportedException { // NOPMD by lbenno
+        final CompactPropertySet outSet = new CompactPropertySet(this.parent, this.schema);
+        for (int i = 0; i < this.current.length; i++) {
+            outSet.value(i, CloneHelper.getCloned(this.current[i]));
+        }
+        if (this.additional != null) {
+            for (final NameValue lNameValue : this.additional.values()) {
+                final NameValue lCloned = (NameValue) lNameValue.clone();
+                lCloned.setOwingList(outSet);
+                outSet.additional().put(lCloned.getName(), lCloned);
+            }
+        }
+        return outSet;
+    }
+
+    /** @return java.lang.String */
+    @Override
+    public String toString() {
+        final StringBuilder outString = new StringBuilder(50).append("<PropertySet> ");
+        for (final NameValue lNameValue : getNameValues2()) {
+            outString.append("\n\t").append(lNameValue.toString());
+        }
+        outString.append("\n </PropertySet> \n");
+        return new String(outString);
+    }
+
+    // ---
+
+    /** The <code>Property</code> view on a slot of the set. */
+    private static final class SlotProperty implements Property {
+        private final CompactPropertySet set;
+        private final int slot;
+
+        SlotProperty(final CompactPropertySet inSet, final int inSlot) {
+            this.set = inSet;
+            this.slot = inSlot;
+        }
+
+        @Override
+        public void accept(final NameValueListVisitor inVisitor) {
+            inVisitor.visitNameValue(this);
+        }
+
+        @Override
+        public void accept(final DomainObjectVisitor inVisitor) {
+            inVisitor.visitProperty(this);
+        }
+
+        @Override
+        public String getName() {
+            return this.set.schema.nameOf(this.slot);
+        }
+
+        @Override
+        public NameValueList getOwingList() {
+            return this.set;
+        }
+
+        @Override
+        public Object getValue() {
+            return this.set.current[this.slot];
+        }
+
+        @Override
+        public void set(final String inName, final Object inValue) throws VInvalidValueException,
+        VInvalidNameException {
+            if (inName == null || !inName.equals(getName())) {
+                throw new VInvalidNameException("Invalid Name " + inName);
+            }
+            final Class<?> lType = this.set.schema.typeOf(this.slot);
+            if (lType != null && inValue != null && !lType.isInstance(inValue)) {
+                throw new VInvalidValueException("Invalid Type " + inValue.getClass().getName());
+            }
+        }
+
+        @Override
+        public void setName(final String inName) { // NOPMD by lbenno
+            // intentionally left empty
+        }
+
+        @Override
+        public void setOwingList(final NameValueList inOwingList) {
+            // intentionally left empty, the view belongs to its set
+        }
+
+        @Override
+        public void setValue(final Object inValue) throws VInvalidValueException {
+            this.set.setValue(this.slot, inValue);
+        }
+
+        @Override
+        public String getFormatPattern() {
+            final PropertyDef lPropertyDef = getPropertyDef();
+            if (lPropertyDef == null) {
+                return null;
+            }
+            try {
+                return (String) lPropertyDef.get("formatPattern");
+            } catch (final GettingException exc) {
+                return null;
+            }
+        }
+
+        @Override
+        public SemanticObject getOwingObject() {
+            return this.set.getParent();
+        }
+
+        @Override
+        public PropertyDef getPropertyDef() {
+            final PropertyDef outPropertyDef = this.set.schema.propertyDefOf(this.slot);
+            if (outPropertyDef == null) {
+                return ((GeneralDomainObject) getOwingObject()).getHome().getPropertyDef(getName());
+            }
+            return outPropertyDef;
+        }
+
+        @Override
+        public boolean isChanged() {
+            return this.set.isSet(CHANGED, this.slot);
+        }
+
+        @Override
+        public boolean isObjectRef() {
+            return false;
+        }
+
+        @Override
+        public boolean isSimple() {
+            return true;
+        }
+
+        @Override
+        public void setVirgin() {
+            this.set.reset(this.slot);
+        }
+
+        @Override
+        public void notifyInit(final boolean inNotification) {
+            if (inNotification) {
+                this.set.set(NOTIFY, this.slot);
+            } else {
+                this.set.clear(NOTIFY, this.slot);
+            }
+        }
+
+        /** A copy of the property detached from the set. */
+        @Override
+        public Object clone() throws CloneNotSupportedException { // NOPMD by lbenno
+            return new PropertyImpl(this.set, getName(), CloneHelper.getCloned(getValue()));
+        }
+
+        @Override
+        public boolean equals(final Object inObject) {
+            if (!(inObject instanceof Property)) {
+                return false;
+            }
+            return getName().equals(((Property) inObject).getName());
+        }
+
+        @Override
+        public int hashCode() {
+            return getName().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "<Property name=\"" + getName() + "\" value=\""
+                    + (getValue() == null ? "null" : getValue().toString()) + "\" /> ";
+        }
+    }
+
+}
@@ -34,6 +34,7 @@ import org.hip.kernel.bom.GroupByObject;
 import org.hip.kernel.bom.HavingObject;
 import org.hip.kernel.bom.IGetValueStrategy;
 import org.hip.kernel.bom.IValueForSQL;
+import org.hip.kernel.bom.KeyCriterion;
 import org.hip.kernel.bom.KeyObject;
 import org.hip.kernel.bom.LimitObject;
 import org.hip.kernel.bom.OrderItem;
@@ -159,6 +160,56 @@ public class DefaultDBAdapterSimple extends VObject implements DBAdapterSimple {
         return out;
     }
 
+    /** Returns the prepared SQL string to insert the specified entry. Contrary to the prepared inserts, the statement
+     * contains only the columns with non empty values (i.e. the same columns as <code>createInsertString()</code>).
+     *
+     * @param inTableName java.lang.String
+     * @param inDomainObject org.hip.kernel.bom.DomainObject
+     * @see PreparedInsertStatement#PreparedInsertStatement(DomainObject) */
+    @Override
+    public String createPreparedInsertString(final String inTableName, final DomainObject inDomainObject) {
+        final StringBuilder outSQL = new StringBuilder("INSERT INTO ");
+        outSQL.append(inTableName);
+
+        final ListJoiner lColumns = new ListJoiner();
+        final ListJoiner lValues = new ListJoiner();
+        for (final MappingDef lMapping : objectDef.getMappingDefsForTable2(inTableName)) {
+            if (PreparedParameters.isEmpty(getValue(inDomainObject, lMapping))) {
+                continue;
+            }
+            lColumns.addEntry(lMapping.getColumnName());
+            lValues.addEntry("?");
+        }
+        outSQL.append("( ").append(lColumns.joinSpaced(",")).append(" ) VALUES (")
+        .append(lValues.joinSpaced(",")).append(" )");
+
+        final String out = new String(outSQL);
+        LOG.debug("createPreparedInsertString {}", outSQL);
+        return out;
+    }
+
+    private Object getValue(final DomainObject inDomainObject, final MappingDef inMapping) {
+        try {
+            return inDomainObject.get(inMapping.getPropertyDef().getName());
+        } catch (final GettingException exc) {
+            DefaultExceptionHandler.instance().handle(exc);
+            return null;
+        }
+    }
+
+    /** Returns the prepared SQL string to delete the specified entry.
+     *
+     * @param inTableName java.lang.String
+     * @param inDomainObject org.hip.kernel.bom.DomainObject */
+    @Override
+    public String createPreparedDeleteString(final String inTableName, final DomainObject inDomainObject) {
+        final String outSQL = "DELETE FROM " + inTableName
+                + createSQLPreparedWhere(SQL_WHERE, inDomainObject.getKey(), inDomainObject.getHome());
+
+        LOG.debug("createPreparedDeleteString {}", outSQL);
+        return outSQL;
+    }
+
     /** Returns the SQL string to delete an entry.
      *
      * @param inTableName java.lang.String
@@ -218,7 +269,7 @@ public class DefaultDBAdapterSimple extends VObject implements DBAdapterSimple {
         outSQL.append(lColumns.joinSpaced(","));
 
         if (inPrepared) {
-            outSQL.append(createSQLPreparedWhere(SQL_WHERE, inDomainObject.getKey(false), inDomainObject.getHome()));
+            outSQL.append(createSQLPreparedWhere(SQL_WHERE, inDomainObject.getKey(true), inDomainObject.getHome()));
         }
         else {
             outSQL.append(createSQLWhere(SQL_WHERE, inDomainObject.getKey(true), inDomainObject.getHome()));
@@ -579,11 +630,13 @@ public class DefaultDBAdapterSimple extends VObject implements DBAdapterSimple {
      * @param inDomainObjectHome org.hip.kernel.bom.DomainObjectHome; */
     @Override
     public String createPreparedSelectString(final KeyObject inKey, final DomainObjectHome inDomainObjectHome) {
-        String outSQL = createSelectAllString();
-        outSQL += createSQLPreparedWhere(SQL_WHERE, inKey, inDomainObjectHome); // NOPMD by lbenno
+        final StringBuilder outSQL = new StringBuilder(1024).append(getSelect(inKey.isDistinct()))
+                .append(createColumnList()).append(SQL_FROM).append(getTableNameString())
+                .append(createSQLPreparedWhere(SQL_WHERE, inKey, inDomainObjectHome));
 
+        final String out = new String(outSQL);
         LOG.debug("createPreparedSelectString {}", outSQL);
-        return outSQL;
+        return out;
     }
 
     @Override
@@ -648,9 +701,21 @@ public class DefaultDBAdapterSimple extends VObject implements DBAdapterSimple {
             return "";
         }
 
+        // the key may be used for other statements afterwards, thus, its strategies are restored
+        final List<IGetValueStrategy> lStrategies = new ArrayList<IGetValueStrategy>();
+        for (final SortableItem lItem : inKey.getItems2()) {
+            lStrategies.add(((KeyCriterion) lItem).getGetValueStrategy());
+        }
         final StringBuilder outSQL = new StringBuilder(inSqlPart);
         inKey.setGetValueStrategy(new PreparedValueStrategy());
-        outSQL.append(inKey.render2(inDomainObjectHome));
+        try {
+            outSQL.append(inKey.render2(inDomainObjectHome));
+        } finally {
+            int i = 0; // NOPMD by lbenno
+            for (final SortableItem lItem : inKey.getItems2()) {
+                ((KeyCriterion) lItem).setGetValueStrategy(lStrategies.get(i++));
+            }
+        }
         return new String(outSQL);
     }
 
@@ -199,6 +199,23 @@ public abstract class DomainObjectHomeImpl extends AbstractDomainObjectHome impl
         return this.dbAdapter.createPreparedSelectString(inKey, this);
     }
 
+    /** Selects the domain objects matching the specified key using a prepared statement, i.e. the statement is
+     * looked up in the connection's statement cache. Keys containing values that can't be bound to a placeholder are
+     * rendered as normal SQL.
+     *
+     * @return org.hip.kernel.bom.QueryResult
+     * @param inKey org.hip.kernel.bom.KeyObject
+     * @throws java.sql.SQLException
+     * @throws org.hip.kernel.bom.BOMException */
+    @Override
+    public QueryResult select(final KeyObject inKey) throws SQLException, BOMException {
+        final List<Object> lValues = new ArrayList<>();
+        if (inKey == null || !PreparedParameters.collect(inKey, lValues)) {
+            return super.select(inKey);
+        }
+        return this.createQueryStatement().executeQuery(createPreparedSelectString(inKey), lValues);
+    }
+
     /** Creates select string to fetch all domain objects.
      *
      * @return java.lang.String
@@ -321,6 +338,24 @@ public abstract class DomainObjectHomeImpl extends AbstractDomainObjectHome impl
         return getDBAdapter().createPreparedUpdateString(inTableName, inDomainObject);
     }
 
+    /** Returns the SQL string to prepare the insert of an entry.
+     *
+     * @param inTableName java.lang.String
+     * @param inDomainObject org.hip.kernel.bom.DomainObject */
+    @Override
+    public String createPreparedInsertString(final String inTableName, final DomainObject inDomainObject) {
+        return getDBAdapter().createPreparedInsertString(inTableName, inDomainObject);
+    }
+
+    /** Returns the SQL string to prepare the deletion of an entry.
+     *
+     * @param inTableName java.lang.String
+     * @param inDomainObject org.hip.kernel.bom.DomainObject */
+    @Override
+    public String createPreparedDeleteString(final String inTableName, final DomainObject inDomainObject) {
+        return getDBAdapter().createPreparedDeleteString(inTableName, inDomainObject);
+    }
+
     /** Returns a Vector of prepared SQL string to insert a new entry.
      *
      * @param java.util.Vector<String> */
@@ -23,9 +23,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -42,12 +40,10 @@ import org.hip.kernel.bom.KeyObject;
 import org.hip.kernel.bom.Property;
 import org.hip.kernel.bom.PropertySet;
 import org.hip.kernel.bom.ReadOnlyDomainObject;
-import org.hip.kernel.bom.SettingException;
 import org.hip.kernel.bom.model.KeyDef;
 import org.hip.kernel.bom.model.ObjectDef;
 import org.hip.kernel.bom.model.ObjectDefDef;
 import org.hip.kernel.bom.model.PropertyDef;
-import org.hip.kernel.bom.model.PropertyDefDef;
 import org.hip.kernel.bom.model.TypeDef;
 import org.hip.kernel.exc.VException;
 import org.hip.kernel.util.Debug;
@@ -275,12 +271,31 @@ abstract public class DomainObjectImpl extends AbstractSemanticObject implements
         mode = DomainObjectImpl.MODE_NEW;
     }
 
+    /** Domain objects store their properties in a <code>CompactPropertySet</code> sharing the schema of the home's
+     * ObjectDef. If the ObjectDef contains properties other than simple ones, a <code>PropertySetImpl</code> is used.
+     *
+     * @return org.hip.kernel.bom.PropertySet */
+    @Override
+    protected PropertySet createPropertySet() {
+        if (getHome() instanceof final AbstractDomainObjectHome lHome) {
+            final PropertySchema lSchema = lHome.getPropertySchema();
+            if (lSchema != null) {
+                return new CompactPropertySet(this, lSchema);
+            }
+        }
+        return super.createPropertySet();
+    }
+
     /** Initializing of the domain object's PropertySet with the help of the ModelObject (i.e. the domain object's
-     * ObjectDef). It takes all the ObjectDefs PropertyDefs and puts it to the domain object's PropertySet.
+     * ObjectDef). It takes all the ObjectDefs PropertyDefs and puts it to the domain object's PropertySet. A
+     * <code>CompactPropertySet</code> is initialized by its schema already.
      *
      * @param inSet org.hip.kernel.bom.PropertySet */
     @Override
     public void initializePropertySet(final PropertySet inSet) {
+        if (inSet instanceof CompactPropertySet) {
+            return;
+        }
         final ObjectDef lObjectDef = getHome().getObjectDef();
         for (final PropertyDef lPropertyDef : lObjectDef.getPropertyDefs2()) {
             inSet.add(lPropertyDef.create(inSet));
@@ -305,67 +320,24 @@ abstract public class DomainObjectImpl extends AbstractSemanticObject implements
         return false;
     }
 
-    /** This method fills the DomainObject with data from the ResultSet.
+    /** This method fills the DomainObject with data from the ResultSet. The columns are mapped to the properties by
+     * the mapper the home compiled for the result set.
      *
      * @param inResult java.sql.ResultSet */
     protected void loadFromResultSet(final ResultSet inResult) { // NOPMD by lbenno
-        String lName = "";
-        String lType = "";
-
         try {
             final GeneralDomainObjectHome lHome = getHome();
-            final ResultSetMetaData lMetaData = inResult.getMetaData();
-            for (int i = 1; i <= lMetaData.getColumnCount(); i++) {
-                final String lColumnName = lMetaData.getColumnLabel(i);
-                final PropertyDef lProperty = lHome.getPropertyDefFor(lColumnName);
-                if (lProperty == null) {
-                    // we assume a calculated/modified column and, therefore, a numerical value.
-                    this.set(lColumnName, inResult.getLong(i));
-                } else {
-                    try {
-                        lName = (String) lProperty.get(PropertyDefDef.propertyName);
-                        lType = ((String) lProperty.get(PropertyDefDef.valueType)).intern();
-
-                        if (lType == TypeDef.String) {
-                            this.set(lName, inResult.getString(i));
-                        } else if (lType == TypeDef.LongVarchar) {
-                            this.set(lName, inResult.getAsciiStream(i));
-                        } else if (lType == TypeDef.Date) {
-                            this.set(lName, inResult.getDate(i));
-                        } else if (lType == TypeDef.Timestamp) {
-                            Timestamp lValue = null;
-                            try {
-                                lValue = inResult.getTimestamp(i);
-                            } catch (final SQLException exc) { // NOPMD
-                                // intentionally left empty (because of MySQL zeroDateTimeBehavior)
-                            }
-                            this.set(lName, lValue);
-                        } else if (lType == TypeDef.Integer) {
-                            this.set(lName, Integer.valueOf(inResult.getInt(i)));
-                        } else if (lType == TypeDef.Long) {
-                            this.set(lName, Long.valueOf(inResult.getLong(i)));
-                        } else if (lType == TypeDef.BigInteger) {
-                            final java.math.BigDecimal lValue = inResult.getBigDecimal(i);
-                            this.set(lName, lValue == null ? null : lValue.toBigInteger());
-                        } else if (lType == TypeDef.BigDecimal) {
-                            this.set(lName, inResult.getBigDecimal(i));
-                        } else if (lType == TypeDef.Number) {
-                            this.set(lName, inResult.getBigDecimal(i));
-                        } else if (lType == TypeDef.Binary) {
-                            this.set(lName, inResult.getBlob(i));
-                        }
-                    } catch (final GettingException | SettingException | SQLException exc) {
-                        LOG.error("Error encountered while loading the model instance!", exc);
-                    }
-                } // if
-            } // for
+            final RowMapper lMapper = lHome instanceof final AbstractDomainObjectHome lDomainHome
+                    ? lDomainHome.getRowMapper(inResult, this, true)
+                    : RowMapper.compile(lHome, inResult.getMetaData(), this, true);
+            lMapper.load(this, inResult);
             initialKey = getKey();
 
             // Let subclasses do additional things
             this.isLoaded = true;
             getPropertySet().notifyInit(true);
             afterLoad();
-        } catch (final SettingException | SQLException exc) {
+        } catch (final SQLException exc) {
             LOG.error("Error encountered while loading the model instance!", exc);
         }
     }
@@ -425,24 +397,55 @@ abstract public class DomainObjectImpl extends AbstractSemanticObject implements
     @Override
     public Long insert(final boolean inCommit) throws SQLException, VException {
         Collection<Long> autoKeys = Collections.emptyList();
-        Long outKey = Long.valueOf(0L);
-        try (InsertStatement statement = new InsertStatement(getHome())) {
-            statement.setInserts(this.createInsertString());
-            autoKeys = statement.executeInsert();
-            if (!autoKeys.isEmpty()) {
-                outKey = autoKeys.iterator().next();
+        if (isSingleTable()) {
+            try (PreparedInsertStatement statement = new PreparedInsertStatement(this)) {
+                statement.setValues(this);
+                autoKeys = statement.executeUpdate();
+                if (inCommit) {
+                    statement.commit();
+                }
             }
-            if (inCommit) {
-                statement.commit();
-                initialKey = getKey(outKey);
+        } else {
+            try (InsertStatement statement = new InsertStatement(getHome())) {
+                statement.setInserts(this.createInsertString());
+                autoKeys = statement.executeInsert();
+                if (inCommit) {
+                    statement.commit();
+                }
             }
         }
+        final Long outKey = autoKeys.isEmpty() ? Long.valueOf(0L) : autoKeys.iterator().next();
+        if (inCommit) {
+            initialKey = getKey(outKey);
+        }
         if (!autoKeys.isEmpty()) {
             initKeyValue(outKey);
         }
         return outKey;
     }
 
+    private boolean isSingleTable() {
+        return getObjectDef().getTableNames2().size() == 1;
+    }
+
+    /** Checks whether the statement selecting this domain object by the specified key can be prepared, i.e. the key's
+     * values can be bound to placeholders.
+     *
+     * @param inKey {@link KeyObject}
+     * @return boolean */
+    private boolean isPreparable(final KeyObject inKey) {
+        return inKey != null && isSingleTable() && PreparedParameters.collect(inKey, new ArrayList<>());
+    }
+
+    private boolean hasChangedNull() {
+        for (final Iterator<Property> lChanged = getChangedProperties(); lChanged.hasNext();) {
+            if (lChanged.next().getValue() == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void initKeyValue(final Long inValue) throws VException {
         final Collection<String> lAccepted = Arrays.asList(TypeDef.Number, TypeDef.BigInteger, TypeDef.Integer,
                 TypeDef.Long);
@@ -470,6 +473,17 @@ abstract public class DomainObjectImpl extends AbstractSemanticObject implements
     @Override
     public void update(final boolean inCommit) throws SQLException {
         if (this.isChanged()) {
+            // the entry is selected by its initial key, like in the update string
+            if (isPreparable(getKey(true)) && !hasChangedNull()) {
+                try (PreparedUpdateStatement statement = new PreparedUpdateStatement(this)) {
+                    statement.executeUpdate();
+                    if (inCommit) {
+                        statement.commit();
+                        reinitialize();
+                    }
+                }
+                return;
+            }
             try (UpdateStatement statement = new UpdateStatement()) {
                 statement.setUpdates(this.createUpdateString());
                 statement.executeUpdate();
@@ -496,6 +510,15 @@ abstract public class DomainObjectImpl extends AbstractSemanticObject implements
      * @exception java.sql.SQLException */
     @Override
     public void delete(final boolean inCommit) throws SQLException {
+        if (isPreparable(getKey())) {
+            try (PreparedDeleteStatement statement = new PreparedDeleteStatement(this)) {
+                statement.executeUpdate();
+                if (inCommit) {
+                    statement.commit();
+                }
+            }
+            return;
+        }
 
         try (UpdateStatement statement = new UpdateStatement()) {
             statement.setUpdates(this.createDeleteString());
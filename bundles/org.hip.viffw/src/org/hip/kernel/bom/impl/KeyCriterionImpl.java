@@ -310,6 +310,11 @@ public class KeyCriterionImpl extends AbstractNameValueList implements KeyCriter
         traversal.setGetValueStrategy(inGetValueStrategy);
     }
 
+    @Override
+    public IGetValueStrategy getGetValueStrategy() { // NOPMD
+        return getValueStrategy;
+    }
+
     @Override
     public void setLevelReturnFormatter(final LevelReturnFormatter inFormatter) { // NOPMD
         levelFormatter = inFormatter;
@@ -0,0 +1,218 @@
+/**
+ This package is part of the servlet framework used for the application VIF.
+ Copyright (C) 2001-2025, Benno Luthiger
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+package org.hip.kernel.bom.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hip.kernel.bom.DomainObject;
+import org.hip.kernel.bom.DomainObjectHome;
+import org.hip.kernel.bom.GettingException;
+import org.hip.kernel.bom.model.MappingDef;
+import org.hip.kernel.bom.model.ObjectDef;
+import org.hip.kernel.bom.model.PropertyDef;
+import org.hip.kernel.bom.model.TypeDef;
+import org.hip.kernel.exc.VError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Prepared statement to insert many entries of a home's table in JDBC batches.<br>
+ * Contrary to the <code>PreparedInsertStatement</code>, the statement holds its connection in manual commit mode. The
+ * batched entries are sent to the database with {@link #executeBatch()}, which commits the entries but keeps the
+ * connection open. Thus, a large number of entries can be inserted with few round trips and commits.
+ * <p>
+ * If the statement is created without the primary key, the database generates the keys of the inserted entries.
+ * </p>
+ * NOTE: The connection is closed with <code>commit()</code>, <code>rollback()</code> or <code>close()</code>, the
+ * entries added since the last execution are lost on <code>close()</code>.
+ *
+ * @author Benno Luthiger */
+public final class PreparedBatchInsertStatement extends SqlPreparedStatement {
+    private static final Logger LOG = LoggerFactory.getLogger(PreparedBatchInsertStatement.class);
+
+    private final transient List<MappingDef> mappings;
+    private transient int pending;
+
+    /** PreparedBatchInsertStatement constructor, prepares the insert statement for the home's table.
+     *
+     * @param inHome {@link DomainObjectHome}
+     * @param inWithKey boolean <code>false</code> if the columns of the primary key are omitted, i.e. the keys are
+     *            generated by the database
+     * @throws SQLException */
+    public PreparedBatchInsertStatement(final DomainObjectHome inHome, final boolean inWithKey) throws SQLException {
+        super();
+        home = inHome;
+        final ObjectDef lDef = home.getObjectDef();
+        final String lTable = getTablename(lDef);
+        final List<String> lKeys = lDef.getPrimaryKeyDef().getKeyNames2();
+
+        mappings = new ArrayList<>();
+        final StringBuilder lColumns = new StringBuilder();
+        final StringBuilder lValues = new StringBuilder();
+        for (final MappingDef lMapping : lDef.getMappingDefsForTable2(lTable)) {
+            if (!inWithKey && lKeys.contains(lMapping.getPropertyDef().getName())) {
+                continue;
+            }
+            if (!mappings.isEmpty()) {
+                lColumns.append(", ");
+                lValues.append(", ");
+            }
+            mappings.add(lMapping);
+            lColumns.append(lMapping.getColumnName());
+            lValues.append('?');
+        }
+        sqlString = "INSERT INTO " + lTable + " (" + lColumns + ") VALUES (" + lValues + ")";
+
+        initConnection();
+        try {
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement(sqlString, Statement.RETURN_GENERATED_KEYS);
+        } catch (final SQLException exc) {
+            close();
+            throw exc;
+        }
+    }
+
+    /** Adds the values of the specified domain object to the batch.
+     *
+     * @param inObject {@link DomainObject}
+     * @throws SQLException */
+    public void addBatch(final DomainObject inObject) throws SQLException {
+        setValues(inObject);
+        statement.addBatch();
+        pending++;
+    }
+
+    /** @return int the number of entries added to the batch since its last execution */
+    public int getPending() {
+        return pending;
+    }
+
+    /** Executes the batch and commits the inserted entries, including the entries inserted with
+     * {@link #executeInsert(DomainObject)}. The connection is kept open.
+     *
+     * @return List&lt;Long> the generated keys of the batched entries as far as the driver returns them, i.e. the
+     *         list may contain less keys than entries inserted (e.g. Derby returns the key of the last entry only)
+     * @throws SQLException */
+    public List<Long> executeBatch() throws SQLException {
+        final List<Long> outKeys = new ArrayList<>(pending);
+        try {
+            if (pending > 0) {
+                statement.executeBatch();
+                readKeys(outKeys);
+            }
+            connection.commit();
+            pending = 0;
+            return outKeys;
+        } catch (final SQLException exc) {
+            LOG.error("Error encountered with the batch of '{}'!", sqlString, exc);
+            throw exc;
+        } finally {
+            traceWarnings(connection);
+        }
+    }
+
+    /** Inserts the specified domain object immediately, i.e. without batching. The entry is committed with the next
+     * execution of the batch. Use this method to get the generated key of every entry if the driver doesn't return
+     * the keys of a batch.
+     *
+     * @param inObject {@link DomainObject}
+     * @return Long the generated key, <code>null</code> if the driver doesn't return a key
+     * @throws SQLException */
+    public Long executeInsert(final DomainObject inObject) throws SQLException {
+        setValues(inObject);
+        try {
+            statement.executeUpdate();
+            final List<Long> lKeys = new ArrayList<>(1);
+            readKeys(lKeys);
+            return lKeys.isEmpty() ? null : lKeys.get(0);
+        } catch (final SQLException exc) {
+            LOG.error("Error encountered with '{}'!", sqlString, exc);
+            throw exc;
+        }
+    }
+
+    /** Executes the pending batch and commits and closes the connection. */
+    @Override
+    public void commit() {
+        try {
+            executeBatch();
+        } catch (final SQLException exc) {
+            rollback();
+            throw new VError("SQLException during commit: " + exc.toString(), exc);
+        }
+        super.commit();
+    }
+
+    @Override
+    public void close() {
+        close(statement);
+        super.close();
+    }
+
+    private void readKeys(final List<Long> outKeys) throws SQLException {
+        try (ResultSet lResult = statement.getGeneratedKeys()) {
+            while (lResult != null && lResult.next()) {
+                outKeys.add(Long.valueOf(lResult.getLong(1)));
+            }
+        }
+    }
+
+    private void setValues(final DomainObject inObject) throws SQLException {
+        int i = 0; // NOPMD by lbenno
+        for (final MappingDef lMapping : mappings) {
+            final PropertyDef lProperty = lMapping.getPropertyDef();
+            Object lValue;
+            try {
+                lValue = inObject.get(lProperty.getName());
+            } catch (final GettingException exc) {
+                lValue = null;
+            }
+            if (lValue == null) {
+                statement.setNull(++i, getSqlType(lProperty.getValueType()));
+            } else {
+                PreparedParameters.bind(statement, ++i, lValue);
+            }
+        }
+    }
+
+    private static int getSqlType(final String inValueType) {
+        if (TypeDef.Long.equals(inValueType)) {
+            return Types.BIGINT;
+        }
+        if (TypeDef.Integer.equals(inValueType) || TypeDef.Number.equals(inValueType)) {
+            return Types.INTEGER;
+        }
+        if (TypeDef.Timestamp.equals(inValueType)) {
+            return Types.TIMESTAMP;
+        }
+        if (TypeDef.Date.equals(inValueType)) {
+            return Types.DATE;
+        }
+        if (TypeDef.Binary.equals(inValueType)) {
+            return Types.BINARY;
+        }
+        return Types.VARCHAR;
+    }
+
+}
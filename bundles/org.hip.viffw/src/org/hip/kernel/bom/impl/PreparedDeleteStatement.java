@@ -0,0 +1,77 @@
+/**
+	This package is part of the framework used for the application VIF.
+	Copyright (C) 2025, Benno Luthiger
+
+	This library is free software; you can redistribute it and/or
+	modify it under the terms of the GNU Lesser General Public
+	License as published by the Free Software Foundation; either
+	version 2.1 of the License, or (at your option) any later version.
+
+	This library is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+	Lesser General Public License for more details.
+
+	You should have received a copy of the GNU Lesser General Public
+	License along with this library; if not, write to the Free Software
+	Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+package org.hip.kernel.bom.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hip.kernel.bom.DomainObject;
+import org.hip.kernel.bom.DomainObjectHome;
+import org.hip.kernel.exc.VError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** This is the prepared delete statement.
+ *
+ * @author Luthiger */
+public final class PreparedDeleteStatement extends SqlPreparedStatement {
+    private static final Logger LOG = LoggerFactory.getLogger(PreparedDeleteStatement.class);
+
+    /** PreparedDeleteStatement constructor, prepares the statement to delete the specified domain object. The values
+     * are set, i.e. the statement is ready to be executed.
+     *
+     * @param inObject org.hip.kernel.bom.DomainObject */
+    public PreparedDeleteStatement(final DomainObject inObject) {
+        super();
+        home = (DomainObjectHome) inObject.getHome();
+        initConnection();
+
+        sqlString = home.createPreparedDeleteString(getTablename(home.getObjectDef()), inObject);
+        try {
+            statement = connection.prepareStatement(sqlString);
+        } catch (final SQLException exc) {
+            throw new VError("SQL error while preparing statement : " + exc.toString(), exc);
+        }
+        final List<Object> lValues = new ArrayList<>();
+        PreparedParameters.collect(inObject.getKey(), lValues);
+        setValuesToStatement(lValues);
+    }
+
+    /** This method executes the deletion. NOTE: If auto commit is on, the connection is closed. Else the connection has
+     * to be committed (or rollbacked) and is closed then.
+     *
+     * @return int the row count
+     * @exception java.sql.SQLException */
+    public int executeUpdate() throws SQLException {
+        try {
+            return statement.executeUpdate();
+        } catch (final SQLException exc) {
+            LOG.error("Error encountered while processing '{}'!", sqlString, exc);
+            throw exc;
+        } finally {
+            close(statement);
+            traceWarnings(connection);
+            if (connection.getAutoCommit()) {
+                connection.close();
+            }
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.List;
 
 import org.hip.kernel.bom.DomainObject;
+import org.hip.kernel.bom.DomainObjectHome;
 import org.hip.kernel.bom.GettingException;
 import org.hip.kernel.bom.model.MappingDef;
 import org.hip.kernel.bom.model.ObjectDef;
@@ -43,6 +44,7 @@ public class PreparedInsertStatement extends SqlPreparedStatement {
     private static final Logger LOG = LoggerFactory.getLogger(PreparedInsertStatement.class);
 
     private transient int numberOfAffected;
+    private transient boolean sparse;
 
     /** PreparedInsertStatement constructor, initializes the home and prepares the insert statement.
      *
@@ -54,6 +56,20 @@ public class PreparedInsertStatement extends SqlPreparedStatement {
         prepareStatement();
     }
 
+    /** PreparedInsertStatement constructor, prepares the insert of the specified domain object. Contrary to the
+     * statement prepared for the home, this statement contains the columns with non empty values only. Thus, the
+     * database sets the defaults (e.g. auto-increment values) for the other columns.
+     *
+     * @param inObject org.hip.kernel.bom.DomainObject */
+    PreparedInsertStatement(final DomainObject inObject) {
+        super();
+        home = (DomainObjectHome) inObject.getHome();
+        sparse = true;
+        initConnection();
+        sqlString = home.createPreparedInsertString(getTablename(home.getObjectDef()), inObject);
+        prepare();
+    }
+
     /** This method executes the insert.<br>
      * The method is named "executeUpdate" because it calls the method java.sql.PreparedStatement.executeUpdate(), which
      * updates the table, i.e. executes a SQL INSERT, UPDATE or DELETE statement.<br>
@@ -103,7 +119,10 @@ public class PreparedInsertStatement extends SqlPreparedStatement {
         }
 
         sqlString = lSQLs.get(0);
+        prepare();
+    }
 
+    private void prepare() {
         try {
             statement = connection.prepareStatement(sqlString, Statement.RETURN_GENERATED_KEYS);
         } catch (final SQLException exc) {
@@ -131,7 +150,6 @@ public class PreparedInsertStatement extends SqlPreparedStatement {
 
         int i = 0; // NOPMD by lbenno
         for (final MappingDef lMappingDef : lDef.getMappingDefsForTable2(lTable)) {
-            i++;
             // Now we get the value
             final String lPropertyName = lMappingDef.getPropertyDef().getName();
             Object lValue = null;
@@ -140,6 +158,10 @@ public class PreparedInsertStatement extends SqlPreparedStatement {
             } catch (final GettingException exc) {
                 DefaultExceptionHandler.instance().handle(exc);
             }
+            if (sparse && PreparedParameters.isEmpty(lValue)) {
+                continue;
+            }
+            i++;
 
             try {
                 if (lValue == null) {
@@ -0,0 +1,153 @@
+/**
+	This package is part of the framework used for the application VIF.
+	Copyright (C) 2025, Benno Luthiger
+
+	This library is free software; you can redistribute it and/or
+	modify it under the terms of the GNU Lesser General Public
+	License as published by the Free Software Foundation; either
+	version 2.1 of the License, or (at your option) any later version.
+
+	This library is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+	Lesser General Public License for more details.
+
+	You should have received a copy of the GNU Lesser General Public
+	License along with this library; if not, write to the Free Software
+	Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+package org.hip.kernel.bom.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Blob;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+import org.hip.kernel.bom.KeyCriterion;
+import org.hip.kernel.bom.KeyObject;
+import org.hip.kernel.util.SortableItem;
+
+/** Helper class to collect and bind the parameter values of prepared statements, i.e. of statements rendered with
+ * <code>PreparedValueStrategy</code>.
+ *
+ * @author Luthiger
+ * @see PreparedValueStrategy */
+public final class PreparedParameters {
+
+    private PreparedParameters() {
+        // prevent instantiation
+    }
+
+    /** Collects the values of the specified key in the order the key is rendered with the
+     * <code>PreparedValueStrategy</code>.
+     *
+     * @param inKey {@link KeyObject}
+     * @param outValues List&lt;Object> the collected values
+     * @return boolean <code>false</code> if the key contains values that can't be bound to a placeholder (e.g.
+     *         <code>NULL</code> or a date range), i.e. the key has to be rendered as normal SQL */
+    public static boolean collect(final KeyObject inKey, final List<Object> outValues) {
+        for (final SortableItem lItem : inKey.getItems2()) {
+            final KeyCriterion lCriterion = (KeyCriterion) lItem;
+            final Object lValue = lCriterion.getValue();
+            if (KeyCriterion.NAME_FOR_KEY.equals(lCriterion.getName())) {
+                if (!collect((KeyObject) lValue, outValues)) {
+                    return false;
+                }
+            }
+            else if (lValue instanceof final Collection<?> lValues) {
+                if (lValues.isEmpty()) {
+                    return false;
+                }
+                for (final Object lElement : lValues) {
+                    if (!isBindable(lElement)) {
+                        return false;
+                    }
+                    outValues.add(lElement);
+                }
+            }
+            else if (isBindable(lValue)) {
+                outValues.add(lValue);
+            }
+            else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBindable(final Object inValue) {
+        return inValue instanceof String || inValue instanceof Number || inValue instanceof java.util.Date
+                || inValue instanceof byte[];
+    }
+
+    /** Checks whether the specified value is treated as empty, i.e. the column is omitted in inserts.
+     *
+     * @param inValue Object
+     * @return boolean */
+    public static boolean isEmpty(final Object inValue) {
+        return inValue == null || inValue.toString().length() == 0;
+    }
+
+    /** Binds the specified values to the statement's placeholders.
+     *
+     * @param inStatement {@link PreparedStatement}
+     * @param inValues List&lt;Object>
+     * @throws SQLException */
+    public static void bind(final PreparedStatement inStatement, final List<Object> inValues) throws SQLException {
+        int i = 0; // NOPMD by lbenno
+        for (final Object lValue : inValues) {
+            bind(inStatement, ++i, lValue);
+        }
+    }
+
+    /** Binds the specified value to the statement's placeholder at the specified position after doing a type check.
+     *
+     * @param inStatement {@link PreparedStatement}
+     * @param inPosition int
+     * @param inValue Object
+     * @throws SQLException */
+    public static void bind(final PreparedStatement inStatement, final int inPosition, final Object inValue) // NOPMD
+            throws SQLException {
+        if (inValue instanceof final Timestamp lValue) {
+            inStatement.setTimestamp(inPosition, lValue);
+        } else if (inValue instanceof final Date lValue) {
+            inStatement.setDate(inPosition, lValue);
+        } else if (inValue instanceof final java.util.Date lValue) {
+            inStatement.setTimestamp(inPosition, new Timestamp(lValue.getTime()));
+        } else if (inValue instanceof final BigDecimal lValue) {
+            inStatement.setBigDecimal(inPosition, lValue);
+        } else if (inValue instanceof final BigInteger lValue) {
+            inStatement.setBigDecimal(inPosition, new BigDecimal(lValue));
+        } else if (inValue instanceof final Long lValue) {
+            inStatement.setLong(inPosition, lValue);
+        } else if (inValue instanceof Double || inValue instanceof Float) {
+            inStatement.setDouble(inPosition, ((Number) inValue).doubleValue());
+        } else if (inValue instanceof final Number lValue) {
+            inStatement.setInt(inPosition, lValue.intValue());
+        } else if (inValue instanceof final String lValue) {
+            inStatement.setString(inPosition, lValue);
+        } else if (inValue instanceof final File lFile) {
+            try {
+                inStatement.setBinaryStream(inPosition, new FileInputStream(lFile), (int) lFile.length()); // NOPMD
+            } catch (final FileNotFoundException exc) {
+                throw new SQLException(exc.getMessage(), exc);
+            }
+        } else if (inValue instanceof final Blob lValue) {
+            inStatement.setBlob(inPosition, lValue);
+        } else if (inValue instanceof final byte[] lValue) {
+            inStatement.setBytes(inPosition, lValue);
+        } else {
+            throw new SQLException("Value : " + inValue + " (class "
+                    + (inValue == null ? "null" : inValue.getClass().getName()) + ") not supported");
+        }
+    }
+
+}
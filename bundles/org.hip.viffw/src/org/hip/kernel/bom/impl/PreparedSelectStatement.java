@@ -20,12 +20,13 @@ package org.hip.kernel.bom.impl;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hip.kernel.bom.DomainObjectHome;
 import org.hip.kernel.bom.KeyObject;
 import org.hip.kernel.bom.QueryResult;
 import org.hip.kernel.exc.VError;
-import org.hip.kernel.util.SortableItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,22 +77,15 @@ public class PreparedSelectStatement extends SqlPreparedStatement {
         }
     }
 
-    /** This method was inspired by the DomainObjectImpl.createInsertString() method.
+    /** Binds the values of the specified key to the statement's placeholders, including the values of nested keys.
      *
      * @param inKey org.hip.kernel.bom.KeyObject */
     public void setValues(final KeyObject inKey) {
-        int i = 0; // NOPMD by lbenno
-        for (final SortableItem lItem : inKey.getItems2()) {
-            i++;
-            Object lValue = null;
-            lValue = lItem.getValue();
-            if (lValue == null) {
-                throw new VError("Null can not be used for setting values of prepared select statements");
-            }
-            else {
-                setValueToStatement(lValue, i);
-            }
+        final List<Object> lValues = new ArrayList<>();
+        if (!PreparedParameters.collect(inKey, lValues)) {
+            throw new VError("Null or range values can not be used for setting values of prepared select statements");
         }
+        setValuesToStatement(lValues);
     }
 
 }
\ No newline at end of file
@@ -19,6 +19,8 @@
 package org.hip.kernel.bom.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.hip.kernel.bom.DomainObject;
@@ -26,6 +28,7 @@ import org.hip.kernel.bom.DomainObjectHome;
 import org.hip.kernel.bom.GettingException;
 import org.hip.kernel.bom.KeyCriterion;
 import org.hip.kernel.bom.KeyObject;
+import org.hip.kernel.bom.Property;
 import org.hip.kernel.bom.model.MappingDef;
 import org.hip.kernel.bom.model.ObjectDef;
 import org.hip.kernel.exc.DefaultExceptionWriter;
@@ -51,6 +54,35 @@ public class PreparedUpdateStatement extends SqlPreparedStatement { // NOPMD by
         prepareStatement();
     }
 
+    /** PreparedUpdateStatement constructor to update the changed values of the specified domain object. The statement
+     * is prepared and the values are set, i.e. the statement is ready to be executed.
+     *
+     * @param inObject org.hip.kernel.bom.DomainObject */
+    PreparedUpdateStatement(final DomainObject inObject) {
+        super();
+        home = (DomainObjectHome) inObject.getHome();
+        initConnection();
+
+        final ObjectDef lDef = home.getObjectDef();
+        final String lTable = getTablename(lDef);
+        sqlString = home.createPreparedUpdateString(lTable, inObject);
+        try {
+            statement = connection.prepareStatement(sqlString);
+        } catch (final SQLException exc) {
+            throw new VError("SQL error while preparing statement : " + exc.toString(), exc);
+        }
+
+        final List<Object> lValues = new ArrayList<>();
+        for (final Iterator<Property> lChanged = inObject.getChangedProperties(); lChanged.hasNext();) {
+            final Property lProperty = lChanged.next();
+            if (lDef.getMappingDef(lProperty.getName()).getTableName().equals(lTable)) {
+                lValues.add(lProperty.getValue());
+            }
+        }
+        PreparedParameters.collect(inObject.getKey(true), lValues);
+        setValuesToStatement(lValues);
+    }
+
     /** PreparedUpdateStatement constructor to update a subset of values of a range of entries selected by the key
      * <code>inWhere</code>.
      *
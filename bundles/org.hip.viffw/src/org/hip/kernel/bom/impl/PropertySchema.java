@@ -0,0 +1,129 @@
+/**
+ This package is part of the servlet framework used for the application VIF.
+ Copyright (C) 2001-2025, Benno Luthiger
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+package org.hip.kernel.bom.impl;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hip.kernel.bom.model.ObjectDef;
+import org.hip.kernel.bom.model.PropertyDef;
+import org.hip.kernel.bom.model.PropertyDefDef;
+import org.hip.kernel.bom.model.TypeDef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** The layout of the properties of a domain object: the names, value types and definitions of the properties, each
+ * assigned to a slot. The schema is created once per <code>ObjectDef</code> and shared by all
+ * {@link CompactPropertySet}s of the domain objects of this definition.
+ *
+ * @author Benno Luthiger */
+@SuppressWarnings("serial")
+final class PropertySchema implements Serializable {
+    private static final Logger LOG = LoggerFactory.getLogger(PropertySchema.class);
+
+    private final String[] names;
+    private final Class<?>[] types;
+    private final transient PropertyDef[] propertyDefs;
+    private final Map<String, Integer> slots;
+
+    private PropertySchema(final String[] inNames, final Class<?>[] inTypes, final PropertyDef[] inPropertyDefs) {
+        this.names = inNames;
+        this.types = inTypes;
+        this.propertyDefs = inPropertyDefs;
+        this.slots = new HashMap<String, Integer>(inNames.length * 2);
+        for (int i = 0; i < inNames.length; i++) {
+            this.slots.put(inNames[i], i);
+        }
+    }
+
+    /** Creates the schema of the properties defined by the specified object definition.
+     *
+     * @param inObjectDef {@link ObjectDef}
+     * @return {@link PropertySchema} the schema or <code>null</code> if the definition contains properties other than
+     *         simple ones, i.e. object references or composite properties */
+    static PropertySchema create(final ObjectDef inObjectDef) {
+        if (inObjectDef == null) {
+            return null;
+        }
+        final List<PropertyDef> lPropertyDefs = inObjectDef.getPropertyDefs2();
+        final int lSize = lPropertyDefs.size();
+        final String[] lNames = new String[lSize];
+        final Class<?>[] lTypes = new Class<?>[lSize];
+        final PropertyDef[] lDefs = new PropertyDef[lSize];
+        for (int i = 0; i < lSize; i++) {
+            final PropertyDef lPropertyDef = lPropertyDefs.get(i);
+            if (!PropertyDefDef.propertyTypeSimple.equals(lPropertyDef.getPropertyType())) {
+                return null;
+            }
+            lNames[i] = lPropertyDef.getName();
+            lTypes[i] = typeOf(lPropertyDef.getValueClassType());
+            lDefs[i] = lPropertyDef;
+        }
+        return new PropertySchema(lNames, lTypes, lDefs);
+    }
+
+    private static Class<?> typeOf(final String inTypeInformation) {
+        if (inTypeInformation == null || inTypeInformation.length() == 0) {
+            return null;
+        }
+        try {
+            return Class.forName(inTypeInformation);
+        } catch (final ClassNotFoundException exc) {
+            if (!TypeDef.Binary.equals(inTypeInformation)) {
+                // We trace nothing in the case of Binary.
+                LOG.error("Unknown value type {}!", inTypeInformation, exc);
+            }
+            return null;
+        }
+    }
+
+    /** @return int the number of slots */
+    int size() {
+        return this.names.length;
+    }
+
+    /** @param inName String the property's name
+     * @return int the property's slot or <code>-1</code> if the schema doesn't contain the property */
+    int slotOf(final String inName) {
+        final Integer outSlot = this.slots.get(inName);
+        return outSlot == null ? -1 : outSlot;
+    }
+
+    /** @param inSlot int
+     * @return String the name of the property in the specified slot */
+    String nameOf(final int inSlot) {
+        return this.names[inSlot];
+    }
+
+    /** @param inSlot int
+     * @return Class&lt;?> the type of the values of the specified slot, <code>null</code> if not checked */
+    Class<?> typeOf(final int inSlot) {
+        return this.types[inSlot];
+    }
+
+    /** @param inSlot int
+     * @return {@link PropertyDef} the definition of the property in the specified slot, <code>null</code> if the schema
+     *         has been deserialized */
+    PropertyDef propertyDefOf(final int inSlot) {
+        return this.propertyDefs == null ? null : this.propertyDefs[inSlot];
+    }
+
+}
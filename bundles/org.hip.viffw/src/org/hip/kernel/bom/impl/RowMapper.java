@@ -0,0 +1,195 @@
+/**
+ This package is part of the servlet framework used for the application VIF.
+ Copyright (C) 2001-2025, Benno Luthiger
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+package org.hip.kernel.bom.impl;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hip.kernel.bom.GeneralDomainObject;
+import org.hip.kernel.bom.GeneralDomainObjectHome;
+import org.hip.kernel.bom.GettingException;
+import org.hip.kernel.bom.SettingException;
+import org.hip.kernel.bom.model.PropertyDef;
+import org.hip.kernel.bom.model.PropertyDefDef;
+import org.hip.kernel.bom.model.TypeDef;
+import org.hip.kernel.util.VInvalidValueException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Maps the columns of a <code>ResultSet</code> to the properties of a domain object.<br>
+ * The mapper is compiled once for a home and a shape of result set, i.e. the sequence of its columns: for every column,
+ * the name of the property and the function reading the column's value are resolved in advance. Filling a domain
+ * object from a row is, therefore, a loop over the compiled columns without meta data access or lookup of property
+ * definitions. If the domain object stores its properties in a {@link CompactPropertySet}, the values are set directly
+ * into the properties' slots.
+ *
+ * @author Benno Luthiger
+ * @see AbstractDomainObjectHome#getRowMapper(ResultSet, AbstractSemanticObject, boolean) */
+final class RowMapper {
+    private static final Logger LOG = LoggerFactory.getLogger(RowMapper.class);
+
+    /** Reads the value of a column. */
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet inResult, int inColumn) throws SQLException;
+    }
+
+    private static final ColumnReader LONG_READER = (result, column) -> Long.valueOf(result.getLong(column));
+    private static final Map<String, ColumnReader> READERS = new HashMap<String, ColumnReader>();
+    static {
+        READERS.put(TypeDef.String, ResultSet::getString);
+        READERS.put(TypeDef.LongVarchar, ResultSet::getAsciiStream);
+        READERS.put(TypeDef.Date, ResultSet::getDate);
+        READERS.put(TypeDef.Timestamp, RowMapper::readTimestamp);
+        READERS.put(TypeDef.Integer, (result, column) -> Integer.valueOf(result.getInt(column)));
+        READERS.put(TypeDef.Long, LONG_READER);
+        READERS.put(TypeDef.BigInteger, (result, column) -> {
+            final java.math.BigDecimal lValue = result.getBigDecimal(column);
+            return lValue == null ? null : lValue.toBigInteger();
+        });
+        READERS.put(TypeDef.BigDecimal, ResultSet::getBigDecimal);
+        READERS.put(TypeDef.Number, ResultSet::getBigDecimal);
+        READERS.put(TypeDef.Binary, ResultSet::getBlob);
+    }
+
+    private final int[] columns;
+    private final String[] names;
+    private final ColumnReader[] readers;
+    private final PropertySchema schema;
+    private final int[] slots;
+
+    private RowMapper(final int[] inColumns, final String[] inNames, final ColumnReader[] inReaders,
+            final PropertySchema inSchema) {
+        this.columns = inColumns;
+        this.names = inNames;
+        this.readers = inReaders;
+        this.schema = inSchema;
+        this.slots = new int[inNames.length];
+        for (int i = 0; i < inNames.length; i++) {
+            this.slots[i] = inSchema == null ? -1 : inSchema.slotOf(inNames[i]);
+        }
+    }
+
+    /** Compiles the mapper for the columns described by the specified meta data.
+     *
+     * @param inHome {@link GeneralDomainObjectHome} the home providing the property definitions
+     * @param inMetaData {@link ResultSetMetaData} the shape of the result set
+     * @param inPrototype {@link AbstractSemanticObject} an instance of the home's domain object, used to decide whether
+     *            columns not mapped to a property are set as calculated values, may be <code>null</code>
+     * @param inByLabel boolean <code>true</code> if the columns are identified by their label, <code>false</code> if by
+     *            their name
+     * @return {@link RowMapper}
+     * @throws SQLException */
+    static RowMapper compile(final GeneralDomainObjectHome inHome, final ResultSetMetaData inMetaData,
+            final AbstractSemanticObject inPrototype, final boolean inByLabel) throws SQLException {
+        final int lCount = inMetaData.getColumnCount();
+        final List<Integer> lColumns = new ArrayList<Integer>(lCount);
+        final List<String> lNames = new ArrayList<String>(lCount);
+        final List<ColumnReader> lReaders = new ArrayList<ColumnReader>(lCount);
+        for (int i = 1; i <= lCount; i++) {
+            final String lColumnName = inByLabel ? inMetaData.getColumnLabel(i) : inMetaData.getColumnName(i);
+            final PropertyDef lProperty = inHome.getPropertyDefFor(lColumnName);
+            if (lProperty == null) {
+                if (inPrototype != null && (inPrototype.isDynamicAddAllowed()
+                        || inPrototype.propertySet().get(lColumnName) != null)) {
+                    // we assume a calculated/modified column and, therefore, a numerical value.
+                    lColumns.add(i);
+                    lNames.add(lColumnName);
+                    lReaders.add(LONG_READER);
+                }
+                // else: the column belongs to an other model, e.g. in a union of different selects
+            } else {
+                try {
+                    final ColumnReader lReader = READERS.get(lProperty.get(PropertyDefDef.valueType));
+                    if (lReader != null) {
+                        lColumns.add(i);
+                        lNames.add((String) lProperty.get(PropertyDefDef.propertyName));
+                        lReaders.add(lReader);
+                    }
+                } catch (final GettingException exc) {
+                    LOG.error("Error encountered while mapping the column {}!", lColumnName, exc);
+                }
+            }
+        }
+        final int[] lIndexes = new int[lColumns.size()];
+        for (int i = 0; i < lIndexes.length; i++) {
+            lIndexes[i] = lColumns.get(i);
+        }
+        PropertySchema lSchema = null;
+        if (inPrototype != null && inPrototype.propertySet() instanceof final CompactPropertySet lSet) {
+            lSchema = lSet.schema();
+        }
+        return new RowMapper(lIndexes, lNames.toArray(new String[lNames.size()]),
+                lReaders.toArray(new ColumnReader[lReaders.size()]), lSchema);
+    }
+
+    /** Returns the shape of the result set described by the specified meta data, i.e. the key of its compiled
+     * mapper.
+     *
+     * @param inMetaData {@link ResultSetMetaData}
+     * @param inByLabel boolean
+     * @return String
+     * @throws SQLException */
+    static String shapeOf(final ResultSetMetaData inMetaData, final boolean inByLabel) throws SQLException {
+        final StringBuilder outShape = new StringBuilder(inByLabel ? "L" : "N");
+        for (int i = 1; i <= inMetaData.getColumnCount(); i++) {
+            outShape.append('\u0000').append(inByLabel ? inMetaData.getColumnLabel(i) : inMetaData.getColumnName(i));
+        }
+        return new String(outShape);
+    }
+
+    /** Fills the specified domain object with the values of the actual row of the result set. Values that can't be
+     * read or set are logged and skipped.
+     *
+     * @param inObject {@link GeneralDomainObject}
+     * @param inResult {@link ResultSet} */
+    void load(final GeneralDomainObject inObject, final ResultSet inResult) {
+        final CompactPropertySet lSet = inObject.propertySet() instanceof final CompactPropertySet lCompact
+                && lCompact.schema() == this.schema ? lCompact : null;
+        for (int i = 0; i < this.columns.length; i++) {
+            try {
+                final Object lValue = this.readers[i].read(inResult, this.columns[i]);
+                if (lSet != null && this.slots[i] >= 0) {
+                    lSet.setValue(this.slots[i], lValue);
+                } else {
+                    inObject.set(this.names[i], lValue);
+                }
+            } catch (final SettingException | VInvalidValueException | SQLException exc) {
+                LOG.error("Error encountered while loading the model instance!", exc);
+            }
+        }
+    }
+
+    private static Object readTimestamp(final ResultSet inResult, final int inColumn) {
+        Timestamp outValue = null;
+        try {
+            outValue = inResult.getTimestamp(inColumn);
+        } catch (final SQLException exc) { // NOPMD
+            // intentionally left empty (because of MySQL zeroDateTimeBehavior)
+        }
+        return outValue;
+    }
+
+}
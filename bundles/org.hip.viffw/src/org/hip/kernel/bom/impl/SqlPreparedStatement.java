@@ -18,16 +18,10 @@
  */
 package org.hip.kernel.bom.impl;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.math.BigDecimal;
-import java.sql.Blob;
-import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.List;
 import java.util.Set;
 
 import org.hip.kernel.bom.DomainObjectHome;
@@ -95,40 +89,22 @@ public abstract class SqlPreparedStatement extends CommittableStatement { // NOP
     /** Sets a value to the statement after doing type check
      *
      * @param inValue java.lang.Object */
-    protected void setValueToStatement(final Object inValue, final int inPosition) { // NOPMD by lbenno
-        String lValueString;
+    protected void setValueToStatement(final Object inValue, final int inPosition) {
         try {
-            if (inValue instanceof Timestamp) {
-                statement.setTimestamp(inPosition, (Timestamp) inValue);
-            } else if (inValue instanceof Date) {
-                statement.setDate(inPosition, (Date) inValue);
-            } else if (inValue instanceof Number) {
-                lValueString = ((Number) inValue).toString();
-                if (inValue instanceof BigDecimal) {
-                    statement.setBigDecimal(inPosition, (BigDecimal) inValue);
-                } else {
-                    statement.setInt(inPosition, ((Number) inValue).intValue());
-                }
-            } else if (inValue instanceof String) {
-                lValueString = (String) inValue;
-                statement.setString(inPosition, lValueString);
-            } else if (inValue instanceof File) {
-                final File lFile = (File) inValue;
-                try {
-                    statement.setBinaryStream(inPosition, new FileInputStream(lFile), (int) lFile.length());
-                } catch (final FileNotFoundException exc) {
-                    throw new VError(exc.getMessage(), exc);
-                }
-            } else if (inValue instanceof Blob) {
-                statement.setBlob(inPosition, (Blob) inValue);
-            } else if (inValue instanceof byte[]) {
-                statement.setBytes(inPosition, (byte[]) inValue);
-            } else {
-                throw new Error("Value : " + inValue.toString() + " (class " + inValue.getClass().getName()
-                        + ") defined as key in " + home.toString() + " not supported");
-            }
+            PreparedParameters.bind(statement, inPosition, inValue);
         } catch (final SQLException exc) {
             throw new VError("SQL Error while settings values in a prepared insert statement : " + exc.toString(), exc);
         }
     }
+
+    /** Sets the values to the statement's placeholders.
+     *
+     * @param inValues List&lt;Object> the values in the order of the placeholders */
+    protected void setValuesToStatement(final List<Object> inValues) {
+        try {
+            PreparedParameters.bind(statement, inValues);
+        } catch (final SQLException exc) {
+            throw new VError("SQL Error while settings values in a prepared statement : " + exc.toString(), exc);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+/**
+ This package is part of the servlet framework used for the application VIF.
+ Copyright (C) 2025, Benno Luthiger
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+package org.hip.kernel.bom.impl;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.hip.kernel.bom.BOMException;
+import org.hip.kernel.bom.BOMNotFoundException;
+import org.hip.kernel.bom.GeneralDomainObject;
+import org.hip.kernel.bom.GeneralDomainObjectHome;
+import org.hip.kernel.bom.KeyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** A forward-only QueryResult backed by an open cursor.<br>
+ * In contrast to the <code>DefaultQueryResult</code>, the rows are not loaded into memory when the result is created.
+ * Instead, the domain objects are created while iterating over the result, the JDBC driver fetching the rows in chunks
+ * of the statement's fetch size. The result holds the connection (and the statement) until the last row has been read
+ * or the result is closed. Therefore, use this result in a <code>try-with-resources</code> block.
+ *
+ * @author Luthiger
+ * @see org.hip.kernel.bom.GeneralDomainObjectHome#select(KeyObject, org.hip.kernel.bom.OrderObject, boolean) */
+@SuppressWarnings("serial")
+public final class StreamingQueryResult extends AbstractQueryResult {
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingQueryResult.class);
+
+    private final AbstractDomainObjectHome home;
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet result;
+    private final ResultSetMetaData metaData;
+
+    private GeneralDomainObject current;
+    private boolean closed;
+
+    /** StreamingQueryResult constructor. The result takes the ownership of the specified connection, statement and
+     * result set, i.e. closes them when the result is exhausted or closed.
+     *
+     * @param home {@link GeneralDomainObjectHome} the home creating the domain objects
+     * @param connection {@link Connection}
+     * @param statement {@link Statement}
+     * @param result {@link ResultSet}
+     * @throws SQLException
+     * @throws BOMException */
+    public StreamingQueryResult(final GeneralDomainObjectHome home, final Connection connection,
+            final Statement statement, final ResultSet result) throws SQLException, BOMException {
+        super(home);
+        this.home = (AbstractDomainObjectHome) home;
+        this.connection = connection;
+        this.statement = statement;
+        this.result = result;
+        this.metaData = result.getMetaData();
+        advance();
+    }
+
+    private void advance() throws SQLException, BOMException {
+        if (!this.closed && this.result.next()) {
+            this.current = this.home.newInstance(this.result);
+        } else {
+            this.current = null;
+            close();
+        }
+    }
+
+    @Override
+    public GeneralDomainObject getCurrent() {
+        return this.current;
+    }
+
+    @Override
+    public KeyObject getKey() throws BOMNotFoundException {
+        if (this.current == null) {
+            throw new BOMNotFoundException();
+        }
+        return this.current.getKey();
+    }
+
+    @Override
+    protected ResultSetMetaData getMetaData() {
+        return this.metaData;
+    }
+
+    @Override
+    public boolean hasMoreElements() {
+        return this.current != null;
+    }
+
+    /** Returns the current domain object and reads the next row from the cursor.
+     *
+     * @return {@link GeneralDomainObject} the next domain object or <code>null</code> if the result is exhausted
+     * @throws SQLException
+     * @throws BOMException */
+    @Override
+    public GeneralDomainObject next() throws SQLException, BOMException {
+        final GeneralDomainObject outObject = this.current;
+        if (outObject != null) {
+            try {
+                advance();
+            } catch (SQLException | BOMException exc) {
+                close();
+                throw exc;
+            }
+        }
+        return outObject;
+    }
+
+    /** Closes the cursor and returns the connection to the pool. */
+    @Override
+    public void close() throws SQLException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.current = null;
+        try {
+            closeAll(this.result, this.statement, this.connection);
+        } catch (final SQLException exc) {
+            LOG.debug("Error encountered while closing a streaming result: {}", exc.getMessage());
+            throw exc;
+        }
+    }
+
+    /** Closes the specified JDBC resources, the result set first and the connection last. Resources that are
+     * <code>null</code> are skipped. All resources are closed even if closing one of them fails.
+     *
+     * @param result {@link ResultSet} may be <code>null</code>
+     * @param statement {@link Statement} may be <code>null</code>
+     * @param connection {@link Connection} may be <code>null</code>
+     * @throws SQLException the first failure, with the later ones added as suppressed exceptions */
+    static void closeAll(final ResultSet result, final Statement statement, final Connection connection)
+            throws SQLException {
+        SQLException lFailure = null;
+        for (final AutoCloseable lResource : new AutoCloseable[] { result, statement, connection }) {
+            if (lResource == null) {
+                continue;
+            }
+            try {
+                lResource.close();
+            } catch (final Exception exc) {
+                final SQLException lSQLExc = exc instanceof final SQLException sqlExc ? sqlExc
+                        : new SQLException(exc.getMessage(), exc);
+                if (lFailure == null) {
+                    lFailure = lSQLExc;
+                } else {
+                    lFailure.addSuppressed(lSQLExc);
+                }
+            }
+        }
+        if (lFailure != null) {
+            throw lFailure;
+        }
+    }
+
+}
@@ -0,0 +1,372 @@
+/**
+	This package is part of the application VIF.
+	Copyright (C) 2011-2025, Benno Luthiger
+
+	This program is free software; you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation; either version 2 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program; if not, write to the Free Software
+	Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.hip.kernel.dbaccess;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.PooledConnection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** A bounded pool of physical connections created by a <code>ConnectionPoolDataSource</code>.<br>
+ * Clients borrow a <code>Connection</code> with {@link #getConnection()} and return it to the pool by closing it. The
+ * pool validates idle connections before handing them out, evicts connections idle longer than the configured timeout
+ * and waits at most the configured time for a free connection if all connections are in use.<br>
+ * Each pooled connection keeps a {@link StatementCache}, i.e. <code>prepareStatement()</code> on a borrowed connection
+ * returns a cached statement if the same SQL has been prepared on this connection before.
+ *
+ * @author Luthiger */
+public class ConnectionPool implements ConnectionEventListener, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private final ConnectionPoolDataSource dataSource;
+    private final Settings settings;
+
+    // most recently returned connection first
+    private final Deque<PoolEntry> idle = new ArrayDeque<>();
+    private final Map<PooledConnection, PoolEntry> entries = new IdentityHashMap<>();
+    private int active;
+    private int total;
+    private boolean closed;
+
+    /** ConnectionPool constructor.
+     *
+     * @param dataSource {@link ConnectionPoolDataSource} the factory of the physical connections
+     * @param settings {@link Settings} the pool's settings */
+    public ConnectionPool(final ConnectionPoolDataSource dataSource, final Settings settings) {
+        this.dataSource = dataSource;
+        this.settings = settings;
+    }
+
+    /** Borrows a connection from the pool. The connection is returned to the pool when the client closes it.
+     *
+     * @return {@link Connection}
+     * @throws SQLException if no valid connection could be obtained within the configured maximal waiting time */
+    public Connection getConnection() throws SQLException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.settings.maxWait());
+        while (true) {
+            final PoolEntry candidate = reserve(deadline);
+            if (candidate == null) {
+                return lease(createEntry());
+            }
+            if (isValid(candidate)) {
+                return lease(candidate);
+            }
+            discard(candidate);
+        }
+    }
+
+    /** Takes an idle connection from the pool or reserves a slot for a new one (return value <code>null</code>).
+     *
+     * @param deadline long the time (in nanoseconds) to wait for a connection at most
+     * @return {@link PoolEntry} an idle connection or <code>null</code> if a new connection has to be created
+     * @throws SQLException */
+    private PoolEntry reserve(final long deadline) throws SQLException {
+        final Collection<PoolEntry> evicted = new ArrayList<>();
+        try {
+            synchronized (this) {
+                checkOpen();
+                evictIdle(evicted);
+                while (this.idle.isEmpty() && this.total >= this.settings.maxSize()) {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLException(String.format(
+                                "Timeout: no DB connection available within %s ms (pool size %s).",
+                                this.settings.maxWait(), this.settings.maxSize()));
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    checkOpen();
+                }
+                this.active++;
+                if (this.idle.isEmpty()) {
+                    this.total++;
+                    return null;
+                }
+                return this.idle.pollFirst();
+            }
+        } catch (final InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a DB connection.", exc);
+        } finally {
+            destroy(evicted);
+        }
+    }
+
+    private PoolEntry createEntry() throws SQLException {
+        try {
+            final PooledConnection pooled = this.dataSource.getPooledConnection();
+            final PoolEntry outEntry = new PoolEntry(pooled, pooled.getConnection(),
+                    new StatementCache(this.settings.statementCacheSize()));
+            pooled.addConnectionEventListener(this);
+            synchronized (this) {
+                this.entries.put(pooled, outEntry);
+            }
+            return outEntry;
+        } catch (final SQLException | RuntimeException exc) {
+            synchronized (this) {
+                this.active--;
+                this.total--;
+                notifyAll();
+            }
+            throw exc;
+        }
+    }
+
+    private boolean isValid(final PoolEntry entry) {
+        try {
+            if (!entry.broken && entry.connection.isValid(this.settings.validationTimeout())) {
+                return true;
+            }
+            LOG.debug("Discarding invalid DB connection.");
+        } catch (final SQLException exc) {
+            LOG.debug("Discarding DB connection failing validation: {}", exc.getMessage());
+        }
+        return false;
+    }
+
+    private Connection lease(final PoolEntry entry) {
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new Handle(entry));
+    }
+
+    /** Returns the connection of the specified entry to the pool, called when the client closes its handle. */
+    private void checkIn(final PoolEntry entry) {
+        entry.statements.releaseAll();
+        try {
+            if (!entry.connection.getAutoCommit()) {
+                entry.connection.rollback();
+                entry.connection.setAutoCommit(true);
+            }
+            entry.connection.clearWarnings();
+        } catch (final SQLException exc) {
+            LOG.debug("Error encountered while resetting a DB connection: {}", exc.getMessage());
+            entry.broken = true;
+        }
+
+        final Collection<PoolEntry> evicted = new ArrayList<>();
+        synchronized (this) {
+            this.active--;
+            if (this.closed || entry.broken) {
+                this.total--;
+                evicted.add(entry);
+            } else {
+                entry.since = System.currentTimeMillis();
+                this.idle.addFirst(entry);
+                evictIdle(evicted);
+            }
+            notifyAll();
+        }
+        destroy(evicted);
+    }
+
+    private void discard(final PoolEntry entry) {
+        synchronized (this) {
+            this.active--;
+            this.total--;
+            notifyAll();
+        }
+        destroy(List.of(entry));
+    }
+
+    /** Moves the idle connections which exceeded the idle timeout to the specified collection. Must be called while
+     * holding the pool's lock. */
+    private void evictIdle(final Collection<PoolEntry> evicted) {
+        final long limit = System.currentTimeMillis() - this.settings.idleTimeout();
+        // the oldest connections are at the end of the deque
+        final Iterator<PoolEntry> connections = this.idle.descendingIterator();
+        while (connections.hasNext()) {
+            final PoolEntry entry = connections.next();
+            if (entry.since >= limit) {
+                break;
+            }
+            connections.remove();
+            evicted.add(entry);
+            this.total--;
+        }
+    }
+
+    private void destroy(final Collection<PoolEntry> toDestroy) {
+        for (final PoolEntry entry : toDestroy) {
+            synchronized (this) {
+                this.entries.remove(entry.pooled);
+            }
+            entry.pooled.removeConnectionEventListener(this);
+            entry.statements.closeAll();
+            try {
+                entry.pooled.close();
+            } catch (final SQLException exc) {
+                LOG.debug("Error encountered while closing a pooled DB connection: {}", exc.getMessage());
+            }
+        }
+    }
+
+    private void checkOpen() throws SQLException {
+        if (this.closed) {
+            throw new SQLException("The DB connection pool has been closed.");
+        }
+    }
+
+    /** The pool keeps the logical connection open while the physical connection is pooled. Therefore, this event
+     * signals that the connection has been closed behind the pool's back and can't be reused. */
+    @Override
+    public synchronized void connectionClosed(final ConnectionEvent event) {
+        markBroken(event);
+    }
+
+    @Override
+    public synchronized void connectionErrorOccurred(final ConnectionEvent event) {
+        LOG.debug("DB connection reported a fatal error: {}",
+                event.getSQLException() == null ? "" : event.getSQLException().getMessage());
+        markBroken(event);
+    }
+
+    private void markBroken(final ConnectionEvent event) {
+        final PoolEntry entry = this.entries.get(event.getSource());
+        if (entry != null) {
+            entry.broken = true;
+        }
+    }
+
+    /** Closes the pool: the idle connections are closed immediately, the connections in use are closed when they are
+     * returned to the pool. */
+    @Override
+    public void close() {
+        final Collection<PoolEntry> connections;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            connections = new ArrayList<>(this.idle);
+            this.total -= this.idle.size();
+            this.idle.clear();
+            notifyAll();
+        }
+        destroy(connections);
+    }
+
+    /** @return int the number of connections currently in use */
+    public synchronized int getActiveCount() {
+        return this.active;
+    }
+
+    /** @return int the number of connections currently idle in the pool */
+    public synchronized int getIdleCount() {
+        return this.idle.size();
+    }
+
+    // ---
+
+    private static class PoolEntry {
+        private final PooledConnection pooled;
+        private final Connection connection;
+        private final StatementCache statements;
+        private volatile boolean broken;
+        private long since;
+
+        PoolEntry(final PooledConnection pooled, final Connection connection, final StatementCache statements) {
+            this.pooled = pooled;
+            this.connection = connection;
+            this.statements = statements;
+        }
+    }
+
+    /** The client's view of a pooled connection: closing it returns the connection to the pool, preparing a statement
+     * looks up the connection's statement cache. */
+    private class Handle implements InvocationHandler {
+        private final PoolEntry entry;
+        private boolean released;
+
+        Handle(final PoolEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "close":
+                if (!this.released) {
+                    this.released = true;
+                    checkIn(this.entry);
+                }
+                return null;
+            case "isClosed":
+                return this.released;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Pooled" + this.entry.connection.toString();
+            default:
+                break;
+            }
+            if (this.released) {
+                throw new SQLException("The connection has been returned to the pool.");
+            }
+            if ("prepareStatement".equals(method.getName())) {
+                final Class<?>[] types = method.getParameterTypes();
+                if (types.length == 1) {
+                    return this.entry.statements.prepare((Connection) proxy, this.entry.connection, (String) args[0]);
+                }
+                if (types.length == 2 && types[1] == int.class) {
+                    return this.entry.statements.prepare((Connection) proxy, this.entry.connection, (String) args[0],
+                            (Integer) args[1]);
+                }
+            }
+            try {
+                return method.invoke(this.entry.connection, args);
+            } catch (final InvocationTargetException exc) {
+                throw exc.getCause();
+            }
+        }
+    }
+
+    /** The pool's settings.
+     *
+     * @param maxSize int the maximal number of physical connections
+     * @param maxWait long the maximal time (in milliseconds) to wait for a free connection
+     * @param idleTimeout long the time (in milliseconds) after which an idle connection is closed
+     * @param validationTimeout int the time (in seconds) to wait for the database while validating a connection
+     * @param statementCacheSize int the maximal number of prepared statements cached per connection */
+    public record Settings(int maxSize, long maxWait, long idleTimeout, int validationTimeout,
+            int statementCacheSize) {
+        public static final Settings DEFAULT = new Settings(10, 30_000, 300_000, 2, 50);
+    }
+
+}
@@ -19,6 +19,7 @@
 
 package org.hip.kernel.dbaccess;
 
+import java.util.Objects;
 import java.util.Properties;
 
 import org.osgi.service.jdbc.DataSourceFactory;
@@ -119,6 +120,24 @@ public class DBAccessConfiguration {
         return this.user == null ? true : this.user.length() == 0 && this.password == null ? true : this.password.length() == 0;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.dbSourceID, this.server, this.schema, this.user, this.password);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof final DBAccessConfiguration other)) {
+            return false;
+        }
+        return Objects.equals(this.dbSourceID, other.dbSourceID) && Objects.equals(this.server, other.server)
+                && Objects.equals(this.schema, other.schema) && Objects.equals(this.user, other.user)
+                && Objects.equals(this.password, other.password);
+    }
+
     @Override
     public String toString() { // NOPMD by lbenno
         return String.format("DBAccessConfiguration[server=%s, schema=%s, user=%s]", this.server, this.schema, this.user);
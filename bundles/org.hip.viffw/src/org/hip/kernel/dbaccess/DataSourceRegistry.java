@@ -36,7 +36,9 @@ import org.osgi.service.jdbc.DataSourceFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** The registry of <code>DataSourceFactory</code> components.
+/** The registry of <code>DataSourceFactory</code> components.<br>
+ * The connections handed out by this registry are borrowed from a {@link ConnectionPool} per
+ * <code>DBAccessConfiguration</code> and returned to the pool when closed.
  *
  * @author Luthiger Created: 26.01.2012 */
 public enum DataSourceRegistry {
@@ -45,6 +47,11 @@ public enum DataSourceRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(DataSourceRegistry.class);
 
     private final Map<String, FactoryWrapper> factories = new ConcurrentHashMap<>();
+    private final Map<DBAccessConfiguration, ConnectionPool> pools = new ConcurrentHashMap<>();
+    private static final int DFT_FETCH_SIZE = 100;
+
+    private ConnectionPool.Settings poolSettings = ConnectionPool.Settings.DEFAULT;
+    private int fetchSize = DFT_FETCH_SIZE;
     private DBAccessConfiguration activeConfiguration;
     private DataSourceFactory activeFactory = new NOOpFactory();
 
@@ -68,6 +75,11 @@ public enum DataSourceRegistry {
         for (final FactoryWrapper wrapper : this.factories.values()) {
             if (wrapper.getFactory().equals(factory)) {
                 this.factories.remove(wrapper.getDriverName());
+                for (final DBAccessConfiguration configuration : this.pools.keySet()) {
+                    if (wrapper.getDriverName().equals(configuration.getDBSourceID())) {
+                        closePool(configuration);
+                    }
+                }
                 return;
             }
         }
@@ -127,7 +139,11 @@ public enum DataSourceRegistry {
      * @param activeConfiguration {@link DBAccessConfiguration}
      * @return <code>true</code> if the registry configured to return <code>DataSource</code> instances */
     public boolean setActiveConfiguration(final DBAccessConfiguration activeConfiguration) {
+        final DBAccessConfiguration previous = this.activeConfiguration;
         this.activeConfiguration = activeConfiguration;
+        if (previous != null && !previous.equals(activeConfiguration)) {
+            closePool(previous);
+        }
         synchronized (this) {
             final FactoryWrapper factory = this.factories.get(activeConfiguration.getDBSourceID());
             if (factory == null) {
@@ -152,6 +168,28 @@ public enum DataSourceRegistry {
      * @param factory {@link DataSourceFactory} */
     public void setFactory(final DataSourceFactory factory) {
         this.activeFactory = factory;
+        if (this.activeConfiguration != null) {
+            closePool(this.activeConfiguration);
+        }
+    }
+
+    /** Sets the settings of the connection pools. The settings are applied to pools created after this call.
+     *
+     * @param settings {@link ConnectionPool.Settings} */
+    public void setPoolSettings(final ConnectionPool.Settings settings) {
+        this.poolSettings = settings;
+    }
+
+    /** Sets the number of rows streaming query results fetch from the database at once.
+     *
+     * @param fetchSize int */
+    public void setFetchSize(final int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /** @return int the number of rows streaming query results fetch from the database at once */
+    public int getFetchSize() {
+        return this.fetchSize;
     }
 
     private DataSourceFactory getFactory() throws VException {
@@ -181,8 +219,8 @@ public enum DataSourceRegistry {
      * @throws SQLException
      * @throws VException */
     public Connection getConnection() throws SQLException, VException {
-        return getFactory().createConnectionPoolDataSource(this.activeConfiguration.getProperties()).getPooledConnection()
-                .getConnection();
+        final DataSourceFactory factory = getFactory();
+        return getPool(this.activeConfiguration, factory).getConnection();
     }
 
     /** Returns a pooled <code>Connection</code> based on the specified <code>DBAccessConfiguration</code>.
@@ -192,7 +230,40 @@ public enum DataSourceRegistry {
      * @throws SQLException
      * @throws VException */
     public Connection getConnection(final DBAccessConfiguration inConfiguration) throws SQLException, VException {
-        return getConnectionPoolDataSource(inConfiguration).getPooledConnection().getConnection();
+        return getPool(inConfiguration, getFactory(inConfiguration)).getConnection();
+    }
+
+    private ConnectionPool getPool(final DBAccessConfiguration configuration, final DataSourceFactory factory)
+            throws SQLException {
+        final ConnectionPool pool = this.pools.get(configuration);
+        if (pool != null) {
+            return pool;
+        }
+        synchronized (this.pools) {
+            ConnectionPool outPool = this.pools.get(configuration);
+            if (outPool == null) {
+                outPool = new ConnectionPool(factory.createConnectionPoolDataSource(configuration.getProperties()),
+                        this.poolSettings);
+                this.pools.put(configuration, outPool);
+                LOG.debug("Created connection pool for {}.", configuration);
+            }
+            return outPool;
+        }
+    }
+
+    private void closePool(final DBAccessConfiguration configuration) {
+        final ConnectionPool pool = this.pools.remove(configuration);
+        if (pool != null) {
+            pool.close();
+            LOG.debug("Closed connection pool for {}.", configuration);
+        }
+    }
+
+    /** Closes all connection pools, e.g. before the application shuts down or the database is deleted. */
+    public void closePools() {
+        for (final DBAccessConfiguration configuration : this.pools.keySet()) {
+            closePool(configuration);
+        }
     }
 
     /** Returns the DB adapter type matching the actual DB access configuration.
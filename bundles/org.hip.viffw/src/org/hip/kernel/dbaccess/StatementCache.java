@@ -0,0 +1,227 @@
+/**
+	This package is part of the application VIF.
+	Copyright (C) 2011-2025, Benno Luthiger
+
+	This program is free software; you can redistribute it and/or modify
+	it under the terms of the GNU General Public License as published by
+	the Free Software Foundation; either version 2 of the License, or
+	(at your option) any later version.
+
+	This program is distributed in the hope that it will be useful,
+	but WITHOUT ANY WARRANTY; without even the implied warranty of
+	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+	GNU General Public License for more details.
+
+	You should have received a copy of the GNU General Public License
+	along with this program; if not, write to the Free Software
+	Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package org.hip.kernel.dbaccess;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** LRU cache of the <code>PreparedStatement</code>s of one physical connection, keyed by the SQL string.<br>
+ * The statements handed out by the cache are returned to the cache when the client closes them. A statement still in
+ * use is not handed out a second time, a new (uncached) statement is prepared instead.<br>
+ * Note: the cache is bound to a pooled connection, i.e. it is used by one thread at a time and needs no
+ * synchronization.
+ *
+ * @author Luthiger */
+class StatementCache {
+    private static final Logger LOG = LoggerFactory.getLogger(StatementCache.class);
+    private static final int NO_GENERATED_KEYS = -1;
+
+    private final int maxSize;
+    private final Map<StatementKey, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** @param maxSize int the maximal number of cached statements, <code>0</code> disables caching */
+    StatementCache(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /** Returns a prepared statement for the specified SQL string.
+     *
+     * @param handle {@link Connection} the connection handle the client works with
+     * @param connection {@link Connection} the underlying connection
+     * @param sql String
+     * @return {@link PreparedStatement}
+     * @throws SQLException */
+    PreparedStatement prepare(final Connection handle, final Connection connection, final String sql)
+            throws SQLException {
+        return prepare(handle, connection, sql, NO_GENERATED_KEYS);
+    }
+
+    /** Returns a prepared statement for the specified SQL string that may retrieve auto-generated keys.
+     *
+     * @param handle {@link Connection} the connection handle the client works with
+     * @param connection {@link Connection} the underlying connection
+     * @param sql String
+     * @param autoGeneratedKeys int see {@link Connection#prepareStatement(String, int)}
+     * @return {@link PreparedStatement}
+     * @throws SQLException */
+    PreparedStatement prepare(final Connection handle, final Connection connection, final String sql,
+            final int autoGeneratedKeys) throws SQLException {
+        if (this.maxSize <= 0) {
+            return create(connection, sql, autoGeneratedKeys);
+        }
+        final StatementKey key = new StatementKey(sql, autoGeneratedKeys);
+        CachedStatement cached = this.statements.get(key);
+        if (cached == null) {
+            cached = new CachedStatement(create(connection, sql, autoGeneratedKeys));
+            this.statements.put(key, cached);
+            evict();
+        } else if (cached.inUse) {
+            return create(connection, sql, autoGeneratedKeys);
+        }
+        return cached.lease(handle);
+    }
+
+    private PreparedStatement create(final Connection connection, final String sql, final int autoGeneratedKeys)
+            throws SQLException {
+        return autoGeneratedKeys == NO_GENERATED_KEYS ? connection.prepareStatement(sql)
+                : connection.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    private void evict() {
+        final Iterator<CachedStatement> eldest = this.statements.values().iterator();
+        while (this.statements.size() > this.maxSize && eldest.hasNext()) {
+            final CachedStatement statement = eldest.next();
+            eldest.remove();
+            if (statement.inUse) {
+                statement.evicted = true;
+            } else {
+                statement.close();
+            }
+        }
+    }
+
+    /** Returns all statements still in use to the cache, e.g. when the connection is returned to the pool. */
+    void releaseAll() {
+        for (final CachedStatement statement : new ArrayList<>(this.statements.values())) {
+            if (statement.inUse) {
+                statement.release();
+            }
+        }
+    }
+
+    /** Closes all cached statements. */
+    void closeAll() {
+        for (final CachedStatement statement : this.statements.values()) {
+            statement.close();
+        }
+        this.statements.clear();
+    }
+
+    /** @return int the number of cached statements */
+    int size() {
+        return this.statements.size();
+    }
+
+    // ---
+
+    private record StatementKey(String sql, int autoGeneratedKeys) {
+    }
+
+    private static class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+        private Lease lease;
+
+        CachedStatement(final PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement lease(final Connection handle) {
+            this.inUse = true;
+            this.lease = new Lease(this, handle);
+            return (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, this.lease);
+        }
+
+        void release() {
+            if (this.lease != null) {
+                this.lease.closed = true;
+                this.lease = null;
+            }
+            this.inUse = false;
+            if (this.evicted) {
+                close();
+                return;
+            }
+            try {
+                this.statement.clearParameters();
+                this.statement.clearBatch();
+                this.statement.clearWarnings();
+            } catch (final SQLException exc) {
+                LOG.debug("Error encountered while resetting a cached statement: {}", exc.getMessage());
+            }
+        }
+
+        void close() {
+            try {
+                this.statement.close();
+            } catch (final SQLException exc) {
+                LOG.debug("Error encountered while closing a cached statement: {}", exc.getMessage());
+            }
+        }
+    }
+
+    /** The client's view of a cached statement: closing it returns the statement to the cache. */
+    private static class Lease implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection handle;
+        private boolean closed;
+
+        Lease(final CachedStatement cached, final Connection handle) {
+            this.cached = cached;
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "close":
+                if (!this.closed) {
+                    this.cached.release();
+                }
+                return null;
+            case "isClosed":
+                return this.closed;
+            case "getConnection":
+                return this.handle;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Cached" + this.cached.statement.toString();
+            default:
+                break;
+            }
+            if (this.closed) {
+                throw new SQLException("The statement has been closed.");
+            }
+            try {
+                return method.invoke(this.cached.statement, args);
+            } catch (final InvocationTargetException exc) {
+                throw exc.getCause();
+            }
+        }
+    }
+
+}
@@ -19,10 +19,11 @@
 
 package org.hip.kernel.sys;
 
+import org.hip.kernel.dbaccess.DataSourceRegistry;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
-/** We only need the activator to read the bundle's release version.
+/** We only need the activator to read the bundle's release version and to release the pooled DB connections.
  *
  * @author Luthiger Created on 17.04.2008 */
 public class FWActivator implements BundleActivator {
@@ -41,6 +42,7 @@ public class FWActivator implements BundleActivator {
 
     @Override
     public void stop(final BundleContext inContext) throws Exception { // NOPMD by lbenno 
+        DataSourceRegistry.INSTANCE.closePools();
         cBundleContext = null; // NOPMD by lbenno 
     }
 
@@ -19,6 +19,7 @@
 package org.hip.kernel.util;
 
 import org.hip.kernel.bom.impl.AbstractSemanticObject;
+import org.hip.kernel.bom.impl.CompactPropertySet;
 import org.hip.kernel.bom.impl.PropertySetImpl;
 import org.hip.kernel.bom.model.impl.PropertyDefImpl;
 
@@ -42,6 +43,9 @@ public final class CloneHelper {
         else if (out instanceof PropertySetImpl) {
             out = ((PropertySetImpl) out).clone();
         }
+        else if (out instanceof CompactPropertySet) {
+            out = ((CompactPropertySet) out).clone();
+        }
         else if (out instanceof AbstractNameValueList) {
             out = ((AbstractNameValueList) out).clone();
         }
@@ -0,0 +1,252 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.derby.jdbc.EmbeddedDriver;
+import org.elbe.relations.data.test.DataHouseKeeper;
+import org.hip.kernel.dbaccess.ConnectionPool;
+import org.hip.kernel.dbaccess.DBAccessConfiguration;
+import org.hip.kernel.dbaccess.DataSourceRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.osgi.service.jdbc.DataSourceFactory;
+
+/**
+ * JUnit test of the <code>ConnectionPool</code> and the statement cache of
+ * its connections, run against an in-memory Derby database.
+ *
+ * @author Luthiger
+ */
+public class ConnectionPoolTest {
+    private static final String DATABASE = "memory:relations_pool";
+    private static final String URL = "jdbc:derby:" + DATABASE;
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (this.pool != null) {
+            this.pool.close();
+        }
+        try {
+            new EmbeddedDriver().connect(URL + ";drop=true", new Properties());
+        } catch (final SQLException exc) {
+            // the database is dropped
+        }
+    }
+
+    @Test
+    public void testBoundedWait() throws Exception {
+        this.pool = createPool(new ConnectionPool.Settings(1, 300, 60_000, 2, 10));
+        final Connection connection = this.pool.getConnection();
+
+        final long start = System.nanoTime();
+        assertThrows(SQLException.class, this.pool::getConnection);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+        assertEquals(1, this.pool.getActiveCount());
+
+        // the waiting client gets the connection as soon as it's returned
+        final CompletableFuture<Void> release = CompletableFuture.runAsync(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+                connection.close();
+            } catch (final InterruptedException | SQLException exc) {
+                throw new IllegalStateException(exc);
+            }
+        });
+        try (Connection waiting = this.pool.getConnection()) {
+            assertTrue(connection.isClosed());
+            assertFalse(waiting.isClosed());
+        }
+        release.join();
+        assertEquals(0, this.pool.getActiveCount());
+        assertEquals(1, this.pool.getIdleCount());
+    }
+
+    @Test
+    public void testCheckIn() throws Exception {
+        this.pool = createPool(new ConnectionPool.Settings(1, 1000, 60_000, 2, 10));
+        try (Connection connection = this.pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tblPool (PoolID INT)");
+        }
+
+        final Connection connection = this.pool.getConnection();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO tblPool VALUES (1)");
+        }
+        connection.close();
+        assertThrows(SQLException.class, connection::createStatement);
+
+        // the same physical connection, rolled back and in auto commit mode again
+        try (Connection reused = this.pool.getConnection()) {
+            assertTrue(reused.getAutoCommit());
+            assertEquals(0, count(reused, "SELECT COUNT(*) FROM tblPool"));
+        }
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        this.pool = createPool(new ConnectionPool.Settings(2, 1000, 50, 2, 10));
+        final Connection first = this.pool.getConnection();
+        final Connection second = this.pool.getConnection();
+        final PreparedStatement statement = prepare(first, "VALUES 1");
+        first.close();
+        assertEquals(1, this.pool.getIdleCount());
+        assertFalse(statement.isClosed());
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        // returning a connection evicts the connections idle too long
+        second.close();
+        assertEquals(1, this.pool.getIdleCount());
+        assertTrue(statement.isClosed());
+    }
+
+    @Test
+    public void testValidation() throws Exception {
+        this.pool = createPool(new ConnectionPool.Settings(1, 1000, 60_000, 2, 10));
+        try (Connection connection = this.pool.getConnection()) {
+            assertEquals(1, count(connection, "VALUES 1"));
+        }
+        assertEquals(1, this.pool.getIdleCount());
+
+        // the idle connection is closed behind the pool's back
+        assertThrows(SQLException.class,
+                () -> new EmbeddedDriver().connect(URL + ";shutdown=true", new Properties()));
+
+        try (Connection connection = this.pool.getConnection()) {
+            assertEquals(1, count(connection, "VALUES 1"));
+        }
+        assertEquals(1, this.pool.getIdleCount());
+    }
+
+    @Test
+    public void testStatementCache() throws Exception {
+        this.pool = createPool(new ConnectionPool.Settings(1, 1000, 60_000, 2, 10));
+        try (Connection connection = this.pool.getConnection()) {
+            final PreparedStatement cached = prepare(connection, "VALUES 1");
+            final PreparedStatement lease = connection.prepareStatement("VALUES 1");
+            assertSame(cached, lease.unwrap(PreparedStatement.class));
+
+            // the cached statement is in use, a fresh statement is prepared
+            try (PreparedStatement fresh = connection.prepareStatement("VALUES 1")) {
+                assertNotSame(cached, fresh.unwrap(PreparedStatement.class));
+                assertEquals(1, count(fresh));
+            }
+            assertEquals(1, count(lease));
+            lease.close();
+            assertTrue(lease.isClosed());
+            assertFalse(cached.isClosed());
+            assertSame(cached, prepare(connection, "VALUES 1"));
+        }
+    }
+
+    @Test
+    public void testStatementCacheBound() throws Exception {
+        this.pool = createPool(new ConnectionPool.Settings(1, 1000, 60_000, 2, 2));
+        try (Connection connection = this.pool.getConnection()) {
+            final PreparedStatement first = prepare(connection, "VALUES 1");
+            final PreparedStatement second = prepare(connection, "VALUES 2");
+            assertSame(first, prepare(connection, "VALUES 1"));
+
+            // the least recently used statement is evicted
+            final PreparedStatement third = prepare(connection, "VALUES 3");
+            assertTrue(second.isClosed());
+            assertFalse(first.isClosed());
+            assertFalse(third.isClosed());
+            assertNotSame(second, prepare(connection, "VALUES 2"));
+            assertTrue(first.isClosed());
+        }
+    }
+
+    @Test
+    public void testCloseOnConfigurationChange() throws Exception {
+        final DataSourceRegistry registry = DataSourceRegistry.INSTANCE;
+        final DBAccessConfiguration active = DataHouseKeeper.INSTANCE.getConfiguration();
+        final PreparedStatement idle;
+        final PreparedStatement inUse;
+        try (Connection connection = registry.getConnection()) {
+            try (Connection other = registry.getConnection()) {
+                idle = prepare(other, "VALUES 1");
+            }
+            inUse = prepare(connection, "VALUES 1");
+
+            registry.setActiveConfiguration(
+                    new DBAccessConfiguration(active.getDBSourceID(), "", DATABASE, "", ""));
+            // the idle connection is closed at once, the one in use when it's returned
+            assertTrue(idle.isClosed());
+            assertFalse(inUse.isClosed());
+        } finally {
+            registry.setActiveConfiguration(active);
+        }
+        assertTrue(inUse.isClosed());
+
+        try (Connection connection = registry.getConnection()) {
+            assertEquals(1, count(connection, "VALUES 1"));
+        }
+    }
+
+    private ConnectionPool createPool(final ConnectionPool.Settings settings) throws SQLException {
+        final Properties properties = new Properties();
+        properties.put(DataSourceFactory.JDBC_DATABASE_NAME, DATABASE);
+        return new ConnectionPool(new TestDataSourceFactoryDerby().createConnectionPoolDataSource(properties),
+                settings);
+    }
+
+    /**
+     * Prepares the statement and returns it to the cache.
+     *
+     * @return {@link PreparedStatement} the cached statement
+     */
+    private PreparedStatement prepare(final Connection connection, final String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            return statement.unwrap(PreparedStatement.class);
+        }
+    }
+
+    private int count(final Connection connection, final String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            return count(statement);
+        }
+    }
+
+    private int count(final PreparedStatement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery()) {
+            result.next();
+            return result.getInt(1);
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.elbe.relations.data.bom.Term;
+import org.elbe.relations.data.bom.TermHome;
+import org.elbe.relations.data.test.DataHouseKeeper;
+import org.hip.kernel.bom.GeneralDomainObject;
+import org.hip.kernel.bom.GettingException;
+import org.hip.kernel.bom.QueryResult;
+import org.hip.kernel.bom.impl.AbstractDomainObjectHome;
+import org.hip.kernel.exc.VException;
+import org.hip.kernel.sys.VSys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test of the mapping of result sets to domain objects: the home
+ * compiles a mapper for every shape of result set and maps columns not defined
+ * in the object definition only if the domain object allows to add them.
+ *
+ * @author Luthiger
+ */
+public class RowMapperTest {
+    private static final String SQL_FULL = "SELECT * FROM tblTerm ORDER BY TERMID";
+    private static final String SQL_NARROW = "SELECT STITLE, TERMID FROM tblTerm ORDER BY TERMID";
+    private static final String SQL_UNKNOWN = "SELECT TERMID, STITLE, 5 AS NEXTRA FROM tblTerm ORDER BY TERMID";
+    private static final String EXTRA = "NEXTRA";
+
+    private static DataHouseKeeper data;
+
+    @BeforeAll
+    public static void init() {
+        data = DataHouseKeeper.INSTANCE;
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        data.createTerm("term 1", "text 1");
+        data.createTerm("term 2", "text 2");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        data.deleteAllInAll();
+    }
+
+    @Test
+    public void testShapes() throws Exception {
+        final TermHome home = data.getTermHome();
+        List<GeneralDomainObject> terms = select(home, SQL_FULL);
+        assertEquals(2, terms.size());
+        assertEquals("term 1", terms.get(0).get(TermHome.KEY_TITLE));
+        assertEquals("text 1", terms.get(0).get(TermHome.KEY_TEXT));
+        // the mappers are compiled by the home of the loaded domain objects
+        final AbstractDomainObjectHome mapping = (AbstractDomainObjectHome) terms.get(0).getHome();
+        final int shapes = countShapes(mapping);
+
+        // the result set of an other shape gets its own mapper
+        terms = select(home, SQL_NARROW);
+        assertEquals(2, terms.size());
+        assertEquals("term 2", terms.get(1).get(TermHome.KEY_TITLE));
+        assertNull(terms.get(1).get(TermHome.KEY_TEXT));
+        assertEquals(shapes + 1, countShapes(mapping));
+
+        // the mappers of both shapes are reused
+        terms = select(home, SQL_FULL);
+        assertEquals("text 2", terms.get(1).get(TermHome.KEY_TEXT));
+        terms = select(home, SQL_NARROW);
+        assertEquals("term 1", terms.get(0).get(TermHome.KEY_TITLE));
+        assertEquals(shapes + 1, countShapes(mapping));
+    }
+
+    @Test
+    public void testUnknownColumnSkipped() throws Exception {
+        final List<GeneralDomainObject> terms = select(data.getTermHome(), SQL_UNKNOWN);
+        assertEquals(2, terms.size());
+        final GeneralDomainObject term = terms.get(0);
+        assertEquals("term 1", term.get(TermHome.KEY_TITLE));
+        // the domain object doesn't allow dynamic add, the column is not mapped
+        assertThrows(GettingException.class, () -> term.get(EXTRA));
+    }
+
+    @Test
+    public void testUnknownColumnAdded() throws Exception {
+        final List<GeneralDomainObject> terms = select(
+                (AbstractDomainObjectHome) VSys.homeManager.getHome(DynamicTermHome.class.getName()), SQL_UNKNOWN);
+        assertEquals(2, terms.size());
+        for (final GeneralDomainObject term : terms) {
+            assertEquals(DynamicTerm.class, term.getClass());
+            // the column is added as calculated, i.e. numerical value
+            assertEquals(Long.valueOf(5), term.get(EXTRA));
+        }
+        assertEquals("term 2", terms.get(1).get(TermHome.KEY_TITLE));
+    }
+
+    private List<GeneralDomainObject> select(final AbstractDomainObjectHome home, final String sql)
+            throws VException, SQLException {
+        final List<GeneralDomainObject> outTerms = new ArrayList<>();
+        try (QueryResult result = home.createQueryStatement().setSQLString(sql).executeQuery()) {
+            while (result.hasMoreElements()) {
+                outTerms.add(result.next());
+            }
+        }
+        return outTerms;
+    }
+
+    private int countShapes(final AbstractDomainObjectHome home) throws ReflectiveOperationException {
+        final Field mappers = AbstractDomainObjectHome.class.getDeclaredField("rowMappers");
+        mappers.setAccessible(true);
+        return ((Map<?, ?>) mappers.get(home)).size();
+    }
+
+    // ---
+
+    /** A term allowing columns not defined in its object definition. */
+    @SuppressWarnings("serial")
+    public static class DynamicTerm extends Term {
+        @Override
+        public String getHomeClassName() {
+            return DynamicTermHome.class.getName();
+        }
+
+        @Override
+        public boolean isDynamicAddAllowed() {
+            return true;
+        }
+    }
+
+    /** The home of the {@link DynamicTerm}. */
+    @SuppressWarnings("serial")
+    public static class DynamicTermHome extends TermHome {
+        @Override
+        public String getObjectClassName() {
+            return DynamicTerm.class.getName();
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.elbe.relations.data.bom.TermHome;
+import org.elbe.relations.data.test.DataHouseKeeper;
+import org.hip.kernel.bom.QueryResult;
+import org.hip.kernel.bom.impl.DefaultQueryStatement;
+import org.hip.kernel.bom.impl.StreamingQueryResult;
+import org.hip.kernel.dbaccess.ConnectionPool;
+import org.hip.kernel.dbaccess.DataSourceRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * JUnit test of the <code>StreamingQueryResult</code>. The pool is limited to
+ * one connection, thus, a query fails while a streaming result holds the
+ * connection.
+ *
+ * @author Luthiger
+ */
+public class StreamingQueryResultTest {
+    private static final int FETCH_SIZE = 2;
+
+    private static DataHouseKeeper data;
+
+    @BeforeAll
+    public static void init() {
+        data = DataHouseKeeper.INSTANCE;
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        final DataSourceRegistry registry = DataSourceRegistry.INSTANCE;
+        registry.setPoolSettings(new ConnectionPool.Settings(1, 200, 300_000, 2, 50));
+        registry.setFetchSize(FETCH_SIZE);
+        // closes the pool, the next one is created with the settings above
+        registry.setFactory(new TestDataSourceFactoryDerby());
+
+        data.createTerm("term 1");
+        data.createTerm("term 2");
+        data.createTerm("term 3");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        data.deleteAllInAll();
+        final DataSourceRegistry registry = DataSourceRegistry.INSTANCE;
+        registry.setPoolSettings(ConnectionPool.Settings.DEFAULT);
+        registry.setFetchSize(100);
+        registry.setFactory(new TestDataSourceFactoryDerby());
+    }
+
+    @Test
+    public void testStreaming() throws Exception {
+        final TermHome home = data.getTermHome();
+        try (QueryResult result = home.select(true)) {
+            assertTrue(result instanceof StreamingQueryResult);
+            int count = 0;
+            while (result.hasMoreElements()) {
+                assertNotNull(result.next());
+                count++;
+            }
+            assertEquals(3, count);
+            assertFalse(result.hasMoreElements());
+
+            // the exhausted result has returned the connection
+            assertEquals(3, home.getCount());
+        }
+    }
+
+    @Test
+    public void testClosePartial() throws Exception {
+        final TermHome home = data.getTermHome();
+        final QueryResult result = home.select(true);
+        assertNotNull(result.next());
+        assertTrue(result.hasMoreElements());
+        // the result holds the pool's only connection
+        assertThrows(SQLException.class, home::getCount);
+
+        result.close();
+        assertFalse(result.hasMoreElements());
+        assertEquals(3, home.getCount());
+    }
+
+    @Test
+    public void testCloseResources() throws Exception {
+        final Connection connection = DataSourceRegistry.INSTANCE.getConnection();
+        final Statement statement = connection.createStatement();
+        final ResultSet resultSet = statement.executeQuery("SELECT * FROM tblTerm");
+        final StreamingQueryResult result = new StreamingQueryResult(data.getTermHome(), connection, statement,
+                resultSet);
+        assertNotNull(result.next());
+        assertFalse(resultSet.isClosed());
+
+        result.close();
+        assertTrue(resultSet.isClosed());
+        assertTrue(statement.isClosed());
+        assertTrue(connection.isClosed());
+        // closing again is a no-op
+        result.close();
+    }
+
+    @Test
+    public void testFetchSize() throws Exception {
+        // Derby fetches the configured number of rows
+        assertEquals(FETCH_SIZE, executeStreaming("Apache Derby"));
+        // MySQL streams the rows only with this fetch size
+        assertEquals(Integer.MIN_VALUE, executeStreaming("MySQL"));
+    }
+
+    private int executeStreaming(final String productName) throws Exception {
+        final Connection connection = mock(Connection.class);
+        final DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
+        final Statement statement = mock(Statement.class);
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(connection.getMetaData()).thenReturn(databaseMetaData);
+        when(databaseMetaData.getDatabaseProductName()).thenReturn(productName);
+        when(connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+        .thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(mock(ResultSetMetaData.class));
+
+        final DefaultQueryStatement query = new DefaultQueryStatement(data.getTermHome()) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected Connection getConnection() {
+                return connection;
+            }
+        };
+        query.setSQLString("SELECT * FROM tblTerm");
+        try (QueryResult result = query.executeStreamingQuery(FETCH_SIZE)) {
+            // the empty result is exhausted at once
+            assertFalse(result.hasMoreElements());
+        }
+        verify(connection).close();
+        final ArgumentCaptor<Integer> fetchSize = ArgumentCaptor.forClass(Integer.class);
+        verify(statement).setFetchSize(fetchSize.capture());
+        return fetchSize.getValue();
+    }
+
+}
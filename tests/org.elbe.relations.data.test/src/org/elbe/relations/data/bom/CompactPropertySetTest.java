@@ -0,0 +1,198 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.bom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hip.kernel.bom.Property;
+import org.hip.kernel.bom.PropertySet;
+import org.hip.kernel.bom.impl.CompactPropertySet;
+import org.hip.kernel.bom.impl.PropertyImpl;
+import org.hip.kernel.bom.impl.PropertySetImpl;
+import org.hip.kernel.exc.VException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test of the parity of the <code>CompactPropertySet</code> with the
+ * <code>PropertySetImpl</code>: the same sequence of changes applied to a term
+ * storing its properties in either set leads to the same values and changed
+ * state.
+ *
+ * @author Luthiger
+ */
+public class CompactPropertySetTest {
+    private static final Timestamp TIMESTAMP = new Timestamp(1387719218782l);
+
+    private Term compact;
+    private Term reference;
+
+    @BeforeEach
+    public void setUp() {
+        this.compact = new Term();
+        this.reference = new ReferenceTerm();
+    }
+
+    @Test
+    public void testSets() {
+        assertTrue(this.compact.propertySet() instanceof CompactPropertySet);
+        assertTrue(this.reference.propertySet() instanceof PropertySetImpl);
+        assertEquals(this.reference.propertySet().getNames2().size(), this.compact.propertySet().size());
+        assertParity();
+    }
+
+    @Test
+    public void testSet() throws Exception {
+        load();
+        assertFalse(this.compact.isChanged());
+
+        // setting the initial value again doesn't change the property
+        set(TermHome.KEY_TITLE, "title");
+        assertFalse(this.compact.isChanged());
+
+        set(TermHome.KEY_TITLE, "changed");
+        assertTrue(this.compact.isChanged());
+        set(TermHome.KEY_TEXT, "changed");
+        assertEquals(2, this.compact.propertySet().getChangedProperties2().size());
+
+        // setting the initial value resets the change
+        set(TermHome.KEY_TITLE, "title");
+        set(TermHome.KEY_TEXT, "text");
+        assertFalse(this.compact.isChanged());
+    }
+
+    @Test
+    public void testChangedNull() throws Exception {
+        load();
+        set(TermHome.KEY_TEXT, null);
+        assertTrue(hasChangedNull(this.compact));
+
+        set(TermHome.KEY_TEXT, "text");
+        assertFalse(hasChangedNull(this.compact));
+        assertFalse(this.compact.isChanged());
+
+        // a property without value isn't initialized by null
+        this.compact.setVirgin();
+        this.reference.setVirgin();
+        set(TermHome.KEY_TEXT, null);
+        assertFalse(hasChangedNull(this.compact));
+        set(TermHome.KEY_TEXT, "text");
+        assertFalse(this.compact.isChanged());
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        load();
+        set(TermHome.KEY_TITLE, "changed");
+
+        // adding a property resets it and initializes it with the new value
+        add(TermHome.KEY_TITLE, "added");
+        assertFalse(this.compact.isChanged());
+        set(TermHome.KEY_TITLE, "changed");
+        assertTrue(this.compact.isChanged());
+
+        // the virgin set has neither values nor changes
+        this.compact.setVirgin();
+        this.reference.setVirgin();
+        assertParity();
+        assertFalse(this.compact.isChanged());
+        load();
+        assertFalse(this.compact.isChanged());
+    }
+
+    @Test
+    public void testNotifyInit() throws Exception {
+        this.compact.propertySet().notifyInit(true);
+        this.reference.propertySet().notifyInit(true);
+        set(TermHome.KEY_TITLE, "title");
+        set(TermHome.KEY_TEXT, null);
+        assertEquals(1, this.compact.propertySet().getChangedProperties2().size());
+
+        this.compact.propertySet().notifyInit(false);
+        this.reference.propertySet().notifyInit(false);
+        set(TermHome.KEY_TEXT, "text");
+        assertEquals(1, this.compact.propertySet().getChangedProperties2().size());
+    }
+
+    private void load() throws VException {
+        set(TermHome.KEY_ID, 123l);
+        set(TermHome.KEY_TITLE, "title");
+        set(TermHome.KEY_TEXT, "text");
+        set(TermHome.KEY_CREATED, TIMESTAMP);
+        set(TermHome.KEY_MODIFIED, TIMESTAMP);
+    }
+
+    /** Applies the change to both terms and checks their parity. */
+    private void set(final String name, final Object value) throws VException {
+        this.compact.set(name, value);
+        this.reference.set(name, value);
+        assertParity();
+    }
+
+    private void add(final String name, final Object value) {
+        this.compact.propertySet().add(new PropertyImpl(this.compact.propertySet(), name, value));
+        this.reference.propertySet().add(new PropertyImpl(this.reference.propertySet(), name, value));
+        assertParity();
+    }
+
+    private void assertParity() {
+        assertEquals(state(this.reference.propertySet()), state(this.compact.propertySet()));
+        assertEquals(this.reference.isChanged(), this.compact.isChanged());
+        assertEquals(hasChangedNull(this.reference), hasChangedNull(this.compact));
+    }
+
+    /** @return Map<String, String> the value and changed flag of every property */
+    private Map<String, String> state(final PropertySet set) {
+        final Map<String, String> outState = new TreeMap<>();
+        for (final String name : set.getNames2()) {
+            final Property property = (Property) set.get(name);
+            outState.put(name, property.getValue() + (property.isChanged() ? " (changed)" : ""));
+        }
+        return outState;
+    }
+
+    /** @return boolean <code>true</code> if a property is changed to
+     *         <code>null</code>, see <code>DomainObjectImpl.update()</code> */
+    private boolean hasChangedNull(final Term term) {
+        for (final Property property : term.propertySet().getChangedProperties2()) {
+            if (property.getValue() == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---
+
+    /** A term storing its properties in a <code>PropertySetImpl</code>. */
+    @SuppressWarnings("serial")
+    private static class ReferenceTerm extends Term {
+        @Override
+        protected PropertySet createPropertySet() {
+            return new PropertySetImpl(this);
+        }
+    }
+
+}
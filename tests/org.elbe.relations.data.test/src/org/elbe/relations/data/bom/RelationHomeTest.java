@@ -19,11 +19,15 @@
 package org.elbe.relations.data.bom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Iterator;
+
 import org.elbe.relations.data.internal.bom.Relation;
 import org.elbe.relations.data.test.DataHouseKeeper;
+import org.elbe.relations.data.utility.UniqueID;
 import org.hip.kernel.bom.QueryResult;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -162,4 +166,110 @@ public class RelationHomeTest {
         assertEquals(16, storeHome.getCount());
     }
 
+    @Test
+    public void testNewRelations() throws Exception {
+        final RelationHome home = data.getRelationHome();
+        final EventStoreHome storeHome = data.getEventStoreHome();
+        final AbstractText text = data.createText("The Book", "Smith");
+        assertEquals(4, storeHome.getCount());
+
+        final long[] related = { key(this.term2), key(this.person), key(text) };
+        final long[] ids = home.newRelations(this.term1, related);
+        assertEquals(3, ids.length);
+        assertEquals(3, home.getCount());
+        assertEquals(7, storeHome.getCount());
+
+        final Relation relation = home.getRelation(ids[1]);
+        assertEquals(IItem.TERM, relation.getItemType1());
+        assertEquals(this.term1.getID(), relation.getItemId1());
+        assertEquals(IItem.PERSON, relation.getItemType2());
+        assertEquals(this.person.getID(), relation.getItemId2());
+        assertEquals(ids[2], home.getRelation(IItem.TERM, this.term1.getID(), IItem.TEXT, text.getID()).getID());
+
+        assertEquals(0, home.newRelations(this.term1, new long[0]).length);
+        assertEquals(3, home.getCount());
+    }
+
+    @Test
+    public void testDeleteRelationsBatch() throws Exception {
+        final RelationHome home = data.getRelationHome();
+        final EventStoreHome storeHome = data.getEventStoreHome();
+        home.newRelation(this.term1, this.term2);
+        home.newRelation(this.person, this.term1);
+        final long kept = home.newRelation(this.term2, this.person).getID();
+        assertEquals(6, storeHome.getCount());
+
+        // relations in both directions are deleted, unrelated items are ignored
+        final AbstractTerm unrelated = data.createTerm("unrelated");
+        assertEquals(2, home.deleteRelations(this.term1,
+                new long[] { key(this.term2), key(this.person), key(unrelated) }));
+        assertEquals(1, home.getCount());
+        assertEquals(9, storeHome.getCount());
+        assertEquals(kept, home.getRelation(IItem.TERM, this.term2.getID(), IItem.PERSON, this.person.getID())
+                .getID());
+
+        assertEquals(0, home.deleteRelations(this.term1, new long[] { key(this.term2) }));
+        assertEquals(9, storeHome.getCount());
+    }
+
+    @Test
+    public void testGetRelatedItems() throws Exception {
+        final AbstractItem lText = data.createText("The Book", "Smith");
+        final RelationHome lHome = data.getRelationHome();
+        final long lRelationID = lHome.newRelation(this.term1, this.term2).getID();
+        lHome.newRelation(lText, this.term1);
+        lHome.newRelation(this.term1, this.person);
+        lHome.newRelation(this.person, lText);
+
+        // related in both directions, ordered by type
+        final Iterator<IItem> lRelated = lHome.getRelatedItems(this.term1).iterator();
+        IItem lItem = lRelated.next();
+        assertEquals(IItem.TERM, lItem.getItemType());
+        assertEquals(this.term2.getID(), lItem.getID());
+        assertEquals("Term2", lItem.getTitle());
+        assertEquals(lRelationID, ((IRelated) lItem).getRelationID());
+        lItem = lRelated.next();
+        assertEquals(IItem.TEXT, lItem.getItemType());
+        assertEquals("The Book", lItem.getTitle());
+        assertEquals("Smith", ((AbstractText) lItem).getAuthor());
+        lItem = lRelated.next();
+        assertEquals(IItem.PERSON, lItem.getItemType());
+        assertEquals("Pan, Peter", lItem.getTitle());
+        assertFalse(lRelated.hasNext());
+
+        assertEquals(2, lHome.getRelatedItems(this.person).size());
+        assertEquals(1, lHome.getRelatedItems(this.term2).size());
+    }
+
+    @Test
+    public void testGetRelatedTitles() throws Exception {
+        final AbstractText lText = data.createText("The Book", "Smith");
+        final RelationHome lHome = data.getRelationHome();
+        final long lRelationID = lHome.newRelation(this.person, this.term1).getID();
+        lHome.newRelation(lText, this.person);
+
+        final Iterator<IItem> lRelated = lHome.getRelatedTitles(this.person).iterator();
+        RelatedItem lItem = (RelatedItem) lRelated.next();
+        assertEquals(IItem.TERM, lItem.getItemType());
+        assertEquals(this.term1.getID(), lItem.getID());
+        assertEquals("Term1", lItem.getTitle());
+        assertEquals(lRelationID, lItem.getRelationID());
+        assertEquals(this.term1, lItem);
+        lItem = (RelatedItem) lRelated.next();
+        assertEquals("Item 'The Book'", lItem.toString());
+        assertFalse(lRelated.hasNext());
+
+        // the full item is loaded lazily
+        assertFalse(lItem.isLoaded());
+        assertEquals("Smith", ((AbstractText) lItem.getItem()).getAuthor());
+        assertTrue(lItem.isLoaded());
+
+        lItem = (RelatedItem) lHome.getRelatedTitles(this.term1).iterator().next();
+        assertEquals("Pan, Peter", lItem.getTitle());
+    }
+
+    private static long key(final IItem item) {
+        return UniqueID.createUniqueID(item).getKey();
+    }
+
 }
@@ -19,12 +19,19 @@
 package org.elbe.relations.data.bom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
 import java.sql.Timestamp;
 
 import org.elbe.relations.data.test.DataHouseKeeper;
+import org.hip.kernel.bom.IGetValueStrategy;
+import org.hip.kernel.bom.KeyCriterion;
+import org.hip.kernel.bom.KeyObject;
+import org.hip.kernel.bom.QueryResult;
+import org.hip.kernel.bom.impl.CriteriumValueStrategy;
+import org.hip.kernel.bom.impl.KeyObjectImpl;
 import org.hip.kernel.exc.VException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -90,4 +97,20 @@ public class TermHomeTest {
         assertEquals("This Text", text, term.get(TermHome.KEY_TEXT).toString());
     }
 
+    @Test
+    public void testSelectKeepsValueStrategy() throws Exception {
+        final TermHome home = data.getTermHome();
+        final AbstractTerm term = home.newTerm("Title", "Text");
+
+        final KeyObject key = new KeyObjectImpl();
+        key.setValue(TermHome.KEY_ID, term.getID());
+        final IGetValueStrategy strategy = new CriteriumValueStrategy();
+        key.setGetValueStrategy(strategy);
+        try (QueryResult result = home.select(key)) {
+            assertTrue(result.hasMoreElements());
+        }
+        // the prepared select doesn't replace the key's strategy
+        assertSame(strategy, ((KeyCriterion) key.getItems2().iterator().next()).getGetValueStrategy());
+    }
+
 }
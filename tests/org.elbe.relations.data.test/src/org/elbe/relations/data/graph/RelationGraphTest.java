@@ -0,0 +1,176 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.elbe.relations.data.bom.AbstractPerson;
+import org.elbe.relations.data.bom.AbstractTerm;
+import org.elbe.relations.data.bom.AbstractText;
+import org.elbe.relations.data.bom.IItem;
+import org.elbe.relations.data.bom.RelationHome;
+import org.elbe.relations.data.internal.bom.Relation;
+import org.elbe.relations.data.test.DataHouseKeeper;
+import org.elbe.relations.data.utility.UniqueID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Luthiger
+ */
+public class RelationGraphTest {
+    private static DataHouseKeeper data;
+
+    private AbstractTerm term;
+    private AbstractText text;
+    private AbstractPerson person;
+
+    @BeforeAll
+    public static void init() {
+        data = DataHouseKeeper.INSTANCE;
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        this.term = data.createTerm("Term");
+        this.text = data.createText("Text", "Author");
+        this.person = data.createPerson("Pan", "Peter");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        RelationGraph.INSTANCE.clear();
+        data.deleteAllInAll();
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        final long lKey = RelationGraph.key(IItem.PERSON, 12345L);
+        assertEquals(IItem.PERSON, RelationGraph.typeOf(lKey));
+        assertEquals(12345L, RelationGraph.idOf(lKey));
+        assertFalse(lKey == RelationGraph.key(IItem.TERM, 12345L));
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        final RelationHome lHome = data.getRelationHome();
+        lHome.newRelation(this.term, this.text);
+        lHome.newRelation(this.term, this.person);
+
+        assertFalse(RelationGraph.INSTANCE.isLoaded());
+        assertEquals(0, RelationGraph.INSTANCE.getDegree(IItem.TERM, this.term.getID()));
+
+        RelationGraph.INSTANCE.load();
+        assertTrue(RelationGraph.INSTANCE.isLoaded());
+        assertEquals(2, RelationGraph.INSTANCE.getNumberOfRelations());
+        assertEquals(2, RelationGraph.INSTANCE.getDegree(IItem.TERM, this.term.getID()));
+        assertEquals(1, RelationGraph.INSTANCE.getDegree(IItem.TEXT, this.text.getID()));
+        assertTrue(RelationGraph.INSTANCE.isAssociated(IItem.TEXT, this.text.getID(), IItem.TERM, this.term.getID()));
+        assertFalse(
+                RelationGraph.INSTANCE.isAssociated(IItem.TEXT, this.text.getID(), IItem.PERSON, this.person.getID()));
+
+        assertTrue(
+                RelationGraph.INSTANCE.isAssociated(IItem.TERM, this.term.getID(), IItem.PERSON, this.person.getID()));
+
+        final RelationGraph.Statistics lStatistics = RelationGraph.INSTANCE.getStatistics();
+        assertEquals(3, lStatistics.items());
+        assertEquals(2, lStatistics.relations());
+        assertEquals(2, lStatistics.maxDegree());
+        assertTrue(lStatistics.memory() > 0);
+    }
+
+    @Test
+    public void testMaintenance() throws Exception {
+        RelationGraph.INSTANCE.load();
+        assertEquals(0, RelationGraph.INSTANCE.getNumberOfRelations());
+
+        final RelationHome lHome = data.getRelationHome();
+        final Relation lRelation = lHome.newRelation(this.term, this.text);
+        lHome.newRelation(this.term, this.person);
+        lHome.newRelation(this.text, this.person);
+        assertEquals(3, RelationGraph.INSTANCE.getNumberOfRelations());
+        assertTrue(RelationGraph.INSTANCE.isAssociated(IItem.TERM, this.term.getID(), IItem.TEXT, this.text.getID()));
+
+        lHome.deleteRelation(lRelation.getID());
+        assertEquals(2, RelationGraph.INSTANCE.getNumberOfRelations());
+        assertFalse(RelationGraph.INSTANCE.isAssociated(IItem.TERM, this.term.getID(), IItem.TEXT, this.text.getID()));
+
+        lHome.deleteRelation(IItem.PERSON, this.person.getID(), IItem.TEXT, this.text.getID());
+        assertEquals(1, RelationGraph.INSTANCE.getNumberOfRelations());
+        assertEquals(0, RelationGraph.INSTANCE.getDegree(IItem.TEXT, this.text.getID()));
+
+        lHome.newRelation(this.text, this.person);
+        lHome.deleteRelations(this.person);
+        assertEquals(0, RelationGraph.INSTANCE.getNumberOfRelations());
+        assertEquals(0, RelationGraph.INSTANCE.getDegree(IItem.TERM, this.term.getID()));
+        assertEquals(0, RelationGraph.INSTANCE.getStatistics().items());
+    }
+
+    @Test
+    public void testHome() throws Exception {
+        RelationGraph.INSTANCE.load();
+        final RelationHome lHome = data.getRelationHome();
+        lHome.newRelation(this.term, this.text);
+
+        // the graph answers for the items without relations
+        assertTrue(lHome.getRelatedItems(this.person).isEmpty());
+        assertTrue(lHome.getRelatedTitles(this.person).isEmpty());
+        assertEquals(1, lHome.getRelatedItems(this.text).size());
+
+        assertEquals(0,
+                lHome.deleteRelations(this.term, new long[] { UniqueID.pack(IItem.PERSON, this.person.getID()) }));
+        assertEquals(1, lHome.deleteRelations(this.term, new long[] { UniqueID.pack(IItem.TEXT, this.text.getID()) }));
+        assertEquals(0, RelationGraph.INSTANCE.getNumberOfRelations());
+    }
+
+    @Test
+    public void testGrowth() throws Exception {
+        final AdjacencyLists lAdjacency = new AdjacencyLists(0);
+        final RelationEnds lRelations = new RelationEnds(0);
+        final long lCenter = RelationGraph.key(IItem.TERM, 1);
+        for (long i = 1; i <= 1000; i++) {
+            final long lNode = RelationGraph.key(IItem.TEXT, i);
+            lRelations.put(i, lCenter, lNode);
+            lAdjacency.add(lCenter, lNode, i);
+            lAdjacency.add(lNode, lCenter, i);
+        }
+        assertEquals(1001, lAdjacency.size());
+        assertEquals(1000, lRelations.size());
+        assertEquals(1000, lAdjacency.degree(lCenter));
+
+        for (long i = 1; i <= 1000; i += 2) {
+            assertTrue(lAdjacency.remove(lCenter, i));
+            assertTrue(lAdjacency.remove(RelationGraph.key(IItem.TEXT, i), i));
+            lRelations.remove(i);
+        }
+        assertEquals(501, lAdjacency.size());
+        assertEquals(500, lRelations.size());
+        assertEquals(500, lAdjacency.degree(lCenter));
+        assertTrue(lAdjacency.contains(lCenter, RelationGraph.key(IItem.TEXT, 2)));
+        assertFalse(lAdjacency.contains(lCenter, RelationGraph.key(IItem.TEXT, 3)));
+        final int lSlot = lRelations.find(4);
+        assertEquals(RelationGraph.key(IItem.TEXT, 4), lRelations.second(lSlot));
+    }
+
+}
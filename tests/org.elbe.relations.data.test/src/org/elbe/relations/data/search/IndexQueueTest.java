@@ -0,0 +1,136 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.search;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.elbe.relations.data.bom.AbstractTerm;
+import org.elbe.relations.data.bom.BOMHelper;
+import org.elbe.relations.data.bom.IItem;
+import org.elbe.relations.data.internal.search.IndexerRegistration;
+import org.elbe.relations.data.test.DataHouseKeeper;
+import org.elbe.relations.data.utility.UniqueID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Luthiger
+ */
+public class IndexQueueTest {
+    private static DataHouseKeeper data;
+
+    private IIndexer mockIndexer;
+    private RelationsIndexer indexer;
+
+    @BeforeAll
+    public static void init() {
+        data = DataHouseKeeper.INSTANCE;
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        this.mockIndexer = mock(IIndexer.class);
+        IndexerRegistration.INSTANCE.register(this.mockIndexer);
+        this.indexer = new TestIndexer();
+        // the index is up to date with the event store
+        IndexQueue.INSTANCE.reindexed(this.indexer, BOMHelper.getEventStoreHome().getLatestID());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        IndexQueue.INSTANCE.stop();
+        data.deleteAllInAll();
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        // the term is stored in the event store, but not indexed
+        final AbstractTerm lTerm = data.createTerm("term for replay");
+
+        IndexQueue.INSTANCE.start(this.indexer);
+        assertTrue(IndexQueue.INSTANCE.isServing(this.indexer));
+        IndexQueue.INSTANCE.flush();
+
+        verify(this.mockIndexer).updateDocument(eq(UniqueID.getStringOf(IItem.TERM, lTerm.getID())),
+                eq(AbstractSearching.UNIQUE_ID), any(IndexerDocument.class), eq(this.indexer.getIndexPath()),
+                eq(this.indexer.getLanguage()));
+        verify(this.mockIndexer).commit(this.indexer.getIndexPath());
+
+        // the replayed changes are not replayed again
+        IndexQueue.INSTANCE.stop();
+        assertFalse(IndexQueue.INSTANCE.isServing(this.indexer));
+        verify(this.mockIndexer).closeIndex(this.indexer.getIndexPath());
+        final IIndexer lIndexer = mock(IIndexer.class);
+        IndexerRegistration.INSTANCE.register(lIndexer);
+        IndexQueue.INSTANCE.start(this.indexer);
+        IndexQueue.INSTANCE.flush();
+        verify(lIndexer, never()).updateDocument(anyString(), anyString(), any(IndexerDocument.class), any(),
+                anyString());
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        IndexQueue.INSTANCE.start(this.indexer);
+        IndexQueue.INSTANCE.flush();
+
+        final AbstractTerm lTerm = data.createTerm("term to coalesce");
+        final String lUniqueID = UniqueID.getStringOf(IItem.TERM, lTerm.getID());
+        this.indexer.addToIndex((IIndexable) lTerm);
+        this.indexer.refreshItemInIndex(lTerm);
+        this.indexer.deleteItemInIndex(lUniqueID);
+        IndexQueue.INSTANCE.flush();
+
+        // only the latest change is applied
+        verify(this.mockIndexer).deleteItemInIndex(lUniqueID, AbstractSearching.UNIQUE_ID,
+                this.indexer.getIndexPath(), this.indexer.getLanguage());
+        verify(this.mockIndexer, never()).updateDocument(anyString(), anyString(), any(IndexerDocument.class),
+                any(), anyString());
+        verify(this.mockIndexer, never()).processIndexer(any(IndexerHelper.class), any(), anyString());
+    }
+
+    // ---
+
+    private static class TestIndexer extends RelationsIndexer {
+
+        public TestIndexer() {
+            super("test_queue");
+        }
+
+        @Override
+        protected String getLanguage() {
+            return "en";
+        }
+
+        @Override
+        protected DirectoryFactory getDirectoryFactory() {
+            return new TempDirectoryFactory();
+        }
+    }
+
+}
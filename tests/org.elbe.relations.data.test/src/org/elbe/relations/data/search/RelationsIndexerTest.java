@@ -19,13 +19,19 @@
 package org.elbe.relations.data.search;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Locale;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -78,6 +84,8 @@ public class RelationsIndexerTest {
         verify(lIndexer1).initializeIndex(this.indexer.getIndexPath(), Locale.ENGLISH.getLanguage());
         verify(lIndexer1, times(3)).processIndexer(any(IndexerHelper.class), eq(this.indexer.getIndexPath()),
                 eq(this.indexer.getLanguage()));
+        // the rebuilt index is committed before its checkpoint is saved
+        verify(lIndexer1).commit(this.indexer.getIndexPath());
 
         // index term
         final IIndexer lIndexer2 = mock(IIndexer.class);
@@ -107,6 +115,45 @@ public class RelationsIndexerTest {
                 eq(this.indexer.getLanguage()));
     }
 
+    @Test
+    public void testRefreshIndexParallel() throws IOException, VException, Exception {
+        final IIndexer lIndexer = mock(IIndexer.class);
+        IndexerRegistration.INSTANCE.register(lIndexer);
+        data.createTerm("term for indexing");
+        data.createPerson("Doe", "Jane");
+        data.createText("text for indexing", "Doe, Jane");
+
+        final int lIndexed = this.indexer.refreshIndex(this.monitor, 2);
+        assertEquals(3, lIndexed);
+        verify(lIndexer).initializeIndex(this.indexer.getIndexPath(), Locale.ENGLISH.getLanguage());
+        verify(lIndexer, atLeastOnce()).processIndexer(any(IndexerHelper.class), eq(this.indexer.getIndexPath()),
+                eq(this.indexer.getLanguage()));
+        verify(lIndexer).commit(this.indexer.getIndexPath());
+    }
+
+    @Test
+    public void testRefreshIndexInterrupted() throws Exception {
+        final IIndexer lIndexer = mock(IIndexer.class);
+        IndexerRegistration.INSTANCE.register(lIndexer);
+        data.createTerm("term for indexing");
+        final Path lIndexPath = Files.createDirectories(this.indexer.getIndexPath());
+        IndexQueue.INSTANCE.writeCheckpoint(lIndexPath, 0);
+
+        // the workers interrupt the thread waiting for them, e.g. a job stopped on shutdown
+        final Thread lCaller = Thread.currentThread();
+        doAnswer(invocation -> {
+            lCaller.interrupt();
+            return null;
+        }).when(lIndexer).processIndexer(any(IndexerHelper.class), eq(this.indexer.getIndexPath()),
+                eq(this.indexer.getLanguage()));
+        this.indexer.refreshIndex(this.monitor, 2);
+        assertTrue(Thread.interrupted());
+
+        // the partial index is neither committed nor checkpointed
+        verify(lIndexer, never()).commit(this.indexer.getIndexPath());
+        assertEquals(0, IndexQueue.INSTANCE.readCheckpoint(lIndexPath));
+    }
+
     // ---
 
     private static class TestIndexer extends RelationsIndexer {
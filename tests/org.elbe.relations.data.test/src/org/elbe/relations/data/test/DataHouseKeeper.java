@@ -80,6 +80,7 @@ public enum DataHouseKeeper {
     private static final int SLEEP_PERIOD = 50; // milliseconds 50 200
     private static final String EMBEDDED_DERBY = "org.apache.derby.jdbc.EmbeddedDriver/Derby (embedded)/10.5.1.1";
     private boolean isEmbeddedDerby = false;
+    private DBAccessConfiguration configuration;
 
     DataHouseKeeper() {
         // initMySQL();
@@ -94,6 +95,14 @@ public enum DataHouseKeeper {
         return this.isEmbeddedDerby;
     }
 
+    /**
+     * @return {@link DBAccessConfiguration} the DB access configuration the
+     *         test data is stored with
+     */
+    public DBAccessConfiguration getConfiguration() {
+        return this.configuration;
+    }
+
     public TermHome getTermHome() {
         return BOMHelper.getTermHome();
     }
@@ -200,7 +209,8 @@ public enum DataHouseKeeper {
     private void initMySQL() {
         try {
             DataSourceRegistry.INSTANCE.setFactory(new TestDataSourceFactoryMySQL());
-            DataSourceRegistry.INSTANCE.setActiveConfiguration(createDBAccessConfiguration());
+            this.configuration = createDBAccessConfiguration();
+            DataSourceRegistry.INSTANCE.setActiveConfiguration(this.configuration);
             VSys.setContextPath(new File("").getAbsolutePath());
         }
         catch (final IOException exc) {
@@ -212,7 +222,8 @@ public enum DataHouseKeeper {
         try {
             this.isEmbeddedDerby = true;
             DataSourceRegistry.INSTANCE.setFactory(new TestDataSourceFactoryDerby());
-            DataSourceRegistry.INSTANCE.setActiveConfiguration(createDBAccessConfigurationEmbedded());
+            this.configuration = createDBAccessConfigurationEmbedded();
+            DataSourceRegistry.INSTANCE.setActiveConfiguration(this.configuration);
             VSys.setContextPath(new File("").getAbsolutePath());
             createEmbeddedTables();
         }
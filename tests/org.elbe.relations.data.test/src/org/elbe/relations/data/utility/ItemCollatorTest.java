@@ -43,6 +43,21 @@ public class ItemCollatorTest {
         assertEqualList(SORTED, lTest);
     }
 
+    @Test
+    public void testSortKeys() throws Exception {
+        final List<IItem> lTest = new ArrayList<IItem>();
+        lTest.add(createPerson("Zuberbhler", ""));
+        lTest.add(createTerm("Zuber"));
+        lTest.add(createTerm("MMM"));
+        lTest.add(createPerson("Mller", ""));
+        lTest.add(createTerm("mmm"));
+
+        final ItemCollator lCollator = new ItemCollator();
+        lCollator.setStrength(Collator.SECONDARY);
+        lCollator.sort(lTest);
+        assertEqualList(SORTED, lTest);
+    }
+
     private IItem createPerson(final String inName, final String inFirstname) throws VException {
         final AbstractItem outPerson = new Person();
         outPerson.set(PersonHome.KEY_NAME, inName);
@@ -0,0 +1,110 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.data.utility;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.elbe.relations.data.bom.IItem;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Luthiger
+ */
+public class LongSetTest {
+
+    @Test
+    public void testSet() {
+        final LongSet lSet = new LongSet();
+        assertTrue(lSet.isEmpty());
+        assertTrue(lSet.add(UniqueID.pack(1, 12)));
+        assertTrue(lSet.add(UniqueID.pack(2, 12)));
+        assertFalse(lSet.add(UniqueID.pack(1, 12)));
+        assertEquals(2, lSet.size());
+
+        assertTrue(lSet.contains(UniqueID.pack(2, 12)));
+        assertFalse(lSet.contains(UniqueID.pack(3, 12)));
+
+        assertTrue(lSet.remove(UniqueID.pack(1, 12)));
+        assertFalse(lSet.remove(UniqueID.pack(1, 12)));
+        assertFalse(lSet.contains(UniqueID.pack(1, 12)));
+        assertArrayEquals(new long[] { UniqueID.pack(2, 12) }, lSet.toArray());
+
+        lSet.clear();
+        assertTrue(lSet.isEmpty());
+        assertFalse(lSet.contains(UniqueID.pack(2, 12)));
+        assertFalse(lSet.contains(0));
+
+        assertThrows(IllegalArgumentException.class, () -> lSet.add(0));
+    }
+
+    @Test
+    public void testGrowth() {
+        final LongSet lSet = new LongSet();
+        for (long i = 1; i <= 10000; i++) {
+            lSet.add(UniqueID.pack(IItem.TERM, i));
+        }
+        // remove every second, the slots are reused
+        for (long i = 2; i <= 10000; i += 2) {
+            lSet.remove(UniqueID.pack(IItem.TERM, i));
+        }
+        for (long i = 1; i <= 10000; i++) {
+            lSet.add(UniqueID.pack(IItem.TEXT, i));
+        }
+        assertEquals(15000, lSet.size());
+        for (long i = 1; i <= 10000; i++) {
+            assertEquals(i % 2 == 1, lSet.contains(UniqueID.pack(IItem.TERM, i)));
+            assertTrue(lSet.contains(UniqueID.pack(IItem.TEXT, i)));
+        }
+        final long[] lValues = lSet.toArray();
+        Arrays.sort(lValues);
+        assertEquals(UniqueID.pack(IItem.TERM, 1), lValues[0]);
+    }
+
+    @Test
+    public void testMap() {
+        final LongMap<String> lMap = new LongMap<>();
+        final Map<Long, String> lExpected = new HashMap<>();
+        final Random lRandom = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            final long lKey = UniqueID.pack(1 + lRandom.nextInt(3), 1 + lRandom.nextInt(2000));
+            if (lRandom.nextInt(3) == 0) {
+                assertEquals(lExpected.remove(lKey), lMap.remove(lKey));
+            } else {
+                final String lValue = "value " + i;
+                assertEquals(lExpected.put(lKey, lValue), lMap.put(lKey, lValue));
+            }
+        }
+        assertEquals(lExpected.size(), lMap.size());
+        lExpected.forEach((key, value) -> assertEquals(value, lMap.get(key)));
+        lMap.forEach((key, value) -> assertEquals(value, lExpected.get(key)));
+        assertNull(lMap.get(UniqueID.pack(1, 3000)));
+    }
+
+}
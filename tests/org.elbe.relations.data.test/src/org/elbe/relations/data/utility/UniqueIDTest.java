@@ -2,6 +2,7 @@ package org.elbe.relations.data.utility;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import org.junit.jupiter.api.Test;
 
@@ -31,4 +32,18 @@ public class UniqueIDTest {
         assertFalse(lID1.equals(lID4));
     }
 
+    @Test
+    public void testKey() {
+        final UniqueID lID = new UniqueID(3, 5989L);
+        final long lKey = lID.getKey();
+        assertEquals(UniqueID.pack(3, 5989L), lKey);
+        assertEquals(3, UniqueID.typeOf(lKey));
+        assertEquals(5989L, UniqueID.idOf(lKey));
+        assertEquals(lID, new UniqueID(lKey));
+        assertEquals(lID.hashCode(), new UniqueID("3:5989").hashCode());
+
+        assertNotEquals(lKey, new UniqueID(2, 5989L).getKey());
+        assertNotEquals(lKey, new UniqueID(3, 5990L).getKey());
+    }
+
 }
@@ -43,6 +43,8 @@ public class IndexHouseKeeper {
 
     public void tearDown(final Path tempDir) throws IOException {
         // IndexerRegistration.getInstance().unregister(index);
+        // release the index writers held open by the indexer
+        this.index.deactivate();
         this.index = null;
         // Files.delete(tempDir); not needed, as tempDir is JUnit @TempDir
     }
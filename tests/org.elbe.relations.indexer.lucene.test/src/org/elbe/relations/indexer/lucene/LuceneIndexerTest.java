@@ -19,13 +19,21 @@
 package org.elbe.relations.indexer.lucene;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
 import org.elbe.relations.data.search.AbstractSearching;
 import org.elbe.relations.data.search.IIndexer;
 import org.elbe.relations.data.search.IndexerDocument;
@@ -46,6 +54,9 @@ public class LuceneIndexerTest {
     @TempDir(cleanup = CleanupMode.ON_SUCCESS)
     private Path tempDir;
 
+    @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+    private Path backupDir;
+
     @BeforeEach
     public void setUp() throws IOException {
         this.housekeeper.setUp(this.tempDir);
@@ -98,6 +109,116 @@ public class LuceneIndexerTest {
         assertEquals(1, lIndexer.numberOfIndexed(this.tempDir));
     }
 
+    @Test
+    void testUpdateDocument() throws Exception {
+        final String uniqueID = "2:987";
+        final String fieldName = AbstractSearching.ITEM_ID;
+
+        final IndexerHelper docIndexer = addDocument(getDocIndexer(), fieldName, uniqueID, IndexerField.Type.ID);
+        final IIndexer indexer = new LuceneIndexer();
+        indexer.processIndexer(docIndexer, this.tempDir, IndexHouseKeeper.LANGUAGE);
+        assertEquals(2, indexer.numberOfIndexed(this.tempDir));
+
+        final IndexerDocument document = new IndexerDocument();
+        document.addField(new IndexerField(fieldName, uniqueID, IndexerField.Store.YES, IndexerField.Type.ID, 1.0f));
+        indexer.updateDocument(uniqueID, fieldName, document, this.tempDir, IndexHouseKeeper.LANGUAGE);
+        assertEquals(2, indexer.numberOfIndexed(this.tempDir));
+
+        // not indexed yet: the document is added
+        final IndexerDocument newDocument = new IndexerDocument();
+        newDocument.addField(new IndexerField(fieldName, "2:988", IndexerField.Store.YES, IndexerField.Type.ID, 1.0f));
+        indexer.updateDocument("2:988", fieldName, newDocument, this.tempDir, IndexHouseKeeper.LANGUAGE);
+        assertEquals(3, indexer.numberOfIndexed(this.tempDir));
+    }
+
+    @Test
+    void testSearchUncommitted() throws Exception {
+        final LuceneIndexer indexer = new LuceneIndexer();
+        indexer.activate(Map.of("commit.policy", "shutdown"));
+
+        final IndexerDocument document = new IndexerDocument();
+        document.addField(new IndexerField(AbstractSearching.UNIQUE_ID, "2:987", IndexerField.Store.YES,
+                IndexerField.Type.ID, 1.0f));
+        document.addField(new IndexerField(AbstractSearching.CONTENT_FULL, "relations", IndexerField.Store.YES,
+                IndexerField.Type.FULL_TEXT, 1.0f));
+        final IndexerHelper docIndexer = new IndexerHelper();
+        docIndexer.addDocument(document);
+        indexer.processIndexer(docIndexer, this.tempDir, IndexHouseKeeper.LANGUAGE);
+        // the change is visible before it is committed
+        assertEquals(1, indexer.search("relations", this.tempDir, IndexHouseKeeper.LANGUAGE, 10).size());
+
+        // shutdown commits the pending change
+        indexer.deactivate();
+        assertEquals(1, indexer.numberOfIndexed(this.tempDir));
+        indexer.activate(Map.of());
+    }
+
+    @Test
+    void testCloseIndex() throws Exception {
+        final LuceneIndexer indexer = new LuceneIndexer();
+        indexer.activate(Map.of("commit.policy", "shutdown"));
+        indexer.processIndexer(getDocIndexer(), this.tempDir, IndexHouseKeeper.LANGUAGE);
+
+        // closing commits the pending change and releases the writer's lock
+        indexer.closeIndex(this.tempDir);
+        try (Directory directory = FSDirectory.open(this.tempDir);
+                IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            assertEquals(1, writer.getDocStats().numDocs);
+        }
+
+        // the index is opened again when it's accessed
+        indexer.processIndexer(getDocIndexer(), this.tempDir, IndexHouseKeeper.LANGUAGE);
+        assertEquals(2, indexer.numberOfIndexed(this.tempDir));
+        indexer.deactivate();
+        indexer.activate(Map.of());
+    }
+
+    @Test
+    void testBackupIndex() throws Exception {
+        final LuceneIndexer indexer = new LuceneIndexer();
+        indexer.activate(Map.of("commit.policy", "shutdown"));
+        indexer.processIndexer(getDocIndexer(), this.tempDir, IndexHouseKeeper.LANGUAGE);
+
+        // the open index commits the pending change and copies the snapshotted commit
+        indexer.backupIndex(this.tempDir, this.backupDir);
+        assertFalse(Files.exists(this.backupDir.resolve(IndexWriter.WRITE_LOCK_NAME)));
+        assertEquals(1, indexer.numberOfIndexed(this.backupDir));
+        assertTrue(indexer.checkIndex(this.backupDir));
+
+        // the index is still usable
+        indexer.processIndexer(getDocIndexer(), this.tempDir, IndexHouseKeeper.LANGUAGE);
+        assertEquals(2, indexer.numberOfIndexed(this.tempDir));
+
+        // the closed index copies its latest commit
+        indexer.closeIndex(this.tempDir);
+        final Path closedCopy = Files.createDirectory(this.backupDir.resolve("closed"));
+        indexer.backupIndex(this.tempDir, closedCopy);
+        assertEquals(2, indexer.numberOfIndexed(closedCopy));
+        indexer.deactivate();
+        indexer.activate(Map.of());
+    }
+
+    @Test
+    void testCheckIndex() throws Exception {
+        final LuceneIndexer indexer = new LuceneIndexer();
+        indexer.processIndexer(getDocIndexer(), this.tempDir, IndexHouseKeeper.LANGUAGE);
+        indexer.closeIndex(this.tempDir);
+        assertTrue(indexer.checkIndex(this.tempDir));
+
+        // an empty directory contains no index
+        assertFalse(indexer.checkIndex(this.backupDir));
+
+        // a damaged segment file
+        try (Stream<Path> files = Files.list(this.tempDir)) {
+            for (final Path file : files.filter(file -> file.getFileName().toString().endsWith(".cfs")).toList()) {
+                final byte[] content = Files.readAllBytes(file);
+                content[content.length / 2] ^= 0x7f;
+                Files.write(file, content);
+            }
+        }
+        assertFalse(indexer.checkIndex(this.tempDir));
+    }
+
     private IndexerHelper getDocIndexer() {
         final IndexerHelper outIndexer = new IndexerHelper();
         return addDocument(outIndexer, "name", "value", IndexerField.Type.FULL_TEXT);
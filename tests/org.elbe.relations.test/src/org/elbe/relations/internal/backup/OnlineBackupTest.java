@@ -0,0 +1,184 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.backup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.e4.core.services.log.Logger;
+import org.elbe.relations.data.search.RelationsIndexer;
+import org.elbe.relations.data.test.DataHouseKeeper;
+import org.elbe.relations.internal.utility.ZipRestore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * JUnit test
+ *
+ * @author Luthiger
+ */
+@SuppressWarnings("restriction")
+@ExtendWith(MockitoExtension.class)
+public class OnlineBackupTest {
+    private static final String CATALOG = "catalog";
+    private static final String DERBY_BACKUP = "CALL SYSCS_UTIL.SYSCS_BACKUP_DATABASE(?)";
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private RelationsIndexer indexer;
+
+    private Path root;
+    private Path database;
+    private Path index;
+    private Path archive;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        this.root = Files.createTempDirectory("online_backup_");
+        // the database's copy as written by the backup procedure
+        this.database = Files.createDirectories(this.root.resolve("staging").resolve(CATALOG).resolve("seg0"))
+                .getParent();
+        Files.writeString(this.database.resolve("seg0").resolve("c10.dat"), "table");
+        Files.writeString(this.database.resolve("service.properties"), "properties");
+        // the index' copy as written by the indexer
+        this.index = Files.createDirectories(this.root.resolve("staging").resolve(".index"));
+        Files.writeString(this.index.resolve("_0.cfs"), "segment");
+        this.archive = this.root.resolve("backup.zip");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(this.root)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    public void testPack() throws Exception {
+        final OnlineBackup backup = createBackup();
+        assertEquals(3, backup.pack(this.database, this.index, false));
+
+        try (ZipFile zip = new ZipFile(this.archive.toFile())) {
+            final List<String> names = zip.stream().filter(entry -> !entry.isDirectory()).map(ZipEntry::getName)
+                    .toList();
+            assertEquals(3, names.size());
+            assertTrue(names.contains("catalog/seg0/c10.dat"));
+            assertTrue(names.contains("catalog/service.properties"));
+            assertTrue(names.contains(ZipRestore.ENTRY_INDEX + "_0.cfs"));
+        }
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        final OnlineBackup backup = createBackup();
+        backup.pack(this.database, this.index, false);
+
+        // nothing changed
+        assertEquals(0, backup.pack(this.database, this.index, true));
+
+        Files.writeString(this.database.resolve("seg0").resolve("c10.dat"), "changed");
+        Files.delete(this.database.resolve("service.properties"));
+        assertEquals(1, backup.pack(this.database, this.index, true));
+
+        try (ZipFile zip = new ZipFile(this.archive.toFile())) {
+            assertEquals(null, zip.getEntry("catalog/service.properties"));
+            assertEquals("changed",
+                    new String(zip.getInputStream(zip.getEntry("catalog/seg0/c10.dat")).readAllBytes()));
+        }
+    }
+
+    @Test
+    public void testBackup() throws Exception {
+        final DataHouseKeeper data = DataHouseKeeper.INSTANCE;
+        data.createTerm("test term");
+        doAnswer(invocation -> Files.writeString(invocation.<Path> getArgument(0).resolve("_0.cfs"), "segment"))
+        .when(this.indexer).backupIndex(any(Path.class));
+        try {
+            // the embedded test database
+            final File dataDirectory = new File("data/relations_test");
+            final OnlineBackup backup = new OnlineBackup(dataDirectory.getAbsolutePath(), this.indexer,
+                    this.archive.toString());
+            final int written = backup.backup(DERBY_BACKUP, false);
+            assertTrue(written > 2);
+
+            try (ZipFile zip = new ZipFile(this.archive.toFile())) {
+                assertTrue(zip.getEntry("relations_test/service.properties") != null);
+                assertTrue(zip.stream().anyMatch(entry -> entry.getName().startsWith("relations_test/seg0/")));
+                assertEquals("segment",
+                        new String(zip.getInputStream(zip.getEntry(ZipRestore.ENTRY_INDEX + "_0.cfs")).readAllBytes()));
+            }
+
+            // the unchanged files, e.g. the index' copy, are kept
+            assertTrue(backup.backup(DERBY_BACKUP, true) < written);
+            try (ZipFile zip = new ZipFile(this.archive.toFile())) {
+                assertTrue(zip.getEntry("relations_test/service.properties") != null);
+                assertTrue(zip.getEntry(ZipRestore.ENTRY_INDEX + "_0.cfs") != null);
+            }
+        } finally {
+            data.deleteAllInAll();
+        }
+    }
+
+    @Test
+    public void testRestore() throws Exception {
+        createBackup().pack(this.database, this.index, false);
+
+        final Path store = this.root.resolve("store");
+        final Path restoredIndex = this.root.resolve("restored");
+        Files.createDirectories(restoredIndex);
+        Files.writeString(restoredIndex.resolve("_1.cfs"), "obsolete");
+
+        final ZipRestore restore = new ZipRestore(store.toFile(), this.archive.toString(), this.log);
+        restore.setIndexDirectory(restoredIndex.toFile());
+        assertTrue(restore.checkArchive(CATALOG));
+        assertFalse(restore.checkArchive("catalo"));
+        assertTrue(restore.containsIndex());
+        restore.restore();
+
+        assertEquals("table", Files.readString(store.resolve(CATALOG).resolve("seg0").resolve("c10.dat")));
+        assertEquals("segment", Files.readString(restoredIndex.resolve("_0.cfs")));
+        assertFalse(Files.exists(restoredIndex.resolve("_1.cfs")));
+    }
+
+    private OnlineBackup createBackup() {
+        return new OnlineBackup(this.root.resolve("derby").resolve(CATALOG).toString(), this.indexer,
+                this.archive.toString());
+    }
+
+}
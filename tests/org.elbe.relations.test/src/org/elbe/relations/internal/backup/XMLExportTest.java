@@ -19,10 +19,21 @@
 package org.elbe.relations.internal.backup;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
 
+import java.io.EOFException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -33,7 +44,11 @@ import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.elbe.relations.data.bom.IItem;
+import org.elbe.relations.data.bom.RelationHome;
 import org.elbe.relations.data.test.DataHouseKeeper;
+import org.elbe.relations.data.utility.RelationsSerializer;
+import org.hip.kernel.bom.DomainObject;
+import org.hip.kernel.bom.GeneralDomainObject;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -176,4 +191,123 @@ public class XMLExportTest {
 
     }
 
+    @Test
+    public void testEntryWriter() throws Exception {
+        final IItem lTerm = data.createTerm("Tom & Jerry", //$NON-NLS-1$
+                "with control\u0008 characters\u001a & more"); //$NON-NLS-1$
+        final GeneralDomainObject lModel = (GeneralDomainObject) data
+                .getTermHome().getTerm(lTerm.getID());
+
+        final RelationsSerializer lSerializer = new RelationsSerializer();
+        lModel.accept(lSerializer);
+
+        final StringWriter lWriter = new StringWriter();
+        new XMLEntryWriter(lWriter, System.getProperty("line.separator")) //$NON-NLS-1$
+        .write(lModel);
+        assertEquals(lSerializer.toString(), lWriter.toString());
+    }
+
+    @Test
+    public void testParallelExport() throws Exception {
+        final Path lZipped = Files.createTempFile(FILE_PREFIX, ".zip"); //$NON-NLS-1$
+        try {
+            try (XMLExport lExporter = new ParallelZippedXMLExport(lZipped.toAbsolutePath().toString(),
+                    Locale.ENGLISH, 4)) {
+                assertEquals(4, lExporter.export(this.monitor));
+            }
+
+            final List<String> lNames = new ArrayList<>();
+            try (ZipFile lZip = new ZipFile(lZipped.toFile())) {
+                for (final ZipEntry lEntry : lZip.stream().toList()) {
+                    lNames.add(lEntry.getName());
+                }
+                assertEquals(List.of("TermEntries.xml", "TextEntries.xml", "PersonEntries.xml", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                        "RelationEntries.xml", ParallelZippedXMLExport.ENTRY_MANIFEST), lNames); //$NON-NLS-1$
+
+                final Document lManifest = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                        .parse(lZip.getInputStream(lZip.getEntry(ParallelZippedXMLExport.ENTRY_MANIFEST)));
+                final XPath lXPath = XPathFactory.newInstance().newXPath();
+                assertEquals("4", lXPath.evaluate("/RelationsExport/@countAll", lManifest)); //$NON-NLS-1$ //$NON-NLS-2$
+                assertEquals("1", lXPath.evaluate( //$NON-NLS-1$
+                        "/RelationsExport/Entry[@node='TermEntries']/@count", lManifest)); //$NON-NLS-1$
+
+                // the table's document counts the table's entries only
+                final Document lTerms = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                        .parse(lZip.getInputStream(lZip.getEntry("TermEntries.xml"))); //$NON-NLS-1$
+                assertEquals("1", lXPath.evaluate("/RelationsExport/@countAll", lTerms)); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
+            // the archive can be imported again
+            data.deleteAllInAll();
+            final int lImported = new ZippedXMLImport(lZipped.toString()).processFile(this.monitor, false);
+            assertEquals(4, lImported);
+            assertEquals(1, data.getTermHome().getCount());
+            assertEquals(1, data.getRelationHome().getCount());
+        } finally {
+            Files.deleteIfExists(lZipped);
+        }
+    }
+
+    @Test
+    public void testParallelExportCanceled() throws Exception {
+        final Path lZipped = Files.createTempFile(FILE_PREFIX, ".zip"); //$NON-NLS-1$
+        try {
+            when(this.monitor.isCanceled()).thenReturn(true);
+            try (XMLExport lExporter = new ParallelZippedXMLExport(lZipped.toAbsolutePath().toString(),
+                    Locale.ENGLISH, 4)) {
+                lExporter.export(this.monitor);
+            }
+            // an archive without manifest is deleted
+            assertFalse(Files.exists(lZipped));
+        } finally {
+            Files.deleteIfExists(lZipped);
+        }
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        final Path lSnapshot = Files.createTempFile(FILE_PREFIX, SnapshotExport.EXTENSION);
+        try {
+            try (AbstractExport lExporter = new SnapshotExport(lSnapshot.toAbsolutePath().toString(), 4)) {
+                assertEquals(4, lExporter.export(this.monitor));
+            }
+
+            // restore with generated IDs: the relation is rebound to the new items
+            data.deleteAllInAll();
+            final int lImported = new SnapshotImport(lSnapshot.toString()).processFile(this.monitor, false);
+            assertEquals(4, lImported);
+            assertEquals(1, data.getTermHome().getCount());
+            assertEquals(1, data.getTextHome().getCount());
+            assertEquals(1, data.getPersonHome().getCount());
+            assertEquals(1, data.getRelationHome().getCount());
+
+            final DomainObject lRelation = (DomainObject) data.getRelationHome().select().next();
+            final long lItem1 = ((Number) lRelation.get(RelationHome.KEY_ITEM1)).longValue();
+            final long lItem2 = ((Number) lRelation.get(RelationHome.KEY_ITEM2)).longValue();
+            assertEquals("test term", data.getTermHome().getTerm(lItem1).getTitle()); //$NON-NLS-1$
+            assertEquals("Doe, Jane", data.getPersonHome().getPerson(lItem2).getTitle()); //$NON-NLS-1$
+        } finally {
+            Files.deleteIfExists(lSnapshot);
+        }
+    }
+
+    @Test
+    public void testSnapshotTruncated() throws Exception {
+        final Path lSnapshot = Files.createTempFile(FILE_PREFIX, SnapshotExport.EXTENSION);
+        try {
+            try (AbstractExport lExporter = new SnapshotExport(lSnapshot.toAbsolutePath().toString(), 4)) {
+                lExporter.export(this.monitor);
+            }
+            try (FileChannel lChannel = FileChannel.open(lSnapshot, StandardOpenOption.WRITE)) {
+                lChannel.truncate(lChannel.size() - 10);
+            }
+
+            data.deleteAllInAll();
+            assertThrows(EOFException.class,
+                    () -> new SnapshotImport(lSnapshot.toString()).processFile(this.monitor, false));
+        } finally {
+            Files.deleteIfExists(lSnapshot);
+        }
+    }
+
 }
@@ -21,10 +21,18 @@ package org.elbe.relations.internal.backup;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.elbe.relations.data.bom.RelationHome;
 import org.elbe.relations.data.test.DataHouseKeeper;
+import org.hip.kernel.bom.DomainObject;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -77,6 +85,48 @@ public class XMLImportTest {
         assertEquals(1, data.getRelationHome().getCount());
     }
 
+    @Test
+    public void testImportBatched() throws Exception {
+        this.importer = new XMLImport(getPath());
+        this.importer.setBatchSize(1);
+        final int lImported = this.importer.processFile(this.monitor, false);
+        assertEquals(4, lImported);
+        assertEquals(1, data.getTermHome().getCount());
+        assertEquals(1, data.getPersonHome().getCount());
+        assertEquals(1, data.getRelationHome().getCount());
+
+        // the relation has to point to the newly created items
+        final DomainObject lRelation = (DomainObject) data.getRelationHome().select().next();
+        final long lItem1 = ((Number) lRelation.get(RelationHome.KEY_ITEM1)).longValue();
+        final long lItem2 = ((Number) lRelation.get(RelationHome.KEY_ITEM2)).longValue();
+        assertEquals("test term", data.getTermHome().getTerm(lItem1).getTitle());
+        assertEquals("Doe, Jane", data.getPersonHome().getPerson(lItem2).getTitle());
+    }
+
+    @Test
+    public void testImportZipped() throws Exception {
+        final Path lZipped = Files.createTempFile("relations_import", ".zip"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            try (OutputStream lStream = Files.newOutputStream(lZipped);
+                    ZipOutputStream lZip = new ZipOutputStream(lStream)) {
+                lZip.putNextEntry(new ZipEntry("export.xml")); //$NON-NLS-1$
+                Files.copy(Paths.get(getPath()), lZip);
+                lZip.closeEntry();
+            }
+
+            this.importer = new ZippedXMLImport(lZipped.toString());
+            this.importer.setWorkers(3);
+            final int lImported = this.importer.processFile(this.monitor, false);
+            assertEquals(4, lImported);
+            assertEquals(1, data.getTextHome().getCount());
+            assertEquals(1, data.getTermHome().getCount());
+            assertEquals(1, data.getPersonHome().getCount());
+            assertEquals(1, data.getRelationHome().getCount());
+        } finally {
+            Files.deleteIfExists(lZipped);
+        }
+    }
+
     private String getPath() {
         final URL lUrl = XMLImportTest.class.getResource(IMPORT_NAME);
         return lUrl.getPath();
@@ -0,0 +1,177 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.controls;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.e4.core.commands.ECommandService;
+import org.eclipse.e4.core.commands.EHandlerService;
+import org.eclipse.e4.ui.services.EMenuService;
+import org.eclipse.e4.ui.workbench.modeling.ESelectionService;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.elbe.relations.data.bom.LightWeightTerm;
+import org.elbe.relations.data.bom.LightWeightText;
+import org.elbe.relations.db.CatalogDelta;
+import org.elbe.relations.db.CatalogDelta.Kind;
+import org.elbe.relations.db.IDataService;
+import org.hip.kernel.bom.AlternativeModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * JUnit test of the application of a <code>CatalogDelta</code> to the
+ * selection views: the delta updates the affected rows of the displayed list,
+ * the list is not reloaded from the data service.
+ *
+ * @author Luthiger
+ */
+@ExtendWith(MockitoExtension.class)
+public class AbstractSelectionViewTest {
+
+    @Mock
+    private ESelectionService selectionService;
+
+    @Mock
+    private EHandlerService handlerService;
+
+    @Mock
+    private ECommandService commandService;
+
+    @Mock
+    private EMenuService menuService;
+
+    @Mock
+    private IDataService data;
+
+    private Shell parent;
+    private List<AlternativeModel> terms;
+    private TermView view;
+
+    @BeforeEach
+    public void setUp() {
+        this.parent = new Shell(Display.getDefault());
+        this.terms = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            this.terms.add(createTerm(i, "term " + i));
+        }
+        when(this.data.getTerms()).thenReturn(new ArrayList<>(this.terms));
+
+        this.view = new TermView(this.parent, this.selectionService, this.handlerService, this.commandService,
+                this.data);
+        this.view.init(this.menuService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.parent.dispose();
+    }
+
+    @Test
+    public void testChanged() {
+        final LightWeightTerm changed = createTerm(2, "term 2 changed");
+        this.terms.set(2, changed);
+        final Table table = getTable();
+        final Object unchanged = table.getItem(1).getData();
+
+        this.view.applyDelta(new CatalogDelta(Kind.CHANGED, changed, 2, 2, 2, 2));
+        assertRows();
+        assertSame(changed, table.getItem(2).getData());
+        // the other rows are kept
+        assertSame(unchanged, table.getItem(1).getData());
+        assertReloaded(false);
+    }
+
+    @Test
+    public void testMoved() {
+        final LightWeightTerm moved = createTerm(0, "term 9");
+        this.terms.remove(0);
+        this.terms.add(3, moved);
+
+        this.view.applyDelta(new CatalogDelta(Kind.CHANGED, moved, 0, 3, 0, 3));
+        assertRows();
+        assertReloaded(false);
+    }
+
+    @Test
+    public void testAddedAndRemoved() {
+        final LightWeightTerm added = createTerm(4, "term 1a");
+        this.terms.add(2, added);
+        this.view.applyDelta(new CatalogDelta(Kind.ADDED, added, -1, 2, -1, 2));
+        assertRows();
+
+        this.terms.remove(0);
+        this.view.applyDelta(new CatalogDelta(Kind.REMOVED, createTerm(0, "term 0"), 0, -1, 0, -1));
+        assertRows();
+        assertReloaded(false);
+    }
+
+    @Test
+    public void testOtherType() {
+        final LightWeightText text = new LightWeightText(1, "text", "", "", "", "", "", "", "", 0, 0, "", "", 0,
+                null, null);
+        this.view.applyDelta(new CatalogDelta(Kind.ADDED, text, -1, 0, -1, 0));
+        assertRows();
+        assertReloaded(false);
+    }
+
+    @Test
+    public void testReload() {
+        this.view.updateView("reload");
+        assertRows();
+        assertReloaded(true);
+    }
+
+    private void assertRows() {
+        final Table table = getTable();
+        assertEquals(this.terms.size(), table.getItemCount());
+        for (int i = 0; i < this.terms.size(); i++) {
+            assertSame(this.terms.get(i), table.getItem(i).getData());
+        }
+    }
+
+    /**
+     * The view has read the data service's list on initialization and, if
+     * reloaded, once more.
+     */
+    private void assertReloaded(final boolean reloaded) {
+        verify(this.data, times(reloaded ? 2 : 1)).getTerms();
+    }
+
+    private Table getTable() {
+        return (Table) this.parent.getChildren()[0];
+    }
+
+    private static LightWeightTerm createTerm(final long id, final String title) {
+        return new LightWeightTerm(id, title, "", null, null);
+    }
+
+}
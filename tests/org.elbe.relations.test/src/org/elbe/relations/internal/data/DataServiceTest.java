@@ -0,0 +1,232 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.core.services.log.Logger;
+import org.eclipse.e4.ui.di.UISynchronize;
+import org.elbe.relations.RelationsConstants;
+import org.elbe.relations.RelationsMessages;
+import org.elbe.relations.data.bom.ILightWeightItem;
+import org.elbe.relations.data.bom.LightWeightTerm;
+import org.elbe.relations.data.test.DataHouseKeeper;
+import org.elbe.relations.internal.preferences.LanguageService;
+import org.hip.kernel.bom.AlternativeModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * JUnit test
+ *
+ * @author Luthiger
+ */
+@SuppressWarnings("restriction")
+@ExtendWith(MockitoExtension.class)
+public class DataServiceTest {
+    private static final String TOPIC = "relations/test/initialized";
+    private static final long TIMEOUT = 10000; // milliseconds
+
+    private static DataHouseKeeper data;
+
+    @Mock
+    private IEventBroker eventBroker;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private UISynchronize sync;
+
+    @Mock
+    private IEclipseContext context;
+
+    @Mock
+    private DBSettings dbSettings;
+
+    @Mock
+    private LanguageService languageService;
+
+    private DataService service;
+
+    @BeforeAll
+    public static void before() {
+        data = DataHouseKeeper.INSTANCE;
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        data.createTerm("term");
+        data.createText("text", "Doe, Jane");
+        data.createPerson("Doe", "Jane");
+
+        final Collator collator = Collator.getInstance(Locale.ENGLISH);
+        when(this.languageService.getComparator()).thenReturn((first, second) -> collator.compare(first, second));
+        this.service = new DataService(this.eventBroker, this.log, this.sync, this.context, this.dbSettings,
+                this.languageService);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        data.deleteAllInAll();
+    }
+
+    @Test
+    public void testLoadData() throws Exception {
+        runInline();
+        when(this.languageService.getContentLanguage()).thenAnswer(invocation -> Collator.getInstance(Locale.ENGLISH));
+
+        this.service.loadData(TOPIC);
+        // the tables are loaded concurrently, each one is handed over as soon as it is loaded
+        verify(this.eventBroker, timeout(TIMEOUT)).post(TOPIC, "initialized");
+        verify(this.eventBroker, times(3)).post(eq(RelationsConstants.TOPIC_DB_CHANGED_RELOAD), anyString());
+        assertEquals(1, this.service.getTerms().size());
+        assertEquals(1, this.service.getTexts().size());
+        assertEquals(1, this.service.getPersons().size());
+        assertEquals(3, this.service.getNumberOfItems());
+    }
+
+    @Test
+    public void testCreatedWhileLoading() throws Exception {
+        when(this.languageService.getContentLanguage()).thenAnswer(invocation -> Collator.getInstance(Locale.ENGLISH));
+        // the item is created on the UI thread before the load's first items are handed over
+        final LightWeightTerm created = new LightWeightTerm(Long.MAX_VALUE, "created", "", null, null);
+        final boolean[] first = { true };
+        doAnswer(invocation -> {
+            if (first[0]) {
+                first[0] = false;
+                this.service.loadNew(created);
+            }
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(this.sync).asyncExec(any(Runnable.class));
+
+        this.service.loadData(TOPIC);
+        verify(this.eventBroker, timeout(TIMEOUT)).post(TOPIC, "initialized");
+        assertEquals(2, this.service.getTerms().size());
+        assertTrue(contains(this.service.getTerms(), created));
+        assertEquals(4, this.service.getNumberOfItems());
+
+        // the completed load's catalog is the base of the next load, the item is not added again
+        runInline();
+        this.service.loadData(TOPIC);
+        verify(this.eventBroker, timeout(TIMEOUT).times(2)).post(TOPIC, "initialized");
+        assertEquals(1, this.service.getTerms().size());
+    }
+
+    @Test
+    public void testSuperseded() throws Exception {
+        when(this.languageService.getContentLanguage()).thenAnswer(invocation -> Collator.getInstance(Locale.ENGLISH));
+        // the UI thread is busy until both loads have handed over their items
+        final List<Runnable> queued = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(this.sync).asyncExec(any(Runnable.class));
+
+        this.service.loadData(TOPIC);
+        this.service.loadData(TOPIC);
+        final long end = System.currentTimeMillis() + TIMEOUT;
+        while (queued.size() < 8 && System.currentTimeMillis() < end) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertEquals(8, queued.size());
+        for (final Runnable runnable : new ArrayList<>(queued)) {
+            runnable.run();
+        }
+
+        // the items of the first load are discarded
+        verify(this.eventBroker, times(1)).post(TOPIC, "initialized");
+        verify(this.eventBroker, times(3)).post(eq(RelationsConstants.TOPIC_DB_CHANGED_RELOAD), anyString());
+        assertEquals(3, this.service.getNumberOfItems());
+    }
+
+    @Test
+    public void testLoadFailed() throws Exception {
+        runInline();
+        // the table asking first for the collator fails
+        when(this.languageService.getContentLanguage()).thenThrow(new IllegalStateException("failed"))
+        .thenAnswer(invocation -> Collator.getInstance(Locale.ENGLISH));
+        final String jobName = RelationsMessages.getString("DataService.job.load"); //$NON-NLS-1$
+        final CompletableFuture<IStatus> result = new CompletableFuture<>();
+        final JobChangeAdapter listener = new JobChangeAdapter() {
+            @Override
+            public void done(final IJobChangeEvent event) {
+                if (jobName.equals(event.getJob().getName())) {
+                    result.complete(event.getResult());
+                }
+            }
+        };
+        Job.getJobManager().addJobChangeListener(listener);
+        try {
+            this.service.loadData(TOPIC);
+            assertEquals(IStatus.ERROR, result.get(TIMEOUT, TimeUnit.MILLISECONDS).getSeverity());
+        } finally {
+            Job.getJobManager().removeJobChangeListener(listener);
+        }
+
+        // the other tables are handed over, but the load is not reported as done
+        verify(this.eventBroker, times(2)).post(eq(RelationsConstants.TOPIC_DB_CHANGED_RELOAD), anyString());
+        verify(this.eventBroker, never()).post(eq(TOPIC), any());
+        assertEquals(2, this.service.getNumberOfItems());
+    }
+
+    private void runInline() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(this.sync).asyncExec(any(Runnable.class));
+    }
+
+    private static boolean contains(final Iterable<AlternativeModel> items, final ILightWeightItem item) {
+        for (final AlternativeModel model : items) {
+            if (((ILightWeightItem) model).getID() == item.getID()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,150 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.elbe.relations.data.bom.IItem;
+import org.elbe.relations.data.bom.ILightWeightItem;
+import org.elbe.relations.data.bom.LightWeightTerm;
+import org.elbe.relations.data.bom.LightWeightText;
+import org.elbe.relations.data.utility.UniqueID;
+import org.elbe.relations.db.CatalogDelta;
+import org.hip.kernel.bom.AlternativeModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test
+ *
+ * @author Luthiger
+ */
+public class ItemCatalogTest {
+    private static final Comparator<String> COMPARATOR = Comparator.naturalOrder();
+
+    private ItemCatalog catalog;
+    private List<AlternativeModel> terms;
+    private List<AlternativeModel> all;
+
+    @BeforeEach
+    public void setUp() {
+        this.catalog = new ItemCatalog(COMPARATOR);
+        this.catalog.load(IItem.TERM,
+                ItemCatalog.sort(List.of(createTerm(1, "Delta"), createTerm(2, "Alpha"), createTerm(3, "Charlie")),
+                        COMPARATOR));
+        this.catalog.load(IItem.TEXT, ItemCatalog.sort(List.of(createText(1, "Bravo")), COMPARATOR));
+        // the copies a view displays
+        this.terms = new ArrayList<>(this.catalog.getItems(IItem.TERM));
+        this.all = new ArrayList<>(this.catalog.getAll());
+    }
+
+    @Test
+    public void testLoad() {
+        assertEquals("[Alpha, Charlie, Delta]", this.terms.toString());
+        assertEquals("[Alpha, Bravo, Charlie, Delta]", this.all.toString());
+        assertEquals(4, this.catalog.size());
+        assertEquals("Bravo", this.catalog.get(new UniqueID(IItem.TEXT, 1)).toString());
+        assertNull(this.catalog.get(new UniqueID(IItem.PERSON, 1)));
+    }
+
+    @Test
+    public void testSortCollator() {
+        final Collator collator = Collator.getInstance(Locale.GERMAN);
+        final List<AlternativeModel> items = List.of(createTerm(1, "Zuber"), createTerm(2, "\u00C4pfel"),
+                createTerm(3, "apfel"), createText(1, "Apfel"), createTerm(4, "Apfel"));
+        final List<AlternativeModel> sorted = ItemCatalog.sort(items, collator);
+        assertEquals("[apfel, Apfel, Apfel, \u00C4pfel, Zuber]", sorted.toString());
+        // equal titles ordered by their unique ID
+        assertEquals(IItem.TERM, ((ILightWeightItem) sorted.get(1)).getItemType());
+        assertEquals(sorted, ItemCatalog.sort(items, collator::compare));
+    }
+
+    @Test
+    public void testAdd() {
+        final CatalogDelta delta = this.catalog.add(createTerm(4, "Bravo"));
+        assertEquals(CatalogDelta.Kind.ADDED, delta.kind());
+        assertEquals(1, delta.to());
+        // same title as the text, ordered by the unique ID, i.e. by the type first
+        assertEquals(1, delta.toAll());
+        assertEquals("[Alpha, Bravo, Bravo, Charlie, Delta]", this.catalog.getAll().toString());
+        assertApplied(delta);
+        assertEquals(5, this.catalog.size());
+    }
+
+    @Test
+    public void testRemove() {
+        final CatalogDelta delta = this.catalog.remove(createTerm(3, "Charlie"));
+        assertEquals(CatalogDelta.Kind.REMOVED, delta.kind());
+        assertEquals(1, delta.from());
+        assertEquals(2, delta.fromAll());
+        assertApplied(delta);
+        assertEquals("[Alpha, Delta]", this.terms.toString());
+
+        assertNull(this.catalog.remove(createTerm(3, "Charlie")));
+        assertNull(this.catalog.get(new UniqueID(IItem.TERM, 3)));
+    }
+
+    @Test
+    public void testChange() {
+        CatalogDelta delta = this.catalog.change(createTerm(2, "Echo"));
+        assertEquals(CatalogDelta.Kind.CHANGED, delta.kind());
+        assertEquals(0, delta.from());
+        assertEquals(2, delta.to());
+        assertEquals(0, delta.fromAll());
+        assertEquals(3, delta.toAll());
+        assertApplied(delta);
+        assertEquals("[Charlie, Delta, Echo]", this.terms.toString());
+
+        // the title changed in place
+        final LightWeightTerm term = (LightWeightTerm) this.catalog.get(new UniqueID(IItem.TERM, 1));
+        term.title = "Alpha";
+        delta = this.catalog.change(term);
+        assertEquals(1, delta.from());
+        assertEquals(0, delta.to());
+        assertApplied(delta);
+        assertSame(term, this.terms.get(0));
+
+        assertNull(this.catalog.change(createTerm(9, "Foxtrot")));
+        assertEquals(4, this.catalog.size());
+    }
+
+    private void assertApplied(final CatalogDelta delta) {
+        delta.applyTo(this.terms);
+        delta.applyToAll(this.all);
+        assertEquals(this.catalog.getItems(IItem.TERM), this.terms);
+        assertEquals(this.catalog.getAll(), this.all);
+    }
+
+    private static LightWeightTerm createTerm(final long id, final String title) {
+        return new LightWeightTerm(id, title, "", null, null);
+    }
+
+    private static LightWeightText createText(final long id, final String title) {
+        return new LightWeightText(id, title, "", "", "", "", "", "", "", 0, 0, "", "", 0, null, null);
+    }
+
+}
@@ -0,0 +1,135 @@
+/***************************************************************************
+ * This package is part of Relations application.
+ * Copyright (C) 2004-2025, Benno Luthiger
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ ***************************************************************************/
+package org.elbe.relations.internal.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.elbe.relations.data.bom.LightWeightTerm;
+import org.elbe.relations.db.CatalogDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit test
+ *
+ * @author Luthiger
+ */
+public class TitleIndexTest {
+    private static final LightWeightTerm ROME = createTerm(1, "Rome");
+    private static final LightWeightTerm NEW_YORK = createTerm(2, "New York");
+    private static final LightWeightTerm YORK = createTerm(3, "York (Yorkshire)");
+    private static final LightWeightTerm NEWTON = createTerm(4, "Isaac Newton");
+
+    private TitleIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        this.index = new TitleIndex(null);
+        this.index.load(List.of(ROME, NEW_YORK, YORK, NEWTON));
+    }
+
+    @Test
+    public void testFindShort() {
+        assertNull(this.index.find(" "));
+
+        TitleIndex.Matches matches = this.index.find("Ne");
+        assertEquals(2, matches.size());
+        assertTrue(matches.contains(NEW_YORK));
+        assertTrue(matches.contains(NEWTON));
+
+        // anywhere in the title, like a longer query
+        matches = this.index.find("or");
+        assertEquals(2, matches.size());
+        assertTrue(matches.contains(NEW_YORK));
+        assertTrue(matches.contains(YORK));
+        assertEquals(0, this.index.find("xy").size());
+        // a title containing the gram twice is found once
+        assertEquals(1, this.index.find("aa").size());
+        assertEquals(1, this.index.find("(").size());
+
+        matches = this.index.find("y");
+        assertEquals(2, matches.size());
+        assertTrue(matches.contains(YORK));
+        assertFalse(matches.contains(ROME));
+    }
+
+    @Test
+    public void testFindGrams() {
+        TitleIndex.Matches matches = this.index.find("ORK");
+        assertEquals(2, matches.size());
+        assertTrue(matches.contains(NEW_YORK));
+        assertTrue(matches.contains(YORK));
+
+        // across words
+        matches = this.index.find("w yo");
+        assertEquals(1, matches.size());
+        assertTrue(matches.contains(NEW_YORK));
+
+        // all trigrams contained, but not the query
+        matches = this.index.find("yorkork");
+        assertEquals(0, matches.size());
+        assertEquals(0, this.index.find("xyz").size());
+    }
+
+    @Test
+    public void testApply() {
+        final LightWeightTerm york = createTerm(3, "Eboracum");
+        this.index.apply(new CatalogDelta(CatalogDelta.Kind.CHANGED, york, 3, 0, 3, 0));
+        assertEquals(1, this.index.find("yor").size());
+        assertEquals(1, this.index.find("yo").size());
+        assertTrue(this.index.find("e").contains(york));
+        assertTrue(this.index.find("bora").contains(york));
+
+        final LightWeightTerm newPort = createTerm(5, "Newport");
+        this.index.apply(new CatalogDelta(CatalogDelta.Kind.ADDED, newPort, -1, 1, -1, 1));
+        assertEquals(3, this.index.find("new").size());
+        assertEquals(3, this.index.find("ne").size());
+
+        this.index.apply(new CatalogDelta(CatalogDelta.Kind.REMOVED, NEW_YORK, 1, -1, 1, -1));
+        final TitleIndex.Matches matches = this.index.find("ne");
+        assertEquals(2, matches.size());
+        assertFalse(matches.contains(NEW_YORK));
+        assertTrue(matches.contains(newPort));
+    }
+
+    @Test
+    public void testMatchesUnchanged() {
+        final TitleIndex.Matches matches = this.index.find("york");
+        assertEquals(2, matches.size());
+
+        // the changed item is moved to a new slot
+        final LightWeightTerm york = createTerm(3, "York (North Yorkshire)");
+        this.index.apply(new CatalogDelta(CatalogDelta.Kind.CHANGED, york, 3, 3, 3, 3));
+        this.index.apply(new CatalogDelta(CatalogDelta.Kind.REMOVED, ROME, 2, -1, 2, -1));
+        assertEquals(2, matches.size());
+        assertTrue(matches.contains(york));
+        assertTrue(matches.contains(NEW_YORK));
+        assertTrue(this.index.find("north").contains(york));
+    }
+
+    private static LightWeightTerm createTerm(final long id, final String title) {
+        return new LightWeightTerm(id, title, "", null, null);
+    }
+
+}